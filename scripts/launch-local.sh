@@ -0,0 +1,76 @@
+#!/usr/bin/env bash
+# Launch a multi-process deployment on this host: the seed node in the foreground and the node(s) of every role
+# in separate JVMs, joined through Akka remoting. Build the distribution first with `gradle installDist`.
+#
+# Usage: scripts/launch-local.sh [-d DATA_STORE_NODES] [-c COORDINATOR_NODES] [-l CLIENT_NODES] [-p SEED_PORT] [NAME=VALUE...]
+#
+# NAME=VALUE argument(s) are passed to every process, e.g. N_DATA_STORES=10 N_CLIENTS=20.
+# The log and the trace of every node are written in LOG_DIR (default: logs), JAVA_OPTS is passed to every JVM.
+set -euo pipefail
+
+data_store_nodes=1
+coordinator_nodes=1
+client_nodes=1
+seed_port=25520
+
+usage() {
+  sed -n '5p' "$0" | cut -c3-
+  exit "$1"
+}
+
+while getopts "d:c:l:p:h" opt; do
+  case "$opt" in
+    d) data_store_nodes="$OPTARG" ;;
+    c) coordinator_nodes="$OPTARG" ;;
+    l) client_nodes="$OPTARG" ;;
+    p) seed_port="$OPTARG" ;;
+    h) usage 0 ;;
+    *) usage 1 ;;
+  esac
+done
+shift $((OPTIND - 1))
+
+root="$(cd "$(dirname "$0")/.." && pwd)"
+lib="$(find "$root/build/install" -mindepth 2 -maxdepth 2 -type d -name lib 2>/dev/null | head -n 1)"
+if [ -z "$lib" ]; then
+  echo "Missing distribution, run: gradle installDist" >&2
+  exit 1
+fi
+log_dir="${LOG_DIR:-logs}"
+mkdir -p "$log_dir"
+
+# Stop the node(s) still running on exit
+pids=()
+cleanup() {
+  if [ "${#pids[@]}" -gt 0 ]; then kill "${pids[@]}" 2>/dev/null || true; fi
+}
+trap cleanup EXIT
+
+# Run a process of the deployment: log file name, then Main argument(s)
+run() {
+  local name="$1"
+  shift
+  # shellcheck disable=SC2086
+  java ${JAVA_OPTS:-} -DlogFile="$log_dir/$name.log" -cp "$lib/*" it.unitn.disi.ds1.Main \
+    SEED_NODE="127.0.0.1:$seed_port" TRACE_FILE="$log_dir/banky.trace" "$@"
+}
+
+# Start the node(s) of a role in the background: role, number of node(s), Main argument(s)
+start_nodes() {
+  local role="$1" nodes="$2"
+  shift 2
+  for ((i = 0; i < nodes; i++)); do
+    run "$(echo "$role" | tr 'A-Z_' 'a-z-')-$i" ROLE="$role" N_ROLE_NODES="$nodes" NODE_INDEX="$i" "$@" >/dev/null 2>&1 </dev/null &
+    pids+=("$!")
+  done
+}
+
+start_nodes DATA_STORE "$data_store_nodes" "$@"
+start_nodes COORDINATOR "$coordinator_nodes" "$@"
+start_nodes CLIENT "$client_nodes" "$@"
+echo "Started $((data_store_nodes + coordinator_nodes + client_nodes)) node(s), logs in $log_dir"
+
+# The seed node drives the run(s), every node terminates when it leaves
+run seed ROLE=SEED "$@"
+wait "${pids[@]}" 2>/dev/null || true
+pids=()
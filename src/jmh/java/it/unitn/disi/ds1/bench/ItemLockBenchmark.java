@@ -0,0 +1,99 @@
+package it.unitn.disi.ds1.bench;
+
+import it.unitn.disi.ds1.etc.Item;
+import it.unitn.disi.ds1.etc.TransactionId;
+import it.unitn.disi.ds1.partitioner.RangePartitioner;
+import it.unitn.disi.ds1.storage.ItemStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark of the lock and unlock of a single {@link Item},
+ * both as object and as {@link ItemStore} column(s).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemLockBenchmark {
+    /**
+     * Locked {@link Item} key in the {@link ItemStore}.
+     */
+    private static final int KEY = 0;
+
+    /**
+     * Free {@link Item}.
+     */
+    private Item item;
+
+    /**
+     * {@link Item} locked by {@link #owner}.
+     */
+    private Item lockedItem;
+
+    /**
+     * {@link ItemStore} with key {@link #KEY}.
+     */
+    private ItemStore storage;
+
+    /**
+     * Transaction locking the Item(s).
+     */
+    private long owner;
+
+    /**
+     * Transaction trying to lock an Item locked by {@link #owner}.
+     */
+    private long contender;
+
+    /**
+     * Prepare the {@link Item Item(s)} and the {@link ItemStore}.
+     */
+    @Setup
+    public void setup() {
+        item = new Item(100, 0);
+        lockedItem = new Item(100, 0);
+        storage = new ItemStore(new RangePartitioner(10, 1), 0, 100, 0);
+        final TransactionId transactionIds = new TransactionId(0);
+        owner = transactionIds.next();
+        contender = transactionIds.next();
+        lockedItem.lock(owner);
+    }
+
+    /**
+     * Lock and unlock a free {@link Item}.
+     *
+     * @return Lock outcome
+     */
+    @Benchmark
+    public boolean itemLockUnlock() {
+        final boolean locked = item.lock(owner);
+        item.unlock(owner);
+        return locked;
+    }
+
+    /**
+     * Lock an {@link Item} locked by another transaction.
+     *
+     * @return Lock outcome
+     */
+    @Benchmark
+    public boolean itemLockConflict() {
+        return lockedItem.lock(contender);
+    }
+
+    /**
+     * Lock and unlock a free {@link Item} of the {@link ItemStore}.
+     *
+     * @return Lock outcome
+     */
+    @Benchmark
+    public boolean storeLockUnlock() {
+        final boolean locked = storage.lock(KEY, owner);
+        storage.unlock(KEY, owner);
+        return locked;
+    }
+}
@@ -0,0 +1,98 @@
+package it.unitn.disi.ds1.bench;
+
+import it.unitn.disi.ds1.etc.Decision;
+import it.unitn.disi.ds1.etc.TransactionId;
+import it.unitn.disi.ds1.message.twopc.TwoPcDecisionMessage;
+import it.unitn.disi.ds1.message.twopc.TwoPcVoteMessage;
+import it.unitn.disi.ds1.message.txn.read.TxnReadResultCoordinatorMessage;
+import it.unitn.disi.ds1.message.txn.write.TxnWriteCoordinatorMessage;
+import it.unitn.disi.ds1.util.JsonUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark of the {@link JsonUtil#GSON} rendering of the message(s) exchanged in a transaction,
+ * paid by every message logged through its toString.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageRenderingBenchmark {
+    /**
+     * Read result message.
+     */
+    private TxnReadResultCoordinatorMessage readResultMessage;
+
+    /**
+     * Write message.
+     */
+    private TxnWriteCoordinatorMessage writeMessage;
+
+    /**
+     * 2PC vote message.
+     */
+    private TwoPcVoteMessage voteMessage;
+
+    /**
+     * 2PC decision message.
+     */
+    private TwoPcDecisionMessage decisionMessage;
+
+    /**
+     * Prepare the message(s).
+     */
+    @Setup
+    public void setup() {
+        final long transactionId = new TransactionId(0).next();
+        readResultMessage = new TxnReadResultCoordinatorMessage(0, transactionId, Map.of(3, 120, 17, 80));
+        writeMessage = new TxnWriteCoordinatorMessage(0, transactionId, Map.of(3, 100, 17, 100), 42L);
+        voteMessage = new TwoPcVoteMessage(0, transactionId, Decision.COMMIT, 42L, Set.of(3, 17, 21, 36));
+        decisionMessage = new TwoPcDecisionMessage(0, transactionId, Decision.COMMIT, 43L);
+    }
+
+    /**
+     * Render the read result message.
+     *
+     * @return JSON
+     */
+    @Benchmark
+    public String readResult() {
+        return JsonUtil.GSON.toJson(readResultMessage);
+    }
+
+    /**
+     * Render the write message.
+     *
+     * @return JSON
+     */
+    @Benchmark
+    public String write() {
+        return JsonUtil.GSON.toJson(writeMessage);
+    }
+
+    /**
+     * Render the 2PC vote message.
+     *
+     * @return JSON
+     */
+    @Benchmark
+    public String vote() {
+        return JsonUtil.GSON.toJson(voteMessage);
+    }
+
+    /**
+     * Render the 2PC decision message.
+     *
+     * @return JSON
+     */
+    @Benchmark
+    public String decision() {
+        return JsonUtil.GSON.toJson(decisionMessage);
+    }
+}
@@ -0,0 +1,61 @@
+package it.unitn.disi.ds1.bench;
+
+import it.unitn.disi.ds1.metrics.Counter;
+import it.unitn.disi.ds1.metrics.Metrics;
+import it.unitn.disi.ds1.metrics.Outcome;
+import it.unitn.disi.ds1.metrics.Phase;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark of the recording of the transaction {@link Metrics}, done on the hot path of every actor:
+ * with -prof gc the allocation rate is expected to be 0 B/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+    /**
+     * Next latency (ns) to record.
+     */
+    private long latency;
+
+    /**
+     * Reset the {@link Metrics}.
+     */
+    @Setup
+    public void setup() {
+        Metrics.reset();
+        latency = 0;
+    }
+
+    /**
+     * Record a latency.
+     */
+    @Benchmark
+    public void record() {
+        latency = latency < 50_000_000L ? latency + 1_237L : 0L;
+        Metrics.record(Phase.END_TO_END, Outcome.COMMIT, latency);
+    }
+
+    /**
+     * Record a latency from 4 thread(s) at once.
+     */
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        Metrics.record(Phase.VOTE, Outcome.ABORT, System.nanoTime() & 0xFFFFFFL);
+    }
+
+    /**
+     * Count an event.
+     */
+    @Benchmark
+    public void increment() {
+        Metrics.increment(Counter.LOCK_WAITS);
+    }
+}
@@ -0,0 +1,74 @@
+package it.unitn.disi.ds1.bench;
+
+import it.unitn.disi.ds1.Config;
+import it.unitn.disi.ds1.etc.ActorMetadata;
+import it.unitn.disi.ds1.partitioner.Partitioner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark of the routing of an {@link it.unitn.disi.ds1.etc.Item} key to its {@link it.unitn.disi.ds1.actor.DataStore},
+ * as in Coordinator#dataStoreByItemKey.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoutingBenchmark {
+    /**
+     * Number of {@link it.unitn.disi.ds1.actor.DataStore DataStore(s)}.
+     */
+    private static final int N_DATA_STORES = 16;
+
+    /**
+     * {@link Partitioner} type.
+     */
+    @Param({"RANGE", "CONSISTENT_HASHING"})
+    public Config.PartitionerType partitionerType;
+
+    /**
+     * Number of {@link it.unitn.disi.ds1.etc.Item Item(s)}.
+     */
+    @Param({"50", "100000"})
+    public int nItems;
+
+    /**
+     * Key space {@link Partitioner}.
+     */
+    private Partitioner partitioner;
+
+    /**
+     * {@link ActorMetadata} of the DataStore(s) by id.
+     */
+    private ActorMetadata[] dataStoresById;
+
+    /**
+     * Next key to route.
+     */
+    private int key;
+
+    /**
+     * Prepare the {@link Partitioner} and the DataStore(s).
+     */
+    @Setup
+    public void setup() {
+        partitioner = Partitioner.of(partitionerType, nItems, N_DATA_STORES);
+        dataStoresById = new ActorMetadata[N_DATA_STORES];
+        for (int i = 0; i < N_DATA_STORES; i++) dataStoresById[i] = new ActorMetadata(i, null);
+        key = 0;
+    }
+
+    /**
+     * Route the next key to its DataStore.
+     *
+     * @return DataStore metadata
+     */
+    @Benchmark
+    public ActorMetadata dataStoreByItemKey() {
+        key = key + 1 < nItems ? key + 1 : 0;
+        return dataStoresById[partitioner.dataStoreOf(key)];
+    }
+}
@@ -0,0 +1,182 @@
+package it.unitn.disi.ds1.bench;
+
+import akka.actor.ActorSystem;
+import akka.actor.ExtendedActorSystem;
+import akka.serialization.JavaSerializer;
+import akka.serialization.SerializationExtension;
+import akka.serialization.SerializerWithStringManifest;
+import it.unitn.disi.ds1.etc.ActorMetadata;
+import it.unitn.disi.ds1.etc.Decision;
+import it.unitn.disi.ds1.etc.Item;
+import it.unitn.disi.ds1.etc.TransactionId;
+import it.unitn.disi.ds1.message.snapshot.SnapshotResultMessage;
+import it.unitn.disi.ds1.message.twopc.TwoPcDecisionMessage;
+import it.unitn.disi.ds1.message.twopc.TwoPcVoteMessage;
+import it.unitn.disi.ds1.message.txn.read.TxnReadResultCoordinatorMessage;
+import it.unitn.disi.ds1.message.txn.write.TxnWriteCoordinatorMessage;
+import it.unitn.disi.ds1.message.welcome.ClientWelcomeMessage;
+import it.unitn.disi.ds1.serialization.MessageSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark of the {@link MessageSerializer} against Java serialization:
+ * size, printed at setup, and encode/decode time of the message(s) exchanged in a transaction.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    /**
+     * Number of {@link Item Item(s)} in the snapshot result.
+     */
+    private static final int N_SNAPSHOT_ITEMS = 100;
+
+    /**
+     * Serialized message.
+     */
+    @Param({"READ_RESULT", "WRITE", "VOTE", "DECISION", "SNAPSHOT_RESULT", "CLIENT_WELCOME"})
+    public String messageType;
+
+    /**
+     * {@link ActorSystem} of the serializer.
+     */
+    private ActorSystem system;
+
+    /**
+     * {@link MessageSerializer} bound in application.conf.
+     */
+    private SerializerWithStringManifest serializer;
+
+    /**
+     * Message.
+     */
+    private Object message;
+
+    /**
+     * Manifest of the message.
+     */
+    private String manifest;
+
+    /**
+     * Compact encoding of the message.
+     */
+    private byte[] compactBytes;
+
+    /**
+     * Java serialization of the message.
+     */
+    private byte[] javaBytes;
+
+    /**
+     * Prepare the {@link ActorSystem}, the message and its encoding(s).
+     *
+     * @throws IOException If Java serialization fails
+     */
+    @Setup
+    public void setup() throws IOException {
+        system = ActorSystem.create("bench");
+        // Java deserialization of an ActorRef resolves it through the ActorSystem of the thread
+        JavaSerializer.currentSystem().value_$eq((ExtendedActorSystem) system);
+        final long transactionId = new TransactionId(0).next();
+        serializer = (SerializerWithStringManifest) SerializationExtension.get(system).findSerializerFor(new TwoPcDecisionMessage(0, transactionId, Decision.COMMIT, 0L));
+        if (!(serializer instanceof MessageSerializer))
+            throw new IllegalStateException(String.format("Messages are bound to %s", serializer.getClass().getName()));
+
+        switch (messageType) {
+            case "READ_RESULT":
+                message = new TxnReadResultCoordinatorMessage(0, transactionId, Map.of(3, 120, 17, 80));
+                break;
+            case "WRITE":
+                message = new TxnWriteCoordinatorMessage(0, transactionId, Map.of(3, 100, 17, 100), 42L);
+                break;
+            case "VOTE":
+                message = new TwoPcVoteMessage(0, transactionId, Decision.COMMIT, 42L, Set.of(3, 17, 21, 36));
+                break;
+            case "DECISION":
+                message = new TwoPcDecisionMessage(0, transactionId, Decision.COMMIT, 43L);
+                break;
+            case "SNAPSHOT_RESULT":
+                final Map<Integer, Item> storage = new HashMap<>();
+                for (int key = 0; key < N_SNAPSHOT_ITEMS; key++) storage.put(key, new Item(100 + key, key));
+                message = new SnapshotResultMessage(0, 1, storage, true);
+                break;
+            case "CLIENT_WELCOME":
+                final List<ActorMetadata> coordinators = new ArrayList<>();
+                for (int id = 0; id < 4; id++) coordinators.add(new ActorMetadata(id, system.deadLetters()));
+                message = new ClientWelcomeMessage(coordinators, 49);
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown message type %s", messageType));
+        }
+
+        manifest = serializer.manifest(message);
+        compactBytes = serializer.toBinary(message);
+        javaBytes = javaEncode();
+        System.out.printf("%n%s: compact %d byte(s), Java %d byte(s)%n", messageType, compactBytes.length, javaBytes.length);
+    }
+
+    /**
+     * Terminate the {@link ActorSystem}.
+     */
+    @TearDown
+    public void tearDown() {
+        system.terminate();
+    }
+
+    /**
+     * Encode the message with the {@link MessageSerializer}.
+     *
+     * @return Encoding
+     */
+    @Benchmark
+    public byte[] compactEncode() {
+        return serializer.toBinary(message);
+    }
+
+    /**
+     * Decode the message with the {@link MessageSerializer}.
+     *
+     * @return Message
+     * @throws NotSerializableException If the manifest is unknown
+     */
+    @Benchmark
+    public Object compactDecode() throws NotSerializableException {
+        return serializer.fromBinary(compactBytes, manifest);
+    }
+
+    /**
+     * Encode the message with Java serialization.
+     *
+     * @return Encoding
+     * @throws IOException If serialization fails
+     */
+    @Benchmark
+    public byte[] javaEncode() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(message);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode the message with Java serialization.
+     *
+     * @return Message
+     * @throws IOException            If deserialization fails
+     * @throws ClassNotFoundException If the message class is unknown
+     */
+    @Benchmark
+    public Object javaDecode() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(javaBytes))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package it.unitn.disi.ds1.bench;
+
+import it.unitn.disi.ds1.etc.TransactionId;
+import it.unitn.disi.ds1.util.LongMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark of the transaction id(s) and of the per-transaction table(s) of the actor(s):
+ * {@link UUID} generation and {@link HashMap} against {@link TransactionId} and {@link LongMap}.
+ * The churn benchmark(s) replay the lifecycle of a table entry: put at begin, lookup(s), remove at the end.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionTableBenchmark {
+    /**
+     * Lookup(s) of an entry during its lifecycle.
+     */
+    private static final int LOOKUPS = 8;
+
+    /**
+     * Number of running transaction(s) in the table.
+     */
+    @Param({"16", "1024"})
+    public int running;
+
+    /**
+     * Generator of the transaction id(s).
+     */
+    private TransactionId transactionIds;
+
+    /**
+     * Table keyed by {@link UUID}.
+     */
+    private Map<UUID, Object> uuidTable;
+
+    /**
+     * Table keyed by transaction id.
+     */
+    private LongMap<Object> longTable;
+
+    /**
+     * {@link UUID} of the running transaction(s), oldest first.
+     */
+    private UUID[] uuids;
+
+    /**
+     * Id of the running transaction(s), oldest first.
+     */
+    private long[] ids;
+
+    /**
+     * Index of the oldest running transaction.
+     */
+    private int oldest;
+
+    /**
+     * Prepare the table(s) with the running transaction(s).
+     */
+    @Setup
+    public void setup() {
+        transactionIds = new TransactionId(0);
+        uuidTable = new HashMap<>();
+        longTable = new LongMap<>();
+        uuids = new UUID[running];
+        ids = new long[running];
+        for (int i = 0; i < running; i++) {
+            uuids[i] = UUID.randomUUID();
+            ids[i] = transactionIds.next();
+            uuidTable.put(uuids[i], Boolean.TRUE);
+            longTable.put(ids[i], Boolean.TRUE);
+        }
+        oldest = 0;
+    }
+
+    /**
+     * Generate a {@link UUID}.
+     *
+     * @return UUID
+     */
+    @Benchmark
+    public UUID uuidNext() {
+        return UUID.randomUUID();
+    }
+
+    /**
+     * Generate a transaction id.
+     *
+     * @return Transaction id
+     */
+    @Benchmark
+    public long transactionIdNext() {
+        return transactionIds.next();
+    }
+
+    /**
+     * Replace the oldest running transaction with a new one in the {@link UUID} table.
+     *
+     * @return Number of hit(s)
+     */
+    @Benchmark
+    public int uuidTableChurn() {
+        uuidTable.remove(uuids[oldest]);
+        final UUID transactionId = UUID.randomUUID();
+        uuids[oldest] = transactionId;
+        uuidTable.put(transactionId, Boolean.TRUE);
+        oldest = oldest + 1 < running ? oldest + 1 : 0;
+
+        int hits = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (uuidTable.get(transactionId) != null) hits++;
+        }
+        return hits;
+    }
+
+    /**
+     * Replace the oldest running transaction with a new one in the transaction id table.
+     *
+     * @return Number of hit(s)
+     */
+    @Benchmark
+    public int longTableChurn() {
+        longTable.remove(ids[oldest]);
+        final long transactionId = transactionIds.next();
+        ids[oldest] = transactionId;
+        longTable.put(transactionId, Boolean.TRUE);
+        oldest = oldest + 1 < running ? oldest + 1 : 0;
+
+        int hits = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (longTable.get(transactionId) != null) hits++;
+        }
+        return hits;
+    }
+}
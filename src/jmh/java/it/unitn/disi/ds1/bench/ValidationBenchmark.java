@@ -0,0 +1,206 @@
+package it.unitn.disi.ds1.bench;
+
+import it.unitn.disi.ds1.Config;
+import it.unitn.disi.ds1.etc.Item;
+import it.unitn.disi.ds1.etc.TransactionId;
+import it.unitn.disi.ds1.partitioner.RangePartitioner;
+import it.unitn.disi.ds1.storage.ItemStore;
+import it.unitn.disi.ds1.storage.LockManager;
+import it.unitn.disi.ds1.storage.Workspace;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark of the vote of a {@link it.unitn.disi.ds1.actor.DataStore}:
+ * the version check of the workspace, as in DataStore#checkItemsVersion,
+ * and the lock of its {@link Item Item(s)} through the {@link LockManager},
+ * with a HashMap workspace of Item(s) and streams as before, and with a pooled {@link Workspace}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+    /**
+     * Number of {@link Item Item(s)} stored.
+     */
+    private static final int N_ITEMS = 1024;
+
+    /**
+     * Number of {@link Item Item(s)} in the workspace.
+     */
+    @Param({"2", "16", "128"})
+    public int workspaceSize;
+
+    /**
+     * {@link ItemStore} of the DataStore.
+     */
+    private ItemStore storage;
+
+    /**
+     * {@link LockManager} of the DataStore.
+     */
+    private LockManager lockManager;
+
+    /**
+     * Transaction workspace as a HashMap.
+     */
+    private Map<Integer, Item> workspace;
+
+    /**
+     * Transaction {@link Workspace}.
+     */
+    private Workspace pooledWorkspace;
+
+    /**
+     * {@link Workspace} reused by every vote.
+     */
+    private Workspace votedPooledWorkspace;
+
+    /**
+     * Key(s) read by the transaction, as in the vote request.
+     */
+    private Set<Integer> readKeys;
+
+    /**
+     * Transaction read timestamp.
+     */
+    private long readTimestamp;
+
+    /**
+     * Transaction id.
+     */
+    private long transactionId;
+
+    /**
+     * Prepare the {@link ItemStore} with committed version(s) and the workspace.
+     */
+    @Setup
+    public void setup() {
+        storage = new ItemStore(new RangePartitioner(N_ITEMS, 1), 0, 100, 0);
+        lockManager = new LockManager(storage, Config.LOCK_POLICY);
+        workspace = new HashMap<>();
+        for (int key = 0; key < N_ITEMS; key++) storage.commit(key, 100 + key, key + 1);
+        for (int i = 0; i < workspaceSize; i++) {
+            final int key = (i * 7) % N_ITEMS;
+            workspace.put(key, new Item(storage.getValue(key), storage.getVersion(key)));
+        }
+        readKeys = Set.copyOf(workspace.keySet());
+        pooledWorkspace = new Workspace();
+        workspace.forEach((key, item) -> pooledWorkspace.read(key, item.getValue(), item.getVersion()));
+        votedPooledWorkspace = new Workspace();
+        readTimestamp = N_ITEMS + 1;
+        transactionId = new TransactionId(0).next();
+    }
+
+    /**
+     * Check that no {@link Item} of the workspace has a version committed after the read timestamp.
+     *
+     * @return True if valid, false otherwise
+     */
+    @Benchmark
+    public boolean mapCheckItemsVersion() {
+        return workspace.entrySet().stream()
+                .allMatch(entry -> storage.getTimestamp(entry.getKey()) <= readTimestamp);
+    }
+
+    /**
+     * Lock all the {@link Item Item(s)} of the workspace without conflict and release them.
+     *
+     * @return Granted transaction(s)
+     */
+    @Benchmark
+    public List<Long> mapLockItems() {
+        lockManager.acquire(transactionId, readTimestamp, workspace.keySet());
+        final List<Long> granted = lockManager.drainGranted();
+        lockManager.release(transactionId, workspace.keySet());
+        return granted;
+    }
+
+    /**
+     * Whole vote of a transaction reading the workspace key(s) and writing half of them, with a HashMap workspace:
+     * write(s), read set, version check, lock and release.
+     *
+     * @return Granted transaction(s)
+     */
+    @Benchmark
+    public List<Long> mapVote() {
+        final Map<Integer, Item> votedWorkspace = new HashMap<>();
+        for (final int key : readKeys) {
+            if (key % 2 != 0) continue;
+            final Item item = new Item(storage.getValue(key), storage.getVersion(key));
+            item.setValue(item.getValue() + 1);
+            votedWorkspace.put(key, item);
+        }
+        readKeys.stream().filter(storage::contains).forEach(key -> votedWorkspace.computeIfAbsent(key, r ->
+                new Item(storage.readValue(r, readTimestamp), storage.readVersion(r, readTimestamp))));
+        if (!votedWorkspace.entrySet().stream().allMatch(entry -> storage.getTimestamp(entry.getKey()) <= readTimestamp))
+            return List.of();
+        lockManager.acquire(transactionId, readTimestamp, votedWorkspace.keySet());
+        final List<Long> granted = lockManager.drainGranted();
+        lockManager.release(transactionId, votedWorkspace.keySet());
+        return granted;
+    }
+
+    /**
+     * Check that no {@link Item} of the {@link Workspace} has a version committed after the read timestamp.
+     *
+     * @return True if valid, false otherwise
+     */
+    @Benchmark
+    public boolean workspaceCheckItemsVersion() {
+        for (int i = 0; i < pooledWorkspace.reads(); i++) {
+            if (storage.getTimestamp(pooledWorkspace.readKey(i)) > readTimestamp) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Lock all the {@link Item Item(s)} of the {@link Workspace} without conflict and release them.
+     *
+     * @return Granted transaction(s)
+     */
+    @Benchmark
+    public List<Long> workspaceLockItems() {
+        lockManager.acquire(transactionId, readTimestamp, pooledWorkspace.keys(), pooledWorkspace.size());
+        final List<Long> granted = lockManager.drainGranted();
+        lockManager.release(transactionId, pooledWorkspace.keys(), pooledWorkspace.size());
+        return granted;
+    }
+
+    /**
+     * Whole vote of a transaction reading the workspace key(s) and writing half of them, with a pooled {@link Workspace}:
+     * write(s), read set, version check, lock and release.
+     *
+     * @return Granted transaction(s)
+     */
+    @Benchmark
+    public List<Long> workspaceVote() {
+        final Workspace votedWorkspace = votedPooledWorkspace;
+        votedWorkspace.clear();
+        for (final int key : readKeys) {
+            if (key % 2 != 0) continue;
+            votedWorkspace.write(key, storage.getValue(key) + 1, storage.getVersion(key));
+        }
+        for (final int key : readKeys) {
+            if (storage.contains(key)) votedWorkspace.read(key, storage.readValue(key, readTimestamp), storage.readVersion(key, readTimestamp));
+        }
+        for (int i = 0; i < votedWorkspace.writes(); i++) {
+            if (storage.getTimestamp(votedWorkspace.writeKey(i)) > readTimestamp) return List.of();
+        }
+        for (int i = 0; i < votedWorkspace.reads(); i++) {
+            if (storage.getTimestamp(votedWorkspace.readKey(i)) > readTimestamp) return List.of();
+        }
+        lockManager.acquire(transactionId, readTimestamp, votedWorkspace.keys(), votedWorkspace.size());
+        final List<Long> granted = lockManager.drainGranted();
+        lockManager.release(transactionId, votedWorkspace.keys(), votedWorkspace.size());
+        return granted;
+    }
+}
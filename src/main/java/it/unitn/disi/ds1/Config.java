@@ -4,10 +4,20 @@ import it.unitn.disi.ds1.actor.Client;
 import it.unitn.disi.ds1.actor.Coordinator;
 import it.unitn.disi.ds1.actor.DataStore;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
 
 /**
  * Configuration class.
+ * Every public static field is a configuration value, its initializer is the default.
+ * Value(s) are loaded at runtime by {@link #load(Properties)} from a properties file and/or NAME=VALUE argument(s),
+ * before any {@link akka.actor.ActorSystem} is created.
  */
 public final class Config implements Serializable {
     private static final long serialVersionUID = -4468675888064285514L;
@@ -31,108 +41,721 @@ public final class Config implements Serializable {
     /**
      * Running mode.
      */
-    public static final Mode MODE = Mode.AUTOMATIC;
+    public static Mode MODE = Mode.AUTOMATIC;
 
     /**
      * Number of run(s) to process.
      * Used only when MODE is AUTOMATIC.
      */
-    public static final int N_RUNS = 20;
+    public static int N_RUNS = 20;
 
     // --- Actor(s) ---
 
     /**
      * Number of {@link DataStore Data Store(s)}.
      */
-    public static final int N_DATA_STORES = 5;
+    public static int N_DATA_STORES = 5;
 
     /**
      * Number of {@link Coordinator Coordinator(s)}.
      */
-    public static final int N_COORDINATORS = 5;
+    public static int N_COORDINATORS = 5;
 
     /**
      * Number of {@link Client Client(s)}.
      */
-    public static final int N_CLIENTS = 5;
+    public static int N_CLIENTS = 5;
+
+    // --- Deployment ---
 
     /**
-     * Maximum item key index value.
+     * Role of the process in the deployment.
      */
-    public static final int MAX_ITEM_KEY = (N_DATA_STORES * 10) - 1;
+    public enum Role {
+        /**
+         * Every actor in a single process, without remoting.
+         */
+        ALL,
+        /**
+         * Seed node: waits for the other node(s) to join, welcomes their actor(s) and drives the run(s).
+         */
+        SEED,
+        /**
+         * Node hosting a share of the {@link DataStore Data Store(s)}.
+         */
+        DATA_STORE,
+        /**
+         * Node hosting a share of the {@link Coordinator Coordinator(s)}.
+         */
+        COORDINATOR,
+        /**
+         * Node hosting a share of the {@link Client Client(s)}.
+         */
+        CLIENT
+    }
 
-    // --- Timeout ---
+    /**
+     * Role of the process.
+     */
+    public static Role ROLE = Role.ALL;
+
+    /**
+     * Number of node(s) with the same role.
+     * A node hosts the actor(s) of its role whose id modulo N_ROLE_NODES is NODE_INDEX.
+     */
+    public static int N_ROLE_NODES = 1;
+
+    /**
+     * Index of the node among the node(s) with the same role, in [0, N_ROLE_NODES).
+     */
+    public static int NODE_INDEX = 0;
+
+    /**
+     * Hostname the process is reachable at through remoting.
+     * Used only when ROLE is not ALL.
+     */
+    public static String HOSTNAME = "127.0.0.1";
 
     /**
-     * Minimum sleep timeout (ms).
+     * Remoting port of a node, 0 picks a free one.
+     * The seed node listens on the SEED_NODE port.
      */
-    public static final int MIN_SLEEP_TIMEOUT_MS = 0;
+    public static int PORT = 0;
 
     /**
-     * Maximum sleep timeout (ms).
+     * Seed node address as hostname:port, every node joins through it.
      */
-    public static final int MAX_SLEEP_TIMEOUT_MS = 2;
+    public static String SEED_NODE = "127.0.0.1:25520";
+
+    /**
+     * Maximum time (ms) the seed node waits for all the actor(s) to join.
+     */
+    public static int JOIN_TIMEOUT_MS = 60000;
+
+    // --- Dispatchers ---
+
+    /**
+     * Dispatcher topology of the actor(s).
+     */
+    public enum DispatcherTopology {
+        /**
+         * Every actor on the Akka default dispatcher.
+         */
+        SHARED,
+        /**
+         * Every role on its own dispatcher, configured in the banky.dispatchers section of application.conf:
+         * a {@link Client} burst never delays the {@link Coordinator Coordinator(s)} and {@link DataStore DataStore(s)}.
+         */
+        ISOLATED
+    }
+
+    /**
+     * Dispatcher topology.
+     */
+    public static DispatcherTopology DISPATCHER_TOPOLOGY = DispatcherTopology.ISOLATED;
+
+    // --- Partitioning ---
+
+    /**
+     * {@link it.unitn.disi.ds1.partitioner.Partitioner Partitioner} type.
+     */
+    public enum PartitionerType {
+        /**
+         * Contiguous key range(s).
+         */
+        RANGE,
+        /**
+         * Consistent hashing.
+         */
+        CONSISTENT_HASHING
+    }
+
+    /**
+     * Partitioner type.
+     */
+    public static PartitionerType PARTITIONER = PartitionerType.RANGE;
+
+    /**
+     * Number of {@link it.unitn.disi.ds1.etc.Item Item(s)} (key space size).
+     * Unless loaded, 10 for every {@link DataStore}.
+     */
+    public static int N_ITEMS = N_DATA_STORES * 10;
+
+    /**
+     * Number of virtual node(s) for every {@link DataStore} in the consistent hashing ring.
+     */
+    public static int N_VIRTUAL_NODES = 64;
+
+    // --- Network ---
+
+    /**
+     * {@link it.unitn.disi.ds1.network.Latency Latency} distribution of a network link.
+     */
+    public enum LatencyDistribution {
+        /**
+         * Always the mean latency.
+         */
+        CONSTANT,
+        /**
+         * Uniform in [min, 2 * mean - min].
+         */
+        UNIFORM,
+        /**
+         * Exponential above the minimum.
+         */
+        EXPONENTIAL,
+        /**
+         * Pareto (heavy tailed) above the minimum.
+         */
+        PARETO
+    }
+
+    /**
+     * Latency distribution of every network link.
+     */
+    public static LatencyDistribution LATENCY_DISTRIBUTION = LatencyDistribution.UNIFORM;
+
+    /**
+     * Minimum network latency (ms).
+     */
+    public static double LATENCY_MIN_MS = 0.0;
+
+    /**
+     * Mean network latency (ms).
+     */
+    public static double LATENCY_MEAN_MS = 1.0;
+
+    /**
+     * Shape of the {@link LatencyDistribution#PARETO Pareto} latency distribution, must be greater than 1.
+     */
+    public static double LATENCY_PARETO_SHAPE = 2.5;
+
+    /**
+     * Skew of the mean latency among link(s): the mean of every link is scaled by a fixed factor in [1 - skew, 1 + skew].
+     * 0 means all link(s) have the same mean.
+     */
+    public static double LATENCY_LINK_SKEW = 0.5;
+
+    // --- Workload ---
+
+    /**
+     * {@link Client} workload mode.
+     */
+    public enum WorkloadMode {
+        /**
+         * Closed loop: a new transaction begins after the previous one has ended and the think time.
+         */
+        CLOSED,
+        /**
+         * Open loop: transaction(s) arrive at a target rate whatever the system speed,
+         * an arrival waits in the backlog while the previous transaction(s) are running.
+         */
+        OPEN
+    }
+
+    /**
+     * Workload mode of every {@link Client}.
+     */
+    public static WorkloadMode WORKLOAD_MODE = WorkloadMode.CLOSED;
+
+    /**
+     * Think time (ms) of a {@link Client} between two transaction(s).
+     * Used only when WORKLOAD_MODE is CLOSED.
+     */
+    public static int CLIENT_THINK_TIME_MS = 10;
+
+    /**
+     * Maximum number of transaction(s) of a {@link Client} in flight at the same time.
+     * In closed loop every one of them begins after the think time from the end of a previous one.
+     */
+    public static int CLIENT_WINDOW = 1;
+
+    /**
+     * Target arrival rate (transaction(s) per second) of every {@link Client}, with exponential inter-arrival time(s).
+     * Used only when WORKLOAD_MODE is OPEN.
+     */
+    public static double WORKLOAD_ARRIVAL_RATE = 20.0;
+
+    /**
+     * Maximum number of arrived transaction(s) waiting to begin in a {@link Client}, further arrival(s) are dropped.
+     * Used only when WORKLOAD_MODE is OPEN.
+     */
+    public static int WORKLOAD_MAX_BACKLOG = 1000;
+
+    /**
+     * Distribution of the {@link it.unitn.disi.ds1.etc.Item} key(s) accessed by a transaction.
+     */
+    public enum KeyDistribution {
+        /**
+         * Every key with the same probability.
+         */
+        UNIFORM,
+        /**
+         * Zipfian: the probability of the key of rank i is proportional to 1 / i^theta.
+         */
+        ZIPFIAN,
+        /**
+         * A fraction of hot key(s) receives a fraction of the access(es).
+         */
+        HOTSPOT
+    }
+
+    /**
+     * Key distribution of every {@link Client}.
+     */
+    public static KeyDistribution KEY_DISTRIBUTION = KeyDistribution.UNIFORM;
+
+    /**
+     * Skew of the {@link KeyDistribution#ZIPFIAN Zipfian} key distribution, in (0, 1).
+     */
+    public static double ZIPFIAN_THETA = 0.99;
+
+    /**
+     * Fraction of hot key(s) of the {@link KeyDistribution#HOTSPOT hotspot} key distribution.
+     */
+    public static double HOTSPOT_KEY_FRACTION = 0.1;
+
+    /**
+     * Fraction of access(es) to the hot key(s) of the {@link KeyDistribution#HOTSPOT hotspot} key distribution.
+     */
+    public static double HOTSPOT_ACCESS_FRACTION = 0.9;
+
+    /**
+     * Probability an operation of a transaction also writes the read {@link it.unitn.disi.ds1.etc.Item Item(s)}.
+     */
+    public static double WRITE_PROBABILITY = 0.5;
+
+    /**
+     * Minimum number of operation(s) of a transaction.
+     */
+    public static int MIN_TXN_LENGTH = 8;
+
+    /**
+     * Maximum number of operation(s) of a transaction.
+     */
+    public static int MAX_TXN_LENGTH = 15;
+
+    // --- Coordinator selection ---
+
+    /**
+     * Policy of a {@link Client} choosing the {@link Coordinator} of a transaction,
+     * see {@link it.unitn.disi.ds1.workload.CoordinatorSelector CoordinatorSelector}.
+     */
+    public enum CoordinatorSelection {
+        /**
+         * A random Coordinator.
+         */
+        RANDOM,
+        /**
+         * The Coordinator with the least outstanding work.
+         */
+        LEAST_OUTSTANDING,
+        /**
+         * The Coordinator with less outstanding work of two random one(s).
+         */
+        POWER_OF_TWO_CHOICES
+    }
+
+    /**
+     * Coordinator selection policy of every {@link Client}.
+     */
+    public static CoordinatorSelection COORDINATOR_SELECTION = CoordinatorSelection.POWER_OF_TWO_CHOICES;
+
+    /**
+     * Interval (ms) between two load report(s) sent by every {@link Coordinator} to its {@link Client Client(s)}.
+     */
+    public static int COORDINATOR_LOAD_INTERVAL_MS = 100;
+
+    /**
+     * Time (ms) without a load report after which a {@link Client} skips a {@link Coordinator}, suspected crashed.
+     */
+    public static int COORDINATOR_LOAD_TIMEOUT_MS = 300;
+
+    // --- Timeout ---
+
+    /**
+     * {@link Client} transaction begin to {@link Coordinator} timeout (ms).
+     */
+    public static int TXN_BEGIN_TIMEOUT_MS = 500;
 
     /**
      * 2PC {@link Coordinator} vote to {@link DataStore DataStore(s)} timeout (ms).
      */
-    public static final int TWOPC_COORDINATOR_TIMEOUT_MS = 2000;
+    public static int TWOPC_COORDINATOR_TIMEOUT_MS = 2000;
 
     /**
      * 2PC {@link DataStore} vote response to {@link Coordinator} timeout (ms).
      * 2PC {@link DataStore} decision to {@link Coordinator} timeout (ms).
      */
-    public static final int TWOPC_DATA_STORE_TIMEOUT_MS = 2000;
+    public static int TWOPC_DATA_STORE_TIMEOUT_MS = 2000;
 
     /**
      * 2PC {@link it.unitn.disi.ds1.actor.Actor} recovery timeout (ms) after a crash.
      */
-    public final static int TWOPC_RECOVERY_TIMEOUT_MS = 6000;
+    public static int TWOPC_RECOVERY_TIMEOUT_MS = 6000;
+
+    /**
+     * Retention time (ms) of an acknowledged final decision before being truncated.
+     * Must be greater than the time a late duplicate 2PC message may arrive.
+     * Unless loaded, twice the recovery timeout.
+     */
+    public static int DECISION_RETENTION_MS = 2 * TWOPC_RECOVERY_TIMEOUT_MS;
+
+    // --- Batching ---
+
+    /**
+     * Maximum number of 2PC message(s) towards the same recipient sent together in a batch:
+     * vote request(s) and decision(s) of a {@link Coordinator}, vote(s) and acknowledgement(s) of a {@link DataStore}.
+     * No batching if 1.
+     */
+    public static int TWOPC_BATCH_SIZE = 1;
+
+    /**
+     * Maximum time (ms) a 2PC message waits for its batch to fill.
+     */
+    public static int TWOPC_BATCH_DELAY_MS = 1;
+
+    // --- Durability ---
+
+    /**
+     * {@link DataStore} Write-Ahead Log (WAL) is enabled.
+     * If disabled, {@link DataStore} state is kept only in memory.
+     */
+    public static boolean WAL_ENABLED = false;
+
+    /**
+     * {@link DataStore} Write-Ahead Log (WAL) directory.
+     */
+    public static String WAL_DIRECTORY = "wal";
+
+    /**
+     * {@link DataStore} Write-Ahead Log (WAL) initial buffer size (bytes).
+     */
+    public static int WAL_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Maximum number of Write-Ahead Log (WAL) record(s) synced together (group commit).
+     */
+    public static int WAL_GROUP_COMMIT_SIZE = 64;
+
+    /**
+     * Maximum delay (ms) of a Write-Ahead Log (WAL) record before being synced (group commit).
+     */
+    public static int WAL_GROUP_COMMIT_DELAY_MS = 2;
+
+    /**
+     * {@link DataStore} periodic checkpoint is enabled.
+     * Requires the Write-Ahead Log (WAL).
+     */
+    public static boolean CHECKPOINT_ENABLED = false;
+
+    /**
+     * {@link DataStore} checkpoint directory.
+     */
+    public static String CHECKPOINT_DIRECTORY = "checkpoint";
+
+    /**
+     * Interval (ms) between two {@link DataStore} checkpoint(s).
+     */
+    public static int CHECKPOINT_INTERVAL_MS = 5000;
+
+    /**
+     * Number of {@link it.unitn.disi.ds1.etc.Item Item(s)} copied in a single checkpoint step.
+     */
+    public static int CHECKPOINT_CHUNK_SIZE = 64 * 1024;
+
+    // --- Concurrency control ---
+
+    /**
+     * Policy of the {@link it.unitn.disi.ds1.storage.LockManager LockManager} when a lock is held by another transaction.
+     * The age of a transaction is its read timestamp.
+     */
+    public enum LockPolicy {
+        /**
+         * Abort immediately (fail-fast).
+         */
+        NO_WAIT,
+        /**
+         * An older transaction waits, a younger one aborts.
+         */
+        WAIT_DIE,
+        /**
+         * An older transaction aborts (wounds) the younger waiting one(s), a younger one waits.
+         */
+        WOUND_WAIT
+    }
+
+    /**
+     * {@link DataStore} lock policy.
+     */
+    public static LockPolicy LOCK_POLICY = LockPolicy.WOUND_WAIT;
+
+    /**
+     * Maximum time (ms) a {@link DataStore} defers the vote of a transaction waiting for its lock(s) before voting ABORT.
+     * Bounds the wait(s) of a deadlock involving different {@link DataStore DataStore(s)}.
+     */
+    public static int LOCK_WAIT_TIMEOUT_MS = 500;
+
+    // --- Multi-version ---
+
+    /**
+     * Interval (ms) between two watermark(s) sent by every {@link Coordinator},
+     * older version(s) not visible at the lowest watermark are garbage collected.
+     */
+    public static int MVCC_WATERMARK_INTERVAL_MS = 500;
+
+    // --- Snapshot ---
+
+    /**
+     * Maximum number of {@link it.unitn.disi.ds1.etc.Item Item(s)} of a snapshot chunk sent by a {@link DataStore}.
+     */
+    public static int SNAPSHOT_CHUNK_ITEMS = 1024;
+
+    /**
+     * Maximum number of snapshot chunk(s) of a {@link DataStore} not yet acknowledged by the {@link Coordinator}.
+     */
+    public static int SNAPSHOT_WINDOW_CHUNKS = 4;
+
+    /**
+     * Directory of the JSON export of every snapshot, one file per {@link Coordinator} and snapshot.
+     * No export if empty.
+     */
+    public static String SNAPSHOT_EXPORT_DIRECTORY = "";
+
+    /**
+     * Interval (ms) between two marker-based global snapshot(s) initiated by {@link Coordinator} 0 while transaction(s) keep running.
+     * No global snapshot if 0.
+     */
+    public static int GLOBAL_SNAPSHOT_INTERVAL_MS = 0;
+
+    /**
+     * Maximum time (ms) of a global snapshot before it is abandoned for the next one,
+     * e.g. a crashed {@link DataStore} never sends its marker(s).
+     */
+    public static int GLOBAL_SNAPSHOT_TIMEOUT_MS = 2000;
+
+    // --- Metrics ---
+
+    /**
+     * Record the per-phase latencies and the event counters of the transaction(s).
+     */
+    public static boolean METRICS_ENABLED = true;
+
+    /**
+     * Export the metrics as MXBean(s) in the platform MBean server.
+     */
+    public static boolean METRICS_JMX_ENABLED = true;
+
+    // --- Tracing ---
+
+    /**
+     * Record the transaction event(s) of the {@link Coordinator Coordinator(s)} and {@link DataStore DataStore(s)}
+     * in the binary trace file, decoded offline by {@link it.unitn.disi.ds1.trace.TraceDecoder}.
+     */
+    public static boolean TRACE_ENABLED = true;
+
+    /**
+     * Trace file.
+     */
+    public static String TRACE_FILE = "banky.trace";
+
+    /**
+     * Number of event(s) buffered by every actor, rounded up to a power of 2.
+     * An event recorded with a full buffer is dropped.
+     */
+    public static int TRACE_BUFFER_EVENTS = 16384;
+
+    /**
+     * Interval (ms) between two flush(es) of the buffered event(s) to the trace file.
+     */
+    public static int TRACE_FLUSH_INTERVAL_MS = 100;
 
     /* --- Crash --- */
 
     /**
      * Crash {@link Coordinator} during recovery phase.
      */
-    public static final boolean CRASH_COORDINATOR_ON_RECOVERY = false;
+    public static boolean CRASH_COORDINATOR_ON_RECOVERY = false;
 
     /**
      * Crash {@link Coordinator} after sending first {@link it.unitn.disi.ds1.message.twopc.TwoPcVoteMessage 2PC vote message}.
      */
-    public static final boolean CRASH_COORDINATOR_VOTE_FIRST = false;
+    public static boolean CRASH_COORDINATOR_VOTE_FIRST = false;
 
     /**
      * Crash {@link Coordinator} after sending all {@link it.unitn.disi.ds1.message.twopc.TwoPcVoteMessage 2PC vote message(s)}.
      */
-    public static final boolean CRASH_COORDINATOR_VOTE_ALL = false;
+    public static boolean CRASH_COORDINATOR_VOTE_ALL = false;
 
     /**
      * Crash {@link Coordinator} after sending first {@link it.unitn.disi.ds1.message.twopc.TwoPcDecisionMessage 2PC decision message}.
      */
-    public static final boolean CRASH_COORDINATOR_DECISION_FIRST = false;
+    public static boolean CRASH_COORDINATOR_DECISION_FIRST = false;
 
     /**
      * Crash {@link Coordinator} after sending all {@link it.unitn.disi.ds1.message.twopc.TwoPcDecisionMessage 2PC decision message(s)}.
      */
-    public static final boolean CRASH_COORDINATOR_DECISION_ALL = false;
+    public static boolean CRASH_COORDINATOR_DECISION_ALL = false;
 
     /**
      * Crash {@link DataStore} before sending {@link it.unitn.disi.ds1.message.twopc.TwoPcVoteResultMessage 2PC vote message} response.
      */
-    public static final boolean CRASH_DATA_STORE_VOTE = false;
+    public static boolean CRASH_DATA_STORE_VOTE = false;
 
     /**
      * Crash {@link DataStore} before receiving {@link it.unitn.disi.ds1.message.twopc.TwoPcDecisionMessage 2PC decision message}.
      */
-    public static final boolean CRASH_DATA_STORE_DECISION = false;
+    public static boolean CRASH_DATA_STORE_DECISION = false;
 
     /**
      * Crash is enabled.
+     * Derived from the crash flag(s), never loaded.
      */
-    public static final boolean CRASH_ENABLED = CRASH_COORDINATOR_VOTE_FIRST
+    public static boolean CRASH_ENABLED = CRASH_COORDINATOR_VOTE_FIRST
             || CRASH_COORDINATOR_VOTE_ALL
             || CRASH_COORDINATOR_DECISION_FIRST
             || CRASH_COORDINATOR_DECISION_ALL
             || CRASH_DATA_STORE_VOTE
             || CRASH_DATA_STORE_DECISION;
+
+    // --- Runtime loading ---
+
+    /**
+     * Argument of the properties file to load.
+     */
+    private static final String CONFIG_ARGUMENT = "--config";
+
+    /**
+     * Derived value(s), never loaded.
+     */
+    private static final Set<String> DERIVED = Set.of("CRASH_ENABLED");
+
+    /**
+     * Configuration field(s) by name.
+     */
+    private static final Map<String, Field> FIELDS = fields();
+
+    /**
+     * Default value(s) by name.
+     */
+    private static final Map<String, Object> DEFAULTS = values();
+
+    /**
+     * Return the configuration field(s) by name, that is all the public static non final field(s).
+     *
+     * @return Configuration field(s)
+     */
+    private static Map<String, Field> fields() {
+        final Map<String, Field> fields = new LinkedHashMap<>();
+        for (final Field field : Config.class.getDeclaredFields()) {
+            final int modifiers = field.getModifiers();
+            if (Modifier.isPublic(modifiers) && Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers))
+                fields.put(field.getName(), field);
+        }
+        return fields;
+    }
+
+    /**
+     * Return the current configuration value(s) by name.
+     *
+     * @return Configuration value(s)
+     */
+    public static Map<String, Object> values() {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        try {
+            for (final Field field : FIELDS.values()) values.put(field.getName(), field.get(null));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(String.format("Config is unable to read its value(s): %s", e.getMessage()), e);
+        }
+        return values;
+    }
+
+    /**
+     * Load the configuration: every value is reset to its default, then overridden by the properties.
+     * Derived value(s) are computed again unless loaded.
+     *
+     * @param properties Value(s) by name
+     */
+    public static void load(Properties properties) {
+        try {
+            // Start from the default(s), a previous load does not leak
+            for (final Field field : FIELDS.values()) field.set(null, DEFAULTS.get(field.getName()));
+
+            for (final String name : properties.stringPropertyNames()) {
+                final Field field = FIELDS.get(name);
+                if (field == null || DERIVED.contains(name))
+                    throw new IllegalArgumentException(String.format("Unknown configuration value %s", name));
+                field.set(null, parse(field.getType(), name, properties.getProperty(name).trim()));
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(String.format("Config is unable to load its value(s): %s", e.getMessage()), e);
+        }
+
+        // Derived value(s)
+        if (!properties.containsKey("N_ITEMS")) N_ITEMS = N_DATA_STORES * 10;
+        if (!properties.containsKey("DECISION_RETENTION_MS")) DECISION_RETENTION_MS = 2 * TWOPC_RECOVERY_TIMEOUT_MS;
+        CRASH_ENABLED = CRASH_COORDINATOR_VOTE_FIRST
+                || CRASH_COORDINATOR_VOTE_ALL
+                || CRASH_COORDINATOR_DECISION_FIRST
+                || CRASH_COORDINATOR_DECISION_ALL
+                || CRASH_DATA_STORE_VOTE
+                || CRASH_DATA_STORE_DECISION;
+    }
+
+    /**
+     * Parse the value of a configuration field.
+     *
+     * @param type  Field type
+     * @param name  Field name
+     * @param value Value to parse
+     * @return Parsed value
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object parse(Class<?> type, String name, String value) {
+        try {
+            if (type == int.class) return Integer.parseInt(value);
+            if (type == long.class) return Long.parseLong(value);
+            if (type == double.class) return Double.parseDouble(value);
+            if (type == String.class) return value;
+            if (type == boolean.class) {
+                if (!value.matches("(?i)^(?:true|false)$")) throw new IllegalArgumentException("not a boolean");
+                return Boolean.parseBoolean(value);
+            }
+            if (type.isEnum()) return Enum.valueOf((Class<? extends Enum>) type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Configuration value %s=%s is not a valid %s", name, value, type.getSimpleName()), e);
+        }
+        throw new IllegalArgumentException(String.format("Configuration value %s has unsupported type %s", name, type.getSimpleName()));
+    }
+
+    /**
+     * Parse the command line argument(s): {@value #CONFIG_ARGUMENT} FILE loads a properties file,
+     * NAME=VALUE overrides a single value and takes precedence over the file(s).
+     *
+     * @param args Command line argument(s)
+     * @return Value(s) by name
+     * @throws IOException If a properties file cannot be read
+     */
+    public static Properties parse(String[] args) throws IOException {
+        final Properties files = new Properties();
+        final Properties overrides = new Properties();
+
+        for (int i = 0; i < args.length; i++) {
+            final String arg = args[i];
+            if (arg.equals(CONFIG_ARGUMENT) || arg.startsWith(CONFIG_ARGUMENT + "=")) {
+                final String file = arg.equals(CONFIG_ARGUMENT) ? (i + 1 < args.length ? args[++i] : null) : arg.substring(CONFIG_ARGUMENT.length() + 1);
+                if (file == null) throw new IllegalArgumentException(String.format("Missing file of %s argument", CONFIG_ARGUMENT));
+                try (final Reader reader = Files.newBufferedReader(Path.of(file))) {
+                    files.load(reader);
+                }
+            } else if (arg.contains("=")) {
+                overrides.setProperty(arg.substring(0, arg.indexOf('=')).trim(), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                throw new IllegalArgumentException(String.format("Unknown argument %s, expected %s FILE or NAME=VALUE", arg, CONFIG_ARGUMENT));
+            }
+        }
+
+        files.putAll(overrides);
+        return files;
+    }
 }
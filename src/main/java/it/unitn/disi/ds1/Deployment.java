@@ -0,0 +1,358 @@
+package it.unitn.disi.ds1;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.pattern.Patterns;
+import com.typesafe.config.ConfigFactory;
+import it.unitn.disi.ds1.actor.*;
+import it.unitn.disi.ds1.etc.ActorMetadata;
+import it.unitn.disi.ds1.message.welcome.ClientWelcomeMessage;
+import it.unitn.disi.ds1.message.welcome.CoordinatorWelcomeMessage;
+import it.unitn.disi.ds1.message.welcome.DataStoreWelcomeMessage;
+import it.unitn.disi.ds1.message.welcome.NodeJoinMessage;
+import it.unitn.disi.ds1.message.workload.WorkloadReportMessage;
+import it.unitn.disi.ds1.message.workload.WorkloadReportRequestMessage;
+import it.unitn.disi.ds1.metrics.Metrics;
+import it.unitn.disi.ds1.partitioner.Partitioner;
+import it.unitn.disi.ds1.trace.EventTrace;
+import it.unitn.disi.ds1.workload.WorkloadReport;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+/**
+ * Deployment of the {@link DataStore DataStore(s)}, {@link Coordinator Coordinator(s)} and {@link Client Client(s)}
+ * of the current {@link Config} in a new {@link ActorSystem}.
+ * Every actor runs in the same process, unless the process is the seed node or a node of a multi-process deployment
+ * (see {@link Config#ROLE}) joined through Akka remoting.
+ */
+public final class Deployment {
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(Deployment.class);
+
+    /**
+     * Maximum time to wait for the {@link WorkloadReport} of a {@link Client}.
+     */
+    private static final Duration REPORT_TIMEOUT = Duration.ofSeconds(1);
+
+    /**
+     * Maximum time to wait for the {@link ActorSystem} termination.
+     */
+    private static final Duration TERMINATION_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * {@link DataStore} dispatcher id in application.conf.
+     */
+    private static final String DATA_STORE_DISPATCHER = "banky.dispatchers.data-store";
+
+    /**
+     * {@link Coordinator} dispatcher id in application.conf.
+     */
+    private static final String COORDINATOR_DISPATCHER = "banky.dispatchers.coordinator";
+
+    /**
+     * {@link Client} dispatcher id in application.conf.
+     */
+    private static final String CLIENT_DISPATCHER = "banky.dispatchers.client";
+
+    /**
+     * {@link ActorSystem} of the actor(s).
+     */
+    public final ActorSystem system;
+
+    /**
+     * Key space {@link Partitioner}.
+     */
+    public final Partitioner partitioner;
+
+    /**
+     * {@link DataStore DataStore(s)} {@link ActorMetadata}.
+     */
+    public final List<ActorMetadata> dataStores;
+
+    /**
+     * {@link Coordinator Coordinator(s)} {@link ActorMetadata}.
+     */
+    public final List<ActorMetadata> coordinators;
+
+    /**
+     * {@link Client Client(s)} {@link ActorMetadata}.
+     */
+    public final List<ActorMetadata> clients;
+
+    /**
+     * Construct a new Deployment class, creating and welcoming the {@link DataStore DataStore(s)} and {@link Coordinator Coordinator(s)}
+     * in the same process.
+     * {@link Client Client(s)} are created but start only when welcomed.
+     *
+     * @param name {@link ActorSystem} name
+     */
+    public Deployment(String name) {
+        this(ActorSystem.create(name), Path.of(Config.TRACE_FILE));
+
+        // --- Initialization ---
+        // Data stores
+        LOGGER.info("Initializing {} data stores with {} {} partitioned item(s)", Config.N_DATA_STORES, partitioner.size(), Config.PARTITIONER);
+        IntStream.range(0, Config.N_DATA_STORES).forEach(id -> dataStores.add(ActorMetadata.of(id, system.actorOf(dispatched(DataStore.props(id, partitioner), DATA_STORE_DISPATCHER)))));
+        // Coordinators
+        LOGGER.info("Initializing {} coordinators", Config.N_COORDINATORS);
+        IntStream.range(0, Config.N_COORDINATORS).forEach(id -> coordinators.add(ActorMetadata.of(id, system.actorOf(dispatched(Coordinator.props(id, partitioner), COORDINATOR_DISPATCHER)))));
+        // Clients
+        LOGGER.info("Initializing {} clients", Config.N_CLIENTS);
+        IntStream.range(0, Config.N_CLIENTS).forEach(id -> clients.add(ActorMetadata.of(id, system.actorOf(dispatched(Client.props(id), CLIENT_DISPATCHER)))));
+
+        // --- Welcome ---
+        welcome();
+    }
+
+    /**
+     * Construct a new Deployment class without actor(s).
+     *
+     * @param system    {@link ActorSystem} of the actor(s)
+     * @param traceFile Trace file of the process
+     */
+    private Deployment(ActorSystem system, Path traceFile) {
+        this.system = system;
+        this.partitioner = Partitioner.of(Config.PARTITIONER, Config.N_ITEMS, Config.N_DATA_STORES);
+        this.dataStores = new ArrayList<>(Config.N_DATA_STORES);
+        this.coordinators = new ArrayList<>(Config.N_COORDINATORS);
+        this.clients = new ArrayList<>(Config.N_CLIENTS);
+
+        // --- Metrics ---
+        Metrics.reset();
+        if (Config.METRICS_JMX_ENABLED) Metrics.registerMBeans();
+
+        // --- Tracing ---
+        EventTrace.open(traceFile);
+        system.registerOnTermination(EventTrace::close);
+    }
+
+    /**
+     * Create the seed node Deployment: wait for all the {@link DataStore DataStore(s)}, {@link Coordinator Coordinator(s)}
+     * and {@link Client Client(s)} to join its {@link Registry} from their node(s), then welcome them as in a single process.
+     *
+     * @param name {@link ActorSystem} name, the same of every node
+     * @return Seed node Deployment
+     * @throws InterruptedException If interrupted while waiting
+     * @throws TimeoutException     If not all the actor(s) have joined in time
+     */
+    public static Deployment seed(String name) throws InterruptedException, TimeoutException {
+        final String[] seed = seedNode();
+        final Deployment deployment = new Deployment(ActorSystem.create(name, remoting(seed[0], Integer.parseInt(seed[1]))), Path.of(Config.TRACE_FILE));
+
+        // --- Join ---
+        final CompletableFuture<Map<Config.Role, List<ActorMetadata>>> joined = new CompletableFuture<>();
+        deployment.system.actorOf(Registry.props(joined), Registry.NAME);
+        LOGGER.info("Seed node at {} waiting for {} data stores, {} coordinators and {} clients to join",
+                Config.SEED_NODE, Config.N_DATA_STORES, Config.N_COORDINATORS, Config.N_CLIENTS);
+        try {
+            final Map<Config.Role, List<ActorMetadata>> members = joined.get(Config.JOIN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            deployment.dataStores.addAll(members.get(Config.Role.DATA_STORE));
+            deployment.coordinators.addAll(members.get(Config.Role.COORDINATOR));
+            deployment.clients.addAll(members.get(Config.Role.CLIENT));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(String.format("Deployment seed node join has FAILED: %s", e.getMessage()), e);
+        } catch (TimeoutException e) {
+            deployment.terminate();
+            throw new TimeoutException(String.format("Deployment seed node join has not completed in %d ms", Config.JOIN_TIMEOUT_MS));
+        }
+        LOGGER.info("Seed node all actor(s) have joined");
+
+        // --- Welcome ---
+        deployment.welcome();
+        return deployment;
+    }
+
+    /**
+     * Create a node Deployment hosting the share of the actor(s) of its {@link Config#ROLE role}
+     * whose id modulo {@link Config#N_ROLE_NODES} is {@link Config#NODE_INDEX}, joined to the seed node.
+     * The node terminates when the seed node leaves.
+     *
+     * @param name {@link ActorSystem} name, the same of the seed node
+     * @return Node Deployment
+     */
+    public static Deployment node(String name) {
+        if (Config.ROLE == Config.Role.ALL || Config.ROLE == Config.Role.SEED)
+            throw new IllegalArgumentException(String.format("Deployment role %s is not a node role", Config.ROLE));
+        if (Config.NODE_INDEX < 0 || Config.NODE_INDEX >= Config.N_ROLE_NODES)
+            throw new IllegalArgumentException(String.format("Deployment node index %d is not in [0, %d)", Config.NODE_INDEX, Config.N_ROLE_NODES));
+
+        final String[] seed = seedNode();
+        final Deployment deployment = new Deployment(ActorSystem.create(name, remoting(Config.HOSTNAME, Config.PORT)), nodeFile(Config.TRACE_FILE));
+        if (Config.METRICS_ENABLED) deployment.system.registerOnTermination(Metrics::log);
+
+        // --- Initialization ---
+        final List<ActorMetadata> actors;
+        switch (Config.ROLE) {
+            case DATA_STORE: {
+                IntStream.range(0, Config.N_DATA_STORES).filter(Deployment::isHosted)
+                        .forEach(id -> deployment.dataStores.add(ActorMetadata.of(id, deployment.system.actorOf(dispatched(DataStore.props(id, deployment.partitioner), DATA_STORE_DISPATCHER)))));
+                actors = deployment.dataStores;
+                break;
+            }
+            case COORDINATOR: {
+                IntStream.range(0, Config.N_COORDINATORS).filter(Deployment::isHosted)
+                        .forEach(id -> deployment.coordinators.add(ActorMetadata.of(id, deployment.system.actorOf(dispatched(Coordinator.props(id, deployment.partitioner), COORDINATOR_DISPATCHER)))));
+                actors = deployment.coordinators;
+                break;
+            }
+            default: {
+                IntStream.range(0, Config.N_CLIENTS).filter(Deployment::isHosted)
+                        .forEach(id -> deployment.clients.add(ActorMetadata.of(id, deployment.system.actorOf(dispatched(Client.props(id), CLIENT_DISPATCHER)))));
+                actors = deployment.clients;
+                break;
+            }
+        }
+        LOGGER.info("Node {} {} initialized {} actor(s)", Config.ROLE, Config.NODE_INDEX, actors.size());
+
+        // --- Join ---
+        final String registryPath = String.format("akka://%s@%s:%s/user/%s", name, seed[0], seed[1], Registry.NAME);
+        deployment.system.actorOf(NodeAgent.props(registryPath, new NodeJoinMessage(Config.ROLE, Config.NODE_INDEX, actors)), NodeAgent.NAME);
+        return deployment;
+    }
+
+    /**
+     * Return the {@link Props} on the dispatcher of the role,
+     * unless the {@link Config#DISPATCHER_TOPOLOGY dispatcher topology} is shared.
+     *
+     * @param props      Actor Props
+     * @param dispatcher Dispatcher id of the role
+     * @return Dispatched Props
+     */
+    private static Props dispatched(Props props, String dispatcher) {
+        return Config.DISPATCHER_TOPOLOGY == Config.DispatcherTopology.ISOLATED ? props.withDispatcher(dispatcher) : props;
+    }
+
+    /**
+     * Check if the actor is hosted by the node.
+     *
+     * @param id Actor id
+     * @return True if hosted, false otherwise
+     */
+    private static boolean isHosted(int id) {
+        return id % Config.N_ROLE_NODES == Config.NODE_INDEX;
+    }
+
+    /**
+     * Return the hostname and port of the {@link Config#SEED_NODE seed node}.
+     *
+     * @return Hostname and port
+     */
+    private static String[] seedNode() {
+        final String[] seed = Config.SEED_NODE.split(":");
+        if (seed.length != 2 || !seed[1].matches("^\\d+$"))
+            throw new IllegalArgumentException(String.format("Deployment seed node %s is not hostname:port", Config.SEED_NODE));
+        return seed;
+    }
+
+    /**
+     * Return the Akka configuration of a process reachable through remoting.
+     *
+     * @param hostname Hostname of the process
+     * @param port     Port of the process, 0 picks a free one
+     * @return Akka configuration
+     */
+    private static com.typesafe.config.Config remoting(String hostname, int port) {
+        return ConfigFactory.parseMap(Map.of(
+                "akka.actor.provider", "remote",
+                "akka.remote.artery.canonical.hostname", hostname,
+                "akka.remote.artery.canonical.port", port
+        )).withFallback(ConfigFactory.load());
+    }
+
+    /**
+     * Return the file of the node, suffixed by its role and index not to clash with the other node(s) of the same host.
+     *
+     * @param file File of a single process
+     * @return File of the node
+     */
+    private static Path nodeFile(String file) {
+        final String suffix = String.format("-%s-%d", Config.ROLE.name().toLowerCase(Locale.ROOT).replace('_', '-'), Config.NODE_INDEX);
+        final int extension = file.lastIndexOf('.');
+        return Path.of(extension > 0 ? file.substring(0, extension) + suffix + file.substring(extension) : file + suffix);
+    }
+
+    /**
+     * Welcome the {@link DataStore DataStore(s)} and {@link Coordinator Coordinator(s)}.
+     */
+    private void welcome() {
+        // DataStores
+        final DataStoreWelcomeMessage dataStoreWelcomeMessage = new DataStoreWelcomeMessage(dataStores, coordinators);
+        dataStores.forEach(dataStore -> dataStore.ref.tell(dataStoreWelcomeMessage, ActorRef.noSender()));
+        // Coordinators
+        final CoordinatorWelcomeMessage coordinatorWelcomeMessage = new CoordinatorWelcomeMessage(dataStores, coordinators);
+        coordinators.forEach(coordinator -> coordinator.ref.tell(coordinatorWelcomeMessage, ActorRef.noSender()));
+    }
+
+    /**
+     * Welcome the {@link Client Client(s)}, starting a run.
+     */
+    public void welcomeClients() {
+        final ClientWelcomeMessage clientWelcomeMessage = new ClientWelcomeMessage(coordinators, partitioner.maxKey());
+        clients.forEach(client -> client.ref.tell(clientWelcomeMessage, ActorRef.noSender()));
+    }
+
+    /**
+     * Collect the {@link WorkloadReport} of the run from all the {@link Client Client(s)}, merged.
+     * A Client not replying in time is missing from the report.
+     *
+     * @param reset Every Client starts a new report afterwards
+     * @return Merged WorkloadReport
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public WorkloadReport report(boolean reset) throws InterruptedException {
+        final WorkloadReport report = new WorkloadReport(0);
+
+        for (final ActorMetadata client : clients) {
+            try {
+                final Object reply = Patterns.ask(client.ref, new WorkloadReportRequestMessage(reset), REPORT_TIMEOUT).toCompletableFuture().get();
+                report.merge(((WorkloadReportMessage) reply).report);
+            } catch (ExecutionException e) {
+                LOGGER.warn("Client {} workload report is not available: {}", client.id, e.getMessage());
+            }
+        }
+
+        return report;
+    }
+
+    /**
+     * Wait for the {@link ActorSystem} termination, as a node when the seed node leaves.
+     *
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public void awaitTermination() throws InterruptedException {
+        try {
+            system.getWhenTerminated().toCompletableFuture().get();
+        } catch (ExecutionException e) {
+            LOGGER.warn("ActorSystem {} termination has FAILED: {}", system.name(), e.getMessage());
+        }
+    }
+
+    /**
+     * Terminate the {@link ActorSystem} and wait for its termination.
+     *
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public void terminate() throws InterruptedException {
+        system.terminate();
+        try {
+            system.getWhenTerminated().toCompletableFuture().get(TERMINATION_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            LOGGER.warn("ActorSystem {} termination has FAILED: {}", system.name(), e.getMessage());
+        }
+    }
+}
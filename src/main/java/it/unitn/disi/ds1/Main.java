@@ -1,21 +1,19 @@
 package it.unitn.disi.ds1;
 
 import akka.actor.ActorRef;
-import akka.actor.ActorSystem;
 import it.unitn.disi.ds1.actor.Client;
 import it.unitn.disi.ds1.actor.Coordinator;
-import it.unitn.disi.ds1.actor.DataStore;
 import it.unitn.disi.ds1.etc.ActorMetadata;
 import it.unitn.disi.ds1.message.Message;
 import it.unitn.disi.ds1.message.snapshot.SnapshotMessage;
-import it.unitn.disi.ds1.message.welcome.ClientWelcomeMessage;
-import it.unitn.disi.ds1.message.welcome.CoordinatorWelcomeMessage;
-import it.unitn.disi.ds1.message.welcome.DataStoreWelcomeMessage;
+import it.unitn.disi.ds1.metrics.Metrics;
+import it.unitn.disi.ds1.workload.WorkloadReport;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
 import java.util.*;
-import java.util.stream.IntStream;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Main class.
@@ -37,30 +35,39 @@ public final class Main {
     private static final Scanner SCANNER = new Scanner(System.in);
 
     public static void main(String[] args) {
-        // --- Variables ---
-        final ActorSystem system = ActorSystem.create("banky");
-        final List<ActorMetadata> dataStores = new ArrayList<>(Config.N_DATA_STORES);
-        final List<ActorMetadata> coordinators = new ArrayList<>(Config.N_COORDINATORS);
-        final List<ActorMetadata> clients = new ArrayList<>(Config.N_CLIENTS);
+        // --- Configuration ---
+        try {
+            Config.load(Config.parse(args));
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.error("Unable to load configuration: {}", e.getMessage());
+            return;
+        }
 
         // --- Initialization ---
-        // Data stores
-        LOGGER.info("Initializing {} data stores", Config.N_DATA_STORES);
-        IntStream.range(0, Config.N_DATA_STORES).forEach(id -> dataStores.add(ActorMetadata.of(id, system.actorOf(DataStore.props(id)))));
-        // Coordinators
-        LOGGER.info("Initializing {} coordinators", Config.N_COORDINATORS);
-        IntStream.range(0, Config.N_COORDINATORS).forEach(id -> coordinators.add(ActorMetadata.of(id, system.actorOf(Coordinator.props(id)))));
-        // Clients
-        LOGGER.info("Initializing {} clients", Config.N_CLIENTS);
-        IntStream.range(0, Config.N_CLIENTS).forEach(id -> clients.add(ActorMetadata.of(id, system.actorOf(Client.props(id)))));
-
-        // --- Welcome ---
-        // DataStores
-        final DataStoreWelcomeMessage dataStoreWelcomeMessage = new DataStoreWelcomeMessage(dataStores);
-        dataStores.forEach(dataStore -> dataStore.ref.tell(dataStoreWelcomeMessage, ActorRef.noSender()));
-        // Coordinators
-        final CoordinatorWelcomeMessage coordinatorWelcomeMessage = new CoordinatorWelcomeMessage(dataStores);
-        coordinators.forEach(coordinator -> coordinator.ref.tell(coordinatorWelcomeMessage, ActorRef.noSender()));
+        final Deployment deployment;
+        try {
+            switch (Config.ROLE) {
+                case ALL: {
+                    deployment = new Deployment("banky");
+                    break;
+                }
+                case SEED: {
+                    deployment = Deployment.seed("banky");
+                    break;
+                }
+                default: {
+                    // Node, its actor(s) run until the seed node leaves
+                    Deployment.node("banky").awaitTermination();
+                    return;
+                }
+            }
+        } catch (TimeoutException | IllegalArgumentException e) {
+            LOGGER.error("Unable to deploy: {}", e.getMessage());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
 
         // --- Run ---
         int run = 0;
@@ -69,14 +76,15 @@ public final class Main {
         // Lifecycle
         do {
             // Welcome Clients
-            final ClientWelcomeMessage clientWelcomeMessage = new ClientWelcomeMessage(coordinators, Config.MAX_ITEM_KEY);
-            clients.forEach(client -> client.ref.tell(clientWelcomeMessage, ActorRef.noSender()));
+            deployment.welcomeClients();
 
             // Mode selector
             switch (Config.MODE) {
                 case INTERACTIVE: {
                     // Ask transaction question always
-                    askTxnQuestion(coordinators, run);
+                    askTxnQuestion(deployment.coordinators, run);
+                    // Report the run
+                    reportWorkload(deployment, run);
 
                     // Continue ?
                     System.out.println("--- CONTINUE [Y|N]? ");
@@ -87,7 +95,9 @@ public final class Main {
                     // Stop
                     continueTxn = false;
                     // Ask transaction question before terminating
-                    askTxnQuestion(coordinators, 0);
+                    askTxnQuestion(deployment.coordinators, 0);
+                    // Report the run
+                    reportWorkload(deployment, 0);
                     break;
                 }
                 default: {
@@ -103,7 +113,7 @@ public final class Main {
 
         // Terminate
         LOGGER.info("Terminating system...");
-        system.terminate();
+        deployment.system.terminate();
     }
 
     /**
@@ -129,4 +139,21 @@ public final class Main {
                     .ref.tell(new SnapshotMessage(Message.NO_SENDER_ID, run), ActorRef.noSender());
         }
     }
+
+    /**
+     * Log the {@link WorkloadReport} of the run of all the {@link Client Client(s)}.
+     * Every Client starts a new report afterwards.
+     *
+     * @param deployment {@link Deployment} of the Client(s)
+     * @param run        Run counter
+     */
+    public static void reportWorkload(Deployment deployment, int run) {
+        try {
+            final WorkloadReport report = deployment.report(true);
+            LOGGER.info("Run {} {} workload with {} key(s): {}", run, Config.WORKLOAD_MODE, Config.KEY_DISTRIBUTION, report.summary());
+            if (Config.METRICS_ENABLED) Metrics.log();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
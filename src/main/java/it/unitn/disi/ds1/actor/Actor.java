@@ -1,13 +1,24 @@
 package it.unitn.disi.ds1.actor;
 
 import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
 import akka.actor.Cancellable;
 import it.unitn.disi.ds1.Config;
 import it.unitn.disi.ds1.etc.ActorMetadata;
+import it.unitn.disi.ds1.etc.Clock;
 import it.unitn.disi.ds1.etc.Decision;
+import it.unitn.disi.ds1.etc.DecisionLog;
 import it.unitn.disi.ds1.message.Message;
+import it.unitn.disi.ds1.message.twopc.OutboxFlushMessage;
+import it.unitn.disi.ds1.message.twopc.TwoPcBatchMessage;
 import it.unitn.disi.ds1.message.twopc.TwoPcRecoveryMessage;
 import it.unitn.disi.ds1.message.twopc.TwoPcTimeoutMessage;
+import it.unitn.disi.ds1.message.txn.TxnMessage;
+import it.unitn.disi.ds1.metrics.Counter;
+import it.unitn.disi.ds1.metrics.Metrics;
+import it.unitn.disi.ds1.network.Outbox;
+import it.unitn.disi.ds1.network.Transport;
+import it.unitn.disi.ds1.util.LongMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import scala.concurrent.duration.Duration;
@@ -37,14 +48,45 @@ public abstract class Actor extends AbstractActor {
     protected final Random random;
 
     /**
-     * Final {@link Decision} of the Actor for a {@link UUID transaction}.
+     * Final {@link Decision} of the Actor for a transaction.
      */
-    protected final Map<UUID, Decision> finalDecisions;
+    protected final DecisionLog finalDecisions;
 
     /**
-     * {@link UUID Transaction} {@link Cancellable timeout}.
+     * {@link Clock} used to timestamp transaction(s).
      */
-    protected final Map<UUID, Cancellable> transactionsTimeout;
+    protected final Clock clock;
+
+    /**
+     * Transaction {@link Cancellable timeout} by transaction id.
+     */
+    protected final LongMap<Cancellable> transactionsTimeout;
+
+    /**
+     * {@link Transport} delaying message(s) by the network latency.
+     */
+    private final Transport transport;
+
+    /**
+     * {@link Outbox} batching the 2PC message(s) by recipient.
+     */
+    private final Outbox outbox;
+
+    /**
+     * {@link Outbox} flush is scheduled.
+     */
+    private boolean outboxFlushScheduled;
+
+    /**
+     * Normal state, handling the message(s) of a {@link TwoPcBatchMessage}.
+     * Null until the first batch.
+     */
+    private Receive batchReceive;
+
+    /**
+     * Actor is crashed.
+     */
+    private boolean crashed;
 
     /**
      * Construct a new Actor class.
@@ -53,8 +95,14 @@ public abstract class Actor extends AbstractActor {
      */
     public Actor(int id) {
         this.id = id;
-        this.finalDecisions = new HashMap<>();
-        this.transactionsTimeout = new HashMap<>();
+        this.finalDecisions = new DecisionLog(Config.DECISION_RETENTION_MS);
+        this.clock = new Clock();
+        this.transactionsTimeout = new LongMap<>();
+        this.transport = new Transport(getContext());
+        this.outbox = new Outbox(id, Config.TWOPC_BATCH_SIZE);
+        this.outboxFlushScheduled = false;
+        this.batchReceive = null;
+        this.crashed = false;
 
         // Initialize random with SecureRandom
         Random r;
@@ -87,13 +135,49 @@ public abstract class Actor extends AbstractActor {
 
     /**
      * Send in multicast to the recipients the message.
-     * Use `crash` to simulate a crash during the operation.
+     * Use `crash` to simulate a crash during the operation,
+     * message(s) already sent are still delivered.
      *
      * @param recipients {@link Actor} recipients
      * @param message    Message to send
      * @param crash      Crash state
      */
     protected void multicast(Set<ActorMetadata> recipients, Message message, Crash crash) {
+        multicast(recipients, message, crash, false);
+    }
+
+    /**
+     * Send in multicast to the recipients the 2PC message through the {@link Outbox}.
+     * Use `crash` to simulate a crash during the operation,
+     * message(s) already sent, batched included, are still delivered.
+     *
+     * @param recipients {@link Actor} recipients
+     * @param message    Message to send
+     * @param crash      Crash state
+     */
+    protected void multicastBatched(Set<ActorMetadata> recipients, TxnMessage message, Crash crash) {
+        multicast(recipients, message, crash, true);
+    }
+
+    /**
+     * Send in multicast to the recipients the 2PC message through the {@link Outbox}.
+     *
+     * @param recipients {@link Actor} recipients
+     * @param message    Message to send
+     */
+    protected void multicastBatched(Set<ActorMetadata> recipients, TxnMessage message) {
+        multicast(recipients, message, Crash.NONE, true);
+    }
+
+    /**
+     * Send in multicast to the recipients the message, batched or not.
+     *
+     * @param recipients {@link Actor} recipients
+     * @param message    Message to send, a {@link TxnMessage} if batched
+     * @param crash      Crash state
+     * @param batched    Send through the {@link Outbox}
+     */
+    private void multicast(Set<ActorMetadata> recipients, Message message, Crash crash, boolean batched) {
         if (recipients == null) return;
         if (crash != Crash.NONE && !Config.CRASH_ENABLED)
             throw new IllegalStateException(String.format("Actor %d multicast tried to crash when crash is not enabled", id));
@@ -101,7 +185,8 @@ public abstract class Actor extends AbstractActor {
         LOGGER.debug("Actor {} send to multicast involving {} recipient(s): {}", id, recipients.size(), message);
         for (ActorMetadata recipient : recipients) {
             LOGGER.debug("Actor {} send to recipient {}: {}", id, recipient.id, message);
-            recipient.ref.tell(message, getSelf());
+            if (batched) sendBatched(recipient.ref, (TxnMessage) message);
+            else send(recipient.ref, message);
 
             if (crash == Crash.AFTER_FIRST_MESSAGE) {
                 LOGGER.debug("Actor {} crash after first message sent to recipient {}: {}", id, recipient.id, message);
@@ -149,51 +234,129 @@ public abstract class Actor extends AbstractActor {
     }
 
     /**
-     * Check if the Actor has already decided for the given {@link UUID transaction}.
+     * Check if the Actor has already decided for the given transaction.
      *
-     * @param transactionId {@link UUID Transaction} id
+     * @param transactionId Transaction id
      * @return True if already decided, false otherwise
      */
-    protected boolean hasDecided(UUID transactionId) {
-        return finalDecisions.containsKey(transactionId);
+    protected boolean hasDecided(long transactionId) {
+        return finalDecisions.contains(transactionId);
     }
 
     /**
-     * Set the final {@link Decision decision} of the Actor for the given {@link UUID transaction}.
+     * Set the final {@link Decision decision} of the Actor for the given transaction.
      *
-     * @param transactionId {@link UUID Transaction} id
+     * @param transactionId Transaction id
      * @param decision      Actor decision
      */
-    protected void decide(UUID transactionId, Decision decision) {
-        finalDecisions.computeIfAbsent(transactionId, k -> {
+    protected void decide(long transactionId, Decision decision) {
+        decide(transactionId, decision, 0L);
+    }
+
+    /**
+     * Set the final {@link Decision decision} of the Actor for the given transaction
+     * with the commit timestamp, stored only if the decision is COMMIT.
+     *
+     * @param transactionId   Transaction id
+     * @param decision        Actor decision
+     * @param commitTimestamp Commit timestamp
+     */
+    protected void decide(long transactionId, Decision decision, long commitTimestamp) {
+        if (finalDecisions.decide(transactionId, decision, commitTimestamp))
             LOGGER.debug("Actor {} has decided to {} for transaction {}", id, decision, transactionId);
-            return decision;
-        });
     }
 
     /**
-     * Sleep.
+     * Return the commit timestamp of the transaction, 0 if it has not been committed.
      *
-     * @param sleepTimeout Timeout in ms to sleep
+     * @param transactionId Transaction id
+     * @return Commit timestamp
      */
-    protected void sleep(int sleepTimeout) {
-        try {
-            Thread.sleep(sleepTimeout);
-        } catch (InterruptedException e) {
-            LOGGER.error("Actor {} sleep error: {}", id, e.getMessage());
-            e.printStackTrace();
-            getContext().system().terminate();
+    protected long commitTimestampOf(long transactionId) {
+        return finalDecisions.commitTimestamp(transactionId);
+    }
+
+    /**
+     * Send the message to the recipient through the {@link Transport}, it arrives after the network latency.
+     *
+     * @param recipient Recipient
+     * @param message   Message to send
+     */
+    protected void send(ActorRef recipient, Message message) {
+        // Never overtake a batched message
+        flushOutbox(recipient);
+
+        transport.send(recipient, message);
+        Metrics.increment(Counter.MESSAGES_SENT);
+    }
+
+    /**
+     * Send the 2PC message to the recipient through the {@link Outbox}:
+     * it waits for other message(s) to the same recipient up to {@link Config#TWOPC_BATCH_SIZE}
+     * or {@link Config#TWOPC_BATCH_DELAY_MS}, then they are sent together.
+     * Sent immediately if batching is disabled.
+     *
+     * @param recipient Recipient
+     * @param message   Message to send
+     */
+    protected void sendBatched(ActorRef recipient, TxnMessage message) {
+        Metrics.increment(Counter.TWOPC_MESSAGES);
+        if (Config.TWOPC_BATCH_SIZE <= 1) {
+            send(recipient, message);
+            Metrics.increment(Counter.TWOPC_SENDS);
+            return;
+        }
+
+        // Batch is full
+        if (outbox.add(recipient, message)) {
+            flushOutbox(recipient);
+            return;
+        }
+
+        // Deadline of the batch
+        if (!outboxFlushScheduled) {
+            outboxFlushScheduled = true;
+            getContext().system().scheduler().scheduleOnce(
+                    Duration.create(Config.TWOPC_BATCH_DELAY_MS, TimeUnit.MILLISECONDS),
+                    getSelf(),
+                    new OutboxFlushMessage(),
+                    getContext().getDispatcher(),
+                    getSelf()
+            );
         }
     }
 
     /**
-     * Sleep.
+     * Send the message(s) waiting in the {@link Outbox} for the recipient, if any.
+     *
+     * @param recipient Recipient
      */
-    protected void sleep() {
-        sleep(random
-                .ints(Config.MIN_SLEEP_TIMEOUT_MS, Config.MAX_SLEEP_TIMEOUT_MS + 1)
-                .findFirst()
-                .orElse(Math.abs(Config.MAX_SLEEP_TIMEOUT_MS - Config.MIN_SLEEP_TIMEOUT_MS)));
+    private void flushOutbox(ActorRef recipient) {
+        final Message message = outbox.drain(recipient);
+        if (message == null) return;
+
+        sendDrained(recipient, message);
+    }
+
+    /**
+     * Send all the message(s) waiting in the {@link Outbox}.
+     */
+    private void flushOutbox() {
+        if (outbox.isEmpty()) return;
+
+        outbox.drainAll().forEach(this::sendDrained);
+    }
+
+    /**
+     * Send the message drained from the {@link Outbox}.
+     *
+     * @param recipient Recipient
+     * @param message   Message, possibly a {@link TwoPcBatchMessage}
+     */
+    private void sendDrained(ActorRef recipient, Message message) {
+        transport.send(recipient, message);
+        Metrics.increment(Counter.MESSAGES_SENT);
+        Metrics.increment(Counter.TWOPC_SENDS);
     }
 
     /**
@@ -203,7 +366,10 @@ public abstract class Actor extends AbstractActor {
      */
     private Receive crashed() {
         return receiveBuilder()
-                .match(TwoPcRecoveryMessage.class, this::onTwoPcRecoveryMessage)
+                .match(TwoPcRecoveryMessage.class, message -> {
+                    crashed = false;
+                    onTwoPcRecoveryMessage(message);
+                })
                 .matchAny(message -> LOGGER.warn("Actor {} on crashed received unmatched message: {}", id, message))
                 .build();
     }
@@ -212,8 +378,13 @@ public abstract class Actor extends AbstractActor {
      * Simulate Actor crash.
      */
     protected void crash() {
+        // Batched message(s) have already been sent
+        flushOutbox();
+        outboxFlushScheduled = false;
+
         // Become crashed
         getContext().become(crashed());
+        crashed = true;
         LOGGER.info("Actor {} is crashed", id);
 
         // Cancel all timeout(s)
@@ -224,7 +395,7 @@ public abstract class Actor extends AbstractActor {
                 Duration.create(Config.TWOPC_RECOVERY_TIMEOUT_MS, TimeUnit.MILLISECONDS),
                 getSelf(),
                 new TwoPcRecoveryMessage(),
-                getContext().system().dispatcher(),
+                getContext().getDispatcher(),
                 getSelf()
         );
     }
@@ -235,26 +406,56 @@ public abstract class Actor extends AbstractActor {
      * @param transactionId Transaction id during timeout
      * @param timeout       Timeout in ms
      */
-    protected void timeout(UUID transactionId, int timeout) {
+    protected void timeout(long transactionId, int timeout) {
         unTimeout(transactionId);
         transactionsTimeout.put(transactionId, getContext().system().scheduler().scheduleOnce(
                 Duration.create(timeout, TimeUnit.MILLISECONDS),
                 getSelf(),
                 new TwoPcTimeoutMessage(transactionId),
-                getContext().system().dispatcher(),
+                getContext().getDispatcher(),
                 getSelf()));
     }
 
     /**
-     * Remove (and cancel), if present, the {@link Cancellable timeout} of the {@link UUID transaction}.
+     * Remove (and cancel), if present, the {@link Cancellable timeout} of the transaction.
      *
      * @param transactionId Transaction id during timeout
      */
-    protected void unTimeout(UUID transactionId) {
-        transactionsTimeout.compute(transactionId, (k, v) -> {
-            if (v != null) v.cancel();
-            return null;
-        });
+    protected void unTimeout(long transactionId) {
+        final Cancellable timeout = transactionsTimeout.remove(transactionId);
+        if (timeout != null) timeout.cancel();
+    }
+
+    /**
+     * Callback for {@link TwoPcBatchMessage} message.
+     * Every batched message is handled in order as if received alone from the same sender,
+     * the remaining one(s) are dropped if the Actor crashes meanwhile.
+     *
+     * @param message Received message
+     */
+    protected void onTwoPcBatchMessage(TwoPcBatchMessage message) {
+        LOGGER.trace("Actor {} received from Actor {} TwoPcBatchMessage of {} message(s)", id, message.senderId, message.messages.size());
+
+        if (batchReceive == null) batchReceive = createReceive();
+        for (final TxnMessage batched : message.messages) {
+            if (crashed) {
+                LOGGER.warn("Actor {} on crashed dropped batched message: {}", id, batched);
+                continue;
+            }
+            batchReceive.onMessage().apply(batched);
+        }
+    }
+
+    /**
+     * Callback for {@link OutboxFlushMessage} message.
+     *
+     * @param message Received message
+     */
+    protected void onOutboxFlushMessage(OutboxFlushMessage message) {
+        LOGGER.trace("Actor {} received OutboxFlushMessage: {}", id, message);
+
+        outboxFlushScheduled = false;
+        flushOutbox();
     }
 
     /**
@@ -9,12 +9,22 @@ import akka.actor.*;
 import it.unitn.disi.ds1.Config;
 import it.unitn.disi.ds1.etc.ActorMetadata;
 import it.unitn.disi.ds1.etc.Item;
+import it.unitn.disi.ds1.etc.TransactionId;
+import it.unitn.disi.ds1.message.load.CoordinatorLoadMessage;
+import it.unitn.disi.ds1.message.load.CoordinatorLoadSubscribeMessage;
 import it.unitn.disi.ds1.message.txn.read.TxnReadMessage;
 import it.unitn.disi.ds1.message.txn.read.TxnReadResultMessage;
 import it.unitn.disi.ds1.message.txn.write.TxnWriteMessage;
 import it.unitn.disi.ds1.etc.Decision;
 import it.unitn.disi.ds1.message.txn.*;
 import it.unitn.disi.ds1.message.welcome.ClientWelcomeMessage;
+import it.unitn.disi.ds1.message.workload.WorkloadReportMessage;
+import it.unitn.disi.ds1.message.workload.WorkloadReportRequestMessage;
+import it.unitn.disi.ds1.network.Transport;
+import it.unitn.disi.ds1.util.LongMap;
+import it.unitn.disi.ds1.workload.CoordinatorSelector;
+import it.unitn.disi.ds1.workload.KeyGenerator;
+import it.unitn.disi.ds1.workload.WorkloadReport;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import scala.concurrent.duration.Duration;
@@ -33,26 +43,6 @@ public final class Client extends AbstractActor {
      */
     private static final double COMMIT_PROBABILITY = 1;
 
-    /**
-     * Write probability.
-     */
-    private static final double WRITE_PROBABILITY = 0.5;
-
-    /**
-     * Minimum transactions.
-     */
-    private static final int MIN_TXN_LENGTH = 8;
-
-    /**
-     * Maximum transactions.
-     */
-    private static final int MAX_TXN_LENGTH = 15;
-
-    /**
-     * Random range.
-     */
-    private static final int RAND_LENGTH_RANGE = MAX_TXN_LENGTH - MIN_TXN_LENGTH + 1;
-
     /**
      * Client identifier.
      */
@@ -64,9 +54,14 @@ public final class Client extends AbstractActor {
     private final List<ActorMetadata> coordinators;
 
     /**
-     * Maximum key associated to items in {@link DataStore DataStore(s)F}.
+     * {@link CoordinatorSelector} of the {@link Coordinator} of a transaction.
      */
-    private int maxItemKey;
+    private CoordinatorSelector coordinatorSelector;
+
+    /**
+     * {@link KeyGenerator} of the {@link Item} key(s) in {@link DataStore DataStore(s)}.
+     */
+    private KeyGenerator keyGenerator;
 
     // - Transactions
     /**
@@ -80,60 +75,130 @@ public final class Client extends AbstractActor {
     private int txnCommitted;
 
     /**
-     * Accepted transaction.
+     * Sequence number of the next transaction.
      */
-    private boolean txnAccepted;
+    private int txnSequence;
 
     /**
-     * {@link Coordinator} of the transaction.
+     * {@link Transaction Transaction(s)} waiting to be accepted by their {@link Coordinator}, by sequence number.
      */
-    private ActorMetadata txnCoordinator;
+    private final Map<Integer, Transaction> txnBeginning;
 
     /**
-     * First {@link Item} key of the transaction.
+     * {@link Transaction Transaction(s)} accepted by their {@link Coordinator}, by transaction id.
      */
-    private int txnFirstKey;
+    private final LongMap<Transaction> txnRunning;
 
     /**
-     * Second {@link Item} key of the transaction.
+     * Number of transaction(s) waiting the think time to begin.
      */
-    private int txnSecondKey;
+    private int txnThinking;
 
+    // - Workload
     /**
-     * First {@link Item} value of the transaction.
+     * Arrival time(s) (ns) of the transaction(s) waiting to begin, in open loop.
      */
-    private Integer txnFirstValue;
+    private final Queue<Long> backlog;
 
     /**
-     * Second {@link Item} value of the transaction.
+     * Number of arrival(s) in open loop.
      */
-    private Integer txnSecondValue;
+    private int arrivals;
 
     /**
-     * Total transactions operations.
+     * {@link WorkloadReport} of the run.
      */
-    private int txnOpTotal;
+    private WorkloadReport report;
 
     /**
-     * Successfully transactions operations.
+     * {@link Random} instance.
      */
-    private int txnOpDone;
+    private final Random random;
 
     /**
-     * Transaction accept {@link Cancellable timeout}.
+     * {@link Transport} delaying message(s) by the network latency.
      */
-    private Cancellable txnAcceptTimeout;
-
-    /**
-     * {@link Random} instance.
-     */
-    private final Random random;
+    private final Transport transport;
 
     /**
      * Run counter.
      */
     private int run;
 
+    /**
+     * Context of a transaction of the Client.
+     */
+    private static final class Transaction {
+        /**
+         * Sequence number of the transaction in the Client.
+         */
+        final int sequence;
+
+        /**
+         * Arrival time (ns) of the transaction.
+         */
+        final long arrivedAt;
+
+        /**
+         * {@link Coordinator} of the transaction.
+         */
+        final ActorMetadata coordinator;
+
+        /**
+         * Transaction id, {@link TransactionId#NONE} until accepted.
+         */
+        long id;
+
+        /**
+         * Transaction accept {@link Cancellable timeout}.
+         */
+        Cancellable acceptTimeout;
+
+        /**
+         * First {@link Item} key of the transaction.
+         */
+        int firstKey;
+
+        /**
+         * Second {@link Item} key of the transaction.
+         */
+        int secondKey;
+
+        /**
+         * First {@link Item} value of the transaction.
+         */
+        Integer firstValue;
+
+        /**
+         * Second {@link Item} value of the transaction.
+         */
+        Integer secondValue;
+
+        /**
+         * Total transactions operations.
+         */
+        int opTotal;
+
+        /**
+         * Successfully transactions operations.
+         */
+        int opDone;
+
+        /**
+         * Construct a new Transaction class.
+         *
+         * @param sequence    Sequence number of the transaction
+         * @param arrivedAt   Arrival time (ns) of the transaction
+         * @param coordinator Coordinator of the transaction
+         */
+        Transaction(int sequence, long arrivedAt, ActorMetadata coordinator) {
+            this.sequence = sequence;
+            this.arrivedAt = arrivedAt;
+            this.coordinator = coordinator;
+            this.id = TransactionId.NONE;
+        }
+    }
+
     // --- Constructors ---
 
     /**
@@ -146,6 +211,13 @@ public final class Client extends AbstractActor {
         this.coordinators = new ArrayList<>();
         this.txnAttempted = 0;
         this.txnCommitted = 0;
+        this.txnSequence = 0;
+        this.txnBeginning = new HashMap<>();
+        this.txnRunning = new LongMap<>();
+        this.txnThinking = 0;
+        this.backlog = new ArrayDeque<>();
+        this.arrivals = 0;
+        this.report = new WorkloadReport(1);
         this.run = 0;
         // Initialize random with SecureRandom
         Random r;
@@ -156,7 +228,7 @@ public final class Client extends AbstractActor {
             r = new Random();
         }
         this.random = r;
-
+        this.transport = new Transport(getContext());
 
         LOGGER.debug("Client {} initialized", id);
     }
@@ -177,116 +249,159 @@ public final class Client extends AbstractActor {
                 .match(ClientWelcomeMessage.class, this::onClientWelcomeMessage)
                 .match(TxnBeginResultMessage.class, this::onTxnBeginResultMessage)
                 .match(TxnBeginTimeoutMessage.class, this::onTxnBeginTimeoutMessage)
+                .match(CoordinatorLoadMessage.class, this::onCoordinatorLoadMessage)
+                .match(TxnBeginDelayMessage.class, this::onTxnBeginDelayMessage)
+                .match(TxnArrivalMessage.class, this::onTxnArrivalMessage)
                 .match(TxnReadResultMessage.class, this::onTxnReadResultMessage)
                 .match(TxnEndResultMessage.class, this::onTxnEndResultMsg)
                 .match(TxnStopMessage.class, this::onTxnStopMessage)
+                .match(WorkloadReportRequestMessage.class, this::onWorkloadReportRequestMessage)
                 .build();
     }
 
     // --- Methods ---
 
     /**
-     * Start a new transaction.
+     * Return the number of transaction(s) in flight: waiting the think time, to be accepted or running.
+     *
+     * @return Number of transaction(s) in flight
      */
-    private void beginTxn() {
-        // Delay between transactions from the same client
-        try {
-            Thread.sleep(10);
-        } catch (InterruptedException e) {
-            LOGGER.error("{}", e.getMessage());
-            e.printStackTrace();
-            getContext().system().terminate();
-        }
+    private int inFlight() {
+        return txnThinking + txnBeginning.size() + txnRunning.size();
+    }
+
+    /**
+     * Start a new transaction after the think time, without blocking.
+     */
+    private void delayBeginTxn() {
+        txnThinking++;
+        getContext().system().scheduler().scheduleOnce(
+                Duration.create(Config.CLIENT_THINK_TIME_MS, TimeUnit.MILLISECONDS),
+                getSelf(),
+                new TxnBeginDelayMessage(),
+                getContext().getDispatcher(),
+                getSelf()
+        );
+    }
+
+    /**
+     * Schedule the next arrival of an open loop, after an exponential inter-arrival time.
+     */
+    private void scheduleArrival() {
+        final double delaySeconds = -Math.log(1 - random.nextDouble()) / Config.WORKLOAD_ARRIVAL_RATE;
+        getContext().system().scheduler().scheduleOnce(
+                Duration.create(Math.round(delaySeconds * 1e6), TimeUnit.MICROSECONDS),
+                getSelf(),
+                new TxnArrivalMessage(),
+                getContext().getDispatcher(),
+                getSelf()
+        );
+    }
 
-        txnAccepted = false;
+    /**
+     * Begin the oldest transaction(s) of the backlog, while the window is not full.
+     */
+    private void beginBackloggedTxns() {
+        while (inFlight() < Config.CLIENT_WINDOW && !backlog.isEmpty()) beginTxn(backlog.poll());
+    }
+
+    /**
+     * Start a new transaction.
+     *
+     * @param arrivedAt Arrival time (ns) of the transaction, -1 if arriving now
+     */
+    private void beginTxn(long arrivedAt) {
         txnAttempted++;
 
-        // Contact a random coordinator and begin a transaction
-        final TxnBeginMessage outMessage = new TxnBeginMessage(id);
-        txnCoordinator = coordinators.get(random.nextInt(coordinators.size()));
-        txnCoordinator.ref.tell(outMessage, getSelf());
-        LOGGER.debug("Client {} send to Coordinator {} TxnBeginMessage: {}", id, txnCoordinator.id, outMessage);
+        // Closed loop, the transaction arrives when it begins (not again on retry)
+        if (arrivedAt < 0) {
+            arrivedAt = System.nanoTime();
+            report.arrive(System.currentTimeMillis());
+        }
+
+        // Contact the selected coordinator and begin a transaction
+        final Transaction txn = new Transaction(txnSequence++, arrivedAt, coordinatorSelector.select(random, System.nanoTime()));
+        txnBeginning.put(txn.sequence, txn);
+        final TxnBeginMessage outMessage = new TxnBeginMessage(id, txn.sequence);
+        transport.send(txn.coordinator.ref, outMessage);
+        LOGGER.debug("Client {} send to Coordinator {} TxnBeginMessage: {}", id, txn.coordinator.id, outMessage);
 
         // Total number of operations
-        final int txtOpExtra = RAND_LENGTH_RANGE > 0 ? random.nextInt(RAND_LENGTH_RANGE) : 0;
-        txnOpTotal = MIN_TXN_LENGTH + txtOpExtra;
-        txnOpDone = 0;
+        final int randLengthRange = Config.MAX_TXN_LENGTH - Config.MIN_TXN_LENGTH + 1;
+        final int txtOpExtra = randLengthRange > 0 ? random.nextInt(randLengthRange) : 0;
+        txn.opTotal = Config.MIN_TXN_LENGTH + txtOpExtra;
+        txn.opDone = 0;
 
         // Timeout confirmation of transaction by coordinator
-        txnAcceptTimeout = getContext().system().scheduler().scheduleOnce(
-                Duration.create(500, TimeUnit.MILLISECONDS),
+        txn.acceptTimeout = getContext().system().scheduler().scheduleOnce(
+                Duration.create(Config.TXN_BEGIN_TIMEOUT_MS, TimeUnit.MILLISECONDS),
                 getSelf(),
-                new TxnBeginTimeoutMessage(),
-                getContext().system().dispatcher(),
+                new TxnBeginTimeoutMessage(txn.sequence),
+                getContext().getDispatcher(),
                 getSelf()
         );
 
-        LOGGER.info("Client {} BEGIN transaction", id);
+        LOGGER.debug("Client {} BEGIN transaction #{}", id, txn.sequence);
     }
 
     /**
      * Read two {@link Item items}.
+     *
+     * @param txn Transaction
      */
-    private void readTwo() {
+    private void readTwo(Transaction txn) {
         // Obtain items keys
-        txnFirstKey = random.nextInt(maxItemKey + 1);
-        final int randKeyOffset = 1 + random.nextInt(maxItemKey - 1);
-        txnSecondKey = (txnFirstKey + randKeyOffset) % (maxItemKey + 1);
+        txn.firstKey = keyGenerator.next(random);
+        txn.secondKey = keyGenerator.nextOther(random, txn.firstKey);
 
-        // Read request 1
-        final TxnReadMessage outFirstMessage = new TxnReadMessage(id, txnFirstKey);
-        txnCoordinator.ref.tell(outFirstMessage, getSelf());
-        LOGGER.debug("Client {} send to Coordinator {} TxnReadMessage: {}", id, txnCoordinator.id, outFirstMessage);
-
-        // Read request 2
-        final TxnReadMessage outSecondMessage = new TxnReadMessage(id, txnSecondKey);
-        txnCoordinator.ref.tell(outSecondMessage, getSelf());
-        LOGGER.debug("Client {} send to Coordinator {} TxnReadMessage: {}", id, txnCoordinator.id, outSecondMessage);
+        // Read request of both Item(s)
+        final TxnReadMessage outMessage = new TxnReadMessage(id, txn.id, Set.of(txn.firstKey, txn.secondKey));
+        transport.send(txn.coordinator.ref, outMessage);
+        LOGGER.debug("Client {} send to Coordinator {} TxnReadMessage: {}", id, txn.coordinator.id, outMessage);
 
         // Delete the current read values
-        txnFirstValue = null;
-        txnSecondValue = null;
+        txn.firstValue = null;
+        txn.secondValue = null;
 
-        LOGGER.info("Client {} READ #{} ({}), ({})", id, txnOpDone, txnFirstKey, txnSecondKey);
+        LOGGER.debug("Client {} READ #{} ({}), ({}) in transaction {}", id, txn.opDone, txn.firstKey, txn.secondKey, txn.id);
     }
 
     /**
      * Write two {@link Item items}.
+     *
+     * @param txn Transaction
      */
-    private void writeTwo() {
+    private void writeTwo(Transaction txn) {
         // Amount to add/remove
-        final int amount = (txnFirstValue >= 1) ? 1 + random.nextInt(txnFirstValue) : 0;
+        final int amount = (txn.firstValue >= 1) ? 1 + random.nextInt(txn.firstValue) : 0;
         // New first value
-        final int newFirstValue = txnFirstValue - amount;
+        final int newFirstValue = txn.firstValue - amount;
         // New second value
-        final int newSecondValue = txnSecondValue + amount;
-
-        // Write request 1
-        final TxnWriteMessage outFirstMessage = new TxnWriteMessage(id, txnFirstKey, newFirstValue);
-        txnCoordinator.ref.tell(outFirstMessage, getSelf());
-        LOGGER.debug("Client {} send to Coordinator {} TxnWriteMessage: {}", id, txnCoordinator.id, outFirstMessage);
+        final int newSecondValue = txn.secondValue + amount;
 
-        // Write request 2
-        final TxnWriteMessage outSecondMessage = new TxnWriteMessage(id, txnSecondKey, newSecondValue);
-        txnCoordinator.ref.tell(outSecondMessage, getSelf());
-        LOGGER.debug("Client {} send to Coordinator {} TxnWriteMessage: {}", id, txnCoordinator.id, outSecondMessage);
+        // Write request of both Item(s)
+        final TxnWriteMessage outMessage = new TxnWriteMessage(id, txn.id, Map.of(txn.firstKey, newFirstValue, txn.secondKey, newSecondValue));
+        transport.send(txn.coordinator.ref, outMessage);
+        LOGGER.debug("Client {} send to Coordinator {} TxnWriteMessage: {}", id, txn.coordinator.id, outMessage);
 
-        LOGGER.info("Client {} WRITE #{} taken {} ({}, {}), ({}, {})", id, txnOpDone, amount, txnFirstKey, newFirstValue, txnSecondKey, newSecondValue);
+        LOGGER.debug("Client {} WRITE #{} taken {} ({}, {}), ({}, {}) in transaction {}", id, txn.opDone, amount, txn.firstKey, newFirstValue, txn.secondKey, newSecondValue, txn.id);
     }
 
     /**
      * End transaction.
+     *
+     * @param txn Transaction
      */
-    private void endTxn() {
+    private void endTxn(Transaction txn) {
         final boolean commit = random.nextDouble() < COMMIT_PROBABILITY;
-        final TxnEndMessage outMessage = new TxnEndMessage(id, Decision.valueOf(commit));
+        final TxnEndMessage outMessage = new TxnEndMessage(id, txn.id, Decision.valueOf(commit));
 
-        txnCoordinator.ref.tell(outMessage, getSelf());
-        txnFirstValue = null;
-        txnSecondValue = null;
+        transport.send(txn.coordinator.ref, outMessage);
+        txn.firstValue = null;
+        txn.secondValue = null;
 
-        LOGGER.debug("Client {} send to Coordinator {} TxnEndMessage: {}", id, txnCoordinator.id, outMessage);
-        LOGGER.info("Client {} END transaction", id);
+        LOGGER.debug("Client {} send to Coordinator {} TxnEndMessage: {}", id, txn.coordinator.id, outMessage);
+        LOGGER.debug("Client {} END transaction {}", id, txn.id);
     }
 
     // --- Message handlers ---
@@ -302,11 +417,26 @@ public final class Client extends AbstractActor {
         // Coordinators
         coordinators.clear();
         coordinators.addAll(message.coordinators);
-        // Max item key
-        maxItemKey = message.maxItemKey;
-
-        // Begin Transaction
-        beginTxn();
+        coordinatorSelector = new CoordinatorSelector(Config.COORDINATOR_SELECTION, coordinators, System.nanoTime());
+        // Load report(s) of every Coordinator
+        final CoordinatorLoadSubscribeMessage subscribeMessage = new CoordinatorLoadSubscribeMessage(id);
+        for (final ActorMetadata coordinator : coordinators) transport.send(coordinator.ref, subscribeMessage);
+        // Item key(s)
+        keyGenerator = KeyGenerator.of(Config.KEY_DISTRIBUTION, message.maxItemKey + 1);
+
+        // Begin Transaction(s)
+        switch (Config.WORKLOAD_MODE) {
+            case CLOSED:
+                for (int i = 0; i < Config.CLIENT_WINDOW; i++) {
+                    if (Config.MODE == Config.Mode.AUTOMATIC && run + inFlight() >= Config.N_RUNS) break;
+                    delayBeginTxn();
+                }
+                break;
+            case OPEN:
+                arrivals = 0;
+                scheduleArrival();
+                break;
+        }
     }
 
     /**
@@ -317,10 +447,19 @@ public final class Client extends AbstractActor {
     private void onTxnBeginResultMessage(TxnBeginResultMessage message) {
         LOGGER.debug("Client {} received TxnBeginResultMessage: {}", id, message);
 
-        txnAccepted = true;
-        txnAcceptTimeout.cancel();
+        final Transaction txn = txnBeginning.remove(message.sequence);
+        if (txn == null) {
+            // Accepted after its timeout, already begun again: nobody ends it
+            LOGGER.warn("Client {} ABORT transaction {} accepted after its timeout", id, message.transactionId);
+            transport.send(getSender(), new TxnEndMessage(id, message.transactionId, Decision.ABORT));
+            return;
+        }
+
+        txn.acceptTimeout.cancel();
+        txn.id = message.transactionId;
+        txnRunning.put(txn.id, txn);
 
-        readTwo();
+        readTwo(txn);
     }
 
     /**
@@ -331,14 +470,61 @@ public final class Client extends AbstractActor {
     private void onTxnBeginTimeoutMessage(TxnBeginTimeoutMessage message) {
         LOGGER.warn("Client {} received TxnBeginTimeoutMessage: {}", id, message);
 
-        if (!txnAccepted) {
-            LOGGER.debug("Client {} start a new transaction due to timeout", id);
-            beginTxn();
+        final Transaction txn = txnBeginning.remove(message.sequence);
+        if (txn != null) {
+            // Skip the Coordinator until it reports its load again
+            coordinatorSelector.suspect(txn.coordinator.id, System.nanoTime());
+            LOGGER.debug("Client {} begin again transaction #{} due to timeout", id, txn.sequence);
+            beginTxn(txn.arrivedAt);
         } else {
-            LOGGER.warn("Client {} ignoring timeout since there is a transaction running", id);
+            LOGGER.warn("Client {} ignoring timeout since transaction #{} is running", id, message.sequence);
         }
     }
 
+    /**
+     * Callback for {@link CoordinatorLoadMessage} message.
+     *
+     * @param message Received message
+     */
+    private void onCoordinatorLoadMessage(CoordinatorLoadMessage message) {
+        LOGGER.trace("Client {} received from Coordinator {} CoordinatorLoadMessage: {}", id, message.senderId, message);
+
+        coordinatorSelector.report(message.senderId, message.load(), System.nanoTime());
+    }
+
+    /**
+     * Callback for {@link TxnBeginDelayMessage} message.
+     *
+     * @param message Received message
+     */
+    private void onTxnBeginDelayMessage(TxnBeginDelayMessage message) {
+        txnThinking--;
+        beginTxn(-1);
+    }
+
+    /**
+     * Callback for {@link TxnArrivalMessage} message.
+     *
+     * @param message Received message
+     */
+    private void onTxnArrivalMessage(TxnArrivalMessage message) {
+        arrivals++;
+        report.arrive(System.currentTimeMillis());
+
+        // Wait in the backlog, unless full
+        if (backlog.size() < Config.WORKLOAD_MAX_BACKLOG) {
+            backlog.add(System.nanoTime());
+        } else {
+            report.drop();
+            LOGGER.warn("Client {} backlog is full, arrival {} dropped", id, arrivals);
+        }
+
+        // Next arrival, whatever the running transaction(s)
+        if (arrivals < Config.N_RUNS) scheduleArrival();
+
+        beginBackloggedTxns();
+    }
+
     /**
      * Callback for {@link TxnReadResultMessage} message.
      *
@@ -347,22 +533,28 @@ public final class Client extends AbstractActor {
     private void onTxnReadResultMessage(TxnReadResultMessage message) {
         LOGGER.debug("Client {} received TxnReadResultMessage: {}", id, message);
 
+        final Transaction txn = txnRunning.get(message.transactionId);
+        if (txn == null) {
+            LOGGER.warn("Client {} received TxnReadResultMessage for unknown transaction {}", id, message.transactionId);
+            return;
+        }
+
         // Save read value(s)
-        if (message.key == txnFirstKey) txnFirstValue = message.value;
-        else if (message.key == txnSecondKey) txnSecondValue = message.value;
+        txn.firstValue = message.values.get(txn.firstKey);
+        txn.secondValue = message.values.get(txn.secondKey);
 
-        final boolean opDone = (txnFirstValue != null && txnSecondValue != null);
+        final boolean opDone = (txn.firstValue != null && txn.secondValue != null);
 
         // Read or also write ?
-        final boolean doWrite = random.nextDouble() < WRITE_PROBABILITY;
-        if (doWrite && opDone) writeTwo();
+        final boolean doWrite = random.nextDouble() < Config.WRITE_PROBABILITY;
+        if (doWrite && opDone) writeTwo(txn);
 
         // Check if transaction should end, otherwise read again
-        if (opDone) txnOpDone++;
-        if (txnOpDone >= txnOpTotal) {
-            endTxn();
+        if (opDone) txn.opDone++;
+        if (txn.opDone >= txn.opTotal) {
+            endTxn(txn);
         } else if (opDone) {
-            readTwo();
+            readTwo(txn);
         }
     }
 
@@ -374,9 +566,18 @@ public final class Client extends AbstractActor {
     private void onTxnEndResultMsg(TxnEndResultMessage message) {
         LOGGER.debug("Client {} received TxnEndResultMessage with decision {}: {}", id, message.decision, message);
 
+        final Transaction txn = txnRunning.remove(message.transactionId);
+        if (txn == null) {
+            LOGGER.debug("Client {} received TxnEndResultMessage for unknown transaction {}", id, message.transactionId);
+            return;
+        }
+
         // Increment run counter
         run += 1;
 
+        // Record latency from the arrival
+        report.end(message.decision, System.nanoTime() - txn.arrivedAt, System.currentTimeMillis());
+
         switch (message.decision) {
             case COMMIT: {
                 txnCommitted++;
@@ -390,21 +591,42 @@ public final class Client extends AbstractActor {
             }
         }
 
-        LOGGER.info("End TXN by Client {}", id);
+        LOGGER.debug("End TXN {} by Client {}", txn.id, id);
+
+        // Open loop, the arrival(s) drive the transaction(s)
+        if (Config.WORKLOAD_MODE == Config.WorkloadMode.OPEN) {
+            beginBackloggedTxns();
+            if (inFlight() == 0 && arrivals >= Config.N_RUNS)
+                LOGGER.info("Client {} ended all available {} arrival(s)", id, Config.N_RUNS);
+            return;
+        }
 
         // If not in AUTOMATIC mode stop
         if (Config.MODE != Config.Mode.AUTOMATIC) return;
-        // Check current run
-        if (run < Config.N_RUNS) {
+        // Check current run, counting the transaction(s) still in flight
+        if (run + inFlight() < Config.N_RUNS) {
             // Begin a new transaction
-            LOGGER.info("Client {} begin a new transaction in run {}/{}", id, run, Config.N_RUNS);
-            beginTxn();
-        } else {
+            LOGGER.debug("Client {} begin a new transaction in run {}/{}", id, run, Config.N_RUNS);
+            delayBeginTxn();
+        } else if (inFlight() == 0) {
             // Run ended
             LOGGER.info("Client {} ended all available {} run(s)", id, Config.N_RUNS);
         }
     }
 
+    /**
+     * Callback for {@link WorkloadReportRequestMessage} message.
+     *
+     * @param message Received message
+     */
+    private void onWorkloadReportRequestMessage(WorkloadReportRequestMessage message) {
+        LOGGER.debug("Client {} received WorkloadReportRequestMessage: {}", id, message);
+
+        // Reply with the report of the run, never shared while still recording
+        getSender().tell(new WorkloadReportMessage(id, message.reset ? report : report.copy()), getSelf());
+        if (message.reset) report = new WorkloadReport(1);
+    }
+
     /**
      * Callback for {@link TxnStopMessage} message.
      *
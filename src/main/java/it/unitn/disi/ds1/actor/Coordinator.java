@@ -1,15 +1,28 @@
 package it.unitn.disi.ds1.actor;
 
+import akka.actor.ActorRef;
+import akka.actor.Cancellable;
 import akka.actor.Props;
 import it.unitn.disi.ds1.Config;
 import it.unitn.disi.ds1.etc.ActorMetadata;
 import it.unitn.disi.ds1.etc.Item;
 import it.unitn.disi.ds1.etc.Decision;
+import it.unitn.disi.ds1.etc.TransactionId;
+import it.unitn.disi.ds1.message.load.CoordinatorLoadMessage;
+import it.unitn.disi.ds1.message.load.CoordinatorLoadSubscribeMessage;
+import it.unitn.disi.ds1.message.load.CoordinatorLoadTimeoutMessage;
+import it.unitn.disi.ds1.message.marker.MarkerMessage;
+import it.unitn.disi.ds1.message.marker.MarkerResultMessage;
+import it.unitn.disi.ds1.message.marker.MarkerTimeoutMessage;
+import it.unitn.disi.ds1.message.mvcc.WatermarkMessage;
+import it.unitn.disi.ds1.message.mvcc.WatermarkTimeoutMessage;
 import it.unitn.disi.ds1.message.twopc.*;
+import it.unitn.disi.ds1.message.snapshot.SnapshotAckMessage;
 import it.unitn.disi.ds1.message.snapshot.SnapshotMessage;
 import it.unitn.disi.ds1.message.snapshot.SnapshotResultMessage;
 import it.unitn.disi.ds1.message.txn.TxnEndMessage;
 import it.unitn.disi.ds1.message.txn.TxnEndResultMessage;
+import it.unitn.disi.ds1.message.txn.TxnMessage;
 import it.unitn.disi.ds1.message.txn.read.TxnReadResultMessage;
 import it.unitn.disi.ds1.message.txn.read.TxnReadCoordinatorMessage;
 import it.unitn.disi.ds1.message.txn.read.TxnReadMessage;
@@ -19,11 +32,27 @@ import it.unitn.disi.ds1.message.txn.write.TxnWriteMessage;
 import it.unitn.disi.ds1.message.txn.TxnBeginResultMessage;
 import it.unitn.disi.ds1.message.txn.TxnBeginMessage;
 import it.unitn.disi.ds1.message.welcome.CoordinatorWelcomeMessage;
-import it.unitn.disi.ds1.util.JsonUtil;
+import it.unitn.disi.ds1.metrics.Counter;
+import it.unitn.disi.ds1.metrics.Metrics;
+import it.unitn.disi.ds1.metrics.Outcome;
+import it.unitn.disi.ds1.metrics.TransactionTimeline;
+import it.unitn.disi.ds1.partitioner.Partitioner;
+import it.unitn.disi.ds1.storage.SnapshotExport;
+import it.unitn.disi.ds1.trace.ActorRole;
+import it.unitn.disi.ds1.trace.EventRecorder;
+import it.unitn.disi.ds1.trace.EventTrace;
+import it.unitn.disi.ds1.trace.EventType;
+import it.unitn.disi.ds1.util.LongMap;
+import it.unitn.disi.ds1.util.LongSet;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import scala.concurrent.duration.Duration;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Coordinator {@link Actor actor} class.
@@ -34,51 +63,218 @@ public final class Coordinator extends Actor {
      */
     private static final Logger LOGGER = LogManager.getLogger(Coordinator.class);
 
+    /**
+     * Id of the Coordinator initiating the global snapshot(s).
+     */
+    private static final int GLOBAL_SNAPSHOT_INITIATOR_ID = 0;
+
     /**
      * {@link DataStore DataStore(s)} metadata.
      */
     private final List<ActorMetadata> dataStores;
 
     /**
-     * Mapping from {@link UUID transaction Id} to {@link ActorMetadata client metadata}.
+     * Other {@link Coordinator Coordinator(s)} metadata.
+     */
+    private final List<ActorMetadata> coordinators;
+
+    /**
+     * {@link DataStore DataStore(s)} metadata indexed by {@link DataStore} id.
+     */
+    private ActorMetadata[] dataStoresById;
+
+    /**
+     * Key space {@link Partitioner}.
+     */
+    private final Partitioner partitioner;
+
+    /**
+     * Mapping from transaction id to {@link ActorMetadata client metadata}.
+     */
+    private final LongMap<ActorMetadata> transactionIdToClient;
+
+    /**
+     * {@link DataStore DataStore(s)} affected in a transaction.
+     */
+    private final LongMap<Set<ActorMetadata>> dataStoresAffectedInTransaction;
+
+    /**
+     * Number of {@link DataStore DataStore(s)} that has decided to COMMIT for transaction.
+     */
+    private final LongMap<Integer> transactionDecisions;
+
+    /**
+     * {@link DataStore DataStore(s)} that have not acknowledged the final decision of a transaction yet.
+     */
+    private final LongMap<Set<ActorMetadata>> pendingDecisionAcks;
+
+    /**
+     * Read timestamp of a transaction, all its read(s) see the version(s) committed at or before it.
+     */
+    private final LongMap<Long> transactionReadTimestamps;
+
+    /**
+     * {@link Item} key(s) read in a transaction.
+     */
+    private final LongMap<Set<Integer>> transactionReadKeys;
+
+    /**
+     * {@link Item} key(s) of the read in progress of a transaction not yet returned by their {@link DataStore}.
+     */
+    private final LongMap<Set<Integer>> pendingReadKeys;
+
+    /**
+     * {@link Item} value(s) by key of the read in progress of a transaction, combined in a single result.
+     */
+    private final LongMap<Map<Integer, Integer>> pendingReadValues;
+
+    /**
+     * Transaction(s) with at least a write.
+     */
+    private final LongSet transactionsWithWrites;
+
+    /**
+     * Greatest prepare timestamp of the {@link DataStore DataStore(s)} that voted to COMMIT a transaction.
+     */
+    private final LongMap<Long> transactionPrepareTimestamps;
+
+    /**
+     * Prepare timestamp of the {@link DataStore DataStore(s)} that voted READ_ONLY for a transaction, by DataStore id.
+     * A read-only DataStore has left the 2PC and does not receive the final decision.
+     */
+    private final LongMap<Map<Integer, Long>> transactionReadOnlyVotes;
+
+    /**
+     * {@link TransactionTimeline} of each transaction, kept until its final decision is acknowledged.
+     */
+    private final LongMap<TransactionTimeline> transactionTimelines;
+
+    /**
+     * {@link TransactionTimeline Timeline(s)} of acknowledged transaction(s), reused by new one(s).
+     */
+    private final ArrayDeque<TransactionTimeline> timelinePool;
+
+    /**
+     * Generator of the transaction id(s).
+     */
+    private final TransactionId transactionIds;
+
+    /**
+     * {@link EventRecorder} of the transaction event(s).
+     */
+    private final EventRecorder recorder;
+
+    /**
+     * Timestamp of the snapshot in progress, {@link SnapshotMessage#LATEST} if none.
+     */
+    private long snapshotTimestamp;
+
+    /**
+     * {@link Cancellable Timeout} of the next {@link WatermarkMessage}.
+     */
+    private Cancellable watermarkTimeout;
+
+    /**
+     * {@link Client Client(s)} receiving the {@link CoordinatorLoadMessage load report(s)}.
+     */
+    private final Set<ActorRef> clients;
+
+    /**
+     * {@link Cancellable Timeout} of the next {@link CoordinatorLoadMessage}.
+     */
+    private Cancellable loadTimeout;
+
+    /**
+     * Id of the snapshot in progress.
+     */
+    private int snapshotId;
+
+    /**
+     * Number of {@link DataStore DataStore(s)} still streaming the snapshot in progress.
+     */
+    private int snapshotPendingDataStores;
+
+    /**
+     * Running sum of the {@link Item} value(s) of the snapshot in progress.
+     */
+    private long snapshotSum;
+
+    /**
+     * Running count of the {@link Item Item(s)} of the snapshot in progress.
+     */
+    private long snapshotCount;
+
+    /**
+     * {@link SnapshotExport} of the snapshot in progress, null if none.
+     */
+    private SnapshotExport snapshotExport;
+
+    /**
+     * Id of the latest global snapshot, initiated or recorded, 0 if none.
      */
-    private final Map<UUID, ActorMetadata> transactionIdToClient;
+    private int markerSnapshotId;
 
     /**
-     * Mapping from {@link Integer client id} to {@link UUID transaction id}.
+     * Start time (ns) of the global snapshot in progress, initiator only.
      */
-    private final Map<Integer, UUID> clientIdToTransactionId;
+    private long markerStartTime;
 
     /**
-     * {@link DataStore DataStore(s)} affected in a {@link UUID transaction}.
+     * Number of {@link DataStore DataStore(s)} not yet sent their recording of the global snapshot in progress, initiator only.
      */
-    private final Map<UUID, Set<ActorMetadata>> dataStoresAffectedInTransaction;
+    private int markerPendingDataStores;
 
     /**
-     * Number of {@link DataStore DataStore(s)} that has decided to COMMIT for {@link UUID transaction}.
+     * Running count of the {@link Item Item(s)} of the global snapshot in progress, initiator only.
      */
-    private final Map<UUID, Integer> transactionDecisions;
+    private long markerItems;
 
     /**
-     * {@link DataStore DataStore(s)} storage snapshot(s).
+     * Running sum of the {@link Item} value(s) and in flight value change(s) of the global snapshot in progress, initiator only.
      */
-    private final Map<Integer, Item> snapshot;
+    private long markerSum;
+
+    /**
+     * Running count of the COMMIT decision(s) in flight of the global snapshot in progress, initiator only.
+     */
+    private int markerInFlightCommits;
 
     // --- Constructors ---
 
     /**
      * Construct a new Coordinator class.
      *
-     * @param id Coordinator id
+     * @param id          Coordinator id
+     * @param partitioner Key space {@link Partitioner}
      */
-    public Coordinator(int id) {
+    public Coordinator(int id, Partitioner partitioner) {
         super(id);
         this.dataStores = new ArrayList<>();
-        this.transactionIdToClient = new HashMap<>();
-        this.clientIdToTransactionId = new HashMap<>();
-        this.dataStoresAffectedInTransaction = new HashMap<>();
-        this.transactionDecisions = new HashMap<>();
-        this.snapshot = new TreeMap<>();
+        this.coordinators = new ArrayList<>();
+        this.dataStoresById = new ActorMetadata[0];
+        this.partitioner = partitioner;
+        this.transactionIdToClient = new LongMap<>();
+        this.dataStoresAffectedInTransaction = new LongMap<>();
+        this.transactionDecisions = new LongMap<>();
+        this.pendingDecisionAcks = new LongMap<>();
+        this.transactionReadTimestamps = new LongMap<>();
+        this.transactionReadKeys = new LongMap<>();
+        this.pendingReadKeys = new LongMap<>();
+        this.pendingReadValues = new LongMap<>();
+        this.transactionsWithWrites = new LongSet();
+        this.transactionPrepareTimestamps = new LongMap<>();
+        this.transactionReadOnlyVotes = new LongMap<>();
+        this.transactionTimelines = new LongMap<>();
+        this.timelinePool = new ArrayDeque<>();
+        this.transactionIds = new TransactionId(id);
+        this.recorder = EventTrace.recorder(ActorRole.COORDINATOR, id);
+        this.snapshotTimestamp = SnapshotMessage.LATEST;
+        this.snapshotExport = null;
+        this.markerSnapshotId = 0;
+        this.markerPendingDataStores = 0;
+        this.watermarkTimeout = null;
+        this.clients = new HashSet<>();
+        this.loadTimeout = null;
 
         LOGGER.debug("Coordinator {} initialized", id);
     }
@@ -86,17 +282,19 @@ public final class Coordinator extends Actor {
     /**
      * Return Coordinator {@link Props}
      *
-     * @param id Coordinator id
+     * @param id          Coordinator id
+     * @param partitioner Key space {@link Partitioner}
      * @return Coordinator {@link Props}
      */
-    public static Props props(int id) {
-        return Props.create(Coordinator.class, () -> new Coordinator(id));
+    public static Props props(int id, Partitioner partitioner) {
+        return Props.create(Coordinator.class, () -> new Coordinator(id, partitioner));
     }
 
     @Override
     public Receive createReceive() {
         return receiveBuilder()
                 .match(CoordinatorWelcomeMessage.class, this::onCoordinatorWelcomeMessage)
+                .match(CoordinatorLoadSubscribeMessage.class, this::onCoordinatorLoadSubscribeMessage)
                 .match(TxnBeginMessage.class, this::onTxnBeginMessage)
                 .match(TxnReadMessage.class, this::onTxnReadMessage)
                 .match(TxnReadResultCoordinatorMessage.class, this::onTxnReadResultCoordinatorMessage)
@@ -104,15 +302,39 @@ public final class Coordinator extends Actor {
                 .match(TxnEndMessage.class, this::onTxnEndMessage)
                 .match(TwoPcVoteResultMessage.class, this::onTwoPcVoteResultMessage)
                 .match(TwoPcDecisionRequestMessage.class, this::onTwoPcDecisionRequestMessage)
+                .match(TwoPcDecisionAckMessage.class, this::onTwoPcDecisionAckMessage)
+                .match(TwoPcBatchMessage.class, this::onTwoPcBatchMessage)
+                .match(OutboxFlushMessage.class, this::onOutboxFlushMessage)
                 .match(TwoPcRecoveryMessage.class, this::onTwoPcRecoveryMessage)
                 .match(TwoPcTimeoutMessage.class, this::onTwoPcTimeoutMessage)
                 .match(SnapshotMessage.class, this::onSnapshotMessage)
                 .match(SnapshotResultMessage.class, this::onSnapshotResultMessage)
+                .match(MarkerMessage.class, this::onMarkerMessage)
+                .match(MarkerResultMessage.class, this::onMarkerResultMessage)
+                .match(MarkerTimeoutMessage.class, this::onMarkerTimeoutMessage)
+                .match(WatermarkTimeoutMessage.class, this::onWatermarkTimeoutMessage)
+                .match(CoordinatorLoadTimeoutMessage.class, this::onCoordinatorLoadTimeoutMessage)
                 .build();
     }
 
+    @Override
+    public void postStop() {
+        LOGGER.info("Coordinator {} retains {} of {} final decision(s) with low-watermark {} and {} waiting acknowledgement(s)",
+                id, finalDecisions.size(), finalDecisions.appended(), finalDecisions.lowWatermark(), pendingDecisionAcks.size());
+        closeSnapshotExport();
+    }
+
     // --- Methods ---
 
+    /**
+     * Return the {@link TransactionTimeline} of an acknowledged transaction to the pool.
+     *
+     * @param timeline Transaction timeline, null if none
+     */
+    private void releaseTimeline(TransactionTimeline timeline) {
+        if (timeline != null) timelinePool.push(timeline);
+    }
+
     /**
      * Return {@link DataStore} {@link ActorMetadata} by {@link Item} key.
      *
@@ -120,28 +342,76 @@ public final class Coordinator extends Actor {
      * @return DataStore actorRef
      */
     private ActorMetadata dataStoreByItemKey(int key) {
-        final int dataStoreId = key / 10;
-        for (ActorMetadata metadata : dataStores) {
-            if (metadata.id == dataStoreId)
-                return metadata;
+        final int dataStoreId = partitioner.dataStoreOf(key);
+        final ActorMetadata metadata = dataStoreId < dataStoresById.length ? dataStoresById[dataStoreId] : null;
+        if (metadata == null)
+            throw new NullPointerException(String.format("Coordinator %d is unable to obtain DataStore %d via Item key %d", id, dataStoreId, key));
+        return metadata;
+    }
+
+    /**
+     * Ask the read-only {@link DataStore DataStore(s)} of the transaction with a prepare timestamp lower than the commit timestamp
+     * to vote again, validating their read(s) up to the commit timestamp.
+     * Otherwise a write committed in between on a read {@link Item} would not be detected.
+     *
+     * @param transactionId   Transaction id
+     * @param commitTimestamp Commit timestamp
+     * @return True if at least a DataStore has to vote again, false otherwise
+     */
+    private boolean refreshReadOnlyVotes(long transactionId, long commitTimestamp) {
+        final Map<Integer, Long> readOnlyVotes = transactionReadOnlyVotes.getOrDefault(transactionId, new HashMap<>());
+        final List<Integer> staleDataStoreIds = readOnlyVotes.entrySet().stream()
+                .filter(entry -> entry.getValue() < commitTimestamp)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (staleDataStoreIds.isEmpty()) return false;
+
+        final TwoPcVoteMessage outMessage = new TwoPcVoteMessage(id, transactionId, Decision.COMMIT, transactionReadTimestamps.get(transactionId), transactionReadKeys.get(transactionId), commitTimestamp);
+        for (final int dataStoreId : staleDataStoreIds) {
+            // Back in the 2PC until its new vote
+            readOnlyVotes.remove(dataStoreId);
+            transactionDecisions.put(transactionId, transactionDecisions.get(transactionId) - 1);
+            sendBatched(dataStoresById[dataStoreId].ref, outMessage);
+            Metrics.increment(Counter.READ_ONLY_REVOTES);
         }
-        throw new NullPointerException(String.format("Coordinator %d is unable to obtain DataStore %d via Item key %d", id, dataStoreId, key));
+        LOGGER.debug("Coordinator {} send to {} read-only DataStore(s) to validate again up to commit timestamp {} TwoPcVoteMessage: {}", id, staleDataStoreIds.size(), commitTimestamp, outMessage);
+        return true;
+    }
 
-        /* TODO
-        return dataStores.stream()
-                .filter(dataStore -> dataStore.id == dataStoreId)
-                .findFirst()
-                .orElseThrow(() -> new NullPointerException(String.format("Coordinator %d is unable to obtain DataStore %d via Item key %d", id, dataStoreId, key)));
-                */
+    /**
+     * Group the {@link Item} key(s) by the {@link DataStore} storing them.
+     *
+     * @param keys Item key(s)
+     * @return Item key(s) by DataStore
+     */
+    private Map<ActorMetadata, Set<Integer>> keysByDataStore(Set<Integer> keys) {
+        final Map<ActorMetadata, Set<Integer>> keysByDataStore = new HashMap<>();
+        for (final int key : keys)
+            keysByDataStore.computeIfAbsent(dataStoreByItemKey(key), k -> new HashSet<>()).add(key);
+        return keysByDataStore;
     }
 
     /**
-     * Terminate the {@link UUID transaction} with the chosen final decision.
+     * Add the {@link DataStore} to the affected one(s) in the transaction.
      *
-     * @param transactionId {@link UUID Transaction} id
+     * @param transactionId Transaction id
+     * @param dataStore     DataStore
+     */
+    private void addAffectedDataStore(long transactionId, ActorMetadata dataStore) {
+        if (dataStoresAffectedInTransaction.get(transactionId).add(dataStore)) {
+            LOGGER.trace("Coordinator {} add DataStore {} to affected DataStore(s) for transaction {}", id, dataStore.id, transactionId);
+        } else {
+            LOGGER.trace("Coordinator {} DataStore {} already present in affected DataStore(s) for transaction {}", id, dataStore.id, transactionId);
+        }
+    }
+
+    /**
+     * Terminate the transaction with the chosen final decision.
+     *
+     * @param transactionId Transaction id
      * @param crash         Crash state enabled
      */
-    private void terminateTransaction(UUID transactionId, boolean crash) {
+    private void terminateTransaction(long transactionId, boolean crash) {
         // Cancel timeout
         unTimeout(transactionId);
 
@@ -149,65 +419,183 @@ public final class Coordinator extends Actor {
         final Decision decision = Optional.ofNullable(finalDecisions.get(transactionId))
                 .orElseThrow(() -> new IllegalStateException(String.format("Coordinator %d tried to terminate transaction %s without a final decision", id, transactionId)));
 
-        // Data stores affected in current transaction
-        final Set<ActorMetadata> affectedDataStores = dataStoresAffectedInTransaction.getOrDefault(transactionId, new HashSet<>());
+        // Record the phase(s) ended by the decision
+        final TransactionTimeline timeline = transactionTimelines.get(transactionId);
+        if (timeline != null) timeline.decided(System.nanoTime(), Outcome.of(decision));
+        recorder.record(EventType.DECISION, transactionId, 0, decision.ordinal());
+
+        // Data stores affected in current transaction, read-only one(s) have already left
+        final Map<Integer, Long> readOnlyVotes = transactionReadOnlyVotes.getOrDefault(transactionId, Map.of());
+        final Set<ActorMetadata> affectedDataStores = new HashSet<>(dataStoresAffectedInTransaction.getOrDefault(transactionId, Set.of()));
+        affectedDataStores.removeIf(dataStore -> readOnlyVotes.containsKey(dataStore.id));
 
         // Communicate decision to all affected DataStore(s), if any
-        final TwoPcDecisionMessage outMessageToDataStore = new TwoPcDecisionMessage(id, transactionId, decision);
+        final TwoPcDecisionMessage outMessageToDataStore = new TwoPcDecisionMessage(id, transactionId, decision, commitTimestampOf(transactionId));
         LOGGER.debug("Coordinator {} send to {} affected DataStore(s) to {} transaction {} TwoPcDecisionMessage: {}", id, affectedDataStores.size(), decision, transactionId, outMessageToDataStore);
         if (!crash || !Config.CRASH_ENABLED || (!Config.CRASH_COORDINATOR_DECISION_FIRST && !Config.CRASH_COORDINATOR_DECISION_ALL)) {
             // No crash
-            multicast(affectedDataStores, outMessageToDataStore);
+            multicastBatched(affectedDataStores, outMessageToDataStore);
         } else if (Config.CRASH_COORDINATOR_DECISION_FIRST) {
             // Crash after first decision
-            multicast(affectedDataStores, outMessageToDataStore, Crash.AFTER_FIRST_MESSAGE);
+            multicastBatched(affectedDataStores, outMessageToDataStore, Crash.AFTER_FIRST_MESSAGE);
         } else if (Config.CRASH_COORDINATOR_DECISION_ALL) {
             // Crash after all decision(s)
-            multicast(affectedDataStores, outMessageToDataStore, Crash.AFTER_ALL_MESSAGES);
+            multicastBatched(affectedDataStores, outMessageToDataStore, Crash.AFTER_ALL_MESSAGES);
         } else {
             throw new IllegalStateException(String.format("Coordinator %d unknown crash configuration state", id));
         }
 
+        // Wait acknowledgement(s), the decision is kept until all affected DataStore(s) have applied it
+        if (!affectedDataStores.isEmpty()) pendingDecisionAcks.computeIfAbsent(transactionId, k -> new HashSet<>()).addAll(affectedDataStores);
+        else {
+            finalDecisions.acknowledge(transactionId);
+            releaseTimeline(transactionTimelines.remove(transactionId));
+        }
+
         // Stop execution if crash enabled
         if (crash && Config.CRASH_ENABLED) return;
 
         // Communicate commit decision to Client
-        transactionIdToClient.computeIfPresent(transactionId, (ignored, metadata) -> {
-            final TxnEndResultMessage outMessageToClient = new TxnEndResultMessage(id, decision);
-            metadata.ref.tell(outMessageToClient, getSelf());
-            LOGGER.debug("Coordinator {} send to Client {} that transaction {} is {} TxnEndResultMessage: {}", id, metadata.id, transactionId, decision, outMessageToClient);
-            return metadata;
-        });
+        final ActorMetadata client = transactionIdToClient.get(transactionId);
+        if (client != null) {
+            final TxnEndResultMessage outMessageToClient = new TxnEndResultMessage(id, transactionId, decision);
+            send(client.ref, outMessageToClient);
+            LOGGER.debug("Coordinator {} send to Client {} that transaction {} is {} TxnEndResultMessage: {}", id, client.id, transactionId, decision, outMessageToClient);
+        }
 
         // Clean resources
         cleanResources(transactionId);
+
+        // Retransmit the decision on timeout until acknowledged
+        if (pendingDecisionAcks.containsKey(transactionId)) timeout(transactionId, Config.TWOPC_COORDINATOR_TIMEOUT_MS);
     }
 
     /**
-     * Terminate the {@link UUID transaction} with the chosen final decision.
+     * Terminate the transaction with the chosen final decision.
      *
-     * @param transactionId {@link UUID Transaction} id
+     * @param transactionId Transaction id
      */
-    private void terminateTransaction(UUID transactionId) {
+    private void terminateTransaction(long transactionId) {
         terminateTransaction(transactionId, false);
     }
 
     /**
-     * Clean all resources that involves {@link UUID transaction}.
+     * Clean all resources that involves transaction.
      *
      * @param transactionId Transaction id
      */
-    private void cleanResources(UUID transactionId) {
-        if (transactionId == null) return;
+    private void cleanResources(long transactionId) {
+        if (transactionId == TransactionId.NONE) return;
 
         unTimeout(transactionId);
         dataStoresAffectedInTransaction.remove(transactionId);
         transactionIdToClient.remove(transactionId);
-        clientIdToTransactionId.values().remove(transactionId);
         transactionDecisions.remove(transactionId);
+        transactionReadTimestamps.remove(transactionId);
+        transactionReadKeys.remove(transactionId);
+        pendingReadKeys.remove(transactionId);
+        pendingReadValues.remove(transactionId);
+        transactionsWithWrites.remove(transactionId);
+        transactionPrepareTimestamps.remove(transactionId);
+        transactionReadOnlyVotes.remove(transactionId);
         LOGGER.trace("Coordinator {} clean resources involving transaction {}", id, transactionId);
     }
 
+    /**
+     * Return true if the transaction of the {@link Client} message is running and the sender is its Client, false otherwise.
+     * A Client may have many transaction(s) running on the Coordinator, every message carries its transaction id:
+     * a message of another Client for the transaction, e.g. a stale or wrong id, must not act on it.
+     *
+     * @param message Client message
+     * @return True if running on behalf of the sender, false otherwise
+     */
+    private boolean isRunning(TxnMessage message) {
+        final ActorMetadata client = transactionIdToClient.get(message.transactionId);
+        if (client == null) {
+            LOGGER.warn("Coordinator {} received from Client {} {} for unknown transaction {}", id, message.senderId, message.getClass().getSimpleName(), message.transactionId);
+            return false;
+        }
+        if (client.id != message.senderId || !client.ref.equals(getSender())) {
+            LOGGER.warn("Coordinator {} received from Client {} {} for transaction {} of Client {}", id, message.senderId, message.getClass().getSimpleName(), message.transactionId, client.id);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Return the oldest timestamp any running transaction or snapshot may still read at.
+     *
+     * @return Watermark
+     */
+    private long watermark() {
+        long watermark = clock.now();
+        for (final long readTimestamp : transactionReadTimestamps.values()) watermark = Math.min(watermark, readTimestamp);
+        if (snapshotTimestamp != SnapshotMessage.LATEST) watermark = Math.min(watermark, snapshotTimestamp);
+        return watermark;
+    }
+
+    /**
+     * Close the {@link SnapshotExport} of the snapshot in progress, if any.
+     */
+    private void closeSnapshotExport() {
+        if (snapshotExport == null) return;
+
+        try {
+            snapshotExport.close();
+            LOGGER.info("Coordinator {} exported snapshot {} to {}", id, snapshotId, snapshotExport.path());
+        } catch (IOException e) {
+            LOGGER.error("Coordinator {} is unable to close export of snapshot {}: {}", id, snapshotId, e.getMessage());
+        }
+        snapshotExport = null;
+    }
+
+    /**
+     * Schedule the next {@link WatermarkMessage}, replacing the scheduled one if any.
+     */
+    private void scheduleWatermark() {
+        if (watermarkTimeout != null) watermarkTimeout.cancel();
+
+        watermarkTimeout = getContext().system().scheduler().scheduleOnce(
+                Duration.create(Config.MVCC_WATERMARK_INTERVAL_MS, TimeUnit.MILLISECONDS),
+                getSelf(),
+                new WatermarkTimeoutMessage(),
+                getContext().getDispatcher(),
+                getSelf()
+        );
+    }
+
+    /**
+     * Schedule the next {@link CoordinatorLoadMessage}, replacing the scheduled one if any.
+     */
+    private void scheduleLoad() {
+        if (loadTimeout != null) loadTimeout.cancel();
+
+        loadTimeout = getContext().system().scheduler().scheduleOnce(
+                Duration.create(Config.COORDINATOR_LOAD_INTERVAL_MS, TimeUnit.MILLISECONDS),
+                getSelf(),
+                new CoordinatorLoadTimeoutMessage(),
+                getContext().getDispatcher(),
+                getSelf()
+        );
+    }
+
+    /**
+     * Schedule the next {@link MarkerTimeoutMessage}, if the Coordinator initiates the global snapshot(s).
+     * Not cancellable, a timeout is sent again only from its own callback.
+     */
+    private void scheduleGlobalSnapshot() {
+        if (id != GLOBAL_SNAPSHOT_INITIATOR_ID || Config.GLOBAL_SNAPSHOT_INTERVAL_MS <= 0) return;
+
+        getContext().system().scheduler().scheduleOnce(
+                Duration.create(Config.GLOBAL_SNAPSHOT_INTERVAL_MS, TimeUnit.MILLISECONDS),
+                getSelf(),
+                new MarkerTimeoutMessage(),
+                getContext().getDispatcher(),
+                getSelf()
+        );
+    }
+
     // --- Message handlers --
 
     /**
@@ -220,6 +608,28 @@ public final class Coordinator extends Actor {
 
         dataStores.clear();
         dataStores.addAll(message.dataStores);
+        coordinators.clear();
+        coordinators.addAll(message.coordinators.stream().filter(coordinator -> coordinator.id != id).collect(Collectors.toList()));
+
+        // Index DataStore(s) by id
+        dataStoresById = new ActorMetadata[dataStores.stream().mapToInt(dataStore -> dataStore.id + 1).max().orElse(0)];
+        dataStores.forEach(dataStore -> dataStoresById[dataStore.id] = dataStore);
+
+        // Start sending watermark(s), load report(s) and global snapshot(s)
+        scheduleWatermark();
+        scheduleLoad();
+        scheduleGlobalSnapshot();
+    }
+
+    /**
+     * Callback for {@link CoordinatorLoadSubscribeMessage} message.
+     *
+     * @param message Received message
+     */
+    private void onCoordinatorLoadSubscribeMessage(CoordinatorLoadSubscribeMessage message) {
+        LOGGER.debug("Coordinator {} received from Client {} CoordinatorLoadSubscribeMessage: {}", id, message.senderId, message);
+
+        clients.add(getSender());
     }
 
     /**
@@ -230,18 +640,21 @@ public final class Coordinator extends Actor {
     private void onTxnBeginMessage(TxnBeginMessage message) {
         LOGGER.debug("Coordinator {} received from Client {} TxnBeginMessage: {}", id, message.senderId, message);
 
-        // Simulate delay
-        sleep();
-
         // Generate a transaction id and store all relevant data
-        final UUID transactionId = UUID.randomUUID();
-        clientIdToTransactionId.put(message.senderId, transactionId);
+        final long transactionId = transactionIds.next();
         transactionIdToClient.put(transactionId, ActorMetadata.of(message.senderId, getSender()));
         dataStoresAffectedInTransaction.put(transactionId, new HashSet<>());
+        transactionReadTimestamps.put(transactionId, clock.now());
+        transactionReadKeys.put(transactionId, new HashSet<>());
+        final TransactionTimeline timeline = timelinePool.poll();
+        if (timeline != null) timeline.begin(System.nanoTime());
+        transactionTimelines.put(transactionId, timeline != null ? timeline : new TransactionTimeline(System.nanoTime()));
+        Metrics.increment(Counter.TRANSACTIONS_BEGUN);
+        recorder.record(EventType.BEGIN, transactionId, 0, message.senderId);
 
         // Inform Client that the transaction has been accepted
-        final TxnBeginResultMessage outMessage = new TxnBeginResultMessage(id);
-        getSender().tell(outMessage, getSelf());
+        final TxnBeginResultMessage outMessage = new TxnBeginResultMessage(id, transactionId, message.sequence);
+        send(getSender(), outMessage);
         LOGGER.debug("Coordinator {} send to Client {} involving transaction transactionId {} TxnBeginResultMessage: {}", id, message.senderId, transactionId, outMessage);
     }
 
@@ -252,27 +665,29 @@ public final class Coordinator extends Actor {
      */
     private void onTxnReadMessage(TxnReadMessage message) {
         LOGGER.debug("Coordinator {} received from Client {} TxnReadMessage: {}", id, message.senderId, message);
-
-        // Simulate delay
-        sleep();
+        if (!isRunning(message)) return;
 
         // Obtain transaction id
-        final UUID transactionId = clientIdToTransactionId.get(message.senderId);
+        final long transactionId = message.transactionId;
 
-        // Obtain correct DataStore
-        final ActorMetadata dataStore = dataStoreByItemKey(message.key);
+        // Store read key(s), validated at vote time if the transaction writes
+        transactionReadKeys.get(transactionId).addAll(message.keys);
 
-        // Add DataStore to affected in transaction
-        if (dataStoresAffectedInTransaction.get(transactionId).add(dataStore)) {
-            LOGGER.trace("Coordinator {} add DataStore {} to affected DataStore(s) for transaction {}", id, dataStore.id, transactionId);
-        } else {
-            LOGGER.trace("Coordinator {} DataStore {} already present in affected DataStore(s) for transaction {}", id, dataStore.id, transactionId);
-        }
+        // Value(s) are returned to the Client once all DataStore(s) have replied
+        pendingReadKeys.put(transactionId, new HashSet<>(message.keys));
+        pendingReadValues.put(transactionId, new HashMap<>(message.keys.size()));
+        transactionTimelines.get(transactionId).read(System.nanoTime());
 
-        // Send to DataStore Item read message
-        final TxnReadCoordinatorMessage outMessage = new TxnReadCoordinatorMessage(id, transactionId, message.key);
-        dataStore.ref.tell(outMessage, getSelf());
-        LOGGER.debug("Coordinator {} send to DataStore {} TxnReadCoordinatorMessage: {}", id, dataStore.id, outMessage);
+        // Send to every DataStore a single read message with all its Item key(s)
+        for (final Map.Entry<ActorMetadata, Set<Integer>> entry : keysByDataStore(message.keys).entrySet()) {
+            final ActorMetadata dataStore = entry.getKey();
+            addAffectedDataStore(transactionId, dataStore);
+            for (final int key : entry.getValue()) recorder.record(EventType.READ_REQUEST, transactionId, key, dataStore.id);
+
+            final TxnReadCoordinatorMessage outMessage = new TxnReadCoordinatorMessage(id, transactionId, entry.getValue(), transactionReadTimestamps.get(transactionId));
+            send(dataStore.ref, outMessage);
+            LOGGER.debug("Coordinator {} send to DataStore {} TxnReadCoordinatorMessage: {}", id, dataStore.id, outMessage);
+        }
     }
 
     /**
@@ -283,15 +698,24 @@ public final class Coordinator extends Actor {
     private void onTxnReadResultCoordinatorMessage(TxnReadResultCoordinatorMessage message) {
         LOGGER.debug("Coordinator {} received from DataStore {} TxnReadResultCoordinatorMessage: {}", id, message.senderId, message);
 
-        // Simulate delay
-        sleep();
+        // Combine with the value(s) of the other DataStore(s)
+        final Set<Integer> keys = pendingReadKeys.get(message.transactionId);
+        if (keys == null) {
+            LOGGER.warn("Coordinator {} received from DataStore {} TxnReadResultCoordinatorMessage without a read in progress for transaction {}", id, message.senderId, message.transactionId);
+            return;
+        }
+        keys.removeAll(message.values.keySet());
+        pendingReadValues.get(message.transactionId).putAll(message.values);
+        if (!keys.isEmpty()) return;
 
         // Obtain Client
         final ActorMetadata client = transactionIdToClient.get(message.transactionId);
 
-        // Send to Client Item read reply message
-        final TxnReadResultMessage outMessage = new TxnReadResultMessage(id, message.key, message.value);
-        client.ref.tell(outMessage, getSelf());
+        // Send to Client Item(s) read reply message
+        pendingReadKeys.remove(message.transactionId);
+        transactionTimelines.get(message.transactionId).readReplied(System.nanoTime());
+        final TxnReadResultMessage outMessage = new TxnReadResultMessage(id, message.transactionId, pendingReadValues.remove(message.transactionId));
+        send(client.ref, outMessage);
         LOGGER.debug("Coordinator {} send to Client {} TxnReadResultMessage: {}", id, client.id, outMessage);
     }
 
@@ -302,27 +726,28 @@ public final class Coordinator extends Actor {
      */
     private void onTxnWriteMessage(TxnWriteMessage message) {
         LOGGER.debug("Coordinator {} received from Client {} TxnWriteMessage: {}", id, message.senderId, message);
-
-        // Simulate delay
-        sleep();
+        if (!isRunning(message)) return;
 
         // Obtain transaction id
-        final UUID transactionId = clientIdToTransactionId.get(message.senderId);
+        final long transactionId = message.transactionId;
 
-        // Obtain correct DataStore
-        final ActorMetadata dataStore = dataStoreByItemKey(message.key);
+        // Transaction is not read-only
+        transactionsWithWrites.add(transactionId);
 
-        // Add DataStore to affected in transaction
-        if (dataStoresAffectedInTransaction.get(transactionId).add(dataStore)) {
-            LOGGER.trace("Coordinator {} add DataStore {} to affected DataStore(s) for transaction {}", id, dataStore.id, transactionId);
-        } else {
-            LOGGER.trace("Coordinator {} DataStore {} already present in affected DataStore(s) for transaction {}", id, dataStore.id, transactionId);
-        }
+        // Send to every DataStore a single write message with all its Item value(s)
+        for (final Map.Entry<ActorMetadata, Set<Integer>> entry : keysByDataStore(message.values.keySet()).entrySet()) {
+            final ActorMetadata dataStore = entry.getKey();
+            addAffectedDataStore(transactionId, dataStore);
 
-        // Send to DataStore Item write message
-        final TxnWriteCoordinatorMessage outMessage = new TxnWriteCoordinatorMessage(id, transactionId, message.key, message.value);
-        dataStore.ref.tell(outMessage, getSelf());
-        LOGGER.debug("Coordinator {} send to DataStore {} TxnWriteCoordinatorMessage: {}", id, dataStore.id, outMessage);
+            final Map<Integer, Integer> values = new HashMap<>(entry.getValue().size());
+            for (final int key : entry.getValue()) {
+                values.put(key, message.values.get(key));
+                recorder.record(EventType.WRITE_REQUEST, transactionId, key, message.values.get(key));
+            }
+            final TxnWriteCoordinatorMessage outMessage = new TxnWriteCoordinatorMessage(id, transactionId, values, transactionReadTimestamps.get(transactionId));
+            send(dataStore.ref, outMessage);
+            LOGGER.debug("Coordinator {} send to DataStore {} TxnWriteCoordinatorMessage: {}", id, dataStore.id, outMessage);
+        }
     }
 
     /**
@@ -332,52 +757,56 @@ public final class Coordinator extends Actor {
      */
     private void onTxnEndMessage(TxnEndMessage message) {
         LOGGER.debug("Coordinator {} received from Client {} TxnEndMessage {}", id, message.senderId, message);
-
-        // Simulate delay
-        sleep();
+        if (!isRunning(message)) return;
 
         // Obtain transaction id
-        final UUID transactionId = clientIdToTransactionId.get(message.senderId);
+        final long transactionId = message.transactionId;
+
+        recorder.record(EventType.END_REQUEST, transactionId, 0, message.decision.ordinal());
 
         // Check Client decision
         switch (message.decision) {
             case COMMIT: {
                 // Client decided to commit
-                LOGGER.info("Coordinator {} informed that Client {} want to COMMIT transaction {}", id, message.senderId, transactionId);
+                LOGGER.debug("Coordinator {} informed that Client {} want to COMMIT transaction {}", id, message.senderId, transactionId);
                 // Obtain affected DataStore(s) in transaction
                 final Set<ActorMetadata> affectedDataStores = dataStoresAffectedInTransaction.getOrDefault(transactionId, new HashSet<>());
-                // Check if there is at least one affected DataStore
-                if (!affectedDataStores.isEmpty()) {
+                // Check if the transaction has written at least one Item
+                if (transactionsWithWrites.contains(transactionId)) {
                     // DataStore(s) affected
 
                     // Schedule timeout
                     timeout(transactionId, Config.TWOPC_COORDINATOR_TIMEOUT_MS);
+                    transactionTimelines.get(transactionId).vote(System.nanoTime());
+                    recorder.record(EventType.VOTE_REQUEST, transactionId, 0, affectedDataStores.size());
 
                     // Send vote request to all affected DataStore(s) in transaction
-                    final TwoPcVoteMessage outMessage = new TwoPcVoteMessage(id, transactionId, Decision.COMMIT);
+                    final TwoPcVoteMessage outMessage = new TwoPcVoteMessage(id, transactionId, Decision.COMMIT, transactionReadTimestamps.get(transactionId), transactionReadKeys.get(transactionId));
                     LOGGER.debug("Coordinator {} send to {} affected DataStore(s) if can COMMIT transaction {} TwoPcVoteMessage: {}", id, affectedDataStores.size(), transactionId, outMessage);
                     if (!Config.CRASH_ENABLED || (!Config.CRASH_COORDINATOR_VOTE_FIRST && !Config.CRASH_COORDINATOR_VOTE_ALL)) {
                         // No crash
-                        multicast(affectedDataStores, outMessage);
+                        multicastBatched(affectedDataStores, outMessage);
                     } else if (Config.CRASH_COORDINATOR_VOTE_FIRST) {
                         // Crash after first vote
-                        multicast(affectedDataStores, outMessage, Crash.AFTER_FIRST_MESSAGE);
+                        multicastBatched(affectedDataStores, outMessage, Crash.AFTER_FIRST_MESSAGE);
                     } else if (Config.CRASH_COORDINATOR_VOTE_ALL) {
                         // Crash after all vote(s)
-                        multicast(affectedDataStores, outMessage, Crash.AFTER_ALL_MESSAGES);
+                        multicastBatched(affectedDataStores, outMessage, Crash.AFTER_ALL_MESSAGES);
                     } else {
                         throw new IllegalStateException(String.format("Coordinator %d unknown crash configuration state", id));
                     }
                 } else {
-                    // No DataStore(s) affected
-                    LOGGER.warn("Coordinator {} no DataStore(s) are affected in transaction {}", id, transactionId);
+                    // Read-only, every read is from the same consistent version(s) and DataStore(s) hold no state: COMMIT without 2PC
+                    LOGGER.debug("Coordinator {} COMMIT read-only transaction {} involving {} DataStore(s)", id, transactionId, affectedDataStores.size());
+                    decide(transactionId, Decision.COMMIT, transactionReadTimestamps.get(transactionId));
+                    affectedDataStores.clear();
                     terminateTransaction(transactionId);
                 }
                 break;
             }
             case ABORT: {
                 // Client decided to abort
-                LOGGER.info("Coordinator {} informed that Client {} want to ABORT transaction {}", id, message.senderId, transactionId);
+                LOGGER.debug("Coordinator {} informed that Client {} want to ABORT transaction {}", id, message.senderId, transactionId);
                 // Store final decision
                 decide(transactionId, Decision.ABORT);
                 terminateTransaction(transactionId);
@@ -392,40 +821,58 @@ public final class Coordinator extends Actor {
      * @param message Received message
      */
     private void onTwoPcVoteResultMessage(TwoPcVoteResultMessage message) {
-        // Simulate delay
-        sleep();
-
         // Check if already decided
         if (hasDecided(message.transactionId)) {
             LOGGER.warn("Coordinator {} received from DataStore {} TwoPcVoteResultMessage when has already decided to {} for transaction {}", id, message.senderId, finalDecisions.get(message.transactionId), message.transactionId);
             return;
         }
 
+        // Check if already terminated, its decision may have been truncated
+        if (!dataStoresAffectedInTransaction.containsKey(message.transactionId)) {
+            LOGGER.warn("Coordinator {} received from DataStore {} TwoPcVoteResultMessage for terminated transaction {}", id, message.senderId, message.transactionId);
+            return;
+        }
+
         LOGGER.debug("Coordinator {} received from DataStore {} TwoPcVoteResultMessage: {}", id, message.senderId, message);
+        recorder.record(EventType.VOTE_RESULT, message.transactionId, message.senderId, message.decision.ordinal());
 
         // Check if the vote is ABORT, terminate transaction
         if (message.decision == Decision.ABORT) {
-            LOGGER.info("Coordinator {} received from DataStore {} the vote to ABORT for transaction {}", id, message.senderId, message.transactionId);
-            LOGGER.info("Coordinator {} decided to ABORT transaction {}", id, message.transactionId);
+            LOGGER.debug("Coordinator {} received from DataStore {} the vote to ABORT for transaction {}", id, message.senderId, message.transactionId);
+            LOGGER.debug("Coordinator {} decided to ABORT transaction {}", id, message.transactionId);
             decide(message.transactionId, Decision.ABORT);
             terminateTransaction(message.transactionId, true);
             return;
         }
 
+        // Commit timestamp is the greatest prepare timestamp of the writing DataStore(s)
+        clock.update(message.prepareTimestamp);
+        if (message.decision == Decision.READ_ONLY)
+            transactionReadOnlyVotes.computeIfAbsent(message.transactionId, k -> new HashMap<>()).put(message.senderId, message.prepareTimestamp);
+        else
+            transactionPrepareTimestamps.put(message.transactionId, Math.max(transactionPrepareTimestamps.getOrDefault(message.transactionId, Long.MIN_VALUE), message.prepareTimestamp));
+
         // Increment or create counter decisions
-        final int decisions = transactionDecisions.compute(message.transactionId, (k, v) -> v != null ? v + 1 : 1);
+        final int decisions = transactionDecisions.getOrDefault(message.transactionId, 0) + 1;
+        transactionDecisions.put(message.transactionId, decisions);
 
         // Data stores affected in current transaction
         final Set<ActorMetadata> affectedDataStores = dataStoresAffectedInTransaction.getOrDefault(message.transactionId, new HashSet<>());
 
         // Check if counter decision has reached all affected DataStore(s)
         if (decisions == affectedDataStores.size()) {
+            // Only read-only vote(s), the transaction is serialized at its read timestamp
+            final long commitTimestamp = transactionPrepareTimestamps.getOrDefault(message.transactionId, transactionReadTimestamps.get(message.transactionId));
+
+            // Read(s) of a read-only DataStore are valid up to its prepare timestamp, ask to validate them again up to the commit timestamp
+            if (refreshReadOnlyVotes(message.transactionId, commitTimestamp)) return;
+
             // All voted to COMMIT, COMMIT
             final Decision decision = Decision.COMMIT;
-            LOGGER.info("Coordinator {} decided to COMMIT transaction {}", id, message.transactionId);
+            LOGGER.debug("Coordinator {} decided to COMMIT transaction {}", id, message.transactionId);
 
             // Store final decision
-            decide(message.transactionId, decision);
+            decide(message.transactionId, decision, commitTimestamp);
 
             // Terminate transaction
             terminateTransaction(message.transactionId, true);
@@ -440,14 +887,44 @@ public final class Coordinator extends Actor {
     private void onTwoPcDecisionRequestMessage(TwoPcDecisionRequestMessage message) {
         LOGGER.debug("Coordinator {} received from DataStore {} TwoPcDecisionRequestMessage: {}", id, message.senderId, message);
 
-        // Simulate delay
-        sleep();
-
         // Check if it knows the final decision
         if (hasDecided(message.transactionId)) {
             LOGGER.debug("Coordinator {} DataStore {} does not know the final decision {}", id, message.senderId, finalDecisions.get(message.transactionId));
-            // Terminate transaction
-            terminateTransaction(message.transactionId);
+            if (dataStoresAffectedInTransaction.containsKey(message.transactionId)) {
+                // Terminate transaction
+                terminateTransaction(message.transactionId);
+            } else {
+                // Already terminated, reply only to the DataStore
+                final TwoPcDecisionMessage outMessage = new TwoPcDecisionMessage(id, message.transactionId, finalDecisions.get(message.transactionId), commitTimestampOf(message.transactionId));
+                sendBatched(getSender(), outMessage);
+                LOGGER.debug("Coordinator {} send to DataStore {} TwoPcDecisionMessage: {}", id, message.senderId, outMessage);
+            }
+        }
+    }
+
+    /**
+     * Callback for {@link TwoPcDecisionAckMessage} message.
+     *
+     * @param message Received message
+     */
+    private void onTwoPcDecisionAckMessage(TwoPcDecisionAckMessage message) {
+        LOGGER.debug("Coordinator {} received from DataStore {} TwoPcDecisionAckMessage: {}", id, message.senderId, message);
+
+        // Obtain DataStore(s) not acknowledged yet
+        final Set<ActorMetadata> pending = pendingDecisionAcks.get(message.transactionId);
+        if (pending == null) return;
+
+        pending.removeIf(dataStore -> dataStore.id == message.senderId);
+        recorder.record(EventType.DECISION_ACK, message.transactionId, message.senderId, 0L);
+        if (pending.isEmpty()) {
+            // All acknowledged, the decision can be truncated
+            pendingDecisionAcks.remove(message.transactionId);
+            unTimeout(message.transactionId);
+            finalDecisions.acknowledge(message.transactionId);
+            final TransactionTimeline timeline = transactionTimelines.remove(message.transactionId);
+            if (timeline != null) timeline.acknowledged(System.nanoTime(), Outcome.of(finalDecisions.get(message.transactionId)));
+            releaseTimeline(timeline);
+            LOGGER.trace("Coordinator {} final decision for transaction {} acknowledged by all DataStore(s)", id, message.transactionId);
         }
     }
 
@@ -460,17 +937,21 @@ public final class Coordinator extends Actor {
     protected void onTwoPcRecoveryMessage(TwoPcRecoveryMessage message) {
         LOGGER.debug("Coordinator {} received TwoPcRecoveryMessage", id);
 
-        // Simulate delay
-        sleep();
-
         // Become normal
         getContext().become(createReceive());
         LOGGER.info("Coordinator {} recovering from crash", id);
 
+        // Watermark, load and global snapshot timeout(s) are dropped while crashed
+        scheduleWatermark();
+        scheduleLoad();
+        scheduleGlobalSnapshot();
+
+        // New epoch of the transaction id(s), the counter is lost with the crash
+        transactionIds.restart();
+
         // Fix final decision(s)
         dataStoresAffectedInTransaction
-                .keySet()
-                .forEach((transactionId) -> {
+                .forEach((transactionId, ignored) -> {
                     if (!hasDecided(transactionId)) {
                         // Crashed before final decision
                         LOGGER.debug("Coordinator {} is recovering and has not decided yet for transaction {}: ABORT", id, transactionId);
@@ -479,13 +960,25 @@ public final class Coordinator extends Actor {
                         decide(transactionId, Decision.ABORT);
                     } else {
                         // Crashed after final decision
-                        final Decision decision = finalDecisions.getOrDefault(transactionId, Decision.ABORT);
+                        final Decision decision = finalDecisions.get(transactionId);
                         LOGGER.debug("Coordinator {} is recovering and has already decided for transaction {}: {}", id, transactionId, decision);
                     }
                 });
 
+        // Retransmit decision(s) of terminated transaction(s) not acknowledged yet, their timeout(s) are dropped while crashed
+        for (final long transactionId : pendingDecisionAcks.keys()) {
+            if (dataStoresAffectedInTransaction.containsKey(transactionId)) continue;
+
+            final Set<ActorMetadata> pending = pendingDecisionAcks.get(transactionId);
+            final TwoPcDecisionMessage outMessage = new TwoPcDecisionMessage(id, transactionId, finalDecisions.get(transactionId), commitTimestampOf(transactionId));
+            LOGGER.debug("Coordinator {} is recovering and retransmit decision for transaction {} to {} DataStore(s) not acknowledged yet", id, transactionId, pending.size());
+            multicastBatched(pending, outMessage);
+            Metrics.increment(Counter.DECISION_RETRANSMISSIONS);
+            timeout(transactionId, Config.TWOPC_COORDINATOR_TIMEOUT_MS);
+        }
+
         // Terminate transaction(s)
-        for (final UUID transactionId : List.copyOf(dataStoresAffectedInTransaction.keySet())) {
+        for (final long transactionId : dataStoresAffectedInTransaction.keys()) {
             terminateTransaction(transactionId, Config.CRASH_COORDINATOR_ON_RECOVERY);
         }
     }
@@ -500,9 +993,6 @@ public final class Coordinator extends Actor {
     protected void onTwoPcTimeoutMessage(TwoPcTimeoutMessage message) {
         LOGGER.debug("Coordinator {} received TwoPcTimeoutMessage: {}", id, message);
 
-        // Simulate delay
-        sleep();
-
         // Clear the timeout for transaction
         unTimeout(message.transactionId);
 
@@ -514,6 +1004,14 @@ public final class Coordinator extends Actor {
             LOGGER.debug("Coordinator {} in timeout unilaterally ABORT for transaction {}", id, message.transactionId);
             // Terminate transaction
             terminateTransaction(message.transactionId, true);
+        } else if (pendingDecisionAcks.containsKey(message.transactionId)) {
+            // Retransmit decision to DataStore(s) not acknowledged yet
+            final Set<ActorMetadata> pending = pendingDecisionAcks.get(message.transactionId);
+            final TwoPcDecisionMessage outMessage = new TwoPcDecisionMessage(id, message.transactionId, finalDecisions.get(message.transactionId), commitTimestampOf(message.transactionId));
+            LOGGER.info("Coordinator {} in timeout retransmit decision for transaction {} to {} DataStore(s) not acknowledged yet", id, message.transactionId, pending.size());
+            multicastBatched(pending, outMessage);
+            Metrics.increment(Counter.DECISION_RETRANSMISSIONS);
+            timeout(message.transactionId, Config.TWOPC_COORDINATOR_TIMEOUT_MS);
         } else {
             final Decision decision = finalDecisions.get(message.transactionId);
             LOGGER.info("Coordinator {} in timeout has already decided to {} for transaction {}", id, decision, message.transactionId);
@@ -527,13 +1025,30 @@ public final class Coordinator extends Actor {
      */
     private void onSnapshotMessage(SnapshotMessage message) {
         LOGGER.debug("Coordinator {} received SnapshotMessage: {}", id, message);
-        LOGGER.trace("Coordinator {} start snapshot {} involving {} DataStore(s)", id, message.snapshotId, dataStores.size());
+        // Choose snapshot timestamp
+        snapshotTimestamp = message.timestamp == SnapshotMessage.LATEST ? clock.now() : message.timestamp;
+        LOGGER.trace("Coordinator {} start snapshot {} at timestamp {} involving {} DataStore(s)", id, message.snapshotId, snapshotTimestamp, dataStores.size());
+
+        // Reset running aggregate(s), a snapshot in progress is abandoned
+        closeSnapshotExport();
+        snapshotId = message.snapshotId;
+        snapshotPendingDataStores = dataStores.size();
+        snapshotSum = 0;
+        snapshotCount = 0;
+        if (!Config.SNAPSHOT_EXPORT_DIRECTORY.isEmpty()) {
+            final Path path = Path.of(Config.SNAPSHOT_EXPORT_DIRECTORY, String.format("snapshot-%d-%d.json", id, snapshotId));
+            try {
+                snapshotExport = new SnapshotExport(path);
+            } catch (IOException e) {
+                LOGGER.error("Coordinator {} is unable to export snapshot {} to {}: {}", id, snapshotId, path, e.getMessage());
+            }
+        }
 
         // Send snapshot message to all DataStore(s) snapshot request
-        final SnapshotMessage outMessage = new SnapshotMessage(id, message.snapshotId);
+        final SnapshotMessage outMessage = new SnapshotMessage(id, message.snapshotId, snapshotTimestamp);
         dataStores.forEach(dataStore -> {
             LOGGER.trace("Coordinator {} send to DataStore {} SnapshotMessage: {}", id, dataStore.id, outMessage);
-            dataStore.ref.tell(outMessage, getSelf());
+            send(dataStore.ref, outMessage);
         });
 
         LOGGER.debug("Coordinator {} successfully sent snapshot request to {} DataStore(s)", id, dataStores.size());
@@ -545,27 +1060,161 @@ public final class Coordinator extends Actor {
      * @param message Received message
      */
     private void onSnapshotResultMessage(SnapshotResultMessage message) {
-        LOGGER.debug("Coordinator {} received from DataStore {} SnapshotResultMessage: {}", id, message.senderId, message);
+        LOGGER.trace("Coordinator {} received from DataStore {} SnapshotResultMessage: {}", id, message.senderId, message);
 
-        // Add received snapshot to saved snapshot
-        snapshot.putAll(message.storage);
+        // Chunk of an abandoned snapshot
+        if (snapshotTimestamp == SnapshotMessage.LATEST || message.snapshotId != snapshotId) {
+            LOGGER.warn("Coordinator {} received from DataStore {} SnapshotResultMessage of snapshot {} not in progress", id, message.senderId, message.snapshotId);
+            return;
+        }
 
-        // Check if all snapshots have been received
-        if (snapshot.size() == (dataStores.size() * 10)) {
-            // Print snapshot
-            LOGGER.info("Coordinator {} snapshot {}: {}", id, message.snapshotId, JsonUtil.GSON.toJson(snapshot));
+        // Running aggregate(s), the chunk is not retained
+        for (final Item item : message.storage.values()) snapshotSum += item.getValue();
+        snapshotCount += message.storage.size();
+        if (snapshotExport != null) {
+            try {
+                snapshotExport.write(message.storage);
+            } catch (IOException e) {
+                LOGGER.error("Coordinator {} is unable to export snapshot {}, export stopped: {}", id, snapshotId, e.getMessage());
+                closeSnapshotExport();
+            }
+        }
 
-            // Calculate total Items value sum
-            final int totalSum = snapshot.values().stream().mapToInt(Item::getValue).reduce(0, Integer::sum);
-            // Check if totalSum is valid
-            if (totalSum == snapshot.size() * 100) {
-                LOGGER.info("Coordinator {} snapshot {} sum {} is VALID", id, message.snapshotId, totalSum);
-            } else {
-                LOGGER.info("Coordinator {} snapshot {} sum {} is INVALID", id, message.snapshotId, totalSum);
+        // Ask the next chunk
+        if (!message.last) {
+            send(getSender(), new SnapshotAckMessage(id, message.snapshotId));
+            return;
+        }
+
+        // Check if all DataStore(s) have ended their stream
+        if (--snapshotPendingDataStores > 0) return;
+
+        closeSnapshotExport();
+        // Check if the total sum is valid, every Item started from 100
+        if (snapshotCount == partitioner.size() && snapshotSum == snapshotCount * 100) {
+            LOGGER.info("Coordinator {} snapshot {} at timestamp {} of {} Item(s) sum {} is VALID", id, message.snapshotId, snapshotTimestamp, snapshotCount, snapshotSum);
+        } else {
+            LOGGER.info("Coordinator {} snapshot {} at timestamp {} of {} Item(s) sum {} is INVALID", id, message.snapshotId, snapshotTimestamp, snapshotCount, snapshotSum);
+        }
+
+        // Snapshot ended
+        snapshotTimestamp = SnapshotMessage.LATEST;
+    }
+
+    /**
+     * Callback for {@link MarkerTimeoutMessage} message.
+     * The initiator records its local state, no {@link Item}, and sends a marker to every {@link DataStore} and other Coordinator:
+     * on every channel to a DataStore the decision(s) sent before are in the global snapshot, those sent after are not.
+     * Transaction(s) keep running meanwhile.
+     *
+     * @param message Received message
+     */
+    private void onMarkerTimeoutMessage(MarkerTimeoutMessage message) {
+        LOGGER.trace("Coordinator {} received MarkerTimeoutMessage: {}", id, message);
+
+        // Global snapshot in progress
+        if (markerPendingDataStores > 0) {
+            if (System.nanoTime() - markerStartTime < TimeUnit.MILLISECONDS.toNanos(Config.GLOBAL_SNAPSHOT_TIMEOUT_MS)) {
+                scheduleGlobalSnapshot();
+                return;
             }
+            LOGGER.warn("Coordinator {} abandoned global snapshot {} waiting for {} DataStore(s)", id, markerSnapshotId, markerPendingDataStores);
+        }
 
-            // Clean snapshot
-            snapshot.clear();
+        // Initiate
+        markerSnapshotId += 1;
+        markerStartTime = System.nanoTime();
+        markerPendingDataStores = dataStores.size();
+        markerItems = 0;
+        markerSum = 0;
+        markerInFlightCommits = 0;
+        final MarkerMessage outMessage = new MarkerMessage(id, markerSnapshotId, id);
+        multicast(dataStores, outMessage);
+        multicast(coordinators, outMessage);
+        LOGGER.debug("Coordinator {} initiated global snapshot {} involving {} DataStore(s) and {} Coordinator(s)", id, markerSnapshotId, dataStores.size(), coordinators.size());
+
+        scheduleGlobalSnapshot();
+    }
+
+    /**
+     * Callback for {@link MarkerMessage} message.
+     * The first marker of a global snapshot records the local state, no {@link Item}, and sends a marker to every {@link DataStore}.
+     *
+     * @param message Received message
+     */
+    private void onMarkerMessage(MarkerMessage message) {
+        LOGGER.trace("Coordinator {} received from Coordinator {} MarkerMessage: {}", id, message.senderId, message);
+
+        // Already recorded or abandoned
+        if (message.snapshotId <= markerSnapshotId) return;
+
+        markerSnapshotId = message.snapshotId;
+        multicast(dataStores, new MarkerMessage(id, message.snapshotId, message.initiatorId));
+    }
+
+    /**
+     * Callback for {@link MarkerResultMessage} message.
+     *
+     * @param message Received message
+     */
+    private void onMarkerResultMessage(MarkerResultMessage message) {
+        LOGGER.trace("Coordinator {} received from DataStore {} MarkerResultMessage: {}", id, message.senderId, message);
+
+        // Recording of an abandoned global snapshot
+        if (message.snapshotId != markerSnapshotId || markerPendingDataStores == 0) {
+            LOGGER.warn("Coordinator {} received from DataStore {} MarkerResultMessage of global snapshot {} not in progress", id, message.senderId, message.snapshotId);
+            return;
+        }
+
+        // Running aggregate(s), local state and commit(s) in flight
+        markerItems += message.items;
+        markerSum += message.sum + message.inFlightDelta;
+        markerInFlightCommits += message.inFlightCommits;
+
+        // Check if all DataStore(s) have sent their recording
+        if (--markerPendingDataStores > 0) return;
+
+        // Check if the total sum is valid, every Item started from 100
+        final double elapsedMs = (System.nanoTime() - markerStartTime) / 1e6;
+        if (markerItems == partitioner.size() && markerSum == markerItems * 100) {
+            LOGGER.info("Coordinator {} global snapshot {} of {} Item(s) sum {} with {} commit(s) in flight in {}ms is VALID",
+                    id, markerSnapshotId, markerItems, markerSum, markerInFlightCommits, String.format("%.2f", elapsedMs));
+            Metrics.increment(Counter.GLOBAL_SNAPSHOTS_VALID);
+        } else {
+            LOGGER.error("Coordinator {} global snapshot {} of {} Item(s) sum {} with {} commit(s) in flight in {}ms is INVALID",
+                    id, markerSnapshotId, markerItems, markerSum, markerInFlightCommits, String.format("%.2f", elapsedMs));
+            Metrics.increment(Counter.GLOBAL_SNAPSHOTS_INVALID);
         }
     }
+
+    /**
+     * Callback for {@link WatermarkTimeoutMessage} message.
+     *
+     * @param message Received message
+     */
+    private void onWatermarkTimeoutMessage(WatermarkTimeoutMessage message) {
+        LOGGER.trace("Coordinator {} received WatermarkTimeoutMessage: {}", id, message);
+
+        // Send watermark to all DataStore(s)
+        final WatermarkMessage outMessage = new WatermarkMessage(id, watermark());
+        multicast(dataStores, outMessage);
+
+        scheduleWatermark();
+    }
+
+    /**
+     * Callback for {@link CoordinatorLoadTimeoutMessage} message.
+     *
+     * @param message Received message
+     */
+    private void onCoordinatorLoadTimeoutMessage(CoordinatorLoadTimeoutMessage message) {
+        LOGGER.trace("Coordinator {} received CoordinatorLoadTimeoutMessage: {}", id, message);
+
+        // Send load to all Client(s), no report while crashed tells them to skip this Coordinator
+        final CoordinatorLoadMessage outMessage = new CoordinatorLoadMessage(id, transactionIdToClient.size(),
+                pendingReadKeys.size() + transactionDecisions.size() + pendingDecisionAcks.size());
+        for (final ActorRef client : clients) send(client, outMessage);
+
+        scheduleLoad();
+    }
 }
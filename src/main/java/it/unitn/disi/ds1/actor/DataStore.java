@@ -1,25 +1,52 @@
 package it.unitn.disi.ds1.actor;
 
+import akka.actor.ActorRef;
 import akka.actor.Props;
 import it.unitn.disi.ds1.Config;
 import it.unitn.disi.ds1.etc.ActorMetadata;
 import it.unitn.disi.ds1.etc.Item;
 import it.unitn.disi.ds1.message.Message;
+import it.unitn.disi.ds1.message.mvcc.WatermarkMessage;
 import it.unitn.disi.ds1.message.twopc.*;
 import it.unitn.disi.ds1.message.txn.read.TxnReadCoordinatorMessage;
 import it.unitn.disi.ds1.message.txn.read.TxnReadResultCoordinatorMessage;
 import it.unitn.disi.ds1.message.txn.write.TxnWriteCoordinatorMessage;
 import it.unitn.disi.ds1.etc.Decision;
+import it.unitn.disi.ds1.etc.TransactionId;
+import it.unitn.disi.ds1.message.marker.MarkerMessage;
+import it.unitn.disi.ds1.message.marker.MarkerResultMessage;
+import it.unitn.disi.ds1.message.snapshot.SnapshotAckMessage;
 import it.unitn.disi.ds1.message.snapshot.SnapshotMessage;
 import it.unitn.disi.ds1.message.snapshot.SnapshotResultMessage;
+import it.unitn.disi.ds1.message.wal.CheckpointMessage;
+import it.unitn.disi.ds1.message.wal.WalFlushMessage;
 import it.unitn.disi.ds1.message.welcome.DataStoreWelcomeMessage;
-import it.unitn.disi.ds1.util.JsonUtil;
+import it.unitn.disi.ds1.metrics.Counter;
+import it.unitn.disi.ds1.metrics.Metrics;
+import it.unitn.disi.ds1.metrics.Outcome;
+import it.unitn.disi.ds1.metrics.Phase;
+import it.unitn.disi.ds1.partitioner.Partitioner;
+import it.unitn.disi.ds1.storage.Checkpoint;
+import it.unitn.disi.ds1.storage.ItemStore;
+import it.unitn.disi.ds1.storage.LockManager;
+import it.unitn.disi.ds1.storage.Workspace;
+import it.unitn.disi.ds1.storage.WriteAheadLog;
+import it.unitn.disi.ds1.trace.ActorRole;
+import it.unitn.disi.ds1.trace.EventRecorder;
+import it.unitn.disi.ds1.trace.EventTrace;
+import it.unitn.disi.ds1.trace.EventType;
+import it.unitn.disi.ds1.util.LongLongMap;
+import it.unitn.disi.ds1.util.LongMap;
+import it.unitn.disi.ds1.util.LongSet;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import scala.concurrent.duration.Duration;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * Data Store {@link Actor actor} class.
@@ -40,62 +67,317 @@ public final class DataStore extends Actor {
      */
     private static final int ITEM_DEFAULT_VERSION = 0;
 
+    /**
+     * Start time of a transaction without a {@link Phase} in progress.
+     */
+    private static final long NO_START_TIME = Long.MIN_VALUE;
+
+    /**
+     * No key to release.
+     */
+    private static final int[] EMPTY_KEYS = new int[0];
+
     /**
      * {@link DataStore DataStore(s)} metadata.
      */
     private final List<ActorMetadata> dataStores;
 
+    /**
+     * {@link Coordinator Coordinator(s)} metadata.
+     */
+    private final List<ActorMetadata> coordinators;
+
     /**
      * Storage used for persistence.
      */
-    private final Map<Integer, Item> storage;
+    private final ItemStore storage;
 
     /**
-     * Private workspace for each transaction.
+     * {@link LockManager} of the storage {@link Item Item(s)}.
+     */
+    private final LockManager lockManager;
+
+    /**
+     * {@link TwoPcVoteMessage Vote request} of each transaction waiting for its lock(s).
+     * The vote is deferred until the lock(s) are granted or the transaction is aborted by the lock policy.
+     */
+    private final LongMap<TwoPcVoteMessage> deferredVotes;
+
+    /**
+     * Private {@link Workspace} for each transaction.
      * Key is the transaction id.
-     * Value is all the modified Item(s) identified by the key.
+     * Value is all the written Item(s),
+     * and at vote time the read Item(s) to validate and lock.
+     * Read-only transaction(s) never have a workspace.
+     */
+    private final LongMap<Workspace> workspaces;
+
+    /**
+     * {@link Workspace Workspace(s)} of decided transaction(s), reused by new one(s).
      */
-    private final Map<UUID, Map<Integer, Item>> workspaces;
+    private final ArrayDeque<Workspace> workspacePool;
 
     /**
      * Storage used for COMMIT/ABORT taken by {@link DataStore} for each transaction.
      */
-    private final Map<UUID, Decision> transactionVotes;
+    private final LongMap<Decision> transactionVotes;
 
     /**
      * Storage used for saving {@link Coordinator} linked to transaction.
      */
-    private final Map<UUID, ActorMetadata> transactionIdToCoordinator;
+    private final LongMap<ActorMetadata> transactionIdToCoordinator;
+
+    /**
+     * Prepare timestamp of each transaction voted to COMMIT and not decided yet.
+     * Its commit timestamp is unknown but not lower, so a read at or after it must wait for the decision.
+     */
+    private final LongMap<Long> transactionPrepareTimestamps;
+
+    /**
+     * Start time (ns) of the current {@link Phase} of each transaction:
+     * {@link Phase#DATA_STORE_VOTE} from its vote request, then {@link Phase#DATA_STORE_PREPARED} from its COMMIT vote.
+     */
+    private final LongLongMap transactionPhaseStartTimes;
+
+    /**
+     * {@link EventRecorder} of the transaction event(s).
+     */
+    private final EventRecorder recorder;
+
+    /**
+     * Read(s) and snapshot(s) waiting for the decision of a prepared transaction.
+     */
+    private final List<Runnable> waitingReads;
+
+    /**
+     * {@link SnapshotStream Snapshot(s)} being streamed, by {@link Coordinator} id.
+     */
+    private final Map<Integer, SnapshotStream> snapshotStreams;
+
+    /**
+     * Id of the latest global snapshot recorded, 0 if none.
+     */
+    private int markerSnapshotId;
+
+    /**
+     * {@link MarkerRecording Recording} of the global snapshot in progress, null if none.
+     */
+    private MarkerRecording markerRecording;
+
+    /**
+     * Latest watermark of each {@link Coordinator}, 0 if unknown.
+     */
+    private final long[] coordinatorWatermarks;
+
+    /**
+     * Watermark of the latest garbage collection of older version(s).
+     */
+    private long gcWatermark;
+
+    /**
+     * {@link WriteAheadLog Write-Ahead Log}.
+     * Null if durability is disabled.
+     */
+    private final WriteAheadLog wal;
+
+    /**
+     * {@link WriteAheadLog Write-Ahead Log} position of the COMMIT vote of each in-doubt transaction.
+     */
+    private final LongMap<Long> transactionVotePositions;
+
+    /**
+     * Storage {@link Checkpoint}.
+     * Null if checkpoint is disabled.
+     */
+    private final Checkpoint checkpoint;
+
+    /**
+     * Action(s) waiting for the {@link WriteAheadLog Write-Ahead Log} group commit.
+     */
+    private final List<Runnable> walPendingActions;
+
+    /**
+     * {@link WriteAheadLog Write-Ahead Log} group commit flush is scheduled.
+     */
+    private boolean walFlushScheduled;
+
+    /**
+     * Number of committed transaction(s).
+     */
+    private long committedTransactions;
+
+    /**
+     * Start time (ns).
+     */
+    private final long startTime;
+
+    /**
+     * Snapshot being streamed to a {@link Coordinator}.
+     */
+    private static final class SnapshotStream {
+        /**
+         * Snapshot id.
+         */
+        final int snapshotId;
+
+        /**
+         * Snapshot timestamp.
+         */
+        final long timestamp;
+
+        /**
+         * {@link Coordinator} {@link ActorRef ref}.
+         */
+        final ActorRef coordinator;
+
+        /**
+         * Key offset of the next chunk.
+         */
+        int nextOffset;
+
+        /**
+         * Construct a new SnapshotStream class.
+         *
+         * @param snapshotId  Snapshot id
+         * @param timestamp   Snapshot timestamp
+         * @param coordinator Coordinator ref
+         */
+        SnapshotStream(int snapshotId, long timestamp, ActorRef coordinator) {
+            this.snapshotId = snapshotId;
+            this.timestamp = timestamp;
+            this.coordinator = coordinator;
+            this.nextOffset = 0;
+        }
+    }
+
+    /**
+     * Recording of a global snapshot: the local state recorded at the first {@link MarkerMessage marker}
+     * and the COMMIT decision(s) received afterwards on every incoming channel not yet closed by its marker.
+     */
+    private static final class MarkerRecording {
+        /**
+         * Global snapshot id.
+         */
+        final int snapshotId;
+
+        /**
+         * Initiator {@link Coordinator} id.
+         */
+        final int initiatorId;
+
+        /**
+         * Number of {@link Item Item(s)} of the local state.
+         */
+        final int items;
+
+        /**
+         * Sum of the {@link Item} value(s) of the local state.
+         */
+        final long sum;
+
+        /**
+         * Sender(s) of the incoming channel(s) closed by their marker.
+         */
+        final Set<ActorRef> closedChannels;
+
+        /**
+         * Initiator {@link Coordinator} {@link ActorRef ref}, null until its marker is received.
+         */
+        ActorRef initiator;
+
+        /**
+         * Number of COMMIT decision(s) recorded in flight.
+         */
+        int inFlightCommits;
+
+        /**
+         * Sum of the value change(s) of the COMMIT decision(s) recorded in flight.
+         */
+        long inFlightDelta;
+
+        /**
+         * Construct a new MarkerRecording class.
+         *
+         * @param snapshotId  Global snapshot id
+         * @param initiatorId Initiator Coordinator id
+         * @param items       Number of Item(s) of the local state
+         * @param sum         Sum of the Item value(s) of the local state
+         */
+        MarkerRecording(int snapshotId, int initiatorId, int items, long sum) {
+            this.snapshotId = snapshotId;
+            this.initiatorId = initiatorId;
+            this.items = items;
+            this.sum = sum;
+            this.closedChannels = new HashSet<>();
+            this.initiator = null;
+            this.inFlightCommits = 0;
+            this.inFlightDelta = 0;
+        }
+    }
 
     // --- Constructors ---
 
     /**
      * Construct a new Data Store class.
      *
-     * @param id Data Store id
+     * @param id          Data Store id
+     * @param partitioner Key space {@link Partitioner}
      */
-    public DataStore(int id) {
+    public DataStore(int id, Partitioner partitioner) {
         super(id);
         this.dataStores = new ArrayList<>();
-        this.storage = new HashMap<>();
-        this.workspaces = new HashMap<>();
-        this.transactionVotes = new HashMap<>();
-        this.transactionIdToCoordinator = new HashMap<>();
+        this.coordinators = new ArrayList<>();
+        this.workspaces = new LongMap<>();
+        this.workspacePool = new ArrayDeque<>();
+        this.transactionVotes = new LongMap<>();
+        this.transactionIdToCoordinator = new LongMap<>();
+        this.transactionVotePositions = new LongMap<>();
+        this.transactionPrepareTimestamps = new LongMap<>();
+        this.transactionPhaseStartTimes = new LongLongMap();
+        this.recorder = EventTrace.recorder(ActorRole.DATA_STORE, id);
+        this.deferredVotes = new LongMap<>();
+        this.waitingReads = new ArrayList<>();
+        this.snapshotStreams = new HashMap<>();
+        this.markerSnapshotId = 0;
+        this.markerRecording = null;
+        this.coordinatorWatermarks = new long[Config.N_COORDINATORS];
+        this.gcWatermark = 0;
+        this.walPendingActions = new ArrayList<>();
+        this.walFlushScheduled = false;
+        this.committedTransactions = 0;
+        this.startTime = System.nanoTime();
 
         // Initialize items
-        IntStream.range(id * 10, (id * 10) + 10).forEach(i -> storage.put(i, new Item(ITEM_DEFAULT_VALUE, ITEM_DEFAULT_VERSION)));
+        this.storage = new ItemStore(partitioner, id, ITEM_DEFAULT_VALUE, ITEM_DEFAULT_VERSION);
+        this.lockManager = new LockManager(storage, Config.LOCK_POLICY);
+
+        // Initialize Write-Ahead Log and rebuild state
+        if (Config.WAL_ENABLED) {
+            try {
+                this.wal = new WriteAheadLog(Path.of(Config.WAL_DIRECTORY, String.format("datastore-%d.wal", id)), Config.WAL_BUFFER_SIZE);
+            } catch (IOException e) {
+                throw new IllegalStateException(String.format("DataStore %d is unable to open WAL: %s", id, e.getMessage()), e);
+            }
+            this.checkpoint = Config.CHECKPOINT_ENABLED ? new Checkpoint(Path.of(Config.CHECKPOINT_DIRECTORY), id) : null;
+            restoreState();
+            scheduleCheckpoint();
+        } else {
+            this.wal = null;
+            this.checkpoint = null;
+        }
 
-        LOGGER.debug("DataStore {} initialized", id);
+        LOGGER.debug("DataStore {} initialized with {} Item(s)", id, storage.size());
     }
 
     /**
      * Return Data Store {@link Props}.
      *
-     * @param id Data Store id
+     * @param id          Data Store id
+     * @param partitioner Key space {@link Partitioner}
      * @return Data Store {@link Props}
      */
-    public static Props props(int id) {
-        return Props.create(DataStore.class, () -> new DataStore(id));
+    public static Props props(int id, Partitioner partitioner) {
+        return Props.create(DataStore.class, () -> new DataStore(id, partitioner));
     }
 
     @Override
@@ -107,117 +389,467 @@ public final class DataStore extends Actor {
                 .match(TwoPcVoteMessage.class, this::onTwoPcVoteMessage)
                 .match(TwoPcDecisionMessage.class, this::onTwoPcDecisionMessage)
                 .match(TwoPcDecisionRequestMessage.class, this::onTwoPcDecisionRequestMessage)
+                .match(TwoPcBatchMessage.class, this::onTwoPcBatchMessage)
+                .match(OutboxFlushMessage.class, this::onOutboxFlushMessage)
                 .match(TwoPcRecoveryMessage.class, this::onTwoPcRecoveryMessage)
                 .match(TwoPcTimeoutMessage.class, this::onTwoPcTimeoutMessage)
                 .match(SnapshotMessage.class, this::onSnapshotMessage)
+                .match(SnapshotAckMessage.class, this::onSnapshotAckMessage)
+                .match(MarkerMessage.class, this::onMarkerMessage)
+                .match(WalFlushMessage.class, this::onWalFlushMessage)
+                .match(CheckpointMessage.class, this::onCheckpointMessage)
+                .match(WatermarkMessage.class, this::onWatermarkMessage)
                 .build();
     }
 
+    @Override
+    public void postStop() {
+        // Close Write-Ahead Log
+        if (wal != null) {
+            try {
+                wal.close();
+            } catch (IOException e) {
+                LOGGER.error("DataStore {} is unable to close WAL: {}", id, e.getMessage());
+            }
+        }
+
+        final double seconds = (System.nanoTime() - startTime) / 1e9;
+        LOGGER.info("DataStore {} committed {} transaction(s) in {}s ({} txn/s) with WAL {}", id, committedTransactions,
+                String.format("%.2f", seconds), String.format("%.2f", committedTransactions / seconds),
+                wal == null ? "DISABLED" : String.format("%d record(s) in %d sync(s)", wal.records(), wal.syncs()));
+        LOGGER.info("DataStore {} {} lock policy with {} wait(s), {} abort(s) on conflict and {} wound(s)", id, Config.LOCK_POLICY, lockManager.waits(), lockManager.dies(), lockManager.wounds());
+        LOGGER.info("DataStore {} retains {} of {} final decision(s) with low-watermark {}", id, finalDecisions.size(), finalDecisions.appended(), finalDecisions.lowWatermark());
+    }
+
     // --- Methods ---
 
     /**
-     * Check if {@link UUID transaction} is able to commit.
-     * Checks:
-     * 1. Items version match
-     * 2. Successfully locked items
+     * Return true if no {@link Item} in the workspace of transaction has a version committed after the read timestamp,
+     * that is every read and written Item is still the version the transaction has seen, otherwise false.
      *
-     * @param transactionId {@link UUID Transaction} id
-     * @return True if it can commit, false otherwise
+     * @param transactionId Transaction id
+     * @param readTimestamp Transaction read timestamp
+     * @return True if matched, false otherwise
      */
-    private boolean canCommit(UUID transactionId) {
-        if (!lockItems(transactionId)) {
-            LOGGER.warn("DataStore {} lock Item(s) in transaction {} has FAILED: {}", id, transactionId, JsonUtil.GSON.toJson(workspaces.get(transactionId)));
-            return false;
+    private boolean checkItemsVersion(long transactionId, long readTimestamp) {
+        final Workspace workspace = workspaces.get(transactionId);
+        for (int i = 0; i < workspace.writes(); i++) {
+            if (!checkItemVersion(transactionId, workspace.writeKey(i), readTimestamp, "WRITE")) return false;
         }
-        LOGGER.debug("DataStore {} lock Item(s) in transaction {} is SUCCESSFUL", id, transactionId);
-        if (!checkItemsVersion(transactionId)) {
-            LOGGER.warn("DataStore {} check Item(s) version in transaction {} has FAILED: {}", id, transactionId, JsonUtil.GSON.toJson(workspaces.get(transactionId)));
-            return false;
+        for (int i = 0; i < workspace.reads(); i++) {
+            if (!checkItemVersion(transactionId, workspace.readKey(i), readTimestamp, "READ")) return false;
         }
-        LOGGER.debug("DataStore {} check Item(s) version in transaction {} is SUCCESSFUL", id, transactionId);
-
-        // Able to commit
-        LOGGER.debug("DataStore {} can successfully commit transaction {}", id, transactionId);
         return true;
     }
 
     /**
-     * Return true if version of the {@link Item Item(s)} in storage and workspace of {@link UUID transaction} match, otherwise false.
+     * Return true if the {@link Item} has no version committed after the read timestamp, otherwise false.
      *
      * @param transactionId Transaction id
+     * @param key           Item key
+     * @param readTimestamp Transaction read timestamp
+     * @param access        Access of the transaction to the Item, for logging
      * @return True if matched, false otherwise
      */
-    private boolean checkItemsVersion(UUID transactionId) {
-        return workspaces.get(transactionId)
-                .entrySet().stream()
-                .allMatch((entry) -> {
-                    final Item itemInWorkSpace = entry.getValue();
-                    final Item itemInStorage = storage.get(entry.getKey());
-
-                    final boolean isValid;
-                    if (!itemInWorkSpace.isValueChanged()) {
-                        // READ
-                        isValid = itemInWorkSpace.getVersion() == itemInStorage.getVersion()
-                                && itemInWorkSpace.getValue() == itemInStorage.getValue();
-                        if (!isValid) {
-                            LOGGER.debug("DataStore {} READ check for Item {} in transaction {} is INVALID", id, entry.getKey(), transactionId);
-                        }
-                    } else {
-                        // WRITE
-                        isValid = itemInWorkSpace.getVersion() == itemInStorage.getVersion() + 1;
-                        if (!isValid) {
-                            LOGGER.debug("DataStore {} WRITE check for Item {} in transaction {} is INVALID", id, entry.getKey(), transactionId);
-                        }
-                    }
+    private boolean checkItemVersion(long transactionId, int key, long readTimestamp, String access) {
+        final long timestamp = storage.getTimestamp(key);
+        if (timestamp <= readTimestamp) return true;
 
-                    return isValid;
-                });
+        recorder.record(EventType.VALIDATION_FAILED, transactionId, key, timestamp);
+        LOGGER.debug("DataStore {} {} check for Item {} in transaction {} is INVALID", id, access, key, transactionId);
+        return false;
     }
 
     /**
-     * Return true if {@link UUID transaction} is able to lock all {@link Item Item(s)} involved, otherwise false.
+     * Clean possible locked {@link Item Item(s)} and lock request that are involved in the transaction.
+     * Freed Item(s) are granted to the waiting transaction(s).
      *
      * @param transactionId Transaction id
-     * @return True if all {@link Item Item(s)} are successfully locked, false otherwise
      */
-    private boolean lockItems(UUID transactionId) {
-        // Obtain private workspace of the transaction
-        final Map<Integer, Item> workspace = workspaces.get(transactionId);
+    private void cleanLockItems(long transactionId) {
+        // Workspace is lost after a restart if the transaction has already been decided
+        final Workspace workspace = workspaces.get(transactionId);
+
+        deferredVotes.remove(transactionId);
+        if (workspace != null) lockManager.release(transactionId, workspace.keys(), workspace.size());
+        else lockManager.release(transactionId, EMPTY_KEYS, 0);
+        onLockOutcomes();
+    }
+
+    /**
+     * Complete the deferred vote(s) of the transaction(s) granted or aborted by the {@link LockManager}.
+     */
+    private void onLockOutcomes() {
+        for (final long transactionId : lockManager.drainGranted()) {
+            final TwoPcVoteMessage message = deferredVotes.remove(transactionId);
+            if (message == null) continue;
+            unTimeout(transactionId);
+            LOGGER.debug("DataStore {} lock Item(s) in transaction {} is SUCCESSFUL", id, transactionId);
+
+            // Validate again, a conflicting transaction may have committed while waiting
+            final boolean valid = checkItemsVersion(transactionId, message.readTimestamp);
+            if (!valid && LOGGER.isDebugEnabled())
+                LOGGER.debug("DataStore {} check Item(s) version in transaction {} has FAILED: {}", id, transactionId, workspaces.get(transactionId));
+            vote(message, !valid ? Decision.ABORT : isReadOnly(transactionId) ? Decision.READ_ONLY : Decision.COMMIT);
+        }
+
+        for (final long transactionId : lockManager.drainAborted()) {
+            final TwoPcVoteMessage message = deferredVotes.remove(transactionId);
+            if (message == null) continue;
+            unTimeout(transactionId);
+            recorder.record(EventType.LOCK_FAILED, transactionId);
+            if (LOGGER.isDebugEnabled())
+                LOGGER.debug("DataStore {} lock Item(s) in transaction {} has FAILED with {} policy: {}", id, transactionId, Config.LOCK_POLICY, workspaces.get(transactionId));
+            vote(message, Decision.ABORT);
+        }
+    }
+
+    /**
+     * Check if the transaction has not written any {@link Item} of the DataStore.
+     *
+     * @param transactionId Transaction id
+     * @return True if read-only, false otherwise
+     */
+    private boolean isReadOnly(long transactionId) {
+        return workspaces.get(transactionId).isReadOnly();
+    }
+
+    /**
+     * Commit a new version of the written {@link Item Item(s)} of the workspace.
+     *
+     * @param workspace       Transaction workspace
+     * @param commitTimestamp Commit timestamp
+     */
+    private void commit(Workspace workspace, long commitTimestamp) {
+        for (int i = 0; i < workspace.writes(); i++) {
+            storage.commit(workspace.writeKey(i), workspace.writeValue(i), commitTimestamp);
+        }
+    }
+
+    /**
+     * Return the change of the sum of the {@link Item} value(s) once the workspace is committed.
+     *
+     * @param workspace Transaction workspace
+     * @return Value change
+     */
+    private long delta(Workspace workspace) {
+        long delta = 0;
+        for (int i = 0; i < workspace.writes(); i++) {
+            delta += workspace.writeValue(i) - storage.getValue(workspace.writeKey(i));
+        }
+        return delta;
+    }
+
+    /**
+     * Return the {@link Workspace} of the transaction, taken from the pool if it has none.
+     *
+     * @param transactionId Transaction id
+     * @return Transaction workspace
+     */
+    private Workspace workspaceOf(long transactionId) {
+        Workspace workspace = workspaces.get(transactionId);
+        if (workspace == null) {
+            workspace = workspacePool.isEmpty() ? new Workspace() : workspacePool.pop();
+            workspaces.put(transactionId, workspace);
+        }
+        return workspace;
+    }
+
+    /**
+     * Remove the {@link Workspace} of the transaction, if any, returning it to the pool.
+     *
+     * @param transactionId Transaction id
+     */
+    private void removeWorkspace(long transactionId) {
+        final Workspace workspace = workspaces.remove(transactionId);
+        if (workspace == null) return;
+
+        workspace.clear();
+        workspacePool.push(workspace);
+    }
+
+    /**
+     * Return the {@link Coordinator} with the id, null if unknown.
+     *
+     * @param coordinatorId Coordinator id
+     * @return Coordinator metadata
+     */
+    private ActorMetadata coordinatorById(int coordinatorId) {
+        for (final ActorMetadata coordinator : coordinators) {
+            if (coordinator.id == coordinatorId) return coordinator;
+        }
+        return null;
+    }
+
+    /**
+     * Return the {@link Coordinator} of the transaction, the one encoded in its id if not recorded, null if unknown.
+     *
+     * @param transactionId Transaction id
+     * @return Coordinator metadata
+     */
+    private ActorMetadata coordinatorOf(long transactionId) {
+        final ActorMetadata coordinator = transactionIdToCoordinator.get(transactionId);
+        return coordinator != null ? coordinator : coordinatorById(TransactionId.coordinatorOf(transactionId));
+    }
+
+    /**
+     * Check if the sender is a {@link DataStore}.
+     *
+     * @param sender Sender {@link ActorRef ref}
+     * @return True if a DataStore, false otherwise
+     */
+    private boolean isDataStore(ActorRef sender) {
+        return dataStores.stream().anyMatch(dataStore -> dataStore.ref.equals(sender));
+    }
+
+    /**
+     * Check if a read of the {@link Item} at the timestamp must wait,
+     * that is a prepared transaction with a prepare timestamp not greater has written it.
+     *
+     * @param key       Item key
+     * @param timestamp Read timestamp
+     * @return True if the read must wait, false otherwise
+     */
+    private boolean mustWait(int key, long timestamp) {
+        // Only a prepared transaction, or one waiting for its lock(s), holds locks on its Item(s)
+        if (!storage.isLocked(key)) return false;
+
+        return transactionPrepareTimestamps.anyMatch((transactionId, prepareTimestamp) -> {
+            if (prepareTimestamp > timestamp) return false;
+            final Workspace workspace = workspaces.get(transactionId);
+            return workspace != null && workspace.indexOfWrite(key) >= 0;
+        });
+    }
+
+    /**
+     * Check if a snapshot at the timestamp must wait,
+     * that is there is a prepared transaction with a prepare timestamp not greater.
+     *
+     * @param timestamp Snapshot timestamp
+     * @return True if the snapshot must wait, false otherwise
+     */
+    private boolean mustWait(long timestamp) {
+        for (final long prepareTimestamp : transactionPrepareTimestamps.values()) {
+            if (prepareTimestamp <= timestamp) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Retry all read(s) and snapshot(s) waiting for a decision.
+     */
+    private void retryWaitingReads() {
+        if (waitingReads.isEmpty()) return;
+
+        final List<Runnable> reads = List.copyOf(waitingReads);
+        waitingReads.clear();
+        reads.forEach(Runnable::run);
+    }
+
+    /**
+     * Rebuild storage, vote(s) and in-doubt transaction(s)
+     * mapping the latest {@link Checkpoint}, if any, and replaying the {@link WriteAheadLog Write-Ahead Log} suffix after it.
+     */
+    private void restoreState() {
+        final long start = System.nanoTime();
+
+        // Checkpoint
+        long position = 0;
+        if (checkpoint != null) {
+            try {
+                position = checkpoint.load(storage);
+            } catch (IOException e) {
+                throw new IllegalStateException(String.format("DataStore %d is unable to load checkpoint: %s", id, e.getMessage()), e);
+            }
+        }
+
+        // Log suffix
+        final long replayed = replayWal(position);
+
+        // Timestamp(s) must not go backward
+        clock.update(storage.maxTimestamp());
+
+        LOGGER.info("DataStore {} restored state from checkpoint {} replaying {} WAL record(s) from position {} in {} ms with {} in-doubt transaction(s)",
+                id, checkpoint != null ? checkpoint.sequence() : 0, replayed, position, (System.nanoTime() - start) / 1000000, workspaces.size());
+    }
 
-        // Try to lock all Item(s) in storage involved in transaction
-        final boolean locked = workspace.entrySet().stream()
-                .allMatch(entry -> storage.get(entry.getKey()).lock(transactionId));
+    /**
+     * Rebuild storage, vote(s) and in-doubt transaction(s) replaying the {@link WriteAheadLog Write-Ahead Log} from the position.
+     *
+     * @param position Log position to replay from
+     * @return Number of replayed record(s)
+     */
+    private long replayWal(long position) {
+        final long replayed;
+        try {
+            replayed = wal.replay(position, new WriteAheadLog.Replay() {
+                @Override
+                public void onVote(long position, long transactionId, int coordinatorId, Decision vote, long prepareTimestamp, Workspace workspace) {
+                    transactionVotes.put(transactionId, vote);
+                    clock.update(prepareTimestamp);
+                    final ActorMetadata coordinator = coordinatorById(coordinatorId);
+                    if (coordinator != null) transactionIdToCoordinator.put(transactionId, coordinator);
+                    if (vote == Decision.COMMIT) {
+                        workspaces.put(transactionId, workspace);
+                        transactionVotePositions.put(transactionId, position);
+                        transactionPrepareTimestamps.put(transactionId, prepareTimestamp);
+                    }
+                }
+
+                @Override
+                public void onDecision(long transactionId, Decision decision, long commitTimestamp) {
+                    final Workspace workspace = workspaces.get(transactionId);
+                    transactionVotes.remove(transactionId);
+                    transactionVotePositions.remove(transactionId);
+                    transactionPrepareTimestamps.remove(transactionId);
+                    clock.update(commitTimestamp);
+                    decide(transactionId, decision, commitTimestamp);
+                    finalDecisions.acknowledge(transactionId);
+                    if (decision == Decision.COMMIT && workspace != null) commit(workspace, commitTimestamp);
+                    removeWorkspace(transactionId);
+                }
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("DataStore %d is unable to replay WAL: %s", id, e.getMessage()), e);
+        }
+
+        // Voted ABORT without a decision: safely ABORT
+        transactionVotes.removeIf((transactionId, vote) -> {
+            if (vote != Decision.ABORT) return false;
+            decide(transactionId, Decision.ABORT);
+            return true;
+        });
+
+        // Voted COMMIT without a decision: in-doubt, lock again and wait for the decision
+        workspaces.forEach((transactionId, workspace) -> {
+            lockManager.lock(transactionId, workspace.keys(), workspace.size());
+            timeout(transactionId, Config.TWOPC_DATA_STORE_TIMEOUT_MS);
+        });
+
+        return replayed;
+    }
+
+    /**
+     * Simulate a restart after a crash dropping all volatile state and restoring it from disk.
+     * Transaction(s) not voted yet are kept with an empty workspace, so they are safely aborted.
+     */
+    private void restart() {
+        // Transaction(s) not voted yet, lost with the volatile state
+        final LongSet notVoted = new LongSet();
+        workspaces.forEach((transactionId, ignored) -> {
+            if (!transactionVotes.containsKey(transactionId)) notVoted.add(transactionId);
+        });
 
-        // If operation failed, clean lock in storage
-        if (!locked) cleanLockItems(transactionId);
+        // Drop volatile state
+        if (checkpoint != null) checkpoint.abort();
+        storage.reset(ITEM_DEFAULT_VALUE, ITEM_DEFAULT_VERSION);
+        lockManager.clear();
+        deferredVotes.clear();
+        for (final long transactionId : workspaces.keys()) removeWorkspace(transactionId);
+        transactionVotes.clear();
+        transactionVotePositions.clear();
+        transactionPrepareTimestamps.clear();
+        transactionIdToCoordinator.clear();
+        finalDecisions.clear();
+        gcWatermark = 0;
+
+        // Restore from disk
+        restoreState();
+        notVoted.forEach(this::workspaceOf);
+
+        // Checkpoint messages are dropped while crashed
+        scheduleCheckpoint();
+
+        // Waiting read(s) may no longer wait for a transaction decided before the crash
+        retryWaitingReads();
+    }
 
-        return locked;
+    /**
+     * Schedule the next {@link Checkpoint}, if enabled.
+     */
+    private void scheduleCheckpoint() {
+        if (checkpoint == null) return;
+
+        getContext().system().scheduler().scheduleOnce(
+                Duration.create(Config.CHECKPOINT_INTERVAL_MS, TimeUnit.MILLISECONDS),
+                getSelf(),
+                new CheckpointMessage(),
+                getContext().getDispatcher(),
+                getSelf()
+        );
     }
 
     /**
-     * Clean possible locked {@link Item Item(s)} that are involved in the {@link UUID transaction}.
+     * Run the action once all {@link WriteAheadLog Write-Ahead Log} record(s) appended so far are durable.
+     * If durability is disabled the action runs immediately.
      *
-     * @param transactionId {@link UUID Transaction} id
+     * @param action Action to run
      */
-    private void cleanLockItems(UUID transactionId) {
-        workspaces.get(transactionId)
-                .forEach((key, value) -> storage.get(key).unlock(transactionId));
+    private void afterWalSync(Runnable action) {
+        if (wal == null || wal.pending() == 0) {
+            action.run();
+            return;
+        }
+
+        walPendingActions.add(action);
+        onWalAppend();
+    }
+
+    /**
+     * Group commit policy after a {@link WriteAheadLog Write-Ahead Log} append:
+     * flush if the group is full, otherwise schedule a flush at the deadline.
+     */
+    private void onWalAppend() {
+        if (wal.pending() >= Config.WAL_GROUP_COMMIT_SIZE) {
+            flushWal();
+        } else if (!walFlushScheduled) {
+            walFlushScheduled = true;
+            getContext().system().scheduler().scheduleOnce(
+                    Duration.create(Config.WAL_GROUP_COMMIT_DELAY_MS, TimeUnit.MILLISECONDS),
+                    getSelf(),
+                    new WalFlushMessage(),
+                    getContext().getDispatcher(),
+                    getSelf()
+            );
+        }
     }
 
     /**
-     * Clean all resources that involves {@link UUID transaction}.
+     * Sync the {@link WriteAheadLog Write-Ahead Log} and run all waiting action(s).
+     */
+    private void flushWal() {
+        if (wal == null) return;
+
+        try {
+            wal.sync();
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("DataStore %d is unable to sync WAL: %s", id, e.getMessage()), e);
+        }
+
+        final List<Runnable> actions = List.copyOf(walPendingActions);
+        walPendingActions.clear();
+        actions.forEach(Runnable::run);
+    }
+
+    /**
+     * Clean all resources that involves transaction.
      *
      * @param transactionId Transaction id
      */
-    private void cleanResources(UUID transactionId) {
-        if (transactionId == null) return;
+    private void cleanResources(long transactionId) {
+        if (transactionId == TransactionId.NONE) return;
 
         cleanLockItems(transactionId);
         unTimeout(transactionId);
-        workspaces.remove(transactionId);
+        removeWorkspace(transactionId);
         transactionVotes.remove(transactionId);
+        transactionVotePositions.remove(transactionId);
         transactionIdToCoordinator.remove(transactionId);
+        transactionPhaseStartTimes.remove(transactionId, NO_START_TIME);
         LOGGER.trace("DataStore {} clean resources involving transaction {}", id, transactionId);
+
+        // A decided transaction no longer blocks read(s)
+        if (transactionPrepareTimestamps.remove(transactionId) != null) retryWaitingReads();
     }
 
     // --- Message handlers ---
@@ -233,6 +865,8 @@ public final class DataStore extends Actor {
         dataStores.clear();
         dataStores
                 .addAll(message.dataStores.stream().filter(dataStore -> dataStore.id != id).collect(Collectors.toCollection(ArrayList::new)));
+        coordinators.clear();
+        coordinators.addAll(message.coordinators);
     }
 
     /**
@@ -243,29 +877,44 @@ public final class DataStore extends Actor {
     private void onTxnReadCoordinatorMessage(TxnReadCoordinatorMessage message) {
         LOGGER.debug("DataStore {} received from Coordinator {} TxnReadCoordinatorMessage: {}", id, message.senderId, message);
 
-        // Simulate delay
-        sleep();
-
-        // Obtain private workspace, otherwise create
-        final Map<Integer, Item> workspace = workspaces.computeIfAbsent(message.transactionId, k -> new HashMap<>());
+        // Future prepare timestamp(s) are greater than the read timestamp
+        clock.update(message.readTimestamp);
 
-        // Obtain Item in storage
-        final Item itemInStorage = storage.get(message.key);
+        read(message, getSender());
+    }
 
-        // Obtain Item in workspace, compute it if absent
-        final Item itemInWorkspace = workspace.computeIfAbsent(message.key, k -> {
-            final Item item = new Item(itemInStorage.getValue(), itemInStorage.getVersion());
-            LOGGER.trace("DataStore {} on READ added Item {} involving transaction {} to workspace: {}", id, message.key, message.transactionId, item);
-            return item;
-        });
+    /**
+     * Read the {@link Item Item(s)} of the {@link TxnReadCoordinatorMessage} at the transaction read timestamp,
+     * or its own write(s) if any, and respond to the {@link Coordinator} with a single message.
+     * No workspace is created, so a read-only transaction leaves no state.
+     *
+     * @param message     Received message
+     * @param coordinator {@link Coordinator} {@link ActorRef ref}
+     */
+    private void read(TxnReadCoordinatorMessage message, ActorRef coordinator) {
+        // Obtain Item(s) written in workspace, if any
+        final Workspace workspace = workspaces.get(message.transactionId);
+
+        // Wait for a prepared transaction that may commit an Item at or before the read timestamp
+        for (final int key : message.keys) {
+            if ((workspace == null || workspace.indexOfWrite(key) < 0) && mustWait(key, message.readTimestamp)) {
+                LOGGER.debug("DataStore {} READ of Item {} in transaction {} waits for a prepared transaction", id, key, message.transactionId);
+                waitingReads.add(() -> read(message, coordinator));
+                return;
+            }
+        }
 
-        // Respond to Coordinator with Item
-        final TxnReadResultCoordinatorMessage outMessage = new TxnReadResultCoordinatorMessage(id, message.transactionId, message.key, itemInWorkspace.getValue());
-        getSender().tell(outMessage, getSelf());
+        // Respond to Coordinator with Item(s)
+        final Map<Integer, Integer> values = new HashMap<>(message.keys.size());
+        for (final int key : message.keys) {
+            final int index = workspace != null ? workspace.indexOfWrite(key) : -1;
+            final int value = index >= 0 ? workspace.writeValue(index) : storage.readValue(key, message.readTimestamp);
+            values.put(key, value);
+            recorder.record(EventType.READ, message.transactionId, key, value);
+        }
+        final TxnReadResultCoordinatorMessage outMessage = new TxnReadResultCoordinatorMessage(id, message.transactionId, values);
+        send(coordinator, outMessage);
         LOGGER.debug("DataStore {} send to Coordinator {} TxnReadResultCoordinatorMessage: {}", id, message.senderId, outMessage);
-
-        // Store coordinator with its transaction id
-        transactionIdToCoordinator.put(message.transactionId, new ActorMetadata(message.senderId, getSender()));
     }
 
     /**
@@ -276,24 +925,23 @@ public final class DataStore extends Actor {
     private void onTxnWriteCoordinatorMessage(TxnWriteCoordinatorMessage message) {
         LOGGER.debug("DataStore {} received from Coordinator {} TxnWriteCoordinatorMessage: {}", id, message.senderId, message);
 
-        // Simulate delay
-        sleep();
+        // Future prepare timestamp(s) are greater than the read timestamp
+        clock.update(message.readTimestamp);
 
         // Obtain private workspace, otherwise create
-        final Map<Integer, Item> workspace = workspaces.computeIfAbsent(message.transactionId, k -> new HashMap<>());
+        final Workspace workspace = workspaceOf(message.transactionId);
 
-        // Obtain Item in storage
-        final Item itemInStorage = storage.get(message.key);
+        // Write Item(s) in workspace
+        for (final Map.Entry<Integer, Integer> entry : message.values.entrySet()) {
+            final int key = entry.getKey();
+            workspace.write(key, entry.getValue(), storage.readVersion(key, message.readTimestamp));
 
-        // Compute Item in workspace
-        final Item itemInWorkspace = workspace.compute(message.key, (k, oldItemInWorkspace) -> {
-            final Item item = oldItemInWorkspace == null ? new Item(message.value, itemInStorage.getVersion()) : oldItemInWorkspace;
-            item.setValue(message.value);
-            LOGGER.trace("DataStore {} on WRITE added Item {} involving transaction {} to workspace: {}", id, message.key, message.transactionId, item);
-            return item;
-        });
+            recorder.record(EventType.WRITE, message.transactionId, key, entry.getValue());
+            LOGGER.trace("DataStore {} TxnWriteCoordinatorMessage item {} in transaction {} added to workspace with value {}", id, key, message.transactionId, entry.getValue());
+        }
 
-        LOGGER.trace("DataStore {} TxnWriteCoordinatorMessage item {} in transaction {} added to workspace: {}", id, message.key, message.transactionId, itemInWorkspace);
+        // Store coordinator with its transaction id
+        transactionIdToCoordinator.put(message.transactionId, new ActorMetadata(message.senderId, getSender()));
     }
 
     /**
@@ -304,20 +952,115 @@ public final class DataStore extends Actor {
     private void onTwoPcVoteMessage(TwoPcVoteMessage message) {
         LOGGER.debug("DataStore {} received from Coordinator {} TwoPcVoteMessage: {}", id, message.senderId, message);
 
-        // Simulate delay
-        sleep();
-
         // Check decision
         if (message.decision != Decision.COMMIT)
             throw new IllegalStateException(String.format("DataStore %d received %s decision from Coordinator %d involving transaction %s", id, message.decision, message.senderId, message.transactionId));
 
-        // Compute vote if not already voted
-        final Decision vote = transactionVotes.computeIfAbsent(message.transactionId, k -> {
-            final Decision v = Decision.valueOf(canCommit(message.transactionId));
-            LOGGER.debug("DataStore {} received COMMIT decision from Coordinator {} involving transaction {} and vote is {}", id, message.senderId, message.transactionId, v);
-            return v;
-        });
+        // Already voted, reply again only when the vote is durable
+        if (transactionVotes.containsKey(message.transactionId)) {
+            final Decision vote = transactionVotes.get(message.transactionId);
+            final long prepareTimestamp = transactionPrepareTimestamps.getOrDefault(message.transactionId, 0L);
+            final ActorRef coordinator = getSender();
+            afterWalSync(() -> sendVote(message, vote, prepareTimestamp, coordinator));
+            return;
+        }
+
+        // Already decided (e.g. aborted in timeout) and resources cleaned, the written Item(s) are lost
+        if (hasDecided(message.transactionId)) {
+            sendVote(message, finalDecisions.get(message.transactionId), commitTimestampOf(message.transactionId), getSender());
+            return;
+        }
+
+        // Waiting for lock(s), the vote is sent once granted
+        if (deferredVotes.containsKey(message.transactionId)) return;
+
+        // Read Item(s) are validated and locked together with the written one(s)
+        final Workspace workspace = workspaceOf(message.transactionId);
+        for (final int key : message.readKeys) {
+            if (storage.contains(key)) workspace.read(key, storage.readValue(key, message.readTimestamp), storage.readVersion(key, message.readTimestamp));
+        }
+        transactionIdToCoordinator.put(message.transactionId, new ActorMetadata(message.senderId, getSender()));
+        transactionPhaseStartTimes.put(message.transactionId, System.nanoTime());
+
+        // Validate before locking, a stale Item never becomes valid again
+        if (!checkItemsVersion(message.transactionId, message.readTimestamp)) {
+            if (LOGGER.isDebugEnabled())
+                LOGGER.debug("DataStore {} check Item(s) version in transaction {} has FAILED: {}", id, message.transactionId, workspace);
+            vote(message, Decision.ABORT);
+            return;
+        }
+
+        // Lock, older transaction(s) first
+        deferredVotes.put(message.transactionId, message);
+        lockManager.acquire(message.transactionId, message.readTimestamp, workspace.keys(), workspace.size());
+        if (lockManager.isWaiting(message.transactionId)) {
+            LOGGER.debug("DataStore {} lock Item(s) in transaction {} is WAITING", id, message.transactionId);
+            Metrics.increment(Counter.LOCK_WAITS);
+            recorder.record(EventType.LOCK_WAIT, message.transactionId);
+            timeout(message.transactionId, Config.LOCK_WAIT_TIMEOUT_MS);
+        }
+        onLockOutcomes();
+    }
+
+    /**
+     * Vote for the transaction of the {@link TwoPcVoteMessage}, log the vote and reply to the {@link Coordinator} when durable.
+     * An ABORT vote releases the lock(s) immediately since the final decision cannot be COMMIT.
+     * A READ_ONLY vote releases all the resources of the transaction and is not logged, the DataStore leaves the 2PC:
+     * its read(s) are valid up to the prepare timestamp since a later commit has a greater timestamp.
+     *
+     * @param message Vote request
+     * @param vote    Vote
+     */
+    private void vote(TwoPcVoteMessage message, Decision vote) {
+        LOGGER.debug("DataStore {} received COMMIT decision from Coordinator {} involving transaction {} and vote is {}", id, message.senderId, message.transactionId, vote);
+
+        // Prepare timestamp, greater than the read timestamp and the lower bound of the Coordinator
+        clock.update(Math.max(message.readTimestamp, message.minPrepareTimestamp));
+        final long prepareTimestamp = clock.tick();
+        final ActorRef coordinator = transactionIdToCoordinator.get(message.transactionId).ref;
+
+        // Vote phase ends, a COMMIT vote is prepared until the decision
+        final long now = System.nanoTime();
+        final long voteStartTime = transactionPhaseStartTimes.remove(message.transactionId, NO_START_TIME);
+        if (voteStartTime != NO_START_TIME) Metrics.record(Phase.DATA_STORE_VOTE, Outcome.of(vote), now - voteStartTime);
+        if (vote == Decision.COMMIT) transactionPhaseStartTimes.put(message.transactionId, now);
+        recorder.record(EventType.VOTE, message.transactionId, 0, vote.ordinal());
+
+        // Read-only, nothing to commit nor to recover
+        if (vote == Decision.READ_ONLY) {
+            cleanResources(message.transactionId);
+            sendVote(message, vote, prepareTimestamp, coordinator);
+            return;
+        }
+
+        transactionVotes.put(message.transactionId, vote);
+        if (vote == Decision.COMMIT) transactionPrepareTimestamps.put(message.transactionId, prepareTimestamp);
+
+        // Log vote
+        if (wal != null) {
+            try {
+                final long position = wal.appendVote(message.transactionId, message.senderId, vote, prepareTimestamp, workspaces.get(message.transactionId));
+                if (vote == Decision.COMMIT) transactionVotePositions.put(message.transactionId, position);
+            } catch (IOException e) {
+                throw new IllegalStateException(String.format("DataStore %d is unable to log vote for transaction %s: %s", id, message.transactionId, e.getMessage()), e);
+            }
+        }
+
+        // Reply only when the vote is durable
+        afterWalSync(() -> sendVote(message, vote, prepareTimestamp, coordinator));
 
+        if (vote == Decision.ABORT) cleanLockItems(message.transactionId);
+    }
+
+    /**
+     * Send the vote to the {@link Coordinator} in reply to the {@link TwoPcVoteMessage}.
+     *
+     * @param message          Received message
+     * @param vote             Vote
+     * @param prepareTimestamp Prepare timestamp
+     * @param coordinator      {@link Coordinator} {@link ActorRef ref}
+     */
+    private void sendVote(TwoPcVoteMessage message, Decision vote, long prepareTimestamp, ActorRef coordinator) {
         // Crash before sending vote response to Coordinator
         if (Config.CRASH_DATA_STORE_VOTE) {
             LOGGER.debug("DataStore {} crash before sending vote {} response to Coordinator {}", id, vote, message.senderId);
@@ -326,10 +1069,13 @@ public final class DataStore extends Actor {
         }
 
         // Send response to Coordinator
-        final TwoPcVoteResultMessage outMessage = new TwoPcVoteResultMessage(id, message.transactionId, vote);
-        getSender().tell(outMessage, getSender());
+        final TwoPcVoteResultMessage outMessage = new TwoPcVoteResultMessage(id, message.transactionId, vote, vote == Decision.ABORT ? 0L : prepareTimestamp);
+        sendBatched(coordinator, outMessage);
         LOGGER.debug("DataStore {} send to Coordinator {} TwoPcVoteResultMessage: {}", id, message.senderId, outMessage);
 
+        // Decision already received while waiting for the vote to be durable, or no decision to wait for
+        if (vote == Decision.READ_ONLY || hasDecided(message.transactionId)) return;
+
         // Schedule timeout
         timeout(message.transactionId, Config.TWOPC_DATA_STORE_TIMEOUT_MS);
 
@@ -347,31 +1093,77 @@ public final class DataStore extends Actor {
      */
     private void onTwoPcDecisionMessage(TwoPcDecisionMessage message) {
         LOGGER.debug("DataStore {} received from Actor {} to {} TwoPcDecisionMessage: {}", id, message.senderId, message.decision, message);
+
         if (hasDecided(message.transactionId)) {
             LOGGER.warn("DataStore {} already decided to {} for transaction {}", id, finalDecisions.get(message.transactionId), message.transactionId);
+            // Acknowledge a retransmitted decision again, the previous acknowledgement may be lost
+            acknowledgeDecision(message, getSender());
             return;
         }
 
-        // Simulate delay
-        sleep();
-
         // Clear the timeout for transaction
         unTimeout(message.transactionId);
 
-        // Store final decision
-        decide(message.transactionId, message.decision);
+        // Store final decision, retained only for the time a peer may still ask for it
+        clock.update(message.commitTimestamp);
+        decide(message.transactionId, message.decision, message.commitTimestamp);
+        finalDecisions.acknowledge(message.transactionId);
+
+        // Log decision, the acknowledgement waits for its durability
+        if (wal != null) {
+            try {
+                wal.appendDecision(message.transactionId, message.decision, message.commitTimestamp);
+            } catch (IOException e) {
+                throw new IllegalStateException(String.format("DataStore %d is unable to log decision for transaction %s: %s", id, message.transactionId, e.getMessage()), e);
+            }
+            onWalAppend();
+        }
+
+        // Prepared phase ends, if voted COMMIT
+        final long preparedStartTime = transactionPhaseStartTimes.remove(message.transactionId, NO_START_TIME);
+        if (preparedStartTime != NO_START_TIME && transactionVotes.get(message.transactionId) == Decision.COMMIT) Metrics.record(Phase.DATA_STORE_PREPARED, Outcome.of(message.decision), System.nanoTime() - preparedStartTime);
+
+        recorder.record(EventType.DECISION, message.transactionId, 0, message.decision.ordinal());
 
-        // If decision is to commit, let's commit
-        if (message.decision == Decision.COMMIT) {
-            // Obtain private workspace of the transaction
-            final Map<Integer, Item> workspace = workspaces.get(message.transactionId);
-            // Commit
-            workspace.forEach((key, item) -> storage.put(key, new Item(item.getValue(), item.getVersion())));
-            LOGGER.info("DataStore {} successfully committed transaction {}: {}", id, message.transactionId, JsonUtil.GSON.toJson(workspace));
+        // Obtain private workspace of the transaction
+        final Workspace workspace = workspaces.get(message.transactionId);
+
+        // If decision is to commit, let's commit, unless already committed before a restart
+        if (message.decision == Decision.COMMIT && workspace != null) {
+            // In flight on a channel of the global snapshot in progress, received after the local state and before the marker
+            if (markerRecording != null && !markerRecording.closedChannels.contains(getSender())) {
+                markerRecording.inFlightCommits += 1;
+                markerRecording.inFlightDelta += delta(workspace);
+            }
+
+            // Commit new version(s)
+            commit(workspace, message.commitTimestamp);
+            committedTransactions += 1;
+            for (int i = 0; i < workspace.writes(); i++) {
+                recorder.record(EventType.COMMIT, message.transactionId, workspace.writeKey(i), workspace.writeValue(i));
+            }
+            LOGGER.debug("DataStore {} successfully committed transaction {}: {}", id, message.transactionId, workspace);
         }
 
         // Clean resources
         cleanResources(message.transactionId);
+
+        // Acknowledge the Coordinator once the decision is applied and durable, then it may forget the decision
+        acknowledgeDecision(message, getSender());
+    }
+
+    /**
+     * Acknowledge the {@link TwoPcDecisionMessage} to the {@link Coordinator} that sent it,
+     * once the {@link WriteAheadLog Write-Ahead Log} record(s) appended so far, its decision included, are durable.
+     * A decision from a {@link DataStore} or from itself is not acknowledged.
+     *
+     * @param message     Received message
+     * @param coordinator Sender {@link ActorRef ref}
+     */
+    private void acknowledgeDecision(TwoPcDecisionMessage message, ActorRef coordinator) {
+        if (message.senderId == Message.NO_SENDER_ID || isDataStore(coordinator)) return;
+
+        afterWalSync(() -> sendBatched(coordinator, new TwoPcDecisionAckMessage(id, message.transactionId)));
     }
 
     /**
@@ -382,15 +1174,12 @@ public final class DataStore extends Actor {
     private void onTwoPcDecisionRequestMessage(TwoPcDecisionRequestMessage message) {
         LOGGER.debug("DataStore {} received from Actor {} TwoPcDecisionRequest: {}", id, message.senderId, message);
 
-        // Simulate delay
-        sleep();
-
         // Check if it knows the final decision
         if (hasDecided(message.transactionId)) {
             // Obtain decision
             final Decision decision = finalDecisions.get(message.transactionId);
-            final TwoPcDecisionMessage outMessage = new TwoPcDecisionMessage(id, message.transactionId, decision);
-            getSender().tell(outMessage, getSelf());
+            final TwoPcDecisionMessage outMessage = new TwoPcDecisionMessage(id, message.transactionId, decision, commitTimestampOf(message.transactionId));
+            sendBatched(getSender(), outMessage);
             LOGGER.debug("DataStore {} send to another DataStore {} during 2PC decision request TwoPcDecisionMessage: {}", id, message.senderId, outMessage);
         }
     }
@@ -404,36 +1193,43 @@ public final class DataStore extends Actor {
     protected void onTwoPcRecoveryMessage(TwoPcRecoveryMessage message) {
         LOGGER.debug("Data store {} received TwoPcRecoveryMessage", id);
 
-        // Simulate delay
-        sleep();
-
         // Become normal
         getContext().become(createReceive());
         LOGGER.info("DataStore {} recovering from crash", id);
 
+        // Marker(s) are dropped while crashed, the global snapshot in progress cannot complete
+        markerRecording = null;
+
+        // Flush Write-Ahead Log, a scheduled flush is dropped while crashed
+        walFlushScheduled = false;
+        flushWal();
+
+        // Restart from checkpoint and log
+        if (wal != null) restart();
+
         // Fix final decision(s)
         workspaces
-                .keySet()
-                .forEach(transactionId -> {
+                .forEach((transactionId, ignored) -> {
                     if (!transactionVotes.containsKey(transactionId)) {
                         // Not voted
                         LOGGER.debug("DataStore {} is recovering and has not voted yet for transaction {}", id, transactionId);
                         // Save ABORT vote
                         transactionVotes.put(transactionId, Decision.ABORT);
                         // Inform myself to ABORT as final decision
-                        getSelf().tell(new TwoPcDecisionMessage(Message.NO_SENDER_ID, transactionId, Decision.ABORT), getSelf());
+                        getSelf().tell(new TwoPcDecisionMessage(Message.NO_SENDER_ID, transactionId, Decision.ABORT, 0L), getSelf());
                         LOGGER.info("DataStore {} is recovering safely ABORT for transaction {}", id, transactionId);
                     } else if (!hasDecided(transactionId)) {
                         // Not decided
                         // Obtain coordinator
-                        final ActorMetadata coordinator = transactionIdToCoordinator.get(transactionId);
+                        final ActorMetadata coordinator = coordinatorOf(transactionId);
                         // Out message
                         final TwoPcDecisionRequestMessage outMessage = new TwoPcDecisionRequestMessage(id, transactionId);
-                        // Ask coordinator
-                        coordinator.ref.tell(outMessage, getSelf());
+                        // Ask coordinator, or DataStore(s) if the coordinator is unknown (not welcomed yet)
+                        if (coordinator != null) send(coordinator.ref, outMessage);
+                        else multicast(dataStores, outMessage);
                         // Schedule timeout
                         timeout(transactionId, Config.TWOPC_DATA_STORE_TIMEOUT_MS);
-                        LOGGER.debug("DataStore {} is recovering and ask Coordinator {} for decision involving transaction {}: {}", id, coordinator.id, transactionId, outMessage);
+                        LOGGER.debug("DataStore {} is recovering and ask Coordinator {} for decision involving transaction {}: {}", id, coordinator != null ? coordinator.id : Message.NO_SENDER_ID, transactionId, outMessage);
                     } else {
                         // Already know the final decision
                         final Decision decision = finalDecisions.get(transactionId);
@@ -451,12 +1247,16 @@ public final class DataStore extends Actor {
     protected void onTwoPcTimeoutMessage(TwoPcTimeoutMessage message) {
         LOGGER.debug("DataStore {} received TwoPcTimeoutMessage: {}", id, message);
 
-        // Simulate delay
-        sleep();
-
         // Clear the timeout for transaction
         unTimeout(message.transactionId);
 
+        // Waiting for lock(s) too long, possibly a deadlock with another DataStore
+        if (deferredVotes.containsKey(message.transactionId)) {
+            LOGGER.info("DataStore {} in timeout vote ABORT for transaction {} waiting for its lock(s)", id, message.transactionId);
+            vote(deferredVotes.remove(message.transactionId), Decision.ABORT);
+            return;
+        }
+
         // Check if not voted
         if (!transactionVotes.containsKey(message.transactionId)) {
             // Not voted
@@ -466,7 +1266,7 @@ public final class DataStore extends Actor {
             transactionVotes.put(message.transactionId, Decision.ABORT);
 
             // Timeout before vote
-            final TwoPcDecisionMessage outMessage = new TwoPcDecisionMessage(Message.NO_SENDER_ID, message.transactionId, Decision.ABORT);
+            final TwoPcDecisionMessage outMessage = new TwoPcDecisionMessage(Message.NO_SENDER_ID, message.transactionId, Decision.ABORT, 0L);
             getSelf().tell(outMessage, getSelf());
             LOGGER.debug("DataStore {} in timeout ABORT for transaction {}", id, message.transactionId);
         }
@@ -475,6 +1275,9 @@ public final class DataStore extends Actor {
         if (!hasDecided(message.transactionId) && transactionVotes.get(message.transactionId) == Decision.COMMIT) {
             LOGGER.info("DataStore {} in timeout voted COMMIT for transaction {} and ask around to know the final decision", id, message.transactionId);
             final TwoPcDecisionRequestMessage outMessage = new TwoPcDecisionRequestMessage(id, message.transactionId);
+            // Coordinator first, it knows the decision even if every DataStore is in doubt
+            final ActorMetadata coordinator = coordinatorOf(message.transactionId);
+            if (coordinator != null) send(coordinator.ref, outMessage);
             multicast(dataStores, outMessage);
         } else {
             final Decision decision = hasDecided(message.transactionId) ? finalDecisions.get(message.transactionId) : transactionVotes.getOrDefault(message.transactionId, Decision.ABORT);
@@ -482,6 +1285,50 @@ public final class DataStore extends Actor {
         }
     }
 
+    /**
+     * Callback for {@link WalFlushMessage} message.
+     *
+     * @param message Received message
+     */
+    private void onWalFlushMessage(WalFlushMessage message) {
+        LOGGER.trace("DataStore {} received WalFlushMessage: {}", id, message);
+
+        walFlushScheduled = false;
+        flushWal();
+    }
+
+    /**
+     * Callback for {@link CheckpointMessage} message.
+     * A checkpoint is copied in chunk(s), one for each message, so transactions interleave with it (fuzzy checkpoint).
+     *
+     * @param message Received message
+     */
+    private void onCheckpointMessage(CheckpointMessage message) {
+        try {
+            // Begin, the log must be replayed from the oldest in-doubt vote
+            if (!checkpoint.inProgress()) {
+                final long replayPosition = Math.min(wal.position(), transactionVotePositions.values().stream().mapToLong(Long::longValue).min().orElse(Long.MAX_VALUE));
+                checkpoint.begin(storage, replayPosition);
+                LOGGER.debug("DataStore {} begin checkpoint {} with replay position {}", id, checkpoint.sequence() + 1, replayPosition);
+            }
+
+            // Copy next chunk, continue later
+            if (!checkpoint.copy(storage, Config.CHECKPOINT_CHUNK_SIZE)) {
+                getSelf().tell(message, getSelf());
+                return;
+            }
+
+            // Log must be durable before the checkpoint is complete
+            flushWal();
+            checkpoint.finish();
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("DataStore %d is unable to checkpoint: %s", id, e.getMessage()), e);
+        }
+        LOGGER.info("DataStore {} completed checkpoint {}", id, checkpoint.sequence());
+
+        scheduleCheckpoint();
+    }
+
     /**
      * Callback for {@link SnapshotMessage message}.
      *
@@ -489,15 +1336,138 @@ public final class DataStore extends Actor {
      */
     private void onSnapshotMessage(SnapshotMessage message) {
         LOGGER.debug("DataStore {} received from Coordinator {} SnapshotMessage: {}", id, message.senderId, message);
-        LOGGER.trace("DataStore {} generating snapshot {}: {}", id, message.snapshotId, storage);
 
-        // Check if there are transactions running
-        if (!workspaces.isEmpty())
-            throw new IllegalStateException(String.format("DataStore %d is unable to create snapshot %d since there are %d transaction(s) running", id, message.snapshotId, workspaces.size()));
+        // Future prepare timestamp(s) are greater than the snapshot timestamp
+        clock.update(message.timestamp);
+
+        snapshot(message, getSender());
+    }
+
+    /**
+     * Stream the storage at the timestamp of the {@link SnapshotMessage} to the {@link Coordinator}, a window of chunk(s) at a time.
+     * Running transaction(s) do not affect the snapshot, only a prepared one with a prepare timestamp not greater is waited.
+     * Later commit(s) have a greater timestamp and the Coordinator watermark keeps the older version(s) until the snapshot ends.
+     *
+     * @param message     Received message
+     * @param coordinator {@link Coordinator} {@link ActorRef ref}
+     */
+    private void snapshot(SnapshotMessage message, ActorRef coordinator) {
+        // Wait for prepared transaction(s) that may commit at or before the snapshot timestamp
+        if (mustWait(message.timestamp)) {
+            LOGGER.debug("DataStore {} snapshot {} waits for {} prepared transaction(s)", id, message.snapshotId, transactionPrepareTimestamps.size());
+            waitingReads.add(() -> snapshot(message, coordinator));
+            return;
+        }
+
+        // Replace the snapshot in progress of the Coordinator, if any
+        final SnapshotStream stream = new SnapshotStream(message.snapshotId, message.timestamp, coordinator);
+        snapshotStreams.put(message.senderId, stream);
+        LOGGER.debug("DataStore {} streaming snapshot {} at timestamp {} of {} Item(s)", id, message.snapshotId, message.timestamp, storage.size());
+
+        // First window of chunk(s), the next one(s) on acknowledgement
+        for (int i = 0; i < Config.SNAPSHOT_WINDOW_CHUNKS && snapshotStreams.get(message.senderId) == stream; i++)
+            sendSnapshotChunk(message.senderId, stream);
+    }
+
+    /**
+     * Send the next chunk of the snapshot to the {@link Coordinator}, ending the stream with the last one.
+     *
+     * @param coordinatorId Coordinator id
+     * @param stream        Snapshot stream
+     */
+    private void sendSnapshotChunk(int coordinatorId, SnapshotStream stream) {
+        // Copy storage chunk
+        final int to = (int) Math.min(storage.size(), (long) stream.nextOffset + Config.SNAPSHOT_CHUNK_ITEMS);
+        final Map<Integer, Item> chunk = storage.toItems(stream.timestamp, stream.nextOffset, to);
+        stream.nextOffset = to;
+        final boolean last = to == storage.size();
+        if (last) snapshotStreams.remove(coordinatorId);
 
         // Send response to Coordinator
-        final SnapshotResultMessage outMessage = new SnapshotResultMessage(id, message.snapshotId, storage);
-        getSender().tell(outMessage, getSelf());
-        LOGGER.debug("DataStore {} send to Coordinator {} SnapshotResultMessage: {}", id, message.senderId, outMessage);
+        final SnapshotResultMessage outMessage = new SnapshotResultMessage(id, stream.snapshotId, chunk, last);
+        send(stream.coordinator, outMessage);
+        LOGGER.trace("DataStore {} send to Coordinator {} SnapshotResultMessage: {}", id, coordinatorId, outMessage);
+    }
+
+    /**
+     * Callback for {@link SnapshotAckMessage message}.
+     *
+     * @param message Received message
+     */
+    private void onSnapshotAckMessage(SnapshotAckMessage message) {
+        LOGGER.trace("DataStore {} received from Coordinator {} SnapshotAckMessage: {}", id, message.senderId, message);
+
+        // The snapshot may have ended or been replaced
+        final SnapshotStream stream = snapshotStreams.get(message.senderId);
+        if (stream == null || stream.snapshotId != message.snapshotId) return;
+
+        sendSnapshotChunk(message.senderId, stream);
+    }
+
+    /**
+     * Callback for {@link MarkerMessage message}.
+     * The first marker of a global snapshot records the local state and sends a marker to every other DataStore,
+     * then the COMMIT decision(s) received on every channel are recorded in flight until its marker closes it.
+     * Once all the channel(s) from the {@link Coordinator Coordinator(s)} and the other DataStore(s) are closed
+     * the recording is sent to the initiator Coordinator.
+     *
+     * @param message Received message
+     */
+    private void onMarkerMessage(MarkerMessage message) {
+        LOGGER.trace("DataStore {} received from Actor {} MarkerMessage: {}", id, message.senderId, message);
+
+        // Marker of an abandoned global snapshot
+        if (message.snapshotId < markerSnapshotId) return;
+
+        // First marker, record local state before any other message
+        if (message.snapshotId > markerSnapshotId) {
+            if (markerRecording != null)
+                LOGGER.warn("DataStore {} abandoned global snapshot {} for global snapshot {}", id, markerRecording.snapshotId, message.snapshotId);
+            markerSnapshotId = message.snapshotId;
+            markerRecording = new MarkerRecording(message.snapshotId, message.initiatorId, storage.size(), storage.sum());
+            multicast(dataStores, new MarkerMessage(id, message.snapshotId, message.initiatorId));
+            LOGGER.debug("DataStore {} recorded global snapshot {} of {} Item(s) sum {}", id, message.snapshotId, markerRecording.items, markerRecording.sum);
+        }
+
+        // Already sent to the initiator
+        if (markerRecording == null) return;
+
+        // Close the channel
+        final ActorRef sender = getSender();
+        markerRecording.closedChannels.add(sender);
+        if (message.senderId == message.initiatorId && !isDataStore(sender)) markerRecording.initiator = sender;
+
+        // Check if all channel(s) are closed
+        if (markerRecording.closedChannels.size() < Config.N_COORDINATORS + dataStores.size()) return;
+
+        final MarkerResultMessage outMessage = new MarkerResultMessage(id, markerRecording.snapshotId, markerRecording.items, markerRecording.sum,
+                markerRecording.inFlightCommits, markerRecording.inFlightDelta);
+        send(markerRecording.initiator, outMessage);
+        LOGGER.debug("DataStore {} send to Coordinator {} MarkerResultMessage: {}", id, markerRecording.initiatorId, outMessage);
+        markerRecording = null;
+    }
+
+    /**
+     * Callback for {@link WatermarkMessage} message.
+     * Older version(s) not visible at the lowest watermark of all {@link Coordinator Coordinator(s)} are garbage collected.
+     *
+     * @param message Received message
+     */
+    private void onWatermarkMessage(WatermarkMessage message) {
+        LOGGER.trace("DataStore {} received from Coordinator {} WatermarkMessage: {}", id, message.senderId, message);
+
+        if (message.senderId < 0 || message.senderId >= coordinatorWatermarks.length)
+            throw new IllegalStateException(String.format("DataStore %d received watermark from unknown Coordinator %d", id, message.senderId));
+        coordinatorWatermarks[message.senderId] = Math.max(coordinatorWatermarks[message.senderId], message.watermark);
+
+        // Lowest watermark
+        long watermark = Long.MAX_VALUE;
+        for (final long coordinatorWatermark : coordinatorWatermarks) watermark = Math.min(watermark, coordinatorWatermark);
+        if (watermark <= gcWatermark) return;
+
+        // Garbage collect
+        gcWatermark = watermark;
+        final int reclaimed = storage.gc(watermark);
+        LOGGER.debug("DataStore {} garbage collected {} older version(s) at watermark {}, {} retained", id, reclaimed, watermark, storage.historySize());
     }
 }
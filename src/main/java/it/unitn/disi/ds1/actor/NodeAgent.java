@@ -0,0 +1,133 @@
+package it.unitn.disi.ds1.actor;
+
+import akka.actor.*;
+import it.unitn.disi.ds1.message.welcome.NodeJoinMessage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+
+/**
+ * Node agent {@link AbstractActor actor}.
+ * It looks up the {@link Registry} of the seed node until it is reachable, joins it with the actor(s) of the node
+ * and terminates the {@link ActorSystem} of the node when the seed node leaves.
+ */
+public final class NodeAgent extends AbstractActor {
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(NodeAgent.class);
+
+    /**
+     * Node agent actor name.
+     */
+    public static final String NAME = "node";
+
+    /**
+     * Interval between two lookup(s) of the {@link Registry}.
+     */
+    private static final Duration LOOKUP_INTERVAL = Duration.ofSeconds(1);
+
+    /**
+     * {@link Registry} path on the seed node.
+     */
+    private final ActorSelection registrySelection;
+
+    /**
+     * Join message of the node.
+     */
+    private final NodeJoinMessage join;
+
+    /**
+     * {@link Registry} reference, null until found.
+     */
+    private ActorRef registry;
+
+    // --- Constructors ---
+
+    /**
+     * Construct a new NodeAgent class.
+     *
+     * @param registryPath {@link Registry} path on the seed node
+     * @param join         Join message of the node
+     */
+    public NodeAgent(String registryPath, NodeJoinMessage join) {
+        this.registrySelection = getContext().actorSelection(registryPath);
+        this.join = join;
+        this.registry = null;
+    }
+
+    /**
+     * Return NodeAgent {@link Props}.
+     *
+     * @param registryPath {@link Registry} path on the seed node
+     * @param join         Join message of the node
+     * @return NodeAgent {@link Props}
+     */
+    public static Props props(String registryPath, NodeJoinMessage join) {
+        return Props.create(NodeAgent.class, () -> new NodeAgent(registryPath, join));
+    }
+
+    @Override
+    public void preStart() {
+        lookup();
+    }
+
+    @Override
+    public Receive createReceive() {
+        return receiveBuilder()
+                .match(ActorIdentity.class, this::onActorIdentity)
+                .match(ReceiveTimeout.class, this::onReceiveTimeout)
+                .match(Terminated.class, this::onTerminated)
+                .build();
+    }
+
+    // --- Methods ---
+
+    /**
+     * Look up the {@link Registry}, again after the interval unless found.
+     */
+    private void lookup() {
+        registrySelection.tell(new Identify(NAME), getSelf());
+        getContext().setReceiveTimeout(LOOKUP_INTERVAL);
+    }
+
+    // --- Handlers ---
+
+    /**
+     * Callback for {@link ActorIdentity} message.
+     *
+     * @param message Received message
+     */
+    private void onActorIdentity(ActorIdentity message) {
+        if (registry != null || message.getActorRef().isEmpty()) return;
+
+        registry = message.getActorRef().get();
+        getContext().cancelReceiveTimeout();
+        getContext().watch(registry);
+        registry.tell(join, getSelf());
+        LOGGER.info("NodeAgent {} node {} joined seed {} with {} actor(s)", join.role, join.nodeIndex, registry.path().address(), join.actors.size());
+    }
+
+    /**
+     * Callback for {@link ReceiveTimeout} message.
+     *
+     * @param message Received message
+     */
+    private void onReceiveTimeout(ReceiveTimeout message) {
+        if (registry != null) return;
+
+        LOGGER.info("NodeAgent {} node {} is waiting for seed {}", join.role, join.nodeIndex, registrySelection.anchorPath().address());
+        lookup();
+    }
+
+    /**
+     * Callback for {@link Terminated} message.
+     *
+     * @param message Received message
+     */
+    private void onTerminated(Terminated message) {
+        LOGGER.info("NodeAgent {} node {} seed has left, terminating", join.role, join.nodeIndex);
+        getContext().getSystem().terminate();
+    }
+}
@@ -0,0 +1,149 @@
+package it.unitn.disi.ds1.actor;
+
+import akka.actor.AbstractActor;
+import akka.actor.Props;
+import akka.actor.Terminated;
+import it.unitn.disi.ds1.Config;
+import it.unitn.disi.ds1.etc.ActorMetadata;
+import it.unitn.disi.ds1.message.welcome.NodeJoinMessage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Registry {@link AbstractActor actor} of the seed node.
+ * Every node joins it with the actor(s) it hosts, through a {@link NodeAgent}.
+ * When all the {@link DataStore DataStore(s)}, {@link Coordinator Coordinator(s)} and {@link Client Client(s)} of the {@link Config}
+ * have joined, the member(s) by role are completed, ordered by id.
+ */
+public final class Registry extends AbstractActor {
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(Registry.class);
+
+    /**
+     * Registry actor name.
+     */
+    public static final String NAME = "registry";
+
+    /**
+     * Joined actor(s) by role, by id.
+     */
+    private final Map<Config.Role, SortedMap<Integer, ActorMetadata>> members;
+
+    /**
+     * Member(s) by role, completed when all actor(s) have joined.
+     */
+    private final CompletableFuture<Map<Config.Role, List<ActorMetadata>>> joined;
+
+    // --- Constructors ---
+
+    /**
+     * Construct a new Registry class.
+     *
+     * @param joined Member(s) by role, completed when all actor(s) have joined
+     */
+    public Registry(CompletableFuture<Map<Config.Role, List<ActorMetadata>>> joined) {
+        this.members = new EnumMap<>(Config.Role.class);
+        this.joined = joined;
+        for (final Config.Role role : List.of(Config.Role.DATA_STORE, Config.Role.COORDINATOR, Config.Role.CLIENT))
+            members.put(role, new TreeMap<>());
+    }
+
+    /**
+     * Return Registry {@link Props}.
+     *
+     * @param joined Member(s) by role, completed when all actor(s) have joined
+     * @return Registry {@link Props}
+     */
+    public static Props props(CompletableFuture<Map<Config.Role, List<ActorMetadata>>> joined) {
+        return Props.create(Registry.class, () -> new Registry(joined));
+    }
+
+    @Override
+    public Receive createReceive() {
+        return receiveBuilder()
+                .match(NodeJoinMessage.class, this::onNodeJoinMessage)
+                .match(Terminated.class, this::onTerminated)
+                .build();
+    }
+
+    // --- Methods ---
+
+    /**
+     * Return the expected number of actor(s) of the role.
+     *
+     * @param role Role
+     * @return Expected number of actor(s)
+     */
+    private static int expected(Config.Role role) {
+        switch (role) {
+            case DATA_STORE:
+                return Config.N_DATA_STORES;
+            case COORDINATOR:
+                return Config.N_COORDINATORS;
+            case CLIENT:
+                return Config.N_CLIENTS;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Check if all the expected actor(s) have joined.
+     *
+     * @return True if complete, false otherwise
+     */
+    private boolean isComplete() {
+        return members.entrySet().stream().allMatch(entry -> entry.getValue().size() == expected(entry.getKey()));
+    }
+
+    // --- Handlers ---
+
+    /**
+     * Callback for {@link NodeJoinMessage} message.
+     *
+     * @param message Received message
+     */
+    private void onNodeJoinMessage(NodeJoinMessage message) {
+        final SortedMap<Integer, ActorMetadata> roleMembers = members.get(message.role);
+        if (roleMembers == null) {
+            LOGGER.warn("Registry {} node {} cannot join: role hosts no actor", message.role, message.nodeIndex);
+            return;
+        }
+        if (joined.isDone()) {
+            LOGGER.warn("Registry {} node {} joined after the deployment is complete", message.role, message.nodeIndex);
+            return;
+        }
+
+        for (final ActorMetadata actor : message.actors) {
+            if (actor.id < 0 || actor.id >= expected(message.role)) {
+                LOGGER.warn("Registry {} node {} actor {} is out of [0, {})", message.role, message.nodeIndex, actor.id, expected(message.role));
+                continue;
+            }
+            if (roleMembers.put(actor.id, actor) != null)
+                LOGGER.warn("Registry {} node {} actor {} has replaced a previous one", message.role, message.nodeIndex, actor.id);
+        }
+        getContext().watch(getSender());
+        LOGGER.info("Registry {} node {} at {} joined with {} actor(s): {}/{}",
+                message.role, message.nodeIndex, getSender().path().address(), message.actors.size(), roleMembers.size(), expected(message.role));
+
+        if (isComplete()) {
+            final Map<Config.Role, List<ActorMetadata>> roles = new EnumMap<>(Config.Role.class);
+            members.forEach((role, actors) -> roles.put(role, List.copyOf(actors.values())));
+            joined.complete(roles);
+        }
+    }
+
+    /**
+     * Callback for {@link Terminated} message.
+     *
+     * @param message Received message
+     */
+    private void onTerminated(Terminated message) {
+        LOGGER.warn("Registry node at {} has left", message.actor().path().address());
+    }
+}
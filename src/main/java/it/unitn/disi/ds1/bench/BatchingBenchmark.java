@@ -0,0 +1,84 @@
+package it.unitn.disi.ds1.bench;
+
+import it.unitn.disi.ds1.Config;
+import it.unitn.disi.ds1.metrics.Counter;
+import it.unitn.disi.ds1.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Benchmark of the batching of the 2PC message(s) between {@link it.unitn.disi.ds1.actor.Coordinator Coordinator(s)}
+ * and {@link it.unitn.disi.ds1.actor.DataStore DataStore(s)}.
+ * Every {@link Config#TWOPC_BATCH_SIZE batch size} and {@link Config#TWOPC_BATCH_DELAY_MS deadline} runs the same open loop workload
+ * on the {@link TimedRunner}, reporting throughput, commit latency, message(s) sent by the Coordinator(s) and DataStore(s) per commit,
+ * the 2PC one(s) alone or batched, and the mean number of 2PC message(s) of a send.
+ * <p>
+ * Argument(s): [--config FILE] NAME=VALUE... override the workload of every run.
+ */
+public final class BatchingBenchmark {
+    /**
+     * Batch size and deadline (ms) of every run, the first without batching as baseline.
+     */
+    private static final int[][] BATCHINGS = {{1, 0}, {8, 1}, {32, 1}, {32, 5}};
+
+    /**
+     * Return the workload of every run: a large key space not to measure the lock contention.
+     *
+     * @return Value(s) by name
+     */
+    private static Properties workload() {
+        final Properties properties = new Properties();
+        properties.setProperty("WORKLOAD_ARRIVAL_RATE", "5");
+        properties.setProperty("N_CLIENTS", "20");
+        properties.setProperty("N_ITEMS", "10000");
+        return properties;
+    }
+
+    /**
+     * Return the point(s) of the {@link #BATCHINGS}, batch size and deadline paired rather than crossed.
+     *
+     * @return Point(s), value(s) by name
+     */
+    private static List<Map<String, String>> points() {
+        final List<Map<String, String>> points = new ArrayList<>(BATCHINGS.length);
+        for (final int[] batching : BATCHINGS) {
+            final Map<String, String> point = new LinkedHashMap<>();
+            point.put("TWOPC_BATCH_SIZE", String.valueOf(batching[0]));
+            point.put("TWOPC_BATCH_DELAY_MS", String.valueOf(batching[1]));
+            points.add(point);
+        }
+        return points;
+    }
+
+    /**
+     * Return the value of the {@link Counter} per commit of the result.
+     *
+     * @param counter Counter
+     * @param result  Measured result
+     * @return Value per commit
+     */
+    private static double perCommit(Counter counter, TimedRunner.Result result) {
+        return (double) Metrics.counter(counter).getCount() / Math.max(1, result.report.committed());
+    }
+
+    public static void main(String[] args) {
+        new TimedRunner("batching", workload(), points(), List.of(
+                new TimedRunner.Column("batch", "%-6s", result -> result.point.get("TWOPC_BATCH_SIZE")),
+                new TimedRunner.Column("delay(ms)", "%9s", result -> result.point.get("TWOPC_BATCH_DELAY_MS")),
+                new TimedRunner.Column("commits", "%8d", result -> result.report.committed()),
+                new TimedRunner.Column("commit(/s)", "%11.2f", result -> result.report.throughput()),
+                new TimedRunner.Column("abort(%)", "%9.2f", result -> 100 * result.report.abortRate()),
+                new TimedRunner.Column("p50(ms)", "%9.2f", result -> result.report.latencyMs(50)),
+                new TimedRunner.Column("p99(ms)", "%10.2f", result -> result.report.latencyMs(99)),
+                new TimedRunner.Column("msgs/commit", "%12.2f", result -> perCommit(Counter.MESSAGES_SENT, result)),
+                new TimedRunner.Column("2pc msgs/commit", "%16.2f", result -> perCommit(Counter.TWOPC_MESSAGES, result)),
+                new TimedRunner.Column("2pc sends/commit", "%16.2f", result -> perCommit(Counter.TWOPC_SENDS, result)),
+                new TimedRunner.Column("msgs/send", "%11.2f", result -> (double) Metrics.counter(Counter.TWOPC_MESSAGES).getCount()
+                        / Math.max(1, Metrics.counter(Counter.TWOPC_SENDS).getCount()))
+        )).run(args);
+    }
+}
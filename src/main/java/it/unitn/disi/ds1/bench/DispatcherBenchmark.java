@@ -0,0 +1,59 @@
+package it.unitn.disi.ds1.bench;
+
+import it.unitn.disi.ds1.Config;
+import it.unitn.disi.ds1.metrics.Metrics;
+import it.unitn.disi.ds1.metrics.Outcome;
+import it.unitn.disi.ds1.metrics.Phase;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmark of the {@link Config.DispatcherTopology dispatcher topologies}.
+ * Every topology runs an open loop workload of a small and of a busy {@link it.unitn.disi.ds1.actor.Client} population
+ * on the {@link TimedRunner}, reporting throughput and commit latency:
+ * end to end as seen by the Client(s), queueing included, and from begin to decision as seen by the
+ * {@link it.unitn.disi.ds1.actor.Coordinator Coordinator(s)}.
+ * <p>
+ * Argument(s): [--config FILE] NAME=VALUE... override the workload of every run.
+ */
+public final class DispatcherBenchmark {
+    /**
+     * {@link it.unitn.disi.ds1.actor.Client Client} population(s).
+     */
+    private static final List<String> CLIENTS = List.of("10", "200");
+
+    /**
+     * Return the workload of every run: a large key space not to measure the lock contention.
+     *
+     * @return Value(s) by name
+     */
+    private static Properties workload() {
+        final Properties properties = new Properties();
+        properties.setProperty("WORKLOAD_ARRIVAL_RATE", "5");
+        properties.setProperty("N_ITEMS", "100000");
+        return properties;
+    }
+
+    public static void main(String[] args) {
+        final LinkedHashMap<String, List<String>> axes = new LinkedHashMap<>();
+        axes.put("N_CLIENTS", CLIENTS);
+        axes.put("DISPATCHER_TOPOLOGY", Arrays.stream(Config.DispatcherTopology.values()).map(Enum::name).collect(Collectors.toList()));
+
+        new TimedRunner("dispatcher", workload(), SweepRunner.points(axes), List.of(
+                new TimedRunner.Column("topology", "%-9s", result -> result.point.get("DISPATCHER_TOPOLOGY")),
+                new TimedRunner.Column("clients", "%7s", result -> result.point.get("N_CLIENTS")),
+                new TimedRunner.Column("commits", "%8d", result -> result.report.committed()),
+                new TimedRunner.Column("commit(/s)", "%11.2f", result -> result.report.throughput()),
+                new TimedRunner.Column("abort(%)", "%9.2f", result -> 100 * result.report.abortRate()),
+                new TimedRunner.Column("p50(ms)", "%9.2f", result -> result.report.latencyMs(50)),
+                new TimedRunner.Column("p99(ms)", "%10.2f", result -> result.report.latencyMs(99)),
+                new TimedRunner.Column("p999(ms)", "%10.2f", result -> result.report.latencyMs(99.9)),
+                new TimedRunner.Column("coord p50(ms)", "%14.2f", result -> Metrics.timer(Phase.END_TO_END, Outcome.COMMIT).getP50Ms()),
+                new TimedRunner.Column("coord p99(ms)", "%14.2f", result -> Metrics.timer(Phase.END_TO_END, Outcome.COMMIT).getP99Ms())
+        )).run(args);
+    }
+}
@@ -0,0 +1,59 @@
+package it.unitn.disi.ds1.bench;
+
+import it.unitn.disi.ds1.Config;
+import it.unitn.disi.ds1.metrics.Counter;
+import it.unitn.disi.ds1.metrics.Metrics;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Benchmark of the overhead of the marker-based global snapshot(s) on the transaction throughput.
+ * Every {@link Config#GLOBAL_SNAPSHOT_INTERVAL_MS global snapshot interval} runs the same open loop workload
+ * on the {@link TimedRunner}, reporting throughput, its overhead over no global snapshot, commit latency
+ * and the global snapshot(s) completed.
+ * <p>
+ * Argument(s): [--config FILE] NAME=VALUE... override the workload of every run.
+ */
+public final class GlobalSnapshotBenchmark {
+    /**
+     * Global snapshot interval(s) (ms), 0 without global snapshot as baseline.
+     */
+    private static final List<String> INTERVALS_MS = List.of("0", "1000", "100", "20");
+
+    /**
+     * Return the workload of every run.
+     *
+     * @return Value(s) by name
+     */
+    private static Properties workload() {
+        final Properties properties = new Properties();
+        properties.setProperty("WORKLOAD_ARRIVAL_RATE", "3");
+        properties.setProperty("N_CLIENTS", "20");
+        properties.setProperty("N_ITEMS", "10000");
+        return properties;
+    }
+
+    public static void main(String[] args) {
+        final LinkedHashMap<String, List<String>> axes = new LinkedHashMap<>();
+        axes.put("GLOBAL_SNAPSHOT_INTERVAL_MS", INTERVALS_MS);
+
+        new TimedRunner("global-snapshot", workload(), SweepRunner.points(axes), List.of(
+                new TimedRunner.Column("interval(ms)", "%-12s", result -> {
+                    final String intervalMs = result.point.get("GLOBAL_SNAPSHOT_INTERVAL_MS");
+                    return intervalMs.equals("0") ? "none" : intervalMs;
+                }),
+                new TimedRunner.Column("commits", "%8d", result -> result.report.committed()),
+                new TimedRunner.Column("commit(/s)", "%11.2f", result -> result.report.throughput()),
+                new TimedRunner.Column("overhead(%)", "%12s", result -> result.report == result.baseline
+                        ? "-"
+                        : String.format("%.2f", 100 * (1 - result.report.throughput() / result.baseline.throughput()))),
+                new TimedRunner.Column("abort(%)", "%9.2f", result -> 100 * result.report.abortRate()),
+                new TimedRunner.Column("p50(ms)", "%9.2f", result -> result.report.latencyMs(50)),
+                new TimedRunner.Column("p99(ms)", "%10.2f", result -> result.report.latencyMs(99)),
+                new TimedRunner.Column("snapshots", "%10d", result -> Metrics.counter(Counter.GLOBAL_SNAPSHOTS_VALID).getCount()),
+                new TimedRunner.Column("invalid", "%8d", result -> Metrics.counter(Counter.GLOBAL_SNAPSHOTS_INVALID).getCount())
+        )).run(args);
+    }
+}
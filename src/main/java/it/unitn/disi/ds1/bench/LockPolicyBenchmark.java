@@ -0,0 +1,510 @@
+package it.unitn.disi.ds1.bench;
+
+import it.unitn.disi.ds1.Config;
+import it.unitn.disi.ds1.etc.TransactionId;
+import it.unitn.disi.ds1.partitioner.RangePartitioner;
+import it.unitn.disi.ds1.storage.ItemStore;
+import it.unitn.disi.ds1.storage.LockManager;
+import it.unitn.disi.ds1.util.LongMap;
+
+import java.util.*;
+
+/**
+ * Benchmark of the {@link Config.LockPolicy lock policies} of the {@link LockManager}.
+ * A deterministic discrete-event simulation of closed-loop client(s) running the transaction(s) of the
+ * {@link it.unitn.disi.ds1.actor.Client} (8-15 operation(s) on two Item(s) each) against a single lock table,
+ * reporting abort rate and goodput (committed transaction(s) per second of simulated time).
+ * A tick is 1 ms of simulated time.
+ */
+public final class LockPolicyBenchmark {
+    /**
+     * Number of Item(s).
+     */
+    private static final int N_ITEMS = Config.N_ITEMS;
+
+    /**
+     * Minimum number of operation(s) of a transaction.
+     */
+    private static final int MIN_TXN_LENGTH = 8;
+
+    /**
+     * Maximum number of operation(s) of a transaction.
+     */
+    private static final int MAX_TXN_LENGTH = 15;
+
+    /**
+     * Probability an operation writes its Item(s).
+     */
+    private static final double WRITE_PROBABILITY = 0.5;
+
+    /**
+     * Tick(s) of a single operation (round trip Client, Coordinator, DataStore).
+     */
+    private static final long OPERATION_TICKS = 2;
+
+    /**
+     * Tick(s) from the vote to the decision (2PC round trip).
+     */
+    private static final long PREPARE_TICKS = 2;
+
+    /**
+     * Simulated time (ticks) of a run.
+     */
+    private static final long DURATION_TICKS = 600_000;
+
+    /**
+     * Seed of every run, the same workload is replayed for every policy.
+     */
+    private static final long SEED = 42;
+
+    /**
+     * Simulation event kind.
+     */
+    private enum Kind {
+        /**
+         * Operation(s) done, vote requested.
+         */
+        VOTE,
+        /**
+         * Decision received, commit.
+         */
+        COMMIT,
+        /**
+         * Lock wait timeout.
+         */
+        TIMEOUT,
+        /**
+         * Think time over, begin a new transaction.
+         */
+        BEGIN
+    }
+
+    /**
+     * Simulation event.
+     */
+    private static final class Event implements Comparable<Event> {
+        /**
+         * Event time (tick).
+         */
+        private final long time;
+
+        /**
+         * Event sequence, tie breaker.
+         */
+        private final long sequence;
+
+        /**
+         * Event kind.
+         */
+        private final Kind kind;
+
+        /**
+         * Client of the event.
+         */
+        private final int client;
+
+        /**
+         * Transaction of the event, {@link TransactionId#NONE} if BEGIN.
+         */
+        private final long transactionId;
+
+        /**
+         * Construct a new Event class.
+         *
+         * @param time          Event time (tick)
+         * @param sequence      Event sequence
+         * @param kind          Event kind
+         * @param client        Client of the event
+         * @param transactionId Transaction of the event
+         */
+        private Event(long time, long sequence, Kind kind, int client, long transactionId) {
+            this.time = time;
+            this.sequence = sequence;
+            this.kind = kind;
+            this.client = client;
+            this.transactionId = transactionId;
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            if (time != other.time) return Long.compare(time, other.time);
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * Running transaction.
+     */
+    private static final class Transaction {
+        /**
+         * Transaction id.
+         */
+        private final long transactionId;
+
+        /**
+         * Client of the transaction.
+         */
+        private final int client;
+
+        /**
+         * Begin time (tick), also its read timestamp and age.
+         */
+        private final long begin;
+
+        /**
+         * Read and written key(s).
+         */
+        private final Set<Integer> keys;
+
+        /**
+         * Written key(s).
+         */
+        private final Set<Integer> writes;
+
+        /**
+         * Construct a new Transaction class.
+         *
+         * @param transactionId Transaction id
+         * @param client        Client of the transaction
+         * @param begin         Begin time (tick)
+         * @param keys          Read and written key(s)
+         * @param writes        Written key(s)
+         */
+        private Transaction(long transactionId, int client, long begin, Set<Integer> keys, Set<Integer> writes) {
+            this.transactionId = transactionId;
+            this.client = client;
+            this.begin = begin;
+            this.keys = keys;
+            this.writes = writes;
+        }
+    }
+
+    /**
+     * Result of a run.
+     */
+    private static final class Result {
+        /**
+         * Number of committed transaction(s).
+         */
+        private long commits;
+
+        /**
+         * Number of transaction(s) aborted by the lock policy.
+         */
+        private long lockAborts;
+
+        /**
+         * Number of transaction(s) aborted by a lock wait timeout.
+         */
+        private long timeoutAborts;
+
+        /**
+         * Number of transaction(s) aborted by a failed validation.
+         */
+        private long validationAborts;
+
+        /**
+         * Sum of the latency (ticks) of the committed transaction(s).
+         */
+        private long latencySum;
+
+        /**
+         * Return the number of aborted transaction(s).
+         *
+         * @return Number of transaction(s)
+         */
+        private long aborts() {
+            return lockAborts + timeoutAborts + validationAborts;
+        }
+    }
+
+    /**
+     * Single run of the simulation.
+     */
+    private static final class Run {
+        /**
+         * Lock policy.
+         */
+        private final Config.LockPolicy policy;
+
+        /**
+         * Number of client(s).
+         */
+        private final int nClients;
+
+        /**
+         * Cumulative distribution of the key(s).
+         */
+        private final double[] keyDistribution;
+
+        /**
+         * {@link Random} instance.
+         */
+        private final Random random;
+
+        /**
+         * Lock table and committed timestamp(s).
+         */
+        private final ItemStore storage;
+
+        /**
+         * {@link LockManager} under test.
+         */
+        private final LockManager lockManager;
+
+        /**
+         * Pending event(s).
+         */
+        private final PriorityQueue<Event> events;
+
+        /**
+         * Running transaction(s) by id.
+         */
+        private final LongMap<Transaction> transactions;
+
+        /**
+         * Generator of the transaction id(s).
+         */
+        private final TransactionId transactionIds;
+
+        /**
+         * Result.
+         */
+        private final Result result;
+
+        /**
+         * Current time (tick).
+         */
+        private long now;
+
+        /**
+         * Next event sequence.
+         */
+        private long sequence;
+
+        /**
+         * Construct a new Run class.
+         *
+         * @param policy   Lock policy
+         * @param nClients Number of client(s)
+         * @param skew     Zipf exponent of the key distribution, 0 is uniform
+         */
+        private Run(Config.LockPolicy policy, int nClients, double skew) {
+            this.policy = policy;
+            this.nClients = nClients;
+            this.keyDistribution = zipf(N_ITEMS, skew);
+            this.random = new Random(SEED);
+            this.storage = new ItemStore(new RangePartitioner(N_ITEMS, 1), 0, 0, 0);
+            this.lockManager = new LockManager(storage, policy);
+            this.events = new PriorityQueue<>();
+            this.transactions = new LongMap<>();
+            this.transactionIds = new TransactionId(0);
+            this.result = new Result();
+            this.now = 0;
+            this.sequence = 0;
+        }
+
+        /**
+         * Run the simulation.
+         *
+         * @return Result
+         */
+        private Result run() {
+            for (int client = 0; client < nClients; ++client) schedule(0, Kind.BEGIN, client, TransactionId.NONE);
+
+            while (!events.isEmpty() && events.peek().time < DURATION_TICKS) {
+                final Event event = events.poll();
+                now = event.time;
+                switch (event.kind) {
+                    case BEGIN:
+                        begin(event.client);
+                        break;
+                    case VOTE:
+                        vote(transactions.get(event.transactionId));
+                        break;
+                    case COMMIT:
+                        commit(transactions.get(event.transactionId));
+                        break;
+                    case TIMEOUT:
+                        if (lockManager.isWaiting(event.transactionId)) {
+                            result.timeoutAborts += 1;
+                            abort(transactions.get(event.transactionId));
+                        }
+                        break;
+                }
+                onLockOutcomes();
+            }
+
+            return result;
+        }
+
+        /**
+         * Begin a new transaction of the client.
+         *
+         * @param client Client
+         */
+        private void begin(int client) {
+            final int operations = MIN_TXN_LENGTH + random.nextInt(MAX_TXN_LENGTH - MIN_TXN_LENGTH + 1);
+            final Set<Integer> keys = new HashSet<>();
+            final Set<Integer> writes = new HashSet<>();
+            for (int i = 0; i < operations; ++i) {
+                final int first = sample();
+                int second = sample();
+                while (second == first) second = sample();
+                keys.add(first);
+                keys.add(second);
+                if (random.nextDouble() < WRITE_PROBABILITY) {
+                    writes.add(first);
+                    writes.add(second);
+                }
+            }
+
+            final Transaction transaction = new Transaction(transactionIds.next(), client, now, keys, writes);
+            transactions.put(transaction.transactionId, transaction);
+            schedule(now + operations * OPERATION_TICKS, Kind.VOTE, client, transaction.transactionId);
+        }
+
+        /**
+         * Validate and lock the {@link Transaction} Item(s), as a DataStore does on vote.
+         *
+         * @param transaction Transaction
+         */
+        private void vote(Transaction transaction) {
+            if (!isValid(transaction)) {
+                result.validationAborts += 1;
+                finish(transaction);
+                return;
+            }
+
+            lockManager.acquire(transaction.transactionId, transaction.begin, transaction.keys);
+            if (lockManager.isWaiting(transaction.transactionId))
+                schedule(now + Config.LOCK_WAIT_TIMEOUT_MS, Kind.TIMEOUT, transaction.client, transaction.transactionId);
+        }
+
+        /**
+         * Handle the transaction(s) granted or aborted by the {@link LockManager}.
+         */
+        private void onLockOutcomes() {
+            List<Long> granted = lockManager.drainGranted();
+            List<Long> aborted = lockManager.drainAborted();
+            while (!granted.isEmpty() || !aborted.isEmpty()) {
+                for (final long transactionId : granted) {
+                    final Transaction transaction = transactions.get(transactionId);
+                    if (isValid(transaction)) {
+                        schedule(now + PREPARE_TICKS, Kind.COMMIT, transaction.client, transactionId);
+                    } else {
+                        result.validationAborts += 1;
+                        abort(transaction);
+                    }
+                }
+                for (final long transactionId : aborted) {
+                    result.lockAborts += 1;
+                    finish(transactions.get(transactionId));
+                }
+
+                granted = lockManager.drainGranted();
+                aborted = lockManager.drainAborted();
+            }
+        }
+
+        /**
+         * Check if no Item of the {@link Transaction} has been committed after it began.
+         *
+         * @param transaction Transaction
+         * @return True if valid, false otherwise
+         */
+        private boolean isValid(Transaction transaction) {
+            return transaction.keys.stream().allMatch(key -> storage.getTimestamp(key) <= transaction.begin);
+        }
+
+        /**
+         * Commit the {@link Transaction} written Item(s) and release its lock(s).
+         *
+         * @param transaction Transaction
+         */
+        private void commit(Transaction transaction) {
+            transaction.writes.forEach(key -> storage.commit(key, 0, now));
+            storage.gc(now);
+            result.commits += 1;
+            result.latencySum += now - transaction.begin;
+            abort(transaction);
+        }
+
+        /**
+         * Release the lock(s) of the {@link Transaction} and finish it.
+         *
+         * @param transaction Transaction
+         */
+        private void abort(Transaction transaction) {
+            lockManager.release(transaction.transactionId, transaction.keys);
+            finish(transaction);
+        }
+
+        /**
+         * Finish the {@link Transaction}, its client begins a new one after the think time.
+         *
+         * @param transaction Transaction
+         */
+        private void finish(Transaction transaction) {
+            transactions.remove(transaction.transactionId);
+            schedule(now + Config.CLIENT_THINK_TIME_MS, Kind.BEGIN, transaction.client, TransactionId.NONE);
+        }
+
+        /**
+         * Schedule an event.
+         *
+         * @param time          Event time (tick)
+         * @param kind          Event kind
+         * @param client        Client of the event
+         * @param transactionId Transaction of the event
+         */
+        private void schedule(long time, Kind kind, int client, long transactionId) {
+            events.add(new Event(time, sequence++, kind, client, transactionId));
+        }
+
+        /**
+         * Sample a key.
+         *
+         * @return Item key
+         */
+        private int sample() {
+            final int index = Arrays.binarySearch(keyDistribution, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, N_ITEMS - 1);
+        }
+    }
+
+    /**
+     * Return the cumulative Zipf distribution of n key(s).
+     *
+     * @param n    Number of key(s)
+     * @param skew Zipf exponent, 0 is uniform
+     * @return Cumulative distribution
+     */
+    private static double[] zipf(int n, double skew) {
+        final double[] cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; ++i) {
+            sum += 1 / Math.pow(i + 1, skew);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; ++i) cumulative[i] /= sum;
+        return cumulative;
+    }
+
+    public static void main(String[] args) {
+        System.out.printf("%-10s %7s %5s %8s %8s %8s %8s %8s %10s %11s %12s%n",
+                "policy", "clients", "skew", "commits", "aborts", "lock", "timeout", "stale", "abort(%)", "goodput(/s)", "latency(ms)");
+        for (final int nClients : new int[]{5, 20}) {
+            for (final double skew : new double[]{0.0, 0.99}) {
+                for (final Config.LockPolicy policy : Config.LockPolicy.values()) {
+                    final Result result = new Run(policy, nClients, skew).run();
+                    System.out.printf("%-10s %7d %5.2f %8d %8d %8d %8d %8d %10.2f %11.2f %12.2f%n",
+                            policy, nClients, skew, result.commits, result.aborts(), result.lockAborts, result.timeoutAborts, result.validationAborts,
+                            100.0 * result.aborts() / Math.max(1, result.commits + result.aborts()),
+                            result.commits * 1000.0 / DURATION_TICKS,
+                            (double) result.latencySum / Math.max(1, result.commits));
+                }
+            }
+        }
+    }
+}
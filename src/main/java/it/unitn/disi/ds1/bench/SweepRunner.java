@@ -0,0 +1,209 @@
+package it.unitn.disi.ds1.bench;
+
+import it.unitn.disi.ds1.Config;
+import it.unitn.disi.ds1.Deployment;
+import it.unitn.disi.ds1.util.JsonUtil;
+import it.unitn.disi.ds1.workload.WorkloadReport;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless runner sweeping a matrix of {@link Config} value(s).
+ * Every point of the matrix runs in a fresh {@link Deployment} in AUTOMATIC mode until every Client has ended its run(s),
+ * then its {@link WorkloadReport} is appended to the result file: CSV if its name ends with .csv, JSON Lines otherwise.
+ * <p>
+ * Argument(s): [--config FILE] [--out FILE] [--timeout SECONDS] NAME=VALUE[,VALUE...]...
+ * every NAME with more value(s) is an axis of the matrix, e.g. N_DATA_STORES=3,5,8 N_CLIENTS=5,10 N_ITEMS=50,500.
+ */
+public final class SweepRunner {
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(SweepRunner.class);
+
+    /**
+     * Default result file.
+     */
+    private static final String DEFAULT_OUT = "sweep.csv";
+
+    /**
+     * Default maximum duration (s) of a point.
+     */
+    private static final long DEFAULT_TIMEOUT_S = 300;
+
+    /**
+     * Interval (ms) between two completion check(s).
+     */
+    private static final long POLL_INTERVAL_MS = 200;
+
+    /**
+     * Result column(s) following the axis value(s).
+     */
+    private static final List<String> RESULT_COLUMNS = List.of("completed", "committed", "aborted", "dropped", "seconds",
+            "throughput", "abort_rate", "latency_p50_ms", "latency_p99_ms", "latency_p999_ms");
+
+    /**
+     * Base {@link Config} value(s) of every point.
+     */
+    private final Properties base;
+
+    /**
+     * Axis value(s) by name, in argument order.
+     */
+    private final LinkedHashMap<String, List<String>> axes;
+
+    /**
+     * Result file.
+     */
+    private final Path out;
+
+    /**
+     * Maximum duration (s) of a point.
+     */
+    private final long timeoutSeconds;
+
+    /**
+     * Construct a new SweepRunner class.
+     *
+     * @param base           Base Config value(s) of every point
+     * @param axes           Axis value(s) by name
+     * @param out            Result file
+     * @param timeoutSeconds Maximum duration (s) of a point
+     */
+    public SweepRunner(Properties base, LinkedHashMap<String, List<String>> axes, Path out, long timeoutSeconds) {
+        this.base = base;
+        this.axes = axes;
+        this.out = out;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    /**
+     * Return all the point(s) of the matrix, the last axis varying fastest.
+     *
+     * @param axes Value(s) of each axis by name, in order
+     * @return Point(s), value(s) by name
+     */
+    static List<Map<String, String>> points(LinkedHashMap<String, List<String>> axes) {
+        List<Map<String, String>> points = List.of(new LinkedHashMap<>());
+        for (final Map.Entry<String, List<String>> axis : axes.entrySet()) {
+            final List<Map<String, String>> next = new ArrayList<>(points.size() * axis.getValue().size());
+            for (final Map<String, String> point : points) {
+                for (final String value : axis.getValue()) {
+                    final Map<String, String> extended = new LinkedHashMap<>(point);
+                    extended.put(axis.getKey(), value);
+                    next.add(extended);
+                }
+            }
+            points = next;
+        }
+        return points;
+    }
+
+    /**
+     * Run all the point(s) of the matrix.
+     *
+     * @throws IOException          If the result file cannot be written
+     * @throws InterruptedException If interrupted while running
+     */
+    public void run() throws IOException, InterruptedException {
+        final List<Map<String, String>> points = points(axes);
+        final long sweepId = System.currentTimeMillis();
+        LOGGER.info("Sweep {} of {} point(s) over {} to {}", sweepId, points.size(), axes.keySet(), out);
+
+        for (int i = 0; i < points.size(); i++) {
+            final Map<String, String> point = points.get(i);
+            final Properties properties = new Properties();
+            properties.putAll(base);
+            properties.putAll(point);
+            // Headless, and durable state of a point never recovered by another
+            properties.setProperty("MODE", Config.Mode.AUTOMATIC.name());
+            properties.setProperty("WAL_DIRECTORY", Path.of(base.getProperty("WAL_DIRECTORY", Config.WAL_DIRECTORY), String.format("sweep-%d", sweepId), String.format("point-%d", i)).toString());
+            properties.setProperty("CHECKPOINT_DIRECTORY", Path.of(base.getProperty("CHECKPOINT_DIRECTORY", Config.CHECKPOINT_DIRECTORY), String.format("sweep-%d", sweepId), String.format("point-%d", i)).toString());
+            Config.load(properties);
+
+            LOGGER.info("Sweep point {}/{}: {}", i + 1, points.size(), point);
+            final Deployment deployment = new Deployment(String.format("banky-sweep-%d", i));
+            deployment.welcomeClients();
+
+            // Wait until every Client has ended all its transaction(s)
+            final long expected = (long) Config.N_RUNS * Config.N_CLIENTS;
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+            boolean completed = false;
+            while (!completed && System.nanoTime() < deadline) {
+                Thread.sleep(POLL_INTERVAL_MS);
+                final WorkloadReport progress = deployment.report(false);
+                completed = progress.arrived() >= expected && progress.isDrained();
+            }
+
+            final WorkloadReport report = deployment.report(true);
+            deployment.terminate();
+            if (!completed) LOGGER.warn("Sweep point {}/{} has not completed in {}s", i + 1, points.size(), timeoutSeconds);
+            LOGGER.info("Sweep point {}/{}: {}", i + 1, points.size(), report.summary());
+
+            append(point, completed, report);
+        }
+    }
+
+    /**
+     * Append the result of a point to the result file.
+     *
+     * @param point     Point value(s) by name
+     * @param completed The point has completed before the timeout
+     * @param report    {@link WorkloadReport} of the point
+     * @throws IOException If the result file cannot be written
+     */
+    private void append(Map<String, String> point, boolean completed, WorkloadReport report) throws IOException {
+        final Map<String, Object> row = new LinkedHashMap<>(point);
+        final List<Object> results = List.of(completed, report.committed(), report.aborted(), report.dropped(), report.seconds(),
+                report.throughput(), report.abortRate(), report.latencyMs(50), report.latencyMs(99), report.latencyMs(99.9));
+        for (int i = 0; i < RESULT_COLUMNS.size(); i++) row.put(RESULT_COLUMNS.get(i), results.get(i));
+
+        final boolean isNew = !Files.exists(out) || Files.size(out) == 0;
+        try (final Writer writer = Files.newBufferedWriter(out, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (out.getFileName().toString().endsWith(".csv")) {
+                if (isNew) writer.write(String.join(",", row.keySet()) + System.lineSeparator());
+                writer.write(row.values().stream().map(String::valueOf).reduce((a, b) -> a + "," + b).orElse("") + System.lineSeparator());
+            } else {
+                writer.write(JsonUtil.GSON.toJson(row) + System.lineSeparator());
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        final Properties base = new Properties();
+        final LinkedHashMap<String, List<String>> axes = new LinkedHashMap<>();
+        Path out = Path.of(DEFAULT_OUT);
+        long timeoutSeconds = DEFAULT_TIMEOUT_S;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                final String arg = args[i];
+                if (arg.equals("--out") && i + 1 < args.length) {
+                    out = Path.of(args[++i]);
+                } else if (arg.equals("--timeout") && i + 1 < args.length) {
+                    timeoutSeconds = Long.parseLong(args[++i]);
+                } else if (arg.equals("--config") && i + 1 < args.length) {
+                    base.putAll(Config.parse(new String[]{arg, args[++i]}));
+                } else if (arg.contains("=")) {
+                    axes.put(arg.substring(0, arg.indexOf('=')).trim(), Arrays.asList(arg.substring(arg.indexOf('=') + 1).split(",")));
+                } else {
+                    throw new IllegalArgumentException(String.format("Unknown argument %s", arg));
+                }
+            }
+
+            new SweepRunner(base, axes, out, timeoutSeconds).run();
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.error("Sweep has FAILED: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package it.unitn.disi.ds1.bench;
+
+import it.unitn.disi.ds1.Config;
+import it.unitn.disi.ds1.Deployment;
+import it.unitn.disi.ds1.metrics.Metrics;
+import it.unitn.disi.ds1.workload.WorkloadReport;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runner of a timed benchmark comparing some {@link Config} point(s).
+ * Every point runs the same open loop workload in a fresh {@link Deployment}, Client(s) never ending their run(s) in time,
+ * and after a warm up, not measured, prints a row of the result table with the {@link Column Column(s)} of the benchmark.
+ * Unlike the {@link SweepRunner} a point is measured for a fixed duration, not until its run(s) end.
+ * <p>
+ * Argument(s): [--config FILE] NAME=VALUE... override the workload of every point, not the value(s) of the point.
+ */
+public final class TimedRunner {
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(TimedRunner.class);
+
+    /**
+     * Warm up (s) of a point, not measured.
+     */
+    private static final long WARMUP_S = 3;
+
+    /**
+     * Measured duration (s) of a point.
+     */
+    private static final long DURATION_S = 10;
+
+    /**
+     * Measured result of a point.
+     */
+    public static final class Result {
+        /**
+         * Value(s) of the point by name.
+         */
+        public final Map<String, String> point;
+
+        /**
+         * {@link WorkloadReport} of the point.
+         */
+        public final WorkloadReport report;
+
+        /**
+         * {@link WorkloadReport} of the first point, the baseline.
+         */
+        public final WorkloadReport baseline;
+
+        /**
+         * Construct a new Result class.
+         *
+         * @param point    Value(s) of the point by name
+         * @param report   WorkloadReport of the point
+         * @param baseline WorkloadReport of the first point
+         */
+        private Result(Map<String, String> point, WorkloadReport report, WorkloadReport baseline) {
+            this.point = point;
+            this.report = report;
+            this.baseline = baseline;
+        }
+    }
+
+    /**
+     * Value of a {@link Column} from a {@link Result}.
+     * Evaluated before the next point, so the {@link Metrics} are still the one(s) of the point.
+     */
+    @FunctionalInterface
+    public interface Value {
+        /**
+         * Return the value of the result.
+         *
+         * @param result Measured result of a point
+         * @return Value
+         */
+        Object of(Result result);
+    }
+
+    /**
+     * Column of the result table.
+     */
+    public static final class Column {
+        /**
+         * Header.
+         */
+        private final String header;
+
+        /**
+         * Format of the value, e.g. %9.2f.
+         */
+        private final String format;
+
+        /**
+         * Value of a result.
+         */
+        private final Value value;
+
+        /**
+         * Construct a new Column class.
+         *
+         * @param header Header
+         * @param format Format of the value, e.g. %9.2f
+         * @param value  Value of a result
+         */
+        public Column(String header, String format, Value value) {
+            this.header = header;
+            this.format = format;
+            this.value = value;
+        }
+
+        /**
+         * Return the format of the header, the width of the value format.
+         *
+         * @return Header format
+         */
+        private String headerFormat() {
+            return format.replaceAll("\\.\\d+", "").replaceAll("[a-zA-Z]$", "s");
+        }
+    }
+
+    /**
+     * Benchmark name.
+     */
+    private final String name;
+
+    /**
+     * Workload of every point, before the argument(s).
+     */
+    private final Properties workload;
+
+    /**
+     * Point(s) to run in order, value(s) by name, the first is the baseline.
+     */
+    private final List<Map<String, String>> points;
+
+    /**
+     * {@link Column Column(s)} of the result table.
+     */
+    private final List<Column> columns;
+
+    /**
+     * Construct a new TimedRunner class.
+     *
+     * @param name     Benchmark name
+     * @param workload Workload of every point, before the argument(s)
+     * @param points   Point(s) to run in order, value(s) by name, the first is the baseline
+     * @param columns  Column(s) of the result table
+     */
+    public TimedRunner(String name, Properties workload, List<Map<String, String>> points, List<Column> columns) {
+        if (points.isEmpty())
+            throw new IllegalArgumentException(String.format("TimedRunner %s requires at least a point", name));
+
+        this.name = name;
+        this.workload = workload;
+        this.points = List.copyOf(points);
+        this.columns = List.copyOf(columns);
+    }
+
+    /**
+     * Return the workload of a point: open loop, Client(s) never ending their run(s) in time, no tracing,
+     * then the benchmark workload, the argument(s) and the value(s) of the point.
+     *
+     * @param args  Value(s) overriding the workload
+     * @param point Value(s) of the point by name
+     * @return Value(s) by name
+     */
+    private Properties workload(Properties args, Map<String, String> point) {
+        final Properties properties = new Properties();
+        properties.setProperty("MODE", Config.Mode.AUTOMATIC.name());
+        properties.setProperty("WORKLOAD_MODE", Config.WorkloadMode.OPEN.name());
+        properties.setProperty("N_RUNS", String.valueOf(Integer.MAX_VALUE));
+        properties.setProperty("TRACE_ENABLED", "false");
+        properties.setProperty("METRICS_JMX_ENABLED", "false");
+        properties.putAll(workload);
+        properties.putAll(args);
+        properties.putAll(point);
+        return properties;
+    }
+
+    /**
+     * Run the point and print its row.
+     *
+     * @param index    Point index
+     * @param args     Value(s) overriding the workload
+     * @param baseline WorkloadReport of the first point, null if the point is the first
+     * @return WorkloadReport of the point
+     * @throws InterruptedException If interrupted while running
+     */
+    private WorkloadReport run(int index, Properties args, WorkloadReport baseline) throws InterruptedException {
+        final Map<String, String> point = points.get(index);
+        Config.load(workload(args, point));
+        final Deployment deployment = new Deployment(String.format("banky-%s-%d", name, index));
+        deployment.welcomeClients();
+
+        // Warm up
+        Thread.sleep(TimeUnit.SECONDS.toMillis(WARMUP_S));
+        deployment.report(true);
+        Metrics.reset();
+
+        // Measure
+        Thread.sleep(TimeUnit.SECONDS.toMillis(DURATION_S));
+        final WorkloadReport report = deployment.report(true);
+        final Result result = new Result(point, report, baseline != null ? baseline : report);
+        final StringBuilder row = new StringBuilder();
+        for (final Column column : columns) {
+            if (row.length() > 0) row.append(' ');
+            row.append(String.format(column.format, column.value.of(result)));
+        }
+        System.out.println(row);
+        deployment.terminate();
+        return report;
+    }
+
+    /**
+     * Run all the point(s) in order, printing the result table.
+     *
+     * @param args Argument(s) of the benchmark
+     */
+    public void run(String[] args) {
+        final Properties overrides;
+        try {
+            overrides = Config.parse(args);
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.error("Unable to load configuration: {}", e.getMessage());
+            return;
+        }
+
+        final StringBuilder header = new StringBuilder();
+        for (final Column column : columns) {
+            if (header.length() > 0) header.append(' ');
+            header.append(String.format(column.headerFormat(), column.header));
+        }
+        System.out.println(header);
+
+        try {
+            WorkloadReport baseline = null;
+            for (int i = 0; i < points.size(); i++) {
+                final WorkloadReport report = run(i, overrides, baseline);
+                if (baseline == null) baseline = report;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package it.unitn.disi.ds1.etc;
+
+/**
+ * Hybrid logical clock used to timestamp transaction(s).
+ * A timestamp never goes backward and is at least the physical time in ms,
+ * hence actors that never communicate still produce close timestamp(s).
+ */
+public final class Clock {
+    /**
+     * Latest timestamp.
+     */
+    private long latest;
+
+    /**
+     * Construct a new Clock class.
+     */
+    public Clock() {
+        this.latest = 0;
+    }
+
+    /**
+     * Return the current timestamp without advancing it.
+     *
+     * @return Current timestamp
+     */
+    public long now() {
+        latest = Math.max(latest, System.currentTimeMillis());
+        return latest;
+    }
+
+    /**
+     * Advance and return a new timestamp greater than every previous one.
+     *
+     * @return New timestamp
+     */
+    public long tick() {
+        latest = Math.max(latest + 1, System.currentTimeMillis());
+        return latest;
+    }
+
+    /**
+     * Update the clock with an observed timestamp, so future timestamp(s) are greater.
+     *
+     * @param timestamp Observed timestamp
+     */
+    public void update(long timestamp) {
+        latest = Math.max(latest, timestamp);
+    }
+}
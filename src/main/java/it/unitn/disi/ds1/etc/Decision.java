@@ -11,7 +11,12 @@ public enum Decision {
     /**
      * Abort.
      */
-    ABORT(false);
+    ABORT(false),
+    /**
+     * Read-only vote: the participant has validated its read(s) and leaves the 2PC.
+     * Never a final decision.
+     */
+    READ_ONLY(true);
 
     /**
      * Decision made.
@@ -39,7 +44,6 @@ public enum Decision {
 
     @Override
     public String toString() {
-        if (decision) return "COMMIT";
-        else return "ABORT";
+        return name();
     }
 }
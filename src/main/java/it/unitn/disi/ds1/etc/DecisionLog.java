@@ -0,0 +1,226 @@
+package it.unitn.disi.ds1.etc;
+
+import it.unitn.disi.ds1.util.LongMap;
+
+import java.util.ArrayDeque;
+
+/**
+ * Bounded log of the final {@link Decision Decision(s)} of an {@link it.unitn.disi.ds1.actor.Actor}.
+ * Decision(s) are kept in decision order and identified by an increasing sequence.
+ * A decision is retained until it is acknowledged, that is no participant may still ask for it,
+ * and for a retention time after it, so late duplicate message(s) are still recognized.
+ * The log is truncated below the low-watermark, the sequence of the oldest decision still needed.
+ */
+public final class DecisionLog {
+    /**
+     * Decision entry.
+     */
+    private static final class Entry {
+        /**
+         * Transaction id.
+         */
+        private final long transactionId;
+
+        /**
+         * Decision sequence.
+         */
+        private final long sequence;
+
+        /**
+         * Final decision.
+         */
+        private final Decision decision;
+
+        /**
+         * Commit timestamp, 0 if ABORT.
+         */
+        private final long commitTimestamp;
+
+        /**
+         * Decision time (ms).
+         */
+        private final long decidedAt;
+
+        /**
+         * Decision has been acknowledged.
+         */
+        private boolean acknowledged;
+
+        /**
+         * Construct a new Entry class.
+         *
+         * @param transactionId   Transaction id
+         * @param sequence        Decision sequence
+         * @param decision        Final decision
+         * @param commitTimestamp Commit timestamp
+         * @param decidedAt       Decision time (ms)
+         */
+        private Entry(long transactionId, long sequence, Decision decision, long commitTimestamp, long decidedAt) {
+            this.transactionId = transactionId;
+            this.sequence = sequence;
+            this.decision = decision;
+            this.commitTimestamp = commitTimestamp;
+            this.decidedAt = decidedAt;
+            this.acknowledged = false;
+        }
+    }
+
+    /**
+     * Decision entries by transaction id.
+     */
+    private final LongMap<Entry> entries;
+
+    /**
+     * Decision entries in decision order.
+     */
+    private final ArrayDeque<Entry> order;
+
+    /**
+     * Retention time (ms) of an acknowledged decision.
+     */
+    private final long retentionMs;
+
+    /**
+     * Sequence of the next decision.
+     */
+    private long nextSequence;
+
+    /**
+     * Low-watermark, every decision with a lower sequence has been truncated.
+     */
+    private long lowWatermark;
+
+    /**
+     * Construct a new DecisionLog class.
+     *
+     * @param retentionMs Retention time (ms) of an acknowledged decision
+     */
+    public DecisionLog(long retentionMs) {
+        this.entries = new LongMap<>();
+        this.order = new ArrayDeque<>();
+        this.retentionMs = retentionMs;
+        this.nextSequence = 0;
+        this.lowWatermark = 0;
+    }
+
+    /**
+     * Check if there is a decision for the transaction.
+     *
+     * @param transactionId Transaction id
+     * @return True if decided, false otherwise
+     */
+    public boolean contains(long transactionId) {
+        return entries.containsKey(transactionId);
+    }
+
+    /**
+     * Return the decision for the transaction.
+     *
+     * @param transactionId Transaction id
+     * @return Final decision, null if not decided or truncated
+     */
+    public Decision get(long transactionId) {
+        final Entry entry = entries.get(transactionId);
+        return entry != null ? entry.decision : null;
+    }
+
+    /**
+     * Return the commit timestamp of the transaction.
+     *
+     * @param transactionId Transaction id
+     * @return Commit timestamp, 0 if not committed or truncated
+     */
+    public long commitTimestamp(long transactionId) {
+        final Entry entry = entries.get(transactionId);
+        return entry != null ? entry.commitTimestamp : 0L;
+    }
+
+    /**
+     * Append the decision for the transaction if not already decided.
+     *
+     * @param transactionId   Transaction id
+     * @param decision        Final decision
+     * @param commitTimestamp Commit timestamp, stored only if the decision is COMMIT
+     * @return True if appended, false if already decided
+     */
+    public boolean decide(long transactionId, Decision decision, long commitTimestamp) {
+        if (entries.containsKey(transactionId)) return false;
+
+        truncate();
+        final Entry entry = new Entry(transactionId, nextSequence++, decision, decision == Decision.COMMIT ? commitTimestamp : 0L, System.currentTimeMillis());
+        entries.put(transactionId, entry);
+        order.add(entry);
+        return true;
+    }
+
+    /**
+     * Acknowledge the decision for the transaction: no participant will ask for it anymore.
+     *
+     * @param transactionId Transaction id
+     */
+    public void acknowledge(long transactionId) {
+        final Entry entry = entries.get(transactionId);
+        if (entry != null) entry.acknowledged = true;
+    }
+
+    /**
+     * Truncate the log advancing the low-watermark past every acknowledged decision older than the retention time.
+     * An unacknowledged decision holds the low-watermark.
+     *
+     * @return Number of truncated decision(s)
+     */
+    public int truncate() {
+        final long now = System.currentTimeMillis();
+        int truncated = 0;
+
+        while (!order.isEmpty()) {
+            final Entry entry = order.peek();
+            if (!entry.acknowledged || now - entry.decidedAt < retentionMs) {
+                lowWatermark = entry.sequence;
+                return truncated;
+            }
+            order.poll();
+            entries.remove(entry.transactionId);
+            truncated += 1;
+        }
+        lowWatermark = nextSequence;
+
+        return truncated;
+    }
+
+    /**
+     * Return the number of retained decision(s).
+     *
+     * @return Number of decision(s)
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Return the low-watermark.
+     *
+     * @return Low-watermark
+     */
+    public long lowWatermark() {
+        return lowWatermark;
+    }
+
+    /**
+     * Return the number of decision(s) ever appended.
+     *
+     * @return Number of decision(s)
+     */
+    public long appended() {
+        return nextSequence;
+    }
+
+    /**
+     * Remove all decision(s).
+     */
+    public void clear() {
+        entries.clear();
+        order.clear();
+        lowWatermark = nextSequence;
+    }
+}
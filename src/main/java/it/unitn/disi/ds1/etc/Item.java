@@ -4,12 +4,14 @@ import com.google.gson.annotations.Expose;
 import it.unitn.disi.ds1.actor.DataStore;
 import it.unitn.disi.ds1.util.JsonUtil;
 
-import java.util.UUID;
+import java.io.Serializable;
 
 /**
  * Simple item stored in a {@link DataStore}.
  */
-public final class Item {
+public final class Item implements Serializable {
+    private static final long serialVersionUID = 4725153062094736384L;
+
     /**
      * Value of the Item.
      */
@@ -23,10 +25,10 @@ public final class Item {
     private int version;
 
     /**
-     * {@link UUID Transaction} that is locking the Item.
+     * Transaction that is locking the Item, {@link TransactionId#NONE} if unlocked.
      */
     @Expose
-    private volatile UUID locker;
+    private volatile long locker;
 
     /**
      * Boolean flag used to check if the value of
@@ -43,10 +45,22 @@ public final class Item {
     public Item(int value, int version) {
         this.value = value;
         this.version = version;
-        this.locker = null;
+        this.locker = TransactionId.NONE;
         this.valueChanged = false;
     }
 
+    /**
+     * Construct a new Item class.
+     *
+     * @param value        Value of the item
+     * @param version      Version of the item
+     * @param valueChanged Value changed after creation
+     */
+    public Item(int value, int version, boolean valueChanged) {
+        this(value, version);
+        this.valueChanged = valueChanged;
+    }
+
     /**
      * Return value of the Item.
      *
@@ -66,11 +80,11 @@ public final class Item {
     }
 
     /**
-     * Return {@link UUID locker} of the Item.
+     * Return locker of the Item.
      *
      * @return Item locker
      */
-    public UUID getLocker() {
+    public long getLocker() {
         return locker;
     }
 
@@ -98,32 +112,32 @@ public final class Item {
     }
 
     /**
-     * Check if Item is locked by a {@link UUID locker}.
+     * Check if Item is locked by a locker.
      *
      * @return True if locked, false otherwise.
      */
     public boolean isLocked() {
-        return locker != null;
+        return locker != TransactionId.NONE;
     }
 
     /**
-     * Check if {@link UUID locker} is the current locker that is locking the Item.
+     * Check if locker is the current locker that is locking the Item.
      * Note that if Item is not locked by any locker the returned value is false.
      *
-     * @param locker {@link UUID Locker} to check
+     * @param locker Locker to check
      * @return True if same locker, false otherwise
      */
-    public boolean isLocker(UUID locker) {
-        return isLocked() && this.locker.equals(locker);
+    public boolean isLocker(long locker) {
+        return isLocked() && this.locker == locker;
     }
 
     /**
      * Lock the Item by locker and return true if the operation has been successful.
      *
-     * @param locker {@link UUID Locker} trying to lock the Item
+     * @param locker Locker trying to lock the Item
      * @return True if locked, false otherwise
      */
-    public boolean lock(UUID locker) {
+    public boolean lock(long locker) {
         // Check if Item is locked and the locker is different
         if (isLocked() && !isLocker(locker)) return false;
 
@@ -133,13 +147,13 @@ public final class Item {
     }
 
     /**
-     * Remove the {@link UUID locker} that is locking the Item
+     * Remove the locker that is locking the Item
      * only if the locker is the same.
      *
-     * @param locker {@link UUID Locker} locking the Item
+     * @param locker Locker locking the Item
      */
-    public void unlock(UUID locker) {
-        if (isLocker(locker)) this.locker = null;
+    public void unlock(long locker) {
+        if (isLocker(locker)) this.locker = TransactionId.NONE;
     }
 
     @Override
@@ -0,0 +1,134 @@
+package it.unitn.disi.ds1.etc;
+
+/**
+ * Generator of the 64-bit transaction id(s) of a {@link it.unitn.disi.ds1.actor.Coordinator}.
+ * An id packs [coordinator id 11 bit][epoch 32 bit][counter 20 bit], so it is never negative nor {@link #NONE}.
+ * The epoch starts at the physical time in seconds and advances on every restart and counter overflow,
+ * hence id(s) are unique across restart(s) without any shared state,
+ * as long as a Coordinator does not begin more than 2^20 transaction(s) per second.
+ */
+public final class TransactionId {
+    /**
+     * No transaction.
+     */
+    public static final long NONE = 0L;
+
+    /**
+     * Number of counter bit(s).
+     */
+    private static final int COUNTER_BITS = 20;
+
+    /**
+     * Number of epoch bit(s).
+     */
+    private static final int EPOCH_BITS = 32;
+
+    /**
+     * Number of coordinator bit(s).
+     */
+    private static final int COORDINATOR_BITS = Long.SIZE - 1 - EPOCH_BITS - COUNTER_BITS;
+
+    /**
+     * Maximum Coordinator id.
+     */
+    public static final int MAX_COORDINATOR_ID = (1 << COORDINATOR_BITS) - 1;
+
+    /**
+     * Maximum counter.
+     */
+    private static final long MAX_COUNTER = (1L << COUNTER_BITS) - 1;
+
+    /**
+     * Maximum epoch.
+     */
+    private static final long MAX_EPOCH = (1L << EPOCH_BITS) - 1;
+
+    /**
+     * {@link it.unitn.disi.ds1.actor.Coordinator} id.
+     */
+    private final int coordinatorId;
+
+    /**
+     * Current epoch.
+     */
+    private long epoch;
+
+    /**
+     * Counter of the last id in the epoch.
+     */
+    private long counter;
+
+    /**
+     * Construct a new TransactionId class.
+     *
+     * @param coordinatorId {@link it.unitn.disi.ds1.actor.Coordinator} id
+     */
+    public TransactionId(int coordinatorId) {
+        if (coordinatorId < 0 || coordinatorId > MAX_COORDINATOR_ID)
+            throw new IllegalArgumentException(String.format("TransactionId coordinator id %d is not in [0, %d]", coordinatorId, MAX_COORDINATOR_ID));
+
+        this.coordinatorId = coordinatorId;
+        this.epoch = 0;
+        restart();
+    }
+
+    /**
+     * Return a new transaction id.
+     *
+     * @return Transaction id
+     */
+    public long next() {
+        if (counter == MAX_COUNTER) restart();
+        counter += 1;
+        return ((long) coordinatorId << (EPOCH_BITS + COUNTER_BITS)) | (epoch << COUNTER_BITS) | counter;
+    }
+
+    /**
+     * Start a new epoch, greater than every previous one and at least the physical time in seconds.
+     * The counter of the current epoch is lost, as after a crash.
+     */
+    public void restart() {
+        epoch = Math.max(epoch + 1, System.currentTimeMillis() / 1000) & MAX_EPOCH;
+        counter = 0;
+    }
+
+    /**
+     * Return the {@link it.unitn.disi.ds1.actor.Coordinator} id of the transaction.
+     *
+     * @param transactionId Transaction id
+     * @return Coordinator id
+     */
+    public static int coordinatorOf(long transactionId) {
+        return (int) (transactionId >>> (EPOCH_BITS + COUNTER_BITS));
+    }
+
+    /**
+     * Return the epoch of the transaction.
+     *
+     * @param transactionId Transaction id
+     * @return Epoch
+     */
+    public static long epochOf(long transactionId) {
+        return (transactionId >>> COUNTER_BITS) & MAX_EPOCH;
+    }
+
+    /**
+     * Return the counter of the transaction in its epoch.
+     *
+     * @param transactionId Transaction id
+     * @return Counter
+     */
+    public static long counterOf(long transactionId) {
+        return transactionId & MAX_COUNTER;
+    }
+
+    /**
+     * Return a readable form of the transaction id: coordinator.epoch.counter.
+     *
+     * @param transactionId Transaction id
+     * @return Readable form
+     */
+    public static String toString(long transactionId) {
+        return String.format("%d.%d.%d", coordinatorOf(transactionId), epochOf(transactionId), counterOf(transactionId));
+    }
+}
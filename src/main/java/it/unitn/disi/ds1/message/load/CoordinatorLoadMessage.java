@@ -0,0 +1,55 @@
+package it.unitn.disi.ds1.message.load;
+
+import com.google.gson.annotations.Expose;
+import it.unitn.disi.ds1.message.Message;
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Serializable;
+
+/**
+ * Message from {@link it.unitn.disi.ds1.actor.Coordinator} to {@link it.unitn.disi.ds1.actor.Client}
+ * with the load of the Coordinator.
+ */
+public final class CoordinatorLoadMessage extends Message implements Serializable {
+    private static final long serialVersionUID = 3120527395624281637L;
+
+    /**
+     * Number of transaction(s) begun and not yet ended.
+     */
+    @Expose
+    public final int inFlight;
+
+    /**
+     * Number of request(s) to the {@link it.unitn.disi.ds1.actor.DataStore DataStore(s)} waiting their reply:
+     * read(s), vote(s) and decision acknowledgement(s).
+     */
+    @Expose
+    public final int pending;
+
+    /**
+     * Construct a new CoordinatorLoadMessage class.
+     *
+     * @param coordinatorId {@link it.unitn.disi.ds1.actor.Coordinator} id
+     * @param inFlight      Number of transaction(s) in flight
+     * @param pending       Number of request(s) waiting their reply
+     */
+    public CoordinatorLoadMessage(int coordinatorId, int inFlight, int pending) {
+        super(coordinatorId);
+        this.inFlight = inFlight;
+        this.pending = pending;
+    }
+
+    /**
+     * Return the outstanding work of the {@link it.unitn.disi.ds1.actor.Coordinator}.
+     *
+     * @return Outstanding work
+     */
+    public int load() {
+        return inFlight + pending;
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
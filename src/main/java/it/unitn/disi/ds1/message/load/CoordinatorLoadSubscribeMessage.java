@@ -0,0 +1,28 @@
+package it.unitn.disi.ds1.message.load;
+
+import it.unitn.disi.ds1.message.Message;
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Serializable;
+
+/**
+ * Message from {@link it.unitn.disi.ds1.actor.Client} to {@link it.unitn.disi.ds1.actor.Coordinator}
+ * to receive its {@link CoordinatorLoadMessage load report(s)}.
+ */
+public final class CoordinatorLoadSubscribeMessage extends Message implements Serializable {
+    private static final long serialVersionUID = -4187265309914572240L;
+
+    /**
+     * Construct a new CoordinatorLoadSubscribeMessage class.
+     *
+     * @param clientId {@link it.unitn.disi.ds1.actor.Client} id
+     */
+    public CoordinatorLoadSubscribeMessage(int clientId) {
+        super(clientId);
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
@@ -0,0 +1,24 @@
+package it.unitn.disi.ds1.message.load;
+
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Serializable;
+
+/**
+ * Message for {@link it.unitn.disi.ds1.actor.Coordinator}
+ * informing that it is time to send its {@link CoordinatorLoadMessage}.
+ */
+public final class CoordinatorLoadTimeoutMessage implements Serializable {
+    private static final long serialVersionUID = -6014395617328702455L;
+
+    /**
+     * Construct a new CoordinatorLoadTimeoutMessage class.
+     */
+    public CoordinatorLoadTimeoutMessage() {
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
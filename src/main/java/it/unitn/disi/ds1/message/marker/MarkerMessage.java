@@ -0,0 +1,46 @@
+package it.unitn.disi.ds1.message.marker;
+
+import com.google.gson.annotations.Expose;
+import it.unitn.disi.ds1.message.Message;
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Serializable;
+
+/**
+ * Marker message of a global snapshot, sent by a {@link it.unitn.disi.ds1.actor.Coordinator} or {@link it.unitn.disi.ds1.actor.DataStore}
+ * on every outgoing channel to a DataStore right after recording its local state.
+ * On a channel it separates the message(s) sent before the snapshot from those sent after.
+ */
+public final class MarkerMessage extends Message implements Serializable {
+    private static final long serialVersionUID = -4183270514829733061L;
+
+    /**
+     * Global snapshot id.
+     */
+    @Expose
+    public final int snapshotId;
+
+    /**
+     * Id of the {@link it.unitn.disi.ds1.actor.Coordinator} initiating the global snapshot.
+     */
+    @Expose
+    public final int initiatorId;
+
+    /**
+     * Construct a new MarkerMessage class.
+     *
+     * @param senderId    Sender id
+     * @param snapshotId  Global snapshot id
+     * @param initiatorId Initiator {@link it.unitn.disi.ds1.actor.Coordinator} id
+     */
+    public MarkerMessage(int senderId, int snapshotId, int initiatorId) {
+        super(senderId);
+        this.snapshotId = snapshotId;
+        this.initiatorId = initiatorId;
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
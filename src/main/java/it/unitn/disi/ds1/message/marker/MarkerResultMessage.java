@@ -0,0 +1,70 @@
+package it.unitn.disi.ds1.message.marker;
+
+import com.google.gson.annotations.Expose;
+import it.unitn.disi.ds1.message.Message;
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Serializable;
+
+/**
+ * Reply message from {@link it.unitn.disi.ds1.actor.DataStore} to the initiator {@link it.unitn.disi.ds1.actor.Coordinator}
+ * of a global snapshot, once the marker of every incoming channel has been received:
+ * recorded local state and commit(s) recorded in flight on its channel(s).
+ */
+public final class MarkerResultMessage extends Message implements Serializable {
+    private static final long serialVersionUID = 6851290374419605723L;
+
+    /**
+     * Global snapshot id.
+     */
+    @Expose
+    public final int snapshotId;
+
+    /**
+     * Number of {@link it.unitn.disi.ds1.etc.Item Item(s)} of the local state.
+     */
+    @Expose
+    public final int items;
+
+    /**
+     * Sum of the {@link it.unitn.disi.ds1.etc.Item} value(s) of the local state.
+     */
+    @Expose
+    public final long sum;
+
+    /**
+     * Number of COMMIT decision(s) recorded in flight on the channel(s).
+     */
+    @Expose
+    public final int inFlightCommits;
+
+    /**
+     * Sum of the value change(s) of the COMMIT decision(s) recorded in flight on the channel(s).
+     */
+    @Expose
+    public final long inFlightDelta;
+
+    /**
+     * Construct a new MarkerResultMessage class.
+     *
+     * @param dataStoreId     {@link it.unitn.disi.ds1.actor.DataStore} id
+     * @param snapshotId      Global snapshot id
+     * @param items           Number of Item(s) of the local state
+     * @param sum             Sum of the Item value(s) of the local state
+     * @param inFlightCommits Number of COMMIT decision(s) in flight
+     * @param inFlightDelta   Sum of the value change(s) of the COMMIT decision(s) in flight
+     */
+    public MarkerResultMessage(int dataStoreId, int snapshotId, int items, long sum, int inFlightCommits, long inFlightDelta) {
+        super(dataStoreId);
+        this.snapshotId = snapshotId;
+        this.items = items;
+        this.sum = sum;
+        this.inFlightCommits = inFlightCommits;
+        this.inFlightDelta = inFlightDelta;
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
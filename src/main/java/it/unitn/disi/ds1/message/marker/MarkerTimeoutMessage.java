@@ -0,0 +1,24 @@
+package it.unitn.disi.ds1.message.marker;
+
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Serializable;
+
+/**
+ * Message for the initiator {@link it.unitn.disi.ds1.actor.Coordinator}
+ * informing that it is time to initiate the next global snapshot.
+ */
+public final class MarkerTimeoutMessage implements Serializable {
+    private static final long serialVersionUID = 2209463187550728416L;
+
+    /**
+     * Construct a new MarkerTimeoutMessage class.
+     */
+    public MarkerTimeoutMessage() {
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
@@ -0,0 +1,37 @@
+package it.unitn.disi.ds1.message.mvcc;
+
+import com.google.gson.annotations.Expose;
+import it.unitn.disi.ds1.message.Message;
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Serializable;
+
+/**
+ * Message from {@link it.unitn.disi.ds1.actor.Coordinator} to {@link it.unitn.disi.ds1.actor.DataStore}
+ * with the oldest timestamp any of its transaction(s) or snapshot(s) may still read at.
+ */
+public final class WatermarkMessage extends Message implements Serializable {
+    private static final long serialVersionUID = -2297905331577412306L;
+
+    /**
+     * Oldest read timestamp of the {@link it.unitn.disi.ds1.actor.Coordinator}.
+     */
+    @Expose
+    public final long watermark;
+
+    /**
+     * Construct a new WatermarkMessage class.
+     *
+     * @param coordinatorId {@link it.unitn.disi.ds1.actor.Coordinator} id
+     * @param watermark     Oldest read timestamp
+     */
+    public WatermarkMessage(int coordinatorId, long watermark) {
+        super(coordinatorId);
+        this.watermark = watermark;
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
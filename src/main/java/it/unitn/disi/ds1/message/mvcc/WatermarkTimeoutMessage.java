@@ -0,0 +1,24 @@
+package it.unitn.disi.ds1.message.mvcc;
+
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Serializable;
+
+/**
+ * Message for {@link it.unitn.disi.ds1.actor.Coordinator}
+ * informing that it is time to send its {@link WatermarkMessage}.
+ */
+public final class WatermarkTimeoutMessage implements Serializable {
+    private static final long serialVersionUID = 8514398216409631185L;
+
+    /**
+     * Construct a new WatermarkTimeoutMessage class.
+     */
+    public WatermarkTimeoutMessage() {
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
@@ -0,0 +1,38 @@
+package it.unitn.disi.ds1.message.snapshot;
+
+import com.google.gson.annotations.Expose;
+import it.unitn.disi.ds1.message.Message;
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Serializable;
+
+/**
+ * Acknowledgement message of a {@link SnapshotResultMessage} chunk
+ * from {@link it.unitn.disi.ds1.actor.Coordinator} to {@link it.unitn.disi.ds1.actor.DataStore}
+ * asking for the next chunk.
+ */
+public final class SnapshotAckMessage extends Message implements Serializable {
+    private static final long serialVersionUID = 2750912847760343419L;
+
+    /**
+     * Snapshot id.
+     */
+    @Expose
+    public final int snapshotId;
+
+    /**
+     * Construct a new SnapshotAckMessage class.
+     *
+     * @param coordinatorId {@link it.unitn.disi.ds1.actor.Coordinator} id
+     * @param snapshotId    Snapshot id
+     */
+    public SnapshotAckMessage(int coordinatorId, int snapshotId) {
+        super(coordinatorId);
+        this.snapshotId = snapshotId;
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
@@ -14,21 +14,44 @@ import java.io.Serializable;
 public final class SnapshotMessage extends Message implements Serializable {
     private static final long serialVersionUID = 5081090567329182418L;
 
+    /**
+     * Latest snapshot timestamp marker.
+     */
+    public static final long LATEST = -1L;
+
     /**
      * Snapshot id.
      */
     @Expose
     public final int snapshotId;
 
+    /**
+     * Snapshot timestamp, {@link #LATEST} to let the {@link it.unitn.disi.ds1.actor.Coordinator} choose the latest one.
+     */
+    @Expose
+    public final long timestamp;
+
     /**
      * Construct a new SnapshotMessage class.
      *
      * @param senderId   Sender {@link it.unitn.disi.ds1.actor.Actor} id
      * @param snapshotId Snapshot id
+     * @param timestamp  Snapshot timestamp
      */
-    public SnapshotMessage(int senderId, int snapshotId) {
+    public SnapshotMessage(int senderId, int snapshotId, long timestamp) {
         super(senderId);
         this.snapshotId = snapshotId;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Construct a new SnapshotMessage class at the latest timestamp.
+     *
+     * @param senderId   Sender {@link it.unitn.disi.ds1.actor.Actor} id
+     * @param snapshotId Snapshot id
+     */
+    public SnapshotMessage(int senderId, int snapshotId) {
+        this(senderId, snapshotId, LATEST);
     }
 
     @Override
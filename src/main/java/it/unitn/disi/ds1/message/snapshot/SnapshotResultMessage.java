@@ -12,7 +12,8 @@ import java.util.Map;
 /**
  * Reply message to {@link SnapshotMessage}
  * from {@link it.unitn.disi.ds1.actor.DataStore} to {@link it.unitn.disi.ds1.actor.Coordinator}
- * containing the current storage.
+ * containing a chunk of the storage at the snapshot timestamp.
+ * The next chunk is sent once the Coordinator has acknowledged a previous one with a {@link SnapshotAckMessage}.
  */
 public final class SnapshotResultMessage extends Message implements Serializable {
     private static final long serialVersionUID = 8848306550103300021L;
@@ -24,22 +25,30 @@ public final class SnapshotResultMessage extends Message implements Serializable
     public final int snapshotId;
 
     /**
-     * Data store storage.
+     * Data store storage chunk.
      */
     @Expose
     public final Map<Integer, Item> storage;
 
+    /**
+     * Last chunk of the data store storage.
+     */
+    @Expose
+    public final boolean last;
+
     /**
      * Construct a new SnapshotResultMessage class.
      *
      * @param dataStoreId {@link it.unitn.disi.ds1.actor.DataStore} id
      * @param snapshotId  Snapshot id
-     * @param storage     Storage
+     * @param storage     Storage chunk
+     * @param last        Last chunk
      */
-    public SnapshotResultMessage(int dataStoreId, int snapshotId, Map<Integer, Item> storage) {
+    public SnapshotResultMessage(int dataStoreId, int snapshotId, Map<Integer, Item> storage, boolean last) {
         super(dataStoreId);
         this.snapshotId = snapshotId;
         this.storage = Collections.unmodifiableMap(storage);
+        this.last = last;
     }
 
     @Override
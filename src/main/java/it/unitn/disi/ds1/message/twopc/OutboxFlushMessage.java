@@ -0,0 +1,23 @@
+package it.unitn.disi.ds1.message.twopc;
+
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Serializable;
+
+/**
+ * Message for {@link it.unitn.disi.ds1.actor.Actor}
+ * informing that the deadline of the 2PC message(s) waiting in its {@link it.unitn.disi.ds1.network.Outbox} is expired.
+ */
+public final class OutboxFlushMessage implements Serializable {
+    private static final long serialVersionUID = -1853342671902385527L;
+
+    /**
+     * Construct a new OutboxFlushMessage class.
+     */
+    public OutboxFlushMessage() { }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
@@ -0,0 +1,39 @@
+package it.unitn.disi.ds1.message.twopc;
+
+import com.google.gson.annotations.Expose;
+import it.unitn.disi.ds1.message.Message;
+import it.unitn.disi.ds1.message.txn.TxnMessage;
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Batch of 2PC message(s) of many transaction(s) between a {@link it.unitn.disi.ds1.actor.Coordinator}
+ * and a {@link it.unitn.disi.ds1.actor.DataStore}, handled in order as if received one by one.
+ */
+public final class TwoPcBatchMessage extends Message implements Serializable {
+    private static final long serialVersionUID = 4471802563148126939L;
+
+    /**
+     * Batched message(s), in send order.
+     */
+    @Expose
+    public final List<TxnMessage> messages;
+
+    /**
+     * Construct a new TwoPcBatchMessage class.
+     *
+     * @param senderId {@link it.unitn.disi.ds1.actor.Actor Sender} id
+     * @param messages Batched message(s)
+     */
+    public TwoPcBatchMessage(int senderId, List<TxnMessage> messages) {
+        super(senderId);
+        this.messages = List.copyOf(messages);
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
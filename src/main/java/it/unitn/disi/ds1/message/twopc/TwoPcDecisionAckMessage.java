@@ -0,0 +1,30 @@
+package it.unitn.disi.ds1.message.twopc;
+
+import it.unitn.disi.ds1.message.txn.TxnMessage;
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Serializable;
+
+/**
+ * Reply message to {@link TwoPcDecisionMessage}
+ * from {@link it.unitn.disi.ds1.actor.DataStore} to {@link it.unitn.disi.ds1.actor.Coordinator}
+ * acknowledging that the decision has been applied and it will not be asked again.
+ */
+public final class TwoPcDecisionAckMessage extends TxnMessage implements Serializable {
+    private static final long serialVersionUID = -6253108766214590371L;
+
+    /**
+     * Construct a new TwoPcDecisionAckMessage class.
+     *
+     * @param dataStoreId   {@link it.unitn.disi.ds1.actor.DataStore} id
+     * @param transactionId Transaction id
+     */
+    public TwoPcDecisionAckMessage(int dataStoreId, long transactionId) {
+        super(dataStoreId, transactionId);
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
@@ -1,10 +1,10 @@
 package it.unitn.disi.ds1.message.twopc;
 
+import com.google.gson.annotations.Expose;
 import it.unitn.disi.ds1.etc.Decision;
 import it.unitn.disi.ds1.util.JsonUtil;
 
 import java.io.Serializable;
-import java.util.UUID;
 
 /**
  * Message from {@link it.unitn.disi.ds1.actor.Coordinator} to {@link it.unitn.disi.ds1.actor.DataStore}
@@ -13,15 +13,23 @@ import java.util.UUID;
 public final class TwoPcDecisionMessage extends TwoPcMessage implements Serializable {
     private static final long serialVersionUID = 5152544683185426862L;
 
+    /**
+     * Commit timestamp, meaningless if the decision is ABORT.
+     */
+    @Expose
+    public final long commitTimestamp;
+
     /**
      * Construct a new DecisionMessage class.
      *
-     * @param coordinatorId Coordinator id
-     * @param transactionId Transaction id
-     * @param decision      Decision
+     * @param coordinatorId   Coordinator id
+     * @param transactionId   Transaction id
+     * @param decision        Decision
+     * @param commitTimestamp Commit timestamp
      */
-    public TwoPcDecisionMessage(int coordinatorId, UUID transactionId, Decision decision) {
+    public TwoPcDecisionMessage(int coordinatorId, long transactionId, Decision decision, long commitTimestamp) {
         super(coordinatorId, transactionId, decision);
+        this.commitTimestamp = commitTimestamp;
     }
 
     @Override
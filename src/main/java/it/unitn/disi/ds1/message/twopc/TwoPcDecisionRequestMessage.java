@@ -4,7 +4,6 @@ import it.unitn.disi.ds1.message.txn.TxnMessage;
 import it.unitn.disi.ds1.util.JsonUtil;
 
 import java.io.Serializable;
-import java.util.UUID;
 
 /**
  * Message
@@ -18,9 +17,9 @@ public final class TwoPcDecisionRequestMessage extends TxnMessage implements Ser
      * Construct a new TxnMessage class.
      *
      * @param dataStoreId   {@link it.unitn.disi.ds1.actor.DataStore} id
-     * @param transactionId {@link UUID Transaction} id
+     * @param transactionId Transaction id
      */
-    public TwoPcDecisionRequestMessage(int dataStoreId, UUID transactionId) {
+    public TwoPcDecisionRequestMessage(int dataStoreId, long transactionId) {
         super(dataStoreId, transactionId);
     }
 
@@ -6,7 +6,6 @@ import it.unitn.disi.ds1.message.txn.TxnMessage;
 import it.unitn.disi.ds1.util.JsonUtil;
 
 import java.io.Serializable;
-import java.util.UUID;
 
 /**
  * General abstract message for 2PC.
@@ -27,7 +26,7 @@ public abstract class TwoPcMessage extends TxnMessage implements Serializable {
      * @param transactionId Transaction id
      * @param decision      Decision
      */
-    public TwoPcMessage(int senderId, UUID transactionId, Decision decision) {
+    public TwoPcMessage(int senderId, long transactionId, Decision decision) {
         super(senderId, transactionId);
         this.decision = decision;
     }
@@ -4,7 +4,6 @@ import com.google.gson.annotations.Expose;
 import it.unitn.disi.ds1.util.JsonUtil;
 
 import java.io.Serializable;
-import java.util.UUID;
 
 /**
  * Message for {@link it.unitn.disi.ds1.actor.Coordinator} or {@link it.unitn.disi.ds1.actor.DataStore}
@@ -17,14 +16,14 @@ public final class TwoPcTimeoutMessage implements Serializable {
      * Transaction id.
      */
     @Expose
-    public final UUID transactionId;
+    public final long transactionId;
 
     /**
      * Construct a new TxnMessage class.
      *
      * @param transactionId Transaction id
      */
-    public TwoPcTimeoutMessage(UUID transactionId) {
+    public TwoPcTimeoutMessage(long transactionId) {
         this.transactionId = transactionId;
     }
 
@@ -1,10 +1,11 @@
 package it.unitn.disi.ds1.message.twopc;
 
+import com.google.gson.annotations.Expose;
 import it.unitn.disi.ds1.etc.Decision;
 import it.unitn.disi.ds1.util.JsonUtil;
 
 import java.io.Serializable;
-import java.util.UUID;
+import java.util.Set;
 
 /**
  * Message from {@link it.unitn.disi.ds1.actor.Coordinator} to {@link it.unitn.disi.ds1.actor.DataStore}
@@ -13,15 +14,53 @@ import java.util.UUID;
 public final class TwoPcVoteMessage extends TwoPcMessage implements Serializable {
     private static final long serialVersionUID = 6797846417399441318L;
 
+    /**
+     * Transaction read timestamp.
+     */
+    @Expose
+    public final long readTimestamp;
+
+    /**
+     * {@link it.unitn.disi.ds1.etc.Item} key(s) read in the transaction, to validate and lock.
+     */
+    @Expose
+    public final Set<Integer> readKeys;
+
+    /**
+     * Lower bound of the prepare timestamp, 0 if none.
+     * A read-only {@link it.unitn.disi.ds1.actor.DataStore} validates its read(s) up to it.
+     */
+    @Expose
+    public final long minPrepareTimestamp;
+
     /**
      * Construct a new TwoPcVoteMessage class.
      *
      * @param coordinatorId Coordinator id
      * @param transactionId Transaction id
      * @param decision      Decision
+     * @param readTimestamp Transaction read timestamp
+     * @param readKeys      Item key(s) read in the transaction
+     */
+    public TwoPcVoteMessage(int coordinatorId, long transactionId, Decision decision, long readTimestamp, Set<Integer> readKeys) {
+        this(coordinatorId, transactionId, decision, readTimestamp, readKeys, 0L);
+    }
+
+    /**
+     * Construct a new TwoPcVoteMessage class.
+     *
+     * @param coordinatorId       Coordinator id
+     * @param transactionId       Transaction id
+     * @param decision            Decision
+     * @param readTimestamp       Transaction read timestamp
+     * @param readKeys            Item key(s) read in the transaction
+     * @param minPrepareTimestamp Lower bound of the prepare timestamp
      */
-    public TwoPcVoteMessage(int coordinatorId, UUID transactionId, Decision decision) {
+    public TwoPcVoteMessage(int coordinatorId, long transactionId, Decision decision, long readTimestamp, Set<Integer> readKeys, long minPrepareTimestamp) {
         super(coordinatorId, transactionId, decision);
+        this.readTimestamp = readTimestamp;
+        this.readKeys = Set.copyOf(readKeys);
+        this.minPrepareTimestamp = minPrepareTimestamp;
     }
 
     @Override
@@ -1,10 +1,10 @@
 package it.unitn.disi.ds1.message.twopc;
 
+import com.google.gson.annotations.Expose;
 import it.unitn.disi.ds1.etc.Decision;
 import it.unitn.disi.ds1.util.JsonUtil;
 
 import java.io.Serializable;
-import java.util.UUID;
 
 /**
  * Reply message to {@link TwoPcVoteMessage}
@@ -14,15 +14,23 @@ import java.util.UUID;
 public final class TwoPcVoteResultMessage extends TwoPcMessage implements Serializable {
     private static final long serialVersionUID = 4917833122149828262L;
 
+    /**
+     * Prepare timestamp, the commit timestamp cannot be lower.
+     */
+    @Expose
+    public final long prepareTimestamp;
+
     /**
      * Construct a new TwoPcVoteResultMessage class.
      *
-     * @param dataStoreId   DataStore id
-     * @param transactionId Transaction id
-     * @param decision      Decision
+     * @param dataStoreId      DataStore id
+     * @param transactionId    Transaction id
+     * @param decision         Decision
+     * @param prepareTimestamp Prepare timestamp
      */
-    public TwoPcVoteResultMessage(int dataStoreId, UUID transactionId, Decision decision) {
+    public TwoPcVoteResultMessage(int dataStoreId, long transactionId, Decision decision, long prepareTimestamp) {
         super(dataStoreId, transactionId, decision);
+        this.prepareTimestamp = prepareTimestamp;
     }
 
     @Override
@@ -0,0 +1,24 @@
+package it.unitn.disi.ds1.message.txn;
+
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Serializable;
+
+/**
+ * Arrival message informing a {@link it.unitn.disi.ds1.actor.Client} in open loop
+ * that a new transaction has arrived.
+ */
+public final class TxnArrivalMessage implements Serializable {
+    private static final long serialVersionUID = -8710962288147135624L;
+
+    /**
+     * Construct a new TxnArrivalMessage class.
+     */
+    public TxnArrivalMessage() {
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
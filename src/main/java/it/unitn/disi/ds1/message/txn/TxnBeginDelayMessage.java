@@ -0,0 +1,24 @@
+package it.unitn.disi.ds1.message.txn;
+
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Serializable;
+
+/**
+ * Delay message informing a {@link it.unitn.disi.ds1.actor.Client} that its think time is over
+ * and a new {@link TxnBeginMessage transaction} can begin.
+ */
+public final class TxnBeginDelayMessage implements Serializable {
+    private static final long serialVersionUID = 3370583951734421675L;
+
+    /**
+     * Construct a new TxnBeginDelayMessage class.
+     */
+    public TxnBeginDelayMessage() {
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
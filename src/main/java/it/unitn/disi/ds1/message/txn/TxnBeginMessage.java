@@ -1,5 +1,6 @@
 package it.unitn.disi.ds1.message.txn;
 
+import com.google.gson.annotations.Expose;
 import it.unitn.disi.ds1.message.Message;
 import it.unitn.disi.ds1.util.JsonUtil;
 
@@ -8,18 +9,27 @@ import java.io.Serializable;
 /**
  * Transaction begin message
  * from {@link it.unitn.disi.ds1.actor.Client} to {@link it.unitn.disi.ds1.actor.Coordinator}
- * asking to start a new {@link java.util.UUID transaction}.
+ * asking to start a new transaction.
  */
 public final class TxnBeginMessage extends Message implements Serializable {
     private static final long serialVersionUID = 7964732199270077332L;
 
+    /**
+     * Sequence number of the transaction in the {@link it.unitn.disi.ds1.actor.Client},
+     * returned in the {@link TxnBeginResultMessage} before the transaction id is known.
+     */
+    @Expose
+    public final int sequence;
+
     /**
      * Construct a new TxnBeginMessage class.
      *
      * @param clientId Client id
+     * @param sequence Sequence number of the transaction
      */
-    public TxnBeginMessage(int clientId) {
+    public TxnBeginMessage(int clientId, int sequence) {
         super(clientId);
+        this.sequence = sequence;
     }
 
     @Override
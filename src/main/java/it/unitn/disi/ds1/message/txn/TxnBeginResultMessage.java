@@ -1,6 +1,6 @@
 package it.unitn.disi.ds1.message.txn;
 
-import it.unitn.disi.ds1.message.Message;
+import com.google.gson.annotations.Expose;
 import it.unitn.disi.ds1.util.JsonUtil;
 
 import java.io.Serializable;
@@ -10,16 +10,25 @@ import java.io.Serializable;
  * from {@link it.unitn.disi.ds1.actor.Coordinator} to {@link it.unitn.disi.ds1.actor.Client}
  * informing that the transaction is accepted (assumption).
  */
-public final class TxnBeginResultMessage extends Message implements Serializable {
+public final class TxnBeginResultMessage extends TxnMessage implements Serializable {
     private static final long serialVersionUID = -6339782978102970100L;
 
+    /**
+     * Sequence number of the transaction in the {@link it.unitn.disi.ds1.actor.Client}.
+     */
+    @Expose
+    public final int sequence;
+
     /**
      * Construct a new TxnBeginResultMessage class.
      *
      * @param coordinatorId {@link it.unitn.disi.ds1.actor.Coordinator} id
+     * @param transactionId Transaction id
+     * @param sequence      Sequence number of the transaction
      */
-    public TxnBeginResultMessage(int coordinatorId) {
-        super(coordinatorId);
+    public TxnBeginResultMessage(int coordinatorId, long transactionId, int sequence) {
+        super(coordinatorId, transactionId);
+        this.sequence = sequence;
     }
 
     @Override
@@ -1,5 +1,6 @@
 package it.unitn.disi.ds1.message.txn;
 
+import com.google.gson.annotations.Expose;
 import it.unitn.disi.ds1.util.JsonUtil;
 
 import java.io.Serializable;
@@ -10,10 +11,19 @@ import java.io.Serializable;
 public final class TxnBeginTimeoutMessage implements Serializable {
     private static final long serialVersionUID = 5632463252006918229L;
 
+    /**
+     * Sequence number of the transaction in the {@link it.unitn.disi.ds1.actor.Client}.
+     */
+    @Expose
+    public final int sequence;
+
     /**
      * Construct a new TxnBeginTimeoutMessage class.
+     *
+     * @param sequence Sequence number of the transaction
      */
-    public TxnBeginTimeoutMessage() {
+    public TxnBeginTimeoutMessage(int sequence) {
+        this.sequence = sequence;
     }
 
     @Override
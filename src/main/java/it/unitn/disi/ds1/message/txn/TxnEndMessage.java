@@ -1,7 +1,6 @@
 package it.unitn.disi.ds1.message.txn;
 
 import com.google.gson.annotations.Expose;
-import it.unitn.disi.ds1.message.Message;
 import it.unitn.disi.ds1.etc.Decision;
 import it.unitn.disi.ds1.util.JsonUtil;
 
@@ -12,7 +11,7 @@ import java.io.Serializable;
  * from {@link it.unitn.disi.ds1.actor.Client} to {@link it.unitn.disi.ds1.actor.Coordinator}
  * asking to terminate the transaction.
  */
-public final class TxnEndMessage extends Message implements Serializable {
+public final class TxnEndMessage extends TxnMessage implements Serializable {
     private static final long serialVersionUID = -7119663856673239183L;
 
     /**
@@ -24,11 +23,12 @@ public final class TxnEndMessage extends Message implements Serializable {
     /**
      * Construct a new TxnEndMessage class.
      *
-     * @param clientId Client id
-     * @param decision Decision
+     * @param clientId      Client id
+     * @param transactionId Transaction id
+     * @param decision      Decision
      */
-    public TxnEndMessage(int clientId, Decision decision) {
-        super(clientId);
+    public TxnEndMessage(int clientId, long transactionId, Decision decision) {
+        super(clientId, transactionId);
         this.decision = decision;
     }
 
@@ -1,7 +1,6 @@
 package it.unitn.disi.ds1.message.txn;
 
 import com.google.gson.annotations.Expose;
-import it.unitn.disi.ds1.message.Message;
 import it.unitn.disi.ds1.etc.Decision;
 import it.unitn.disi.ds1.util.JsonUtil;
 
@@ -12,7 +11,7 @@ import java.io.Serializable;
  * from {@link it.unitn.disi.ds1.actor.Coordinator} to {@link it.unitn.disi.ds1.actor.Client}
  * with final transaction {@link Decision decisionF}.
  */
-public final class TxnEndResultMessage extends Message implements Serializable {
+public final class TxnEndResultMessage extends TxnMessage implements Serializable {
     private static final long serialVersionUID = -8747449002189796637L;
 
     /**
@@ -25,10 +24,11 @@ public final class TxnEndResultMessage extends Message implements Serializable {
      * Construct a new TxnEndResultMessage class.
      *
      * @param coordinatorId {@link it.unitn.disi.ds1.actor.Coordinator} id
+     * @param transactionId Transaction id
      * @param decision      Decision
      */
-    public TxnEndResultMessage(int coordinatorId, Decision decision) {
-        super(coordinatorId);
+    public TxnEndResultMessage(int coordinatorId, long transactionId, Decision decision) {
+        super(coordinatorId, transactionId);
         this.decision = decision;
     }
 
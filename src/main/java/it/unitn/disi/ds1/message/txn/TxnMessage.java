@@ -5,7 +5,6 @@ import it.unitn.disi.ds1.message.Message;
 import it.unitn.disi.ds1.util.JsonUtil;
 
 import java.io.Serializable;
-import java.util.UUID;
 
 /**
  * General abstract transaction message.
@@ -17,7 +16,7 @@ public abstract class TxnMessage extends Message implements Serializable {
      * Transaction id.
      */
     @Expose
-    public final UUID transactionId;
+    public final long transactionId;
 
     /**
      * Construct a new TxnMessage class.
@@ -25,7 +24,7 @@ public abstract class TxnMessage extends Message implements Serializable {
      * @param senderId      {@link it.unitn.disi.ds1.actor.Actor Sender} id
      * @param transactionId Transaction id
      */
-    public TxnMessage(int senderId, UUID transactionId) {
+    public TxnMessage(int senderId, long transactionId) {
         super(senderId);
         this.transactionId = transactionId;
     }
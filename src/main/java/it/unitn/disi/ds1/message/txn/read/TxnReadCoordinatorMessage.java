@@ -5,7 +5,7 @@ import it.unitn.disi.ds1.etc.Item;
 import it.unitn.disi.ds1.message.txn.TxnMessage;
 import it.unitn.disi.ds1.util.JsonUtil;
 
-import java.util.UUID;
+import java.util.Set;
 
 import java.io.Serializable;
 
@@ -14,24 +14,32 @@ import java.io.Serializable;
  * from {@link it.unitn.disi.ds1.actor.Coordinator} to {@link it.unitn.disi.ds1.actor.DataStore}.
  */
 public final class TxnReadCoordinatorMessage extends TxnMessage implements Serializable {
-    private static final long serialVersionUID = 4166460770428474735L;
+    private static final long serialVersionUID = 1440530349523806572L;
 
     /**
-     * {@link Item} key to read.
+     * {@link Item} key(s) to read, all stored by the {@link it.unitn.disi.ds1.actor.DataStore}.
      */
     @Expose
-    public final int key;
+    public final Set<Integer> keys;
+
+    /**
+     * Transaction read timestamp.
+     */
+    @Expose
+    public final long readTimestamp;
 
     /**
      * Construct a new TxnReadCoordinatorMessage class.
      *
      * @param coordinatorId {@link it.unitn.disi.ds1.actor.Coordinator} id
      * @param transactionId Transaction id
-     * @param key           Item key to read
+     * @param keys          Item key(s) to read
+     * @param readTimestamp Transaction read timestamp
      */
-    public TxnReadCoordinatorMessage(int coordinatorId, UUID transactionId, int key) {
+    public TxnReadCoordinatorMessage(int coordinatorId, long transactionId, Set<Integer> keys, long readTimestamp) {
         super(coordinatorId, transactionId);
-        this.key = key;
+        this.keys = Set.copyOf(keys);
+        this.readTimestamp = readTimestamp;
     }
 
     @Override
@@ -2,33 +2,35 @@ package it.unitn.disi.ds1.message.txn.read;
 
 import com.google.gson.annotations.Expose;
 import it.unitn.disi.ds1.etc.Item;
-import it.unitn.disi.ds1.message.Message;
+import it.unitn.disi.ds1.message.txn.TxnMessage;
 import it.unitn.disi.ds1.util.JsonUtil;
 
 import java.io.Serializable;
+import java.util.Set;
 
 /**
  * Read message
  * from {@link it.unitn.disi.ds1.actor.Client} to {@link it.unitn.disi.ds1.actor.Coordinator}.
  */
-public final class TxnReadMessage extends Message implements Serializable {
-    private static final long serialVersionUID = 278859909154339067L;
+public final class TxnReadMessage extends TxnMessage implements Serializable {
+    private static final long serialVersionUID = -8622283660449058605L;
 
     /**
-     * {@link Item} key to read.
+     * {@link Item} key(s) to read.
      */
     @Expose
-    public final int key;
+    public final Set<Integer> keys;
 
     /**
      * Construct a new TxnReadMessage class.
      *
-     * @param clientId Client id
-     * @param key      Item key to read
+     * @param clientId      Client id
+     * @param transactionId Transaction id
+     * @param keys          Item key(s) to read
      */
-    public TxnReadMessage(int clientId, int key) {
-        super(clientId);
-        this.key = key;
+    public TxnReadMessage(int clientId, long transactionId, Set<Integer> keys) {
+        super(clientId, transactionId);
+        this.keys = Set.copyOf(keys);
     }
 
     @Override
@@ -5,42 +5,34 @@ import it.unitn.disi.ds1.etc.Item;
 import it.unitn.disi.ds1.message.txn.TxnMessage;
 import it.unitn.disi.ds1.util.JsonUtil;
 
-import java.util.UUID;
+import java.util.Map;
 
 import java.io.Serializable;
 
 /**
  * Reply message to {@link TxnReadCoordinatorMessage}
  * from {@link it.unitn.disi.ds1.actor.DataStore} to {@link it.unitn.disi.ds1.actor.Coordinator}
- * having the value of the corresponding key of the {@link Item}.
+ * having the value(s) of the corresponding key(s) of the {@link Item Item(s)}.
  */
 public final class TxnReadResultCoordinatorMessage extends TxnMessage implements Serializable {
-    private static final long serialVersionUID = 2418188472950018347L;
+    private static final long serialVersionUID = 5969161179476892218L;
 
     /**
-     * {@link Item} key.
+     * {@link Item} value(s) by key.
      */
     @Expose
-    public final int key;
-
-    /**
-     * {@link Item} value.
-     */
-    @Expose
-    public final int value;
+    public final Map<Integer, Integer> values;
 
     /**
      * Construct a new TxnReadResultCoordinatorMessage class.
      *
      * @param dataStoreId   DataStore id
      * @param transactionId Transaction id
-     * @param key           Item key
-     * @param value         Item value
+     * @param values        Item value(s) by key
      */
-    public TxnReadResultCoordinatorMessage(int dataStoreId, UUID transactionId, int key, int value) {
+    public TxnReadResultCoordinatorMessage(int dataStoreId, long transactionId, Map<Integer, Integer> values) {
         super(dataStoreId, transactionId);
-        this.key = key;
-        this.value = value;
+        this.values = Map.copyOf(values);
     }
 
     @Override
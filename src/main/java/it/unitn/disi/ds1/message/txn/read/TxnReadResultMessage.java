@@ -2,42 +2,36 @@ package it.unitn.disi.ds1.message.txn.read;
 
 import com.google.gson.annotations.Expose;
 import it.unitn.disi.ds1.etc.Item;
-import it.unitn.disi.ds1.message.Message;
+import it.unitn.disi.ds1.message.txn.TxnMessage;
 import it.unitn.disi.ds1.util.JsonUtil;
 
 import java.io.Serializable;
+import java.util.Map;
 
 /**
  * Reply message to {@link TxnReadMessage}
  * from {@link it.unitn.disi.ds1.actor.Coordinator} to {@link it.unitn.disi.ds1.actor.Client}
- * having the value of the corresponding key of the {@link Item}.
+ * having the value(s) of all the requested key(s) of the {@link Item Item(s)}, combined from the {@link it.unitn.disi.ds1.actor.DataStore DataStore(s)}.
  */
-public final class TxnReadResultMessage extends Message implements Serializable {
-    private static final long serialVersionUID = 6073342617515584698L;
+public final class TxnReadResultMessage extends TxnMessage implements Serializable {
+    private static final long serialVersionUID = 5729905302485727685L;
 
     /**
-     * {@link Item} key.
+     * {@link Item} value(s) by key.
      */
     @Expose
-    public final int key;
-
-    /**
-     * Item value.
-     */
-    @Expose
-    public final int value;
+    public final Map<Integer, Integer> values;
 
     /**
      * Construct a new TxnReadResultMessage class.
      *
      * @param coordinatorId {@link it.unitn.disi.ds1.actor.Coordinator} id
-     * @param key           Item key
-     * @param value         Item value
+     * @param transactionId Transaction id
+     * @param values        Item value(s) by key
      */
-    public TxnReadResultMessage(int coordinatorId, int key, int value) {
-        super(coordinatorId);
-        this.key = key;
-        this.value = value;
+    public TxnReadResultMessage(int coordinatorId, long transactionId, Map<Integer, Integer> values) {
+        super(coordinatorId, transactionId);
+        this.values = Map.copyOf(values);
     }
 
     @Override
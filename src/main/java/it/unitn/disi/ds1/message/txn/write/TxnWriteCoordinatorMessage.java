@@ -5,7 +5,7 @@ import it.unitn.disi.ds1.etc.Item;
 import it.unitn.disi.ds1.message.txn.TxnMessage;
 import it.unitn.disi.ds1.util.JsonUtil;
 
-import java.util.UUID;
+import java.util.Map;
 
 import java.io.Serializable;
 
@@ -14,32 +14,32 @@ import java.io.Serializable;
  * from {@link it.unitn.disi.ds1.actor.Coordinator} to {@link it.unitn.disi.ds1.actor.DataStore}.
  */
 public final class TxnWriteCoordinatorMessage extends TxnMessage implements Serializable {
-    private static final long serialVersionUID = -4823398098700891377L;
+    private static final long serialVersionUID = -7819771264210769085L;
 
     /**
-     * {@link Item} key to write.
+     * New {@link Item} value(s) to write by key, all stored by the {@link it.unitn.disi.ds1.actor.DataStore}.
      */
     @Expose
-    public final int key;
+    public final Map<Integer, Integer> values;
 
     /**
-     * New {@link Item} value to write.
+     * Transaction read timestamp.
      */
     @Expose
-    public final int value;
+    public final long readTimestamp;
 
     /**
      * Construct a new TxnWriteCoordinatorMessage class.
      *
      * @param coordinatorId Coordinator id
      * @param transactionId Transaction id
-     * @param key           Item key to write
-     * @param value         Item new value to write
+     * @param values        Item new value(s) to write by key
+     * @param readTimestamp Transaction read timestamp
      */
-    public TxnWriteCoordinatorMessage(int coordinatorId, UUID transactionId, int key, int value) {
+    public TxnWriteCoordinatorMessage(int coordinatorId, long transactionId, Map<Integer, Integer> values, long readTimestamp) {
         super(coordinatorId, transactionId);
-        this.key = key;
-        this.value = value;
+        this.values = Map.copyOf(values);
+        this.readTimestamp = readTimestamp;
     }
 
     @Override
@@ -2,41 +2,35 @@ package it.unitn.disi.ds1.message.txn.write;
 
 import com.google.gson.annotations.Expose;
 import it.unitn.disi.ds1.etc.Item;
-import it.unitn.disi.ds1.message.Message;
+import it.unitn.disi.ds1.message.txn.TxnMessage;
 import it.unitn.disi.ds1.util.JsonUtil;
 
 import java.io.Serializable;
+import java.util.Map;
 
 /**
  * Write message
  * from {@link it.unitn.disi.ds1.actor.Client} to {@link it.unitn.disi.ds1.actor.Coordinator}.
  */
-public final class TxnWriteMessage extends Message implements Serializable {
-    private static final long serialVersionUID = 8248714506636891726L;
+public final class TxnWriteMessage extends TxnMessage implements Serializable {
+    private static final long serialVersionUID = 381282419020311609L;
 
     /**
-     * {@link Item} key to write.
+     * New {@link Item} value(s) to write by key.
      */
     @Expose
-    public final int key;
-
-    /**
-     * New {@link Item} value to write.
-     */
-    @Expose
-    public final int value;
+    public final Map<Integer, Integer> values;
 
     /**
      * Construct a new TxnWriteMessage class.
      *
      * @param clientId      Client id
-     * @param key           Item key to write
-     * @param value         Item new value to write
+     * @param transactionId Transaction id
+     * @param values        Item new value(s) to write by key
      */
-    public TxnWriteMessage(int clientId, int key, int value) {
-        super(clientId);
-        this.key = key;
-        this.value = value;
+    public TxnWriteMessage(int clientId, long transactionId, Map<Integer, Integer> values) {
+        super(clientId, transactionId);
+        this.values = Map.copyOf(values);
     }
 
     @Override
@@ -0,0 +1,23 @@
+package it.unitn.disi.ds1.message.wal;
+
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Serializable;
+
+/**
+ * Message for {@link it.unitn.disi.ds1.actor.DataStore}
+ * to begin or continue a checkpoint of its storage.
+ */
+public final class CheckpointMessage implements Serializable {
+    private static final long serialVersionUID = 2791540313476380817L;
+
+    /**
+     * Construct a new CheckpointMessage class.
+     */
+    public CheckpointMessage() { }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
@@ -0,0 +1,23 @@
+package it.unitn.disi.ds1.message.wal;
+
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Serializable;
+
+/**
+ * Message for {@link it.unitn.disi.ds1.actor.DataStore}
+ * informing that the group commit deadline of the Write-Ahead Log is expired.
+ */
+public final class WalFlushMessage implements Serializable {
+    private static final long serialVersionUID = -3160466853870962416L;
+
+    /**
+     * Construct a new WalFlushMessage class.
+     */
+    public WalFlushMessage() { }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
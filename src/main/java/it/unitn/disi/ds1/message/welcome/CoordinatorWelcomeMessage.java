@@ -20,13 +20,21 @@ public final class CoordinatorWelcomeMessage implements Serializable {
     @Expose
     public final List<ActorMetadata> dataStores;
 
+    /**
+     * Available {@link it.unitn.disi.ds1.actor.Coordinator Coordinator(s)}, itself included.
+     */
+    @Expose
+    public final List<ActorMetadata> coordinators;
+
     /**
      * Construct a new CoordinatorWelcomeMessage class.
      *
-     * @param dataStores {@link it.unitn.disi.ds1.actor.DataStore DataStore(s)} metadata
+     * @param dataStores   {@link it.unitn.disi.ds1.actor.DataStore DataStore(s)} metadata
+     * @param coordinators {@link it.unitn.disi.ds1.actor.Coordinator Coordinator(s)} metadata
      */
-    public CoordinatorWelcomeMessage(List<ActorMetadata> dataStores) {
+    public CoordinatorWelcomeMessage(List<ActorMetadata> dataStores, List<ActorMetadata> coordinators) {
         this.dataStores = List.copyOf(dataStores);
+        this.coordinators = List.copyOf(coordinators);
     }
 
     @Override
@@ -20,13 +20,21 @@ public final class DataStoreWelcomeMessage implements Serializable {
     @Expose
     public final List<ActorMetadata> dataStores;
 
+    /**
+     * Available {@link it.unitn.disi.ds1.actor.Coordinator Coordinator(s)}.
+     */
+    @Expose
+    public final List<ActorMetadata> coordinators;
+
     /**
      * Construct a new DataStoreWelcomeMessage class.
      *
-     * @param dataStores {@link it.unitn.disi.ds1.actor.DataStore DataStore(s)} metadata.
+     * @param dataStores   {@link it.unitn.disi.ds1.actor.DataStore DataStore(s)} metadata
+     * @param coordinators {@link it.unitn.disi.ds1.actor.Coordinator Coordinator(s)} metadata
      */
-    public DataStoreWelcomeMessage(List<ActorMetadata> dataStores) {
+    public DataStoreWelcomeMessage(List<ActorMetadata> dataStores, List<ActorMetadata> coordinators) {
         this.dataStores = List.copyOf(dataStores);
+        this.coordinators = List.copyOf(coordinators);
     }
 
     @Override
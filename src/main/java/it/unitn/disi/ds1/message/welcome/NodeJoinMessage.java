@@ -0,0 +1,53 @@
+package it.unitn.disi.ds1.message.welcome;
+
+import com.google.gson.annotations.Expose;
+import it.unitn.disi.ds1.Config;
+import it.unitn.disi.ds1.etc.ActorMetadata;
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Node join message, sent by a node to the {@link it.unitn.disi.ds1.actor.Registry Registry} of the seed node
+ * with the actor(s) it hosts.
+ */
+public final class NodeJoinMessage implements Serializable {
+    private static final long serialVersionUID = 3620417788263517093L;
+
+    /**
+     * {@link Config.Role Role} of the node.
+     */
+    @Expose
+    public final Config.Role role;
+
+    /**
+     * Index of the node among the node(s) with the same role.
+     */
+    @Expose
+    public final int nodeIndex;
+
+    /**
+     * Hosted actor(s).
+     */
+    @Expose
+    public final List<ActorMetadata> actors;
+
+    /**
+     * Construct a new NodeJoinMessage class.
+     *
+     * @param role      {@link Config.Role Role} of the node
+     * @param nodeIndex Index of the node among the node(s) with the same role
+     * @param actors    Hosted actor(s) metadata
+     */
+    public NodeJoinMessage(Config.Role role, int nodeIndex, List<ActorMetadata> actors) {
+        this.role = role;
+        this.nodeIndex = nodeIndex;
+        this.actors = List.copyOf(actors);
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
@@ -0,0 +1,38 @@
+package it.unitn.disi.ds1.message.workload;
+
+import com.google.gson.annotations.Expose;
+import it.unitn.disi.ds1.message.Message;
+import it.unitn.disi.ds1.util.JsonUtil;
+import it.unitn.disi.ds1.workload.WorkloadReport;
+
+import java.io.Serializable;
+
+/**
+ * Reply message to {@link WorkloadReportRequestMessage}
+ * from {@link it.unitn.disi.ds1.actor.Client} having its {@link WorkloadReport} of the run.
+ */
+public final class WorkloadReportMessage extends Message implements Serializable {
+    private static final long serialVersionUID = 7325830410398617458L;
+
+    /**
+     * {@link WorkloadReport} of the run.
+     */
+    @Expose
+    public final WorkloadReport report;
+
+    /**
+     * Construct a new WorkloadReportMessage class.
+     *
+     * @param clientId Client id
+     * @param report   WorkloadReport of the run
+     */
+    public WorkloadReportMessage(int clientId, WorkloadReport report) {
+        super(clientId);
+        this.report = report;
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
@@ -0,0 +1,35 @@
+package it.unitn.disi.ds1.message.workload;
+
+import com.google.gson.annotations.Expose;
+import it.unitn.disi.ds1.message.Message;
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Serializable;
+
+/**
+ * Message asking a {@link it.unitn.disi.ds1.actor.Client} the {@link it.unitn.disi.ds1.workload.WorkloadReport} of the run.
+ */
+public final class WorkloadReportRequestMessage extends Message implements Serializable {
+    private static final long serialVersionUID = -5541839617205366571L;
+
+    /**
+     * The {@link it.unitn.disi.ds1.actor.Client} starts a new report afterwards.
+     */
+    @Expose
+    public final boolean reset;
+
+    /**
+     * Construct a new WorkloadReportRequestMessage class.
+     *
+     * @param reset The Client starts a new report afterwards
+     */
+    public WorkloadReportRequestMessage(boolean reset) {
+        super(NO_SENDER_ID);
+        this.reset = reset;
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
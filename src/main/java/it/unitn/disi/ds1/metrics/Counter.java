@@ -0,0 +1,43 @@
+package it.unitn.disi.ds1.metrics;
+
+/**
+ * Event of a transaction that is counted.
+ */
+public enum Counter {
+    /**
+     * Transaction begun by a {@link it.unitn.disi.ds1.actor.Coordinator}.
+     */
+    TRANSACTIONS_BEGUN,
+    /**
+     * Read-only vote requested again by a {@link it.unitn.disi.ds1.actor.Coordinator} at the commit timestamp.
+     */
+    READ_ONLY_REVOTES,
+    /**
+     * Final decision retransmitted by a {@link it.unitn.disi.ds1.actor.Coordinator} to DataStore(s) not acknowledging it.
+     */
+    DECISION_RETRANSMISSIONS,
+    /**
+     * Vote deferred by a {@link it.unitn.disi.ds1.actor.DataStore} waiting for lock(s).
+     */
+    LOCK_WAITS,
+    /**
+     * Message sent by a {@link it.unitn.disi.ds1.actor.Coordinator} or DataStore, a batch counted once.
+     */
+    MESSAGES_SENT,
+    /**
+     * 2PC message sent by a {@link it.unitn.disi.ds1.actor.Coordinator} or DataStore, alone or within a batch.
+     */
+    TWOPC_MESSAGES,
+    /**
+     * Send of 2PC message(s), alone or as a batch.
+     */
+    TWOPC_SENDS,
+    /**
+     * Global snapshot completed with a VALID balance by the initiator {@link it.unitn.disi.ds1.actor.Coordinator}.
+     */
+    GLOBAL_SNAPSHOTS_VALID,
+    /**
+     * Global snapshot completed with an INVALID balance by the initiator {@link it.unitn.disi.ds1.actor.Coordinator}.
+     */
+    GLOBAL_SNAPSHOTS_INVALID
+}
@@ -0,0 +1,37 @@
+package it.unitn.disi.ds1.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter of the event(s) of a {@link Counter}, incremented concurrently by any actor.
+ */
+public final class EventCounter implements EventCounterMXBean {
+    /**
+     * Number of event(s).
+     */
+    private final LongAdder count;
+
+    /**
+     * Construct a new EventCounter class.
+     */
+    public EventCounter() {
+        this.count = new LongAdder();
+    }
+
+    /**
+     * Count an event.
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public void reset() {
+        count.reset();
+    }
+}
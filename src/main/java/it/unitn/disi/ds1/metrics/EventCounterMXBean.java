@@ -0,0 +1,18 @@
+package it.unitn.disi.ds1.metrics;
+
+/**
+ * JMX view of an {@link EventCounter}.
+ */
+public interface EventCounterMXBean {
+    /**
+     * Return the number of event(s) since the start or the last reset.
+     *
+     * @return Number of event(s)
+     */
+    long getCount();
+
+    /**
+     * Discard the counted event(s).
+     */
+    void reset();
+}
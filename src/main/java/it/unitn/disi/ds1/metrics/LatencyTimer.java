@@ -0,0 +1,124 @@
+package it.unitn.disi.ds1.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of a {@link Phase} and {@link Outcome}, recorded in an HDR {@link Recorder} (us) with 3 significant digit(s).
+ * The Recorder has a fixed range so that recording, concurrently by any actor, never allocates:
+ * a latency over {@link #HIGHEST_TRACKABLE_US} is recorded as the highest trackable one.
+ * Reader(s) move the recorded interval to the accumulated histogram.
+ */
+public final class LatencyTimer implements LatencyTimerMXBean {
+    /**
+     * Highest trackable latency (us).
+     */
+    public static final long HIGHEST_TRACKABLE_US = TimeUnit.MINUTES.toMicros(10);
+
+    /**
+     * Number of significant digit(s) of the latency histogram.
+     */
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    /**
+     * Recorder of the latencies (us) of the current interval.
+     */
+    private final Recorder recorder;
+
+    /**
+     * Latencies (us) recorded in the previous interval(s).
+     */
+    private final Histogram accumulated;
+
+    /**
+     * Latest interval histogram, recycled by the {@link #recorder}.
+     */
+    private Histogram interval;
+
+    /**
+     * Construct a new LatencyTimer class.
+     */
+    public LatencyTimer() {
+        this.recorder = new Recorder(1, HIGHEST_TRACKABLE_US, SIGNIFICANT_DIGITS);
+        this.accumulated = new Histogram(1, HIGHEST_TRACKABLE_US, SIGNIFICANT_DIGITS);
+        this.interval = null;
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos Latency (ns)
+     */
+    public void record(long nanos) {
+        recorder.recordValue(Math.min(Math.max(nanos / 1000L, 0L), HIGHEST_TRACKABLE_US));
+    }
+
+    /**
+     * Return the latencies (us) recorded so far.
+     * The returned histogram is owned by the LatencyTimer and must be read while holding its lock.
+     *
+     * @return Accumulated histogram
+     */
+    private Histogram snapshot() {
+        interval = recorder.getIntervalHistogram(interval);
+        accumulated.add(interval);
+        return accumulated;
+    }
+
+    @Override
+    public synchronized long getCount() {
+        return snapshot().getTotalCount();
+    }
+
+    @Override
+    public synchronized double getMeanMs() {
+        return snapshot().getMean() / 1000.0;
+    }
+
+    @Override
+    public synchronized double getP50Ms() {
+        return snapshot().getValueAtPercentile(50.0) / 1000.0;
+    }
+
+    @Override
+    public synchronized double getP90Ms() {
+        return snapshot().getValueAtPercentile(90.0) / 1000.0;
+    }
+
+    @Override
+    public synchronized double getP99Ms() {
+        return snapshot().getValueAtPercentile(99.0) / 1000.0;
+    }
+
+    @Override
+    public synchronized double getP999Ms() {
+        return snapshot().getValueAtPercentile(99.9) / 1000.0;
+    }
+
+    @Override
+    public synchronized double getMaxMs() {
+        return snapshot().getMaxValue() / 1000.0;
+    }
+
+    @Override
+    public synchronized void reset() {
+        snapshot().reset();
+    }
+
+    /**
+     * Return a one-line summary of the recorded latencies.
+     *
+     * @return Summary
+     */
+    public synchronized String summary() {
+        final Histogram histogram = snapshot();
+        return String.format("count=%d p50=%.3fms p99=%.3fms p999=%.3fms max=%.3fms",
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50.0) / 1000.0,
+                histogram.getValueAtPercentile(99.0) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+}
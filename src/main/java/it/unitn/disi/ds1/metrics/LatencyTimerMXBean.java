@@ -0,0 +1,61 @@
+package it.unitn.disi.ds1.metrics;
+
+/**
+ * JMX view of a {@link LatencyTimer}.
+ * Latencies are in ms, read from the value(s) recorded since the start or the last reset.
+ */
+public interface LatencyTimerMXBean {
+    /**
+     * Return the number of recorded value(s).
+     *
+     * @return Number of value(s)
+     */
+    long getCount();
+
+    /**
+     * Return the mean latency.
+     *
+     * @return Mean (ms)
+     */
+    double getMeanMs();
+
+    /**
+     * Return the median latency.
+     *
+     * @return 50th percentile (ms)
+     */
+    double getP50Ms();
+
+    /**
+     * Return the 90th percentile latency.
+     *
+     * @return 90th percentile (ms)
+     */
+    double getP90Ms();
+
+    /**
+     * Return the 99th percentile latency.
+     *
+     * @return 99th percentile (ms)
+     */
+    double getP99Ms();
+
+    /**
+     * Return the 99.9th percentile latency.
+     *
+     * @return 99.9th percentile (ms)
+     */
+    double getP999Ms();
+
+    /**
+     * Return the maximum latency.
+     *
+     * @return Maximum (ms)
+     */
+    double getMaxMs();
+
+    /**
+     * Discard the recorded value(s).
+     */
+    void reset();
+}
@@ -0,0 +1,148 @@
+package it.unitn.disi.ds1.metrics;
+
+import it.unitn.disi.ds1.Config;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Registry of the transaction {@link LatencyTimer latency timer(s)}, one per {@link Phase} and {@link Outcome},
+ * and {@link EventCounter event counter(s)}, one per {@link Counter}, shared by all the actor(s) of the JVM.
+ * Timer(s) and counter(s) are created once, recording is an array lookup and never allocates.
+ * All of them are exported as MXBean(s) in the {@link #DOMAIN} JMX domain.
+ */
+public final class Metrics {
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(Metrics.class);
+
+    /**
+     * JMX domain.
+     */
+    public static final String DOMAIN = "it.unitn.disi.ds1";
+
+    /**
+     * {@link LatencyTimer Latency timer(s)} indexed by {@link Phase} and {@link Outcome} ordinal(s),
+     * null if the Phase is not broken down by the Outcome.
+     */
+    private static final LatencyTimer[][] TIMERS = new LatencyTimer[Phase.values().length][Outcome.values().length];
+
+    /**
+     * {@link EventCounter Event counter(s)} indexed by {@link Counter} ordinal.
+     */
+    private static final EventCounter[] COUNTERS = new EventCounter[Counter.values().length];
+
+    static {
+        for (final Phase phase : Phase.values())
+            for (final Outcome outcome : phase.outcomes) TIMERS[phase.ordinal()][outcome.ordinal()] = new LatencyTimer();
+        for (final Counter counter : Counter.values()) COUNTERS[counter.ordinal()] = new EventCounter();
+    }
+
+    /**
+     * Construct a new Metrics class.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Record the latency of a {@link Phase} of a transaction with the given {@link Outcome}.
+     * No-op if metrics are disabled.
+     *
+     * @param phase   Phase
+     * @param outcome Outcome
+     * @param nanos   Latency (ns)
+     */
+    public static void record(Phase phase, Outcome outcome, long nanos) {
+        if (Config.METRICS_ENABLED) timer(phase, outcome).record(nanos);
+    }
+
+    /**
+     * Count an event.
+     * No-op if metrics are disabled.
+     *
+     * @param counter Counter
+     */
+    public static void increment(Counter counter) {
+        if (Config.METRICS_ENABLED) COUNTERS[counter.ordinal()].increment();
+    }
+
+    /**
+     * Return the {@link LatencyTimer} of a {@link Phase} and {@link Outcome}.
+     *
+     * @param phase   Phase
+     * @param outcome Outcome
+     * @return LatencyTimer instance
+     */
+    public static LatencyTimer timer(Phase phase, Outcome outcome) {
+        final LatencyTimer timer = TIMERS[phase.ordinal()][outcome.ordinal()];
+        if (timer == null)
+            throw new IllegalArgumentException(String.format("Phase %s is not broken down by outcome %s", phase, outcome));
+        return timer;
+    }
+
+    /**
+     * Return the {@link EventCounter} of a {@link Counter}.
+     *
+     * @param counter Counter
+     * @return EventCounter instance
+     */
+    public static EventCounter counter(Counter counter) {
+        return COUNTERS[counter.ordinal()];
+    }
+
+    /**
+     * Discard all the recorded latencies and counted event(s).
+     */
+    public static void reset() {
+        for (final Phase phase : Phase.values())
+            for (final Outcome outcome : phase.outcomes) timer(phase, outcome).reset();
+        for (final EventCounter counter : COUNTERS) counter.reset();
+    }
+
+    /**
+     * Register all the timer(s) and counter(s) in the platform {@link MBeanServer}, if not registered yet.
+     * Timer(s) are named {@code DOMAIN:type=Latency,phase=PHASE,outcome=OUTCOME}
+     * and counter(s) {@code DOMAIN:type=Counter,name=COUNTER}.
+     */
+    public static synchronized void registerMBeans() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            for (final Phase phase : Phase.values()) {
+                for (final Outcome outcome : phase.outcomes) {
+                    final ObjectName name = new ObjectName(String.format("%s:type=Latency,phase=%s,outcome=%s", DOMAIN, phase, outcome));
+                    if (!server.isRegistered(name)) server.registerMBean(timer(phase, outcome), name);
+                }
+            }
+            for (final Counter counter : Counter.values()) {
+                final ObjectName name = new ObjectName(String.format("%s:type=Counter,name=%s", DOMAIN, counter));
+                if (!server.isRegistered(name)) server.registerMBean(counter(counter), name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException(String.format("Unable to register metrics MXBean(s): %s", e.getMessage()), e);
+        }
+
+        LOGGER.debug("Metrics MXBean(s) registered in JMX domain {}", DOMAIN);
+    }
+
+    /**
+     * Log a summary of every timer and counter with at least a value.
+     */
+    public static void log() {
+        for (final Phase phase : Phase.values()) {
+            for (final Outcome outcome : phase.outcomes) {
+                final LatencyTimer timer = timer(phase, outcome);
+                if (timer.getCount() > 0) LOGGER.info("Latency {} {}: {}", phase, outcome, timer.summary());
+            }
+        }
+        for (final Counter counter : Counter.values()) {
+            final long count = counter(counter).getCount();
+            if (count > 0) LOGGER.info("Counter {}: {}", counter, count);
+        }
+    }
+}
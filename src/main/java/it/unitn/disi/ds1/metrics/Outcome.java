@@ -0,0 +1,44 @@
+package it.unitn.disi.ds1.metrics;
+
+import it.unitn.disi.ds1.etc.Decision;
+
+/**
+ * Outcome of the transaction a {@link Phase} latency is recorded for.
+ */
+public enum Outcome {
+    /**
+     * Committed, or voted to commit.
+     */
+    COMMIT,
+    /**
+     * Aborted, or voted to abort.
+     */
+    ABORT,
+    /**
+     * Voted read-only.
+     */
+    READ_ONLY,
+    /**
+     * Any outcome, the phase ends before the transaction is decided.
+     */
+    ANY;
+
+    /**
+     * Return the {@link Outcome} of a {@link Decision}.
+     *
+     * @param decision Decision
+     * @return Outcome instance
+     */
+    public static Outcome of(Decision decision) {
+        switch (decision) {
+            case COMMIT:
+                return COMMIT;
+            case ABORT:
+                return ABORT;
+            case READ_ONLY:
+                return READ_ONLY;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown decision %s", decision));
+        }
+    }
+}
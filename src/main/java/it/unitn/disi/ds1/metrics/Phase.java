@@ -0,0 +1,51 @@
+package it.unitn.disi.ds1.metrics;
+
+import java.util.List;
+
+/**
+ * Phase of a transaction whose latency is recorded, with the {@link Outcome Outcome(s)} it is broken down by.
+ */
+public enum Phase {
+    /**
+     * From the begin of the transaction to the reply of its first read, recorded by the {@link it.unitn.disi.ds1.actor.Coordinator}.
+     */
+    BEGIN_TO_FIRST_READ(Outcome.COMMIT, Outcome.ABORT),
+    /**
+     * From a read request of the Client to its reply, all DataStore(s) involved, recorded by the {@link it.unitn.disi.ds1.actor.Coordinator}.
+     */
+    READ_ROUND_TRIP(Outcome.ANY),
+    /**
+     * From the vote request(s) to the final decision, recorded by the {@link it.unitn.disi.ds1.actor.Coordinator}.
+     */
+    VOTE(Outcome.COMMIT, Outcome.ABORT),
+    /**
+     * From the final decision to its acknowledgement by all the DataStore(s) involved, recorded by the {@link it.unitn.disi.ds1.actor.Coordinator}.
+     */
+    DECISION_FAN_OUT(Outcome.COMMIT, Outcome.ABORT),
+    /**
+     * From the begin of the transaction to its final decision, recorded by the {@link it.unitn.disi.ds1.actor.Coordinator}.
+     */
+    END_TO_END(Outcome.COMMIT, Outcome.ABORT),
+    /**
+     * From a vote request to the vote, validation and lock wait(s) included, recorded by the {@link it.unitn.disi.ds1.actor.DataStore}.
+     */
+    DATA_STORE_VOTE(Outcome.COMMIT, Outcome.ABORT, Outcome.READ_ONLY),
+    /**
+     * From a COMMIT vote to the final decision, the lock(s) being held, recorded by the {@link it.unitn.disi.ds1.actor.DataStore}.
+     */
+    DATA_STORE_PREPARED(Outcome.COMMIT, Outcome.ABORT);
+
+    /**
+     * {@link Outcome Outcome(s)} the latency is broken down by.
+     */
+    public final List<Outcome> outcomes;
+
+    /**
+     * Construct a new Phase class.
+     *
+     * @param outcomes {@link Outcome Outcome(s)} the latency is broken down by
+     */
+    Phase(Outcome... outcomes) {
+        this.outcomes = List.of(outcomes);
+    }
+}
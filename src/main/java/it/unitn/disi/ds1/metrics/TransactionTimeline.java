@@ -0,0 +1,110 @@
+package it.unitn.disi.ds1.metrics;
+
+/**
+ * Time (ns) of the phase boundaries of a transaction at its {@link it.unitn.disi.ds1.actor.Coordinator},
+ * from which the latency of each {@link Phase} is recorded in {@link Metrics}.
+ * A boundary not reached yet is -1.
+ * A timeline is reused by a new transaction with {@link #begin(long)}, so that recording allocates nothing.
+ */
+public final class TransactionTimeline {
+    /**
+     * Time the transaction has begun.
+     */
+    private long begunAt;
+
+    /**
+     * Time the first read has been replied.
+     */
+    private long firstReadAt;
+
+    /**
+     * Time the pending read has been requested.
+     */
+    private long readAt;
+
+    /**
+     * Time the vote(s) have been requested.
+     */
+    private long voteAt;
+
+    /**
+     * Time the final decision has been taken.
+     */
+    private long decidedAt;
+
+    /**
+     * Construct a new TransactionTimeline class.
+     *
+     * @param begunAt Time (ns) the transaction has begun
+     */
+    public TransactionTimeline(long begunAt) {
+        begin(begunAt);
+    }
+
+    /**
+     * A transaction has begun, every other boundary is not reached yet.
+     *
+     * @param now Current time (ns)
+     */
+    public void begin(long now) {
+        this.begunAt = now;
+        this.firstReadAt = -1;
+        this.readAt = -1;
+        this.voteAt = -1;
+        this.decidedAt = -1;
+    }
+
+    /**
+     * A read has been requested.
+     *
+     * @param now Current time (ns)
+     */
+    public void read(long now) {
+        readAt = now;
+    }
+
+    /**
+     * The pending read has been replied, record its {@link Phase#READ_ROUND_TRIP}.
+     *
+     * @param now Current time (ns)
+     */
+    public void readReplied(long now) {
+        if (readAt < 0) return;
+        Metrics.record(Phase.READ_ROUND_TRIP, Outcome.ANY, now - readAt);
+        if (firstReadAt < 0) firstReadAt = now;
+        readAt = -1;
+    }
+
+    /**
+     * The vote(s) have been requested.
+     *
+     * @param now Current time (ns)
+     */
+    public void vote(long now) {
+        voteAt = now;
+    }
+
+    /**
+     * The final decision has been taken,
+     * record {@link Phase#BEGIN_TO_FIRST_READ}, {@link Phase#VOTE} and {@link Phase#END_TO_END} of the reached boundaries.
+     *
+     * @param now     Current time (ns)
+     * @param outcome Final {@link Outcome}
+     */
+    public void decided(long now, Outcome outcome) {
+        decidedAt = now;
+        if (firstReadAt >= 0) Metrics.record(Phase.BEGIN_TO_FIRST_READ, outcome, firstReadAt - begunAt);
+        if (voteAt >= 0) Metrics.record(Phase.VOTE, outcome, now - voteAt);
+        Metrics.record(Phase.END_TO_END, outcome, now - begunAt);
+    }
+
+    /**
+     * All the DataStore(s) have acknowledged the final decision, record its {@link Phase#DECISION_FAN_OUT}.
+     *
+     * @param now     Current time (ns)
+     * @param outcome Final {@link Outcome}
+     */
+    public void acknowledged(long now, Outcome outcome) {
+        if (decidedAt >= 0) Metrics.record(Phase.DECISION_FAN_OUT, outcome, now - decidedAt);
+    }
+}
@@ -0,0 +1,27 @@
+package it.unitn.disi.ds1.network;
+
+import java.util.Random;
+
+/**
+ * {@link Latency} always equal to the mean.
+ */
+public final class ConstantLatency implements Latency {
+    /**
+     * Latency (us).
+     */
+    private final long latency;
+
+    /**
+     * Construct a new ConstantLatency class.
+     *
+     * @param meanMs Latency (ms)
+     */
+    public ConstantLatency(double meanMs) {
+        this.latency = Math.round(meanMs * 1000);
+    }
+
+    @Override
+    public long sample(Random random) {
+        return latency;
+    }
+}
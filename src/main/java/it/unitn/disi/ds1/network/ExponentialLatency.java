@@ -0,0 +1,35 @@
+package it.unitn.disi.ds1.network;
+
+import java.util.Random;
+
+/**
+ * {@link Latency} exponentially distributed above the minimum.
+ * Most message(s) are fast, few are considerably slower than the mean.
+ */
+public final class ExponentialLatency implements Latency {
+    /**
+     * Minimum latency (us).
+     */
+    private final double min;
+
+    /**
+     * Mean latency above the minimum (us).
+     */
+    private final double scale;
+
+    /**
+     * Construct a new ExponentialLatency class.
+     *
+     * @param minMs  Minimum latency (ms)
+     * @param meanMs Mean latency (ms)
+     */
+    public ExponentialLatency(double minMs, double meanMs) {
+        this.min = minMs * 1000;
+        this.scale = (meanMs - minMs) * 1000;
+    }
+
+    @Override
+    public long sample(Random random) {
+        return Math.round(min - scale * Math.log(1 - random.nextDouble()));
+    }
+}
@@ -0,0 +1,45 @@
+package it.unitn.disi.ds1.network;
+
+import it.unitn.disi.ds1.Config;
+
+import java.util.Random;
+
+/**
+ * Latency distribution of a network link between two {@link akka.actor.ActorRef actor(s)}.
+ * Every distribution has a lower bound (minimum) and a mean, both in ms.
+ */
+public interface Latency {
+    /**
+     * Return a new Latency of the given distribution.
+     *
+     * @param distribution Latency distribution
+     * @param minMs        Minimum latency (ms)
+     * @param meanMs       Mean latency (ms)
+     * @return Latency instance
+     */
+    static Latency of(Config.LatencyDistribution distribution, double minMs, double meanMs) {
+        if (minMs < 0 || meanMs < minMs)
+            throw new IllegalArgumentException(String.format("Latency minimum %.3fms and mean %.3fms are not valid", minMs, meanMs));
+
+        switch (distribution) {
+            case CONSTANT:
+                return new ConstantLatency(meanMs);
+            case UNIFORM:
+                return new UniformLatency(minMs, meanMs);
+            case EXPONENTIAL:
+                return new ExponentialLatency(minMs, meanMs);
+            case PARETO:
+                return new ParetoLatency(minMs, meanMs, Config.LATENCY_PARETO_SHAPE);
+            default:
+                throw new IllegalArgumentException(String.format("Unknown latency distribution %s", distribution));
+        }
+    }
+
+    /**
+     * Sample a latency.
+     *
+     * @param random {@link Random} instance
+     * @return Latency (us)
+     */
+    long sample(Random random);
+}
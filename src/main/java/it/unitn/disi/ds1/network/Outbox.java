@@ -0,0 +1,91 @@
+package it.unitn.disi.ds1.network;
+
+import akka.actor.ActorRef;
+import it.unitn.disi.ds1.message.Message;
+import it.unitn.disi.ds1.message.twopc.TwoPcBatchMessage;
+import it.unitn.disi.ds1.message.txn.TxnMessage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coalescing outbox of an {@link it.unitn.disi.ds1.actor.Actor actor}.
+ * The 2PC message(s) towards the same recipient are buffered and sent together as a single {@link TwoPcBatchMessage},
+ * once the buffer is full or at the deadline chosen by the actor.
+ * A buffer is drained before any other message to the same recipient, so that the FIFO order of the link is kept.
+ */
+public final class Outbox {
+    /**
+     * Sender id.
+     */
+    private final int senderId;
+
+    /**
+     * Maximum number of message(s) of a batch.
+     */
+    private final int batchSize;
+
+    /**
+     * Buffered message(s) by recipient, in send order.
+     */
+    private final Map<ActorRef, List<TxnMessage>> buffers;
+
+    /**
+     * Construct a new Outbox class.
+     *
+     * @param senderId  Sender id
+     * @param batchSize Maximum number of message(s) of a batch
+     */
+    public Outbox(int senderId, int batchSize) {
+        this.senderId = senderId;
+        this.batchSize = batchSize;
+        this.buffers = new LinkedHashMap<>();
+    }
+
+    /**
+     * Check if no message is buffered.
+     *
+     * @return True if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return buffers.isEmpty();
+    }
+
+    /**
+     * Buffer the message towards the recipient.
+     *
+     * @param recipient Recipient
+     * @param message   Message
+     * @return True if the buffer of the recipient is full and must be drained, false otherwise
+     */
+    public boolean add(ActorRef recipient, TxnMessage message) {
+        final List<TxnMessage> buffer = buffers.computeIfAbsent(recipient, r -> new ArrayList<>(batchSize));
+        buffer.add(message);
+        return buffer.size() >= batchSize;
+    }
+
+    /**
+     * Remove the message(s) buffered towards the recipient.
+     *
+     * @param recipient Recipient
+     * @return Message to send, the message itself if alone or their {@link TwoPcBatchMessage}, null if none
+     */
+    public Message drain(ActorRef recipient) {
+        final List<TxnMessage> buffer = buffers.remove(recipient);
+        if (buffer == null) return null;
+        return buffer.size() == 1 ? buffer.get(0) : new TwoPcBatchMessage(senderId, buffer);
+    }
+
+    /**
+     * Remove the message(s) buffered towards every recipient.
+     *
+     * @return Message to send by recipient, see {@link #drain(ActorRef)}
+     */
+    public Map<ActorRef, Message> drainAll() {
+        final Map<ActorRef, Message> messages = new LinkedHashMap<>(buffers.size() * 2);
+        for (final ActorRef recipient : List.copyOf(buffers.keySet())) messages.put(recipient, drain(recipient));
+        return messages;
+    }
+}
@@ -0,0 +1,45 @@
+package it.unitn.disi.ds1.network;
+
+import java.util.Random;
+
+/**
+ * {@link Latency} Pareto distributed above the minimum.
+ * Heavy tailed, the lower the shape the more frequent the latency spike(s).
+ */
+public final class ParetoLatency implements Latency {
+    /**
+     * Minimum latency (us).
+     */
+    private final double min;
+
+    /**
+     * Pareto scale (us), the lowest latency above the minimum.
+     */
+    private final double scale;
+
+    /**
+     * Inverse of the Pareto shape.
+     */
+    private final double inverseShape;
+
+    /**
+     * Construct a new ParetoLatency class.
+     *
+     * @param minMs  Minimum latency (ms)
+     * @param meanMs Mean latency (ms)
+     * @param shape  Pareto shape, must be greater than 1 to have a finite mean
+     */
+    public ParetoLatency(double minMs, double meanMs, double shape) {
+        if (shape <= 1)
+            throw new IllegalArgumentException(String.format("ParetoLatency shape %.2f must be greater than 1", shape));
+
+        this.min = minMs * 1000;
+        this.scale = (meanMs - minMs) * 1000 * (shape - 1) / shape;
+        this.inverseShape = 1 / shape;
+    }
+
+    @Override
+    public long sample(Random random) {
+        return Math.round(min + scale / Math.pow(1 - random.nextDouble(), inverseShape));
+    }
+}
@@ -0,0 +1,153 @@
+package it.unitn.disi.ds1.network;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
+import akka.actor.Scheduler;
+import it.unitn.disi.ds1.Config;
+import scala.concurrent.ExecutionContext;
+import scala.concurrent.duration.Duration;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delaying transport of an {@link akka.actor.Actor actor}.
+ * A message is not sent immediately but delivered by the {@link Scheduler} after the latency of its link,
+ * hence the sender never blocks and handler(s) stay fully asynchronous.
+ * Every link (sender, recipient) has its own {@link Latency} distribution and keeps FIFO order, as Akka does.
+ */
+public final class Transport {
+    /**
+     * Network link towards a recipient.
+     */
+    private static final class Link {
+        /**
+         * Recipient.
+         */
+        private final ActorRef recipient;
+
+        /**
+         * Link {@link Latency}.
+         */
+        private final Latency latency;
+
+        /**
+         * Message(s) in flight, in send order.
+         */
+        private final Queue<Object> inFlight;
+
+        /**
+         * Delivery time (ns) of the latest message in flight.
+         */
+        private long lastDeliveryAt;
+
+        /**
+         * Construct a new Link class.
+         *
+         * @param recipient Recipient
+         * @param latency   Link {@link Latency}
+         */
+        private Link(ActorRef recipient, Latency latency) {
+            this.recipient = recipient;
+            this.latency = latency;
+            this.inFlight = new ArrayDeque<>();
+            this.lastDeliveryAt = Long.MIN_VALUE;
+        }
+
+        /**
+         * Deliver the oldest message in flight.
+         * A message is never delivered before the one(s) sent before it, whatever timer fires first.
+         *
+         * @param sender Sender
+         */
+        private synchronized void deliver(ActorRef sender) {
+            recipient.tell(inFlight.poll(), sender);
+        }
+    }
+
+    /**
+     * Sender.
+     */
+    private final ActorRef self;
+
+    /**
+     * {@link Scheduler} delivering the message(s).
+     */
+    private final Scheduler scheduler;
+
+    /**
+     * {@link ExecutionContext} of the delivery task(s), the dispatcher of the sender.
+     */
+    private final ExecutionContext dispatcher;
+
+    /**
+     * {@link Random} instance.
+     */
+    private final Random random;
+
+    /**
+     * {@link Link Link(s)} by recipient.
+     */
+    private final Map<ActorRef, Link> links;
+
+    /**
+     * Construct a new Transport class.
+     *
+     * @param context {@link akka.actor.ActorContext} of the sender
+     */
+    public Transport(AbstractActor.ActorContext context) {
+        this.self = context.getSelf();
+        this.scheduler = context.getSystem().scheduler();
+        this.dispatcher = context.getDispatcher();
+        this.random = new Random();
+        this.links = new HashMap<>();
+    }
+
+    /**
+     * Send the message to the recipient after the latency of the link.
+     *
+     * @param recipient Recipient
+     * @param message   Message to send
+     */
+    public void send(ActorRef recipient, Object message) {
+        final Link link = links.computeIfAbsent(recipient, this::link);
+        final long latency = link.latency.sample(random);
+
+        synchronized (link) {
+            // Nothing in flight and no latency, send directly
+            if (latency <= 0 && link.inFlight.isEmpty()) {
+                recipient.tell(message, self);
+                return;
+            }
+
+            // Never overtake a message in flight
+            final long now = System.nanoTime();
+            final long deliveryAt = Math.max(now + TimeUnit.MICROSECONDS.toNanos(latency), link.lastDeliveryAt);
+            link.lastDeliveryAt = deliveryAt;
+            link.inFlight.add(message);
+
+            scheduler.scheduleOnce(Duration.create(deliveryAt - now, TimeUnit.NANOSECONDS), () -> link.deliver(self), dispatcher);
+        }
+    }
+
+    /**
+     * Create the {@link Link} towards the recipient.
+     * The mean latency of the link is skewed by a factor in [1 - skew, 1 + skew],
+     * fixed for the link so that some link(s) are steadily slower than other(s).
+     *
+     * @param recipient Recipient
+     * @return Link
+     */
+    private Link link(ActorRef recipient) {
+        final Random linkRandom = new Random(Objects.hash(self.path().toString(), recipient.path().toString()));
+        final double factor = 1 + Config.LATENCY_LINK_SKEW * (2 * linkRandom.nextDouble() - 1);
+        final double meanMs = Config.LATENCY_MIN_MS + (Config.LATENCY_MEAN_MS - Config.LATENCY_MIN_MS) * factor;
+
+        return new Link(recipient, Latency.of(Config.LATENCY_DISTRIBUTION, Config.LATENCY_MIN_MS, meanMs));
+    }
+}
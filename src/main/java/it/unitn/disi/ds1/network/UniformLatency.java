@@ -0,0 +1,34 @@
+package it.unitn.disi.ds1.network;
+
+import java.util.Random;
+
+/**
+ * {@link Latency} uniformly distributed in [min, 2 * mean - min].
+ */
+public final class UniformLatency implements Latency {
+    /**
+     * Minimum latency (us).
+     */
+    private final double min;
+
+    /**
+     * Width of the latency range (us).
+     */
+    private final double width;
+
+    /**
+     * Construct a new UniformLatency class.
+     *
+     * @param minMs  Minimum latency (ms)
+     * @param meanMs Mean latency (ms)
+     */
+    public UniformLatency(double minMs, double meanMs) {
+        this.min = minMs * 1000;
+        this.width = 2 * (meanMs - minMs) * 1000;
+    }
+
+    @Override
+    public long sample(Random random) {
+        return Math.round(min + random.nextDouble() * width);
+    }
+}
@@ -0,0 +1,128 @@
+package it.unitn.disi.ds1.partitioner;
+
+import java.util.Arrays;
+
+/**
+ * {@link Partitioner} placing key(s) and {@link it.unitn.disi.ds1.actor.DataStore DataStore(s)}
+ * on a hash ring with virtual node(s).
+ * The ring is walked once at construction to fill an owner and a local index table,
+ * hence routing is a plain array lookup.
+ */
+public final class ConsistentHashingPartitioner implements Partitioner {
+    /**
+     * Number of {@link it.unitn.disi.ds1.actor.DataStore DataStore(s)}.
+     */
+    private final int nDataStores;
+
+    /**
+     * Owner {@link it.unitn.disi.ds1.actor.DataStore} id of every key.
+     */
+    private final int[] owners;
+
+    /**
+     * Local index of every key.
+     */
+    private final int[] localIndexes;
+
+    /**
+     * Key(s) owned by every {@link it.unitn.disi.ds1.actor.DataStore}, ordered by local index.
+     */
+    private final int[][] keys;
+
+    /**
+     * Construct a new ConsistentHashingPartitioner class.
+     *
+     * @param size          Number of key(s)
+     * @param nDataStores   Number of {@link it.unitn.disi.ds1.actor.DataStore DataStore(s)}
+     * @param nVirtualNodes Number of virtual node(s) for every DataStore
+     */
+    public ConsistentHashingPartitioner(int size, int nDataStores, int nVirtualNodes) {
+        if (size <= 0 || nDataStores <= 0 || nVirtualNodes <= 0)
+            throw new IllegalArgumentException(String.format("ConsistentHashingPartitioner is unable to partition %d key(s) among %d DataStore(s) with %d virtual node(s)", size, nDataStores, nVirtualNodes));
+
+        this.nDataStores = nDataStores;
+        this.owners = new int[size];
+        this.localIndexes = new int[size];
+
+        // Build the ring, sorted by hash
+        final int nPoints = nDataStores * nVirtualNodes;
+        final long[] points = new long[nPoints];
+        for (int dataStoreId = 0; dataStoreId < nDataStores; ++dataStoreId) {
+            for (int vNode = 0; vNode < nVirtualNodes; ++vNode) {
+                // Pack hash (high bits) and DataStore id (low bits) so that sorting keeps both together
+                final long hash = mix(((long) dataStoreId << 32) | vNode) & 0xFFFFFFFF00000000L;
+                points[dataStoreId * nVirtualNodes + vNode] = hash | dataStoreId;
+            }
+        }
+        Arrays.sort(points);
+
+        // Assign every key to the first ring point following its hash
+        final int[] counters = new int[nDataStores];
+        for (int key = 0; key < size; ++key) {
+            final long hash = mix(key) & 0xFFFFFFFF00000000L;
+            int index = Arrays.binarySearch(points, hash);
+            if (index < 0) index = -index - 1;
+            if (index == nPoints) index = 0;
+
+            final int owner = (int) (points[index] & 0xFFFFFFFFL);
+            owners[key] = owner;
+            localIndexes[key] = counters[owner]++;
+        }
+
+        // Reverse table
+        this.keys = new int[nDataStores][];
+        for (int dataStoreId = 0; dataStoreId < nDataStores; ++dataStoreId) {
+            keys[dataStoreId] = new int[counters[dataStoreId]];
+        }
+        for (int key = 0; key < size; ++key) {
+            keys[owners[key]][localIndexes[key]] = key;
+        }
+    }
+
+    /**
+     * Mix the bits of the value (SplitMix64 finalizer).
+     *
+     * @param value Value to mix
+     * @return Mixed value
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (z ^ (z >>> 31)) >>> 1;
+    }
+
+    @Override
+    public int size() {
+        return owners.length;
+    }
+
+    @Override
+    public int dataStores() {
+        return nDataStores;
+    }
+
+    @Override
+    public int dataStoreOf(int key) {
+        if (!isValid(key))
+            throw new IllegalArgumentException(String.format("ConsistentHashingPartitioner key %d is out of range", key));
+        return owners[key];
+    }
+
+    @Override
+    public int localIndexOf(int key) {
+        if (!isValid(key))
+            throw new IllegalArgumentException(String.format("ConsistentHashingPartitioner key %d is out of range", key));
+        return localIndexes[key];
+    }
+
+    @Override
+    public int sizeOf(int dataStoreId) {
+        return keys[dataStoreId].length;
+    }
+
+    @Override
+    public int keyOf(int dataStoreId, int localIndex) {
+        return keys[dataStoreId][localIndex];
+    }
+}
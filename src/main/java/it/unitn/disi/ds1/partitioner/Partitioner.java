@@ -0,0 +1,95 @@
+package it.unitn.disi.ds1.partitioner;
+
+import it.unitn.disi.ds1.Config;
+
+/**
+ * Partitioner of the {@link it.unitn.disi.ds1.etc.Item} key space
+ * among the {@link it.unitn.disi.ds1.actor.DataStore DataStore(s)}.
+ * Keys are in range [0, {@link #size()}) and every routing operation is a table lookup.
+ */
+public interface Partitioner {
+    /**
+     * Return a new Partitioner of the given type.
+     *
+     * @param type        Partitioner type
+     * @param size        Number of key(s)
+     * @param nDataStores Number of {@link it.unitn.disi.ds1.actor.DataStore DataStore(s)}
+     * @return Partitioner instance
+     */
+    static Partitioner of(Config.PartitionerType type, int size, int nDataStores) {
+        switch (type) {
+            case RANGE:
+                return new RangePartitioner(size, nDataStores);
+            case CONSISTENT_HASHING:
+                return new ConsistentHashingPartitioner(size, nDataStores, Config.N_VIRTUAL_NODES);
+            default:
+                throw new IllegalArgumentException(String.format("Unknown partitioner type %s", type));
+        }
+    }
+
+    /**
+     * Return the number of key(s) in the key space.
+     *
+     * @return Number of key(s)
+     */
+    int size();
+
+    /**
+     * Return the maximum key in the key space.
+     *
+     * @return Maximum key
+     */
+    default int maxKey() {
+        return size() - 1;
+    }
+
+    /**
+     * Return the number of {@link it.unitn.disi.ds1.actor.DataStore DataStore(s)}.
+     *
+     * @return Number of DataStore(s)
+     */
+    int dataStores();
+
+    /**
+     * Return the {@link it.unitn.disi.ds1.actor.DataStore} id owning the key.
+     *
+     * @param key Item key
+     * @return DataStore id
+     */
+    int dataStoreOf(int key);
+
+    /**
+     * Return the index of the key inside the {@link it.unitn.disi.ds1.actor.DataStore} owning it.
+     *
+     * @param key Item key
+     * @return Local index
+     */
+    int localIndexOf(int key);
+
+    /**
+     * Return the number of key(s) owned by the {@link it.unitn.disi.ds1.actor.DataStore}.
+     *
+     * @param dataStoreId DataStore id
+     * @return Number of key(s)
+     */
+    int sizeOf(int dataStoreId);
+
+    /**
+     * Return the key at the local index of the {@link it.unitn.disi.ds1.actor.DataStore}.
+     *
+     * @param dataStoreId DataStore id
+     * @param localIndex  Local index
+     * @return Item key
+     */
+    int keyOf(int dataStoreId, int localIndex);
+
+    /**
+     * Check if the key is in the key space.
+     *
+     * @param key Item key
+     * @return True if valid, false otherwise
+     */
+    default boolean isValid(int key) {
+        return key >= 0 && key < size();
+    }
+}
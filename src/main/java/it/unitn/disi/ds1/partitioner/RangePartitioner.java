@@ -0,0 +1,88 @@
+package it.unitn.disi.ds1.partitioner;
+
+/**
+ * {@link Partitioner} assigning to every {@link it.unitn.disi.ds1.actor.DataStore}
+ * a contiguous range of key(s).
+ * Range(s) differ by a key at most: the first size % nDataStores DataStore(s) own size / nDataStores + 1 key(s),
+ * the other(s) size / nDataStores key(s), so that every DataStore owns at least a key.
+ */
+public final class RangePartitioner implements Partitioner {
+    /**
+     * Number of key(s).
+     */
+    private final int size;
+
+    /**
+     * Number of {@link it.unitn.disi.ds1.actor.DataStore DataStore(s)}.
+     */
+    private final int nDataStores;
+
+    /**
+     * Number of key(s) in a shorter range.
+     */
+    private final int rangeSize;
+
+    /**
+     * Number of longer range(s), with a key more.
+     */
+    private final int longRanges;
+
+    /**
+     * First key of the first shorter range.
+     */
+    private final int boundary;
+
+    /**
+     * Construct a new RangePartitioner class.
+     *
+     * @param size        Number of key(s)
+     * @param nDataStores Number of {@link it.unitn.disi.ds1.actor.DataStore DataStore(s)}
+     */
+    public RangePartitioner(int size, int nDataStores) {
+        if (size < nDataStores || nDataStores <= 0)
+            throw new IllegalArgumentException(String.format("RangePartitioner is unable to partition %d key(s) among %d DataStore(s)", size, nDataStores));
+
+        this.size = size;
+        this.nDataStores = nDataStores;
+        this.rangeSize = size / nDataStores;
+        this.longRanges = size % nDataStores;
+        this.boundary = longRanges * (rangeSize + 1);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int dataStores() {
+        return nDataStores;
+    }
+
+    @Override
+    public int dataStoreOf(int key) {
+        if (!isValid(key))
+            throw new IllegalArgumentException(String.format("RangePartitioner key %d is out of range", key));
+        if (key < boundary) return key / (rangeSize + 1);
+        return longRanges + (key - boundary) / rangeSize;
+    }
+
+    @Override
+    public int localIndexOf(int key) {
+        if (!isValid(key))
+            throw new IllegalArgumentException(String.format("RangePartitioner key %d is out of range", key));
+        if (key < boundary) return key % (rangeSize + 1);
+        return (key - boundary) % rangeSize;
+    }
+
+    @Override
+    public int sizeOf(int dataStoreId) {
+        if (dataStoreId < 0 || dataStoreId >= nDataStores) return 0;
+        return dataStoreId < longRanges ? rangeSize + 1 : rangeSize;
+    }
+
+    @Override
+    public int keyOf(int dataStoreId, int localIndex) {
+        return dataStoreId * rangeSize + Math.min(dataStoreId, longRanges) + localIndex;
+    }
+}
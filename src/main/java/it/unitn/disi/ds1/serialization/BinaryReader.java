@@ -0,0 +1,148 @@
+package it.unitn.disi.ds1.serialization;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reader of the compact binary encoding written by a {@link BinaryWriter}.
+ */
+public final class BinaryReader {
+    /**
+     * Byte(s) to read.
+     */
+    private final byte[] bytes;
+
+    /**
+     * Position of the next byte to read.
+     */
+    private int position;
+
+    /**
+     * Construct a new BinaryReader class.
+     *
+     * @param bytes Byte(s) to read
+     */
+    public BinaryReader(byte[] bytes) {
+        this.bytes = bytes;
+        this.position = 0;
+    }
+
+    /**
+     * Ensure the given number of byte(s) is available.
+     *
+     * @param length Number of byte(s)
+     */
+    private void require(int length) {
+        if (length < 0 || position + length > bytes.length)
+            throw new IllegalArgumentException(String.format("Truncated message: %d byte(s) required at position %d of %d", length, position, bytes.length));
+    }
+
+    /**
+     * Read a byte.
+     *
+     * @return Byte
+     */
+    public int readByte() {
+        require(1);
+        return bytes[position++];
+    }
+
+    /**
+     * Read a boolean.
+     *
+     * @return Boolean
+     */
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    /**
+     * Read a non-negative varint int.
+     *
+     * @return Int
+     */
+    public int readUnsignedInt() {
+        return (int) readUnsignedLong();
+    }
+
+    /**
+     * Read a zigzag varint int.
+     *
+     * @return Int
+     */
+    public int readInt() {
+        final int value = (int) readUnsignedLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Read a varint long.
+     *
+     * @return Long, as unsigned
+     */
+    public long readUnsignedLong() {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            final int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IllegalArgumentException(String.format("Malformed varint at position %d", position));
+    }
+
+    /**
+     * Read a zigzag varint long.
+     *
+     * @return Long
+     */
+    public long readLong() {
+        final long value = readUnsignedLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Read a long of 8 byte(s).
+     *
+     * @return Long
+     */
+    public long readFixedLong() {
+        require(Long.BYTES);
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) value = (value << 8) | (bytes[position++] & 0xFF);
+        return value;
+    }
+
+    /**
+     * Read byte(s) prefixed by their length.
+     *
+     * @return Byte(s)
+     */
+    public byte[] readBytes() {
+        final int length = readUnsignedInt();
+        require(length);
+        final byte[] value = new byte[length];
+        System.arraycopy(bytes, position, value, 0, length);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Read a UTF-8 string prefixed by its length.
+     *
+     * @return String
+     */
+    public String readString() {
+        final int length = readUnsignedInt();
+        require(length);
+        final String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Check that every byte has been read.
+     */
+    public void end() {
+        if (position != bytes.length)
+            throw new IllegalArgumentException(String.format("Message has %d trailing byte(s)", bytes.length - position));
+    }
+}
@@ -0,0 +1,155 @@
+package it.unitn.disi.ds1.serialization;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer writing the compact binary encoding of a message.
+ * Integer(s) are varint(s), zigzag encoded when possibly negative, so that small value(s) take a single byte.
+ */
+public final class BinaryWriter {
+    /**
+     * Initial capacity (byte).
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Written byte(s).
+     */
+    private byte[] bytes;
+
+    /**
+     * Number of written byte(s).
+     */
+    private int size;
+
+    /**
+     * Construct a new BinaryWriter class.
+     */
+    public BinaryWriter() {
+        this.bytes = new byte[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Ensure room for the given number of byte(s).
+     *
+     * @param length Number of byte(s)
+     */
+    private void ensure(int length) {
+        if (size + length > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(bytes.length << 1, size + length));
+    }
+
+    /**
+     * Write a byte.
+     *
+     * @param value Byte
+     * @return This BinaryWriter
+     */
+    public BinaryWriter writeByte(int value) {
+        ensure(1);
+        bytes[size++] = (byte) value;
+        return this;
+    }
+
+    /**
+     * Write a boolean as a byte.
+     *
+     * @param value Boolean
+     * @return This BinaryWriter
+     */
+    public BinaryWriter writeBoolean(boolean value) {
+        return writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Write a non-negative int as a varint.
+     *
+     * @param value Non-negative int
+     * @return This BinaryWriter
+     */
+    public BinaryWriter writeUnsignedInt(int value) {
+        return writeUnsignedLong(value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Write an int as a zigzag varint.
+     *
+     * @param value Int
+     * @return This BinaryWriter
+     */
+    public BinaryWriter writeInt(int value) {
+        return writeUnsignedLong(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Write a non-negative long as a varint.
+     *
+     * @param value Long, read as unsigned
+     * @return This BinaryWriter
+     */
+    public BinaryWriter writeUnsignedLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+        return this;
+    }
+
+    /**
+     * Write a long as a zigzag varint.
+     *
+     * @param value Long
+     * @return This BinaryWriter
+     */
+    public BinaryWriter writeLong(long value) {
+        return writeUnsignedLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Write a long in 8 byte(s), for value(s) without small magnitude (e.g. transaction id(s)).
+     *
+     * @param value Long
+     * @return This BinaryWriter
+     */
+    public BinaryWriter writeFixedLong(long value) {
+        ensure(Long.BYTES);
+        for (int shift = 56; shift >= 0; shift -= 8) bytes[size++] = (byte) (value >>> shift);
+        return this;
+    }
+
+    /**
+     * Write byte(s) prefixed by their length.
+     *
+     * @param value Byte(s)
+     * @return This BinaryWriter
+     */
+    public BinaryWriter writeBytes(byte[] value) {
+        writeUnsignedInt(value.length);
+        ensure(value.length);
+        System.arraycopy(value, 0, bytes, size, value.length);
+        size += value.length;
+        return this;
+    }
+
+    /**
+     * Write a UTF-8 string prefixed by its length.
+     *
+     * @param value String
+     * @return This BinaryWriter
+     */
+    public BinaryWriter writeString(String value) {
+        return writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Return the written byte(s).
+     *
+     * @return Byte(s)
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+}
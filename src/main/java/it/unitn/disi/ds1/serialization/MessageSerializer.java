@@ -0,0 +1,559 @@
+package it.unitn.disi.ds1.serialization;
+
+import akka.actor.ActorRef;
+import akka.actor.ExtendedActorSystem;
+import akka.serialization.Serialization;
+import akka.serialization.SerializerWithStringManifest;
+import it.unitn.disi.ds1.Config;
+import it.unitn.disi.ds1.etc.ActorMetadata;
+import it.unitn.disi.ds1.etc.Decision;
+import it.unitn.disi.ds1.etc.Item;
+import it.unitn.disi.ds1.message.StopMsg;
+import it.unitn.disi.ds1.message.load.CoordinatorLoadMessage;
+import it.unitn.disi.ds1.message.load.CoordinatorLoadSubscribeMessage;
+import it.unitn.disi.ds1.message.load.CoordinatorLoadTimeoutMessage;
+import it.unitn.disi.ds1.message.marker.MarkerMessage;
+import it.unitn.disi.ds1.message.marker.MarkerResultMessage;
+import it.unitn.disi.ds1.message.marker.MarkerTimeoutMessage;
+import it.unitn.disi.ds1.message.mvcc.WatermarkMessage;
+import it.unitn.disi.ds1.message.mvcc.WatermarkTimeoutMessage;
+import it.unitn.disi.ds1.message.snapshot.SnapshotAckMessage;
+import it.unitn.disi.ds1.message.snapshot.SnapshotMessage;
+import it.unitn.disi.ds1.message.snapshot.SnapshotResultMessage;
+import it.unitn.disi.ds1.message.twopc.*;
+import it.unitn.disi.ds1.message.txn.*;
+import it.unitn.disi.ds1.message.txn.read.TxnReadCoordinatorMessage;
+import it.unitn.disi.ds1.message.txn.read.TxnReadMessage;
+import it.unitn.disi.ds1.message.txn.read.TxnReadResultCoordinatorMessage;
+import it.unitn.disi.ds1.message.txn.read.TxnReadResultMessage;
+import it.unitn.disi.ds1.message.txn.write.TxnWriteCoordinatorMessage;
+import it.unitn.disi.ds1.message.txn.write.TxnWriteMessage;
+import it.unitn.disi.ds1.message.wal.CheckpointMessage;
+import it.unitn.disi.ds1.message.wal.WalFlushMessage;
+import it.unitn.disi.ds1.message.welcome.ClientWelcomeMessage;
+import it.unitn.disi.ds1.message.welcome.CoordinatorWelcomeMessage;
+import it.unitn.disi.ds1.message.welcome.DataStoreWelcomeMessage;
+import it.unitn.disi.ds1.message.welcome.NodeJoinMessage;
+import it.unitn.disi.ds1.message.workload.WorkloadReportMessage;
+import it.unitn.disi.ds1.message.workload.WorkloadReportRequestMessage;
+import it.unitn.disi.ds1.workload.WorkloadReport;
+import org.HdrHistogram.Histogram;
+
+import java.io.NotSerializableException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+
+/**
+ * Akka serializer of every message class with a hand-written compact binary encoding,
+ * in place of Java serialization and its class descriptor(s).
+ * The manifest is a short code of the message class, the payload its field(s) in constructor order:
+ * integer(s) as varint(s), transaction id(s) as 8 byte(s), {@link ActorRef} as its serialized path
+ * and collection(s) prefixed by their size.
+ * Bound to the message classes in application.conf.
+ */
+public final class MessageSerializer extends SerializerWithStringManifest {
+    /**
+     * Serializer identifier, unique in the {@link akka.actor.ActorSystem}.
+     */
+    public static final int IDENTIFIER = 1_190_222;
+
+    /**
+     * {@link Decision} by ordinal.
+     */
+    private static final Decision[] DECISIONS = Decision.values();
+
+    /**
+     * {@link Config.Role} by ordinal.
+     */
+    private static final Config.Role[] ROLES = Config.Role.values();
+
+    /**
+     * Encoding of a message class.
+     *
+     * @param <T> Message class
+     */
+    private static final class Codec<T> {
+        /**
+         * Manifest code.
+         */
+        private final String manifest;
+
+        /**
+         * Message class.
+         */
+        private final Class<T> type;
+
+        /**
+         * Write the field(s) of a message.
+         */
+        private final BiConsumer<BinaryWriter, T> encoder;
+
+        /**
+         * Read a message from its field(s).
+         */
+        private final Function<BinaryReader, T> decoder;
+
+        /**
+         * Construct a new Codec class.
+         *
+         * @param manifest Manifest code
+         * @param type     Message class
+         * @param encoder  Write the field(s) of a message
+         * @param decoder  Read a message from its field(s)
+         */
+        private Codec(String manifest, Class<T> type, BiConsumer<BinaryWriter, T> encoder, Function<BinaryReader, T> decoder) {
+            this.manifest = manifest;
+            this.type = type;
+            this.encoder = encoder;
+            this.decoder = decoder;
+        }
+
+        /**
+         * Write the field(s) of a message.
+         *
+         * @param writer  Destination
+         * @param message Message
+         */
+        private void encode(BinaryWriter writer, Object message) {
+            encoder.accept(writer, type.cast(message));
+        }
+    }
+
+    /**
+     * {@link ExtendedActorSystem} resolving the deserialized {@link ActorRef ActorRef(s)}.
+     */
+    private final ExtendedActorSystem system;
+
+    /**
+     * {@link Codec} by message class.
+     */
+    private final Map<Class<?>, Codec<?>> codecsByType;
+
+    /**
+     * {@link Codec} by manifest code.
+     */
+    private final Map<String, Codec<?>> codecsByManifest;
+
+    /**
+     * Construct a new MessageSerializer class.
+     *
+     * @param system {@link ExtendedActorSystem} resolving the deserialized {@link ActorRef ActorRef(s)}
+     */
+    public MessageSerializer(ExtendedActorSystem system) {
+        this.system = system;
+        this.codecsByType = new HashMap<>();
+        this.codecsByManifest = new HashMap<>();
+
+        // --- Transaction ---
+        register("B", TxnBeginMessage.class,
+                (w, m) -> w.writeInt(m.senderId).writeInt(m.sequence),
+                r -> new TxnBeginMessage(r.readInt(), r.readInt()));
+        register("BR", TxnBeginResultMessage.class,
+                (w, m) -> w.writeInt(m.senderId).writeFixedLong(m.transactionId).writeInt(m.sequence),
+                r -> new TxnBeginResultMessage(r.readInt(), r.readFixedLong(), r.readInt()));
+        register("R", TxnReadMessage.class,
+                (w, m) -> writeKeys(w.writeInt(m.senderId).writeFixedLong(m.transactionId), m.keys),
+                r -> new TxnReadMessage(r.readInt(), r.readFixedLong(), readKeys(r)));
+        register("RC", TxnReadCoordinatorMessage.class,
+                (w, m) -> writeKeys(w.writeInt(m.senderId).writeFixedLong(m.transactionId), m.keys).writeLong(m.readTimestamp),
+                r -> new TxnReadCoordinatorMessage(r.readInt(), r.readFixedLong(), readKeys(r), r.readLong()));
+        register("RRC", TxnReadResultCoordinatorMessage.class,
+                (w, m) -> writeValues(w.writeInt(m.senderId).writeFixedLong(m.transactionId), m.values),
+                r -> new TxnReadResultCoordinatorMessage(r.readInt(), r.readFixedLong(), readValues(r)));
+        register("RR", TxnReadResultMessage.class,
+                (w, m) -> writeValues(w.writeInt(m.senderId).writeFixedLong(m.transactionId), m.values),
+                r -> new TxnReadResultMessage(r.readInt(), r.readFixedLong(), readValues(r)));
+        register("WR", TxnWriteMessage.class,
+                (w, m) -> writeValues(w.writeInt(m.senderId).writeFixedLong(m.transactionId), m.values),
+                r -> new TxnWriteMessage(r.readInt(), r.readFixedLong(), readValues(r)));
+        register("WC", TxnWriteCoordinatorMessage.class,
+                (w, m) -> writeValues(w.writeInt(m.senderId).writeFixedLong(m.transactionId), m.values).writeLong(m.readTimestamp),
+                r -> new TxnWriteCoordinatorMessage(r.readInt(), r.readFixedLong(), readValues(r), r.readLong()));
+        register("E", TxnEndMessage.class,
+                (w, m) -> w.writeInt(m.senderId).writeFixedLong(m.transactionId).writeByte(m.decision.ordinal()),
+                r -> new TxnEndMessage(r.readInt(), r.readFixedLong(), readDecision(r)));
+        register("ER", TxnEndResultMessage.class,
+                (w, m) -> w.writeInt(m.senderId).writeFixedLong(m.transactionId).writeByte(m.decision.ordinal()),
+                r -> new TxnEndResultMessage(r.readInt(), r.readFixedLong(), readDecision(r)));
+        register("ARR", TxnArrivalMessage.class, (w, m) -> {
+        }, r -> new TxnArrivalMessage());
+        register("BD", TxnBeginDelayMessage.class, (w, m) -> {
+        }, r -> new TxnBeginDelayMessage());
+        register("BT", TxnBeginTimeoutMessage.class,
+                (w, m) -> w.writeInt(m.sequence),
+                r -> new TxnBeginTimeoutMessage(r.readInt()));
+        register("TS", TxnStopMessage.class, (w, m) -> {
+        }, r -> new TxnStopMessage());
+        register("STOP", StopMsg.class, (w, m) -> {
+        }, r -> new StopMsg());
+
+        // --- 2PC ---
+        register("V", TwoPcVoteMessage.class,
+                (w, m) -> writeKeys(w.writeInt(m.senderId).writeFixedLong(m.transactionId).writeByte(m.decision.ordinal()).writeLong(m.readTimestamp), m.readKeys)
+                        .writeLong(m.minPrepareTimestamp),
+                r -> new TwoPcVoteMessage(r.readInt(), r.readFixedLong(), readDecision(r), r.readLong(), readKeys(r), r.readLong()));
+        register("VR", TwoPcVoteResultMessage.class,
+                (w, m) -> w.writeInt(m.senderId).writeFixedLong(m.transactionId).writeByte(m.decision.ordinal()).writeLong(m.prepareTimestamp),
+                r -> new TwoPcVoteResultMessage(r.readInt(), r.readFixedLong(), readDecision(r), r.readLong()));
+        register("D", TwoPcDecisionMessage.class,
+                (w, m) -> w.writeInt(m.senderId).writeFixedLong(m.transactionId).writeByte(m.decision.ordinal()).writeLong(m.commitTimestamp),
+                r -> new TwoPcDecisionMessage(r.readInt(), r.readFixedLong(), readDecision(r), r.readLong()));
+        register("DA", TwoPcDecisionAckMessage.class,
+                (w, m) -> w.writeInt(m.senderId).writeFixedLong(m.transactionId),
+                r -> new TwoPcDecisionAckMessage(r.readInt(), r.readFixedLong()));
+        register("DR", TwoPcDecisionRequestMessage.class,
+                (w, m) -> w.writeInt(m.senderId).writeFixedLong(m.transactionId),
+                r -> new TwoPcDecisionRequestMessage(r.readInt(), r.readFixedLong()));
+        register("TO", TwoPcTimeoutMessage.class,
+                (w, m) -> w.writeFixedLong(m.transactionId),
+                r -> new TwoPcTimeoutMessage(r.readFixedLong()));
+        register("REC", TwoPcRecoveryMessage.class, (w, m) -> {
+        }, r -> new TwoPcRecoveryMessage());
+        register("PB", TwoPcBatchMessage.class,
+                (w, m) -> writeMessages(w.writeInt(m.senderId), m.messages),
+                r -> new TwoPcBatchMessage(r.readInt(), readMessages(r)));
+        register("OF", OutboxFlushMessage.class, (w, m) -> {
+        }, r -> new OutboxFlushMessage());
+
+        // --- Multi-version and durability ---
+        register("WM", WatermarkMessage.class,
+                (w, m) -> w.writeInt(m.senderId).writeLong(m.watermark),
+                r -> new WatermarkMessage(r.readInt(), r.readLong()));
+        register("WT", WatermarkTimeoutMessage.class, (w, m) -> {
+        }, r -> new WatermarkTimeoutMessage());
+        register("CP", CheckpointMessage.class, (w, m) -> {
+        }, r -> new CheckpointMessage());
+        register("WF", WalFlushMessage.class, (w, m) -> {
+        }, r -> new WalFlushMessage());
+
+        // --- Coordinator load ---
+        register("CL", CoordinatorLoadMessage.class,
+                (w, m) -> w.writeInt(m.senderId).writeInt(m.inFlight).writeInt(m.pending),
+                r -> new CoordinatorLoadMessage(r.readInt(), r.readInt(), r.readInt()));
+        register("CLS", CoordinatorLoadSubscribeMessage.class,
+                (w, m) -> w.writeInt(m.senderId),
+                r -> new CoordinatorLoadSubscribeMessage(r.readInt()));
+        register("CLT", CoordinatorLoadTimeoutMessage.class, (w, m) -> {
+        }, r -> new CoordinatorLoadTimeoutMessage());
+
+        // --- Snapshot ---
+        register("S", SnapshotMessage.class,
+                (w, m) -> w.writeInt(m.senderId).writeInt(m.snapshotId).writeLong(m.timestamp),
+                r -> new SnapshotMessage(r.readInt(), r.readInt(), r.readLong()));
+        register("SR", SnapshotResultMessage.class,
+                (w, m) -> writeItems(w.writeInt(m.senderId).writeInt(m.snapshotId), m.storage).writeBoolean(m.last),
+                r -> new SnapshotResultMessage(r.readInt(), r.readInt(), readItems(r), r.readBoolean()));
+        register("SA", SnapshotAckMessage.class,
+                (w, m) -> w.writeInt(m.senderId).writeInt(m.snapshotId),
+                r -> new SnapshotAckMessage(r.readInt(), r.readInt()));
+        register("M", MarkerMessage.class,
+                (w, m) -> w.writeInt(m.senderId).writeInt(m.snapshotId).writeInt(m.initiatorId),
+                r -> new MarkerMessage(r.readInt(), r.readInt(), r.readInt()));
+        register("MR", MarkerResultMessage.class,
+                (w, m) -> w.writeInt(m.senderId).writeInt(m.snapshotId).writeInt(m.items).writeLong(m.sum).writeInt(m.inFlightCommits).writeLong(m.inFlightDelta),
+                r -> new MarkerResultMessage(r.readInt(), r.readInt(), r.readInt(), r.readLong(), r.readInt(), r.readLong()));
+        register("MT", MarkerTimeoutMessage.class, (w, m) -> {
+        }, r -> new MarkerTimeoutMessage());
+
+        // --- Welcome ---
+        register("CW", ClientWelcomeMessage.class,
+                (w, m) -> writeActors(w, m.coordinators).writeInt(m.maxItemKey),
+                r -> new ClientWelcomeMessage(readActors(r), r.readInt()));
+        register("COW", CoordinatorWelcomeMessage.class,
+                (w, m) -> writeActors(writeActors(w, m.dataStores), m.coordinators),
+                r -> new CoordinatorWelcomeMessage(readActors(r), readActors(r)));
+        register("DW", DataStoreWelcomeMessage.class,
+                (w, m) -> writeActors(writeActors(w, m.dataStores), m.coordinators),
+                r -> new DataStoreWelcomeMessage(readActors(r), readActors(r)));
+        register("NJ", NodeJoinMessage.class,
+                (w, m) -> writeActors(w.writeByte(m.role.ordinal()).writeInt(m.nodeIndex), m.actors),
+                r -> new NodeJoinMessage(readRole(r), r.readInt(), readActors(r)));
+
+        // --- Workload ---
+        register("WRQ", WorkloadReportRequestMessage.class,
+                (w, m) -> w.writeBoolean(m.reset),
+                r -> new WorkloadReportRequestMessage(r.readBoolean()));
+        register("WRP", WorkloadReportMessage.class,
+                (w, m) -> writeReport(w.writeInt(m.senderId), m.report),
+                r -> new WorkloadReportMessage(r.readInt(), readReport(r)));
+    }
+
+    /**
+     * Register the {@link Codec} of a message class.
+     *
+     * @param manifest Manifest code
+     * @param type     Message class
+     * @param encoder  Write the field(s) of a message
+     * @param decoder  Read a message from its field(s)
+     * @param <T>      Message class
+     */
+    private <T> void register(String manifest, Class<T> type, BiConsumer<BinaryWriter, T> encoder, Function<BinaryReader, T> decoder) {
+        final Codec<T> codec = new Codec<>(manifest, type, encoder, decoder);
+        if (codecsByType.put(type, codec) != null || codecsByManifest.put(manifest, codec) != null)
+            throw new IllegalStateException(String.format("MessageSerializer duplicate codec %s for %s", manifest, type.getName()));
+    }
+
+    /**
+     * Return the {@link Codec} of a message.
+     *
+     * @param message Message
+     * @return Codec
+     */
+    private Codec<?> codecOf(Object message) {
+        final Codec<?> codec = codecsByType.get(message.getClass());
+        if (codec == null)
+            throw new IllegalArgumentException(String.format("MessageSerializer has no codec for %s", message.getClass().getName()));
+        return codec;
+    }
+
+    @Override
+    public int identifier() {
+        return IDENTIFIER;
+    }
+
+    @Override
+    public String manifest(Object message) {
+        return codecOf(message).manifest;
+    }
+
+    @Override
+    public byte[] toBinary(Object message) {
+        final BinaryWriter writer = new BinaryWriter();
+        codecOf(message).encode(writer, message);
+        return writer.toByteArray();
+    }
+
+    @Override
+    public Object fromBinary(byte[] bytes, String manifest) throws NotSerializableException {
+        final Codec<?> codec = codecsByManifest.get(manifest);
+        if (codec == null)
+            throw new NotSerializableException(String.format("MessageSerializer has no codec for manifest %s", manifest));
+
+        final BinaryReader reader = new BinaryReader(bytes);
+        final Object message = codec.decoder.apply(reader);
+        reader.end();
+        return message;
+    }
+
+    // --- Field encoding ---
+
+    /**
+     * Write nested transaction message(s), each as its manifest code and field(s).
+     *
+     * @param writer   Destination
+     * @param messages Message(s)
+     * @return Destination
+     */
+    private BinaryWriter writeMessages(BinaryWriter writer, List<TxnMessage> messages) {
+        writer.writeUnsignedInt(messages.size());
+        for (final TxnMessage message : messages) {
+            final Codec<?> codec = codecOf(message);
+            codec.encode(writer.writeString(codec.manifest), message);
+        }
+        return writer;
+    }
+
+    /**
+     * Read nested transaction message(s).
+     *
+     * @param reader Source
+     * @return Message(s)
+     */
+    private List<TxnMessage> readMessages(BinaryReader reader) {
+        final int size = reader.readUnsignedInt();
+        final List<TxnMessage> messages = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final String manifest = reader.readString();
+            final Codec<?> codec = codecsByManifest.get(manifest);
+            if (codec == null)
+                throw new IllegalArgumentException(String.format("MessageSerializer has no codec for nested manifest %s", manifest));
+            messages.add((TxnMessage) codec.decoder.apply(reader));
+        }
+        return messages;
+    }
+
+    /**
+     * Read a {@link Decision}.
+     *
+     * @param reader Source
+     * @return Decision
+     */
+    private static Decision readDecision(BinaryReader reader) {
+        final int ordinal = reader.readByte();
+        if (ordinal < 0 || ordinal >= DECISIONS.length)
+            throw new IllegalArgumentException(String.format("Unknown decision ordinal %d", ordinal));
+        return DECISIONS[ordinal];
+    }
+
+    /**
+     * Read a {@link Config.Role}.
+     *
+     * @param reader Source
+     * @return Role
+     */
+    private static Config.Role readRole(BinaryReader reader) {
+        final int ordinal = reader.readByte();
+        if (ordinal < 0 || ordinal >= ROLES.length)
+            throw new IllegalArgumentException(String.format("Unknown role ordinal %d", ordinal));
+        return ROLES[ordinal];
+    }
+
+    /**
+     * Write a set of {@link Item} key(s).
+     *
+     * @param writer Destination
+     * @param keys   Item key(s)
+     * @return Destination
+     */
+    private static BinaryWriter writeKeys(BinaryWriter writer, Set<Integer> keys) {
+        writer.writeUnsignedInt(keys.size());
+        for (final int key : keys) writer.writeInt(key);
+        return writer;
+    }
+
+    /**
+     * Read a set of {@link Item} key(s).
+     *
+     * @param reader Source
+     * @return Item key(s)
+     */
+    private static Set<Integer> readKeys(BinaryReader reader) {
+        final int size = reader.readUnsignedInt();
+        final Set<Integer> keys = new HashSet<>(size * 2);
+        for (int i = 0; i < size; i++) keys.add(reader.readInt());
+        return keys;
+    }
+
+    /**
+     * Write the value(s) of {@link Item Item(s)} by key.
+     *
+     * @param writer Destination
+     * @param values Item value(s) by key
+     * @return Destination
+     */
+    private static BinaryWriter writeValues(BinaryWriter writer, Map<Integer, Integer> values) {
+        writer.writeUnsignedInt(values.size());
+        for (final Map.Entry<Integer, Integer> entry : values.entrySet()) writer.writeInt(entry.getKey()).writeInt(entry.getValue());
+        return writer;
+    }
+
+    /**
+     * Read the value(s) of {@link Item Item(s)} by key.
+     *
+     * @param reader Source
+     * @return Item value(s) by key
+     */
+    private static Map<Integer, Integer> readValues(BinaryReader reader) {
+        final int size = reader.readUnsignedInt();
+        final Map<Integer, Integer> values = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) values.put(reader.readInt(), reader.readInt());
+        return values;
+    }
+
+    /**
+     * Write {@link Item Item(s)} by key: value, version and changed flag, not the lock.
+     *
+     * @param writer Destination
+     * @param items  Item(s) by key
+     * @return Destination
+     */
+    private static BinaryWriter writeItems(BinaryWriter writer, Map<Integer, Item> items) {
+        writer.writeUnsignedInt(items.size());
+        for (final Map.Entry<Integer, Item> entry : items.entrySet()) {
+            final Item item = entry.getValue();
+            writer.writeInt(entry.getKey()).writeInt(item.getValue()).writeInt(item.getVersion()).writeBoolean(item.isValueChanged());
+        }
+        return writer;
+    }
+
+    /**
+     * Read {@link Item Item(s)} by key.
+     *
+     * @param reader Source
+     * @return Item(s) by key
+     */
+    private static Map<Integer, Item> readItems(BinaryReader reader) {
+        final int size = reader.readUnsignedInt();
+        final Map<Integer, Item> items = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) items.put(reader.readInt(), new Item(reader.readInt(), reader.readInt(), reader.readBoolean()));
+        return items;
+    }
+
+    /**
+     * Write {@link ActorMetadata}(s): id and serialized {@link ActorRef} path, empty if none.
+     *
+     * @param writer Destination
+     * @param actors ActorMetadata(s)
+     * @return Destination
+     */
+    private static BinaryWriter writeActors(BinaryWriter writer, List<ActorMetadata> actors) {
+        writer.writeUnsignedInt(actors.size());
+        for (final ActorMetadata actor : actors)
+            writer.writeInt(actor.id).writeString(actor.ref != null ? Serialization.serializedActorPath(actor.ref) : "");
+        return writer;
+    }
+
+    /**
+     * Read {@link ActorMetadata}(s), resolving their {@link ActorRef ActorRef(s)}.
+     *
+     * @param reader Source
+     * @return ActorMetadata(s)
+     */
+    private List<ActorMetadata> readActors(BinaryReader reader) {
+        final int size = reader.readUnsignedInt();
+        final List<ActorMetadata> actors = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final int id = reader.readInt();
+            final String path = reader.readString();
+            actors.add(new ActorMetadata(id, path.isEmpty() ? null : system.provider().resolveActorRef(path)));
+        }
+        return actors;
+    }
+
+    /**
+     * Write a {@link WorkloadReport}, its latency histogram compressed.
+     *
+     * @param writer Destination
+     * @param report WorkloadReport
+     * @return Destination
+     */
+    private static BinaryWriter writeReport(BinaryWriter writer, WorkloadReport report) {
+        final Histogram latency = report.latency();
+        final ByteBuffer buffer = ByteBuffer.allocate(latency.getNeededByteBufferCapacity());
+        final int length = latency.encodeIntoCompressedByteBuffer(buffer);
+
+        return writer.writeInt(report.clients())
+                .writeUnsignedLong(report.arrived())
+                .writeUnsignedLong(report.committed())
+                .writeUnsignedLong(report.aborted())
+                .writeUnsignedLong(report.dropped())
+                .writeLong(report.startedAt())
+                .writeLong(report.endedAt())
+                .writeBytes(Arrays.copyOf(buffer.array(), length));
+    }
+
+    /**
+     * Read a {@link WorkloadReport}.
+     *
+     * @param reader Source
+     * @return WorkloadReport
+     */
+    private static WorkloadReport readReport(BinaryReader reader) {
+        final int clients = reader.readInt();
+        final long arrived = reader.readUnsignedLong();
+        final long committed = reader.readUnsignedLong();
+        final long aborted = reader.readUnsignedLong();
+        final long dropped = reader.readUnsignedLong();
+        final long startedAt = reader.readLong();
+        final long endedAt = reader.readLong();
+        try {
+            final Histogram latency = Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(reader.readBytes()), 0);
+            return new WorkloadReport(clients, arrived, committed, aborted, dropped, startedAt, endedAt, latency);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException(String.format("Malformed workload report latency: %s", e.getMessage()), e);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package it.unitn.disi.ds1.storage;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory-mapped checkpoint of an {@link ItemStore}.
+ * Two file(s) are used alternately, so the latest complete checkpoint is never overwritten.
+ * A checkpoint is fuzzy: it is copied in chunk(s) while transactions keep committing,
+ * and it records the {@link WriteAheadLog} position from which the log must be replayed.
+ * <p>
+ * File layout: [magic int][format int][sequence long][replay position long][size int][complete int]
+ * followed by size [value int][version int][commit timestamp long].
+ * Older version(s) are not checkpointed, a reader older than the restored version(s) sees the restored one.
+ */
+public final class Checkpoint {
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(Checkpoint.class);
+
+    /**
+     * Magic number.
+     */
+    private static final int MAGIC = 0x42414E4B;
+
+    /**
+     * Format version.
+     */
+    private static final int FORMAT = 2;
+
+    /**
+     * Header size.
+     */
+    private static final int HEADER_SIZE = 32;
+
+    /**
+     * Complete flag offset.
+     */
+    private static final int COMPLETE_OFFSET = 28;
+
+    /**
+     * Item entry size (value, version and commit timestamp).
+     */
+    private static final int ENTRY_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+
+    /**
+     * Checkpoint file {@link Path Path(s)}.
+     */
+    private final Path[] paths;
+
+    /**
+     * Sequence of the latest checkpoint.
+     */
+    private long sequence;
+
+    /**
+     * Mapped buffer of the checkpoint in progress.
+     * Null if no checkpoint is in progress.
+     */
+    private MappedByteBuffer buffer;
+
+    /**
+     * Next offset to copy of the checkpoint in progress.
+     */
+    private int cursor;
+
+    /**
+     * Construct a new Checkpoint class.
+     *
+     * @param directory   Checkpoint directory
+     * @param dataStoreId {@link it.unitn.disi.ds1.actor.DataStore} id
+     */
+    public Checkpoint(Path directory, int dataStoreId) {
+        this.paths = new Path[]{
+                directory.resolve(String.format("datastore-%d-0.ckpt", dataStoreId)),
+                directory.resolve(String.format("datastore-%d-1.ckpt", dataStoreId))
+        };
+        this.sequence = 0;
+        this.buffer = null;
+        this.cursor = 0;
+    }
+
+    /**
+     * Return the sequence of the latest checkpoint.
+     *
+     * @return Checkpoint sequence
+     */
+    public long sequence() {
+        return sequence;
+    }
+
+    /**
+     * Check if a checkpoint is in progress.
+     *
+     * @return True if in progress, false otherwise
+     */
+    public boolean inProgress() {
+        return buffer != null;
+    }
+
+    /**
+     * Map the latest complete checkpoint and restore the {@link ItemStore} from it.
+     *
+     * @param storage {@link ItemStore} to restore
+     * @return {@link WriteAheadLog} position from which to replay, 0 if there is no checkpoint
+     * @throws IOException If a checkpoint file cannot be read
+     */
+    public long load(ItemStore storage) throws IOException {
+        MappedByteBuffer latest = null;
+        long latestSequence = 0;
+
+        for (final Path path : paths) {
+            if (!Files.exists(path) || Files.size(path) < HEADER_SIZE) continue;
+
+            final MappedByteBuffer mapped;
+            try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+
+            // Validate header
+            final boolean valid = mapped.getInt(0) == MAGIC
+                    && mapped.getInt(4) == FORMAT
+                    && mapped.getInt(24) == storage.size()
+                    && mapped.getInt(COMPLETE_OFFSET) == 1
+                    && mapped.capacity() >= HEADER_SIZE + (long) storage.size() * ENTRY_SIZE;
+            if (!valid) {
+                LOGGER.warn("Checkpoint {} is incomplete or invalid, ignoring it", path);
+                continue;
+            }
+
+            if (latest == null || mapped.getLong(8) > latestSequence) {
+                latest = mapped;
+                latestSequence = mapped.getLong(8);
+            }
+        }
+
+        if (latest == null) return 0;
+
+        // Restore
+        for (int offset = 0, position = HEADER_SIZE; offset < storage.size(); ++offset, position += ENTRY_SIZE) {
+            storage.restoreAt(offset, latest.getInt(position), latest.getInt(position + Integer.BYTES), latest.getLong(position + Integer.BYTES * 2));
+        }
+        sequence = latestSequence;
+
+        return latest.getLong(16);
+    }
+
+    /**
+     * Begin a new checkpoint.
+     *
+     * @param storage        {@link ItemStore} to checkpoint
+     * @param replayPosition {@link WriteAheadLog} position from which to replay after this checkpoint
+     * @throws IOException If the checkpoint file cannot be mapped
+     */
+    public void begin(ItemStore storage, long replayPosition) throws IOException {
+        if (inProgress())
+            throw new IllegalStateException(String.format("Checkpoint %d is already in progress", sequence + 1));
+
+        final Path path = paths[(int) ((sequence + 1) & 1)];
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) storage.size() * ENTRY_SIZE);
+        }
+
+        // Header, not complete until finished
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, FORMAT);
+        buffer.putLong(8, sequence + 1);
+        buffer.putLong(16, replayPosition);
+        buffer.putInt(24, storage.size());
+        buffer.putInt(COMPLETE_OFFSET, 0);
+        buffer.force(0, HEADER_SIZE);
+        cursor = 0;
+    }
+
+    /**
+     * Copy the next chunk of {@link it.unitn.disi.ds1.etc.Item Item(s)} of the checkpoint in progress.
+     *
+     * @param storage {@link ItemStore} to checkpoint
+     * @param count   Maximum number of {@link it.unitn.disi.ds1.etc.Item Item(s)} to copy
+     * @return True if all {@link it.unitn.disi.ds1.etc.Item Item(s)} have been copied, false otherwise
+     */
+    public boolean copy(ItemStore storage, int count) {
+        final int end = Math.min(storage.size(), cursor + count);
+        for (int position = HEADER_SIZE + cursor * ENTRY_SIZE; cursor < end; ++cursor, position += ENTRY_SIZE) {
+            buffer.putInt(position, storage.valueAt(cursor));
+            buffer.putInt(position + Integer.BYTES, storage.versionAt(cursor));
+            buffer.putLong(position + Integer.BYTES * 2, storage.timestampAt(cursor));
+        }
+        return cursor == storage.size();
+    }
+
+    /**
+     * Abort the checkpoint in progress, if any.
+     * The file is left incomplete and it is ignored when loading.
+     */
+    public void abort() {
+        buffer = null;
+    }
+
+    /**
+     * Finish the checkpoint in progress forcing it to disk and marking it complete.
+     * The caller must ensure the {@link WriteAheadLog} is synced first.
+     */
+    public void finish() {
+        buffer.force();
+        buffer.putInt(COMPLETE_OFFSET, 1);
+        buffer.force(0, HEADER_SIZE);
+        buffer = null;
+        sequence += 1;
+    }
+}
@@ -0,0 +1,537 @@
+package it.unitn.disi.ds1.storage;
+
+import it.unitn.disi.ds1.etc.Item;
+import it.unitn.disi.ds1.etc.TransactionId;
+import it.unitn.disi.ds1.partitioner.Partitioner;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Columnar multi-version {@link Item} storage of a {@link it.unitn.disi.ds1.actor.DataStore}.
+ * Every column is a dense primitive array indexed by the key local index given by the {@link Partitioner},
+ * hence no object is allocated when reading, locking or committing.
+ * <p>
+ * The column(s) hold the latest committed version of every Item with its commit timestamp.
+ * Older version(s) are linked, newest first, in a pool of primitive array(s) so a read at a timestamp
+ * sees the latest version committed at or before it. Version(s) no longer visible to any reader
+ * are reclaimed by {@link #gc(long)}.
+ */
+public final class ItemStore {
+    /**
+     * Unlocked locker marker.
+     */
+    private static final long NO_LOCKER = TransactionId.NONE;
+
+    /**
+     * No older version marker.
+     */
+    private static final int NO_VERSION = -1;
+
+    /**
+     * Initial capacity of the older version(s) pool.
+     */
+    private static final int INITIAL_HISTORY_CAPACITY = 64;
+
+    /**
+     * Key space {@link Partitioner}.
+     */
+    private final Partitioner partitioner;
+
+    /**
+     * {@link it.unitn.disi.ds1.actor.DataStore} id owning the stored key(s).
+     */
+    private final int dataStoreId;
+
+    /**
+     * {@link Item} value(s).
+     */
+    private final int[] values;
+
+    /**
+     * {@link Item} version(s).
+     */
+    private final int[] versions;
+
+    /**
+     * {@link Item} commit timestamp(s).
+     */
+    private final long[] timestamps;
+
+    /**
+     * Transaction id of the locker(s), {@link #NO_LOCKER} if unlocked.
+     */
+    private final long[] lockers;
+
+    /**
+     * Newest older version of every {@link Item}, {@link #NO_VERSION} if none.
+     */
+    private final int[] historyHeads;
+
+    /**
+     * Older version value(s).
+     */
+    private int[] historyValues;
+
+    /**
+     * Older version version(s).
+     */
+    private int[] historyVersions;
+
+    /**
+     * Older version commit timestamp(s).
+     */
+    private long[] historyTimestamps;
+
+    /**
+     * Next (older) version of every older version, {@link #NO_VERSION} if none.
+     * Free older version(s) are linked from {@link #historyFree}.
+     */
+    private int[] historyNext;
+
+    /**
+     * Number of older version slot(s) ever used.
+     */
+    private int historyUsed;
+
+    /**
+     * First free older version slot, {@link #NO_VERSION} if none.
+     */
+    private int historyFree;
+
+    /**
+     * Number of older version(s) retained.
+     */
+    private int historyCount;
+
+    /**
+     * Offset(s) of the {@link Item Item(s)} with at least an older version.
+     */
+    private int[] historyOffsets;
+
+    /**
+     * Number of offset(s) in {@link #historyOffsets}.
+     */
+    private int historyOffsetsSize;
+
+    /**
+     * Construct a new ItemStore class.
+     *
+     * @param partitioner    Key space {@link Partitioner}
+     * @param dataStoreId    {@link it.unitn.disi.ds1.actor.DataStore} id owning the stored key(s)
+     * @param defaultValue   Default value of every {@link Item}
+     * @param defaultVersion Default version of every {@link Item}
+     */
+    public ItemStore(Partitioner partitioner, int dataStoreId, int defaultValue, int defaultVersion) {
+        final int size = partitioner.sizeOf(dataStoreId);
+
+        this.partitioner = partitioner;
+        this.dataStoreId = dataStoreId;
+        this.values = new int[size];
+        this.versions = new int[size];
+        this.timestamps = new long[size];
+        this.lockers = new long[size];
+        this.historyHeads = new int[size];
+        this.historyValues = new int[INITIAL_HISTORY_CAPACITY];
+        this.historyVersions = new int[INITIAL_HISTORY_CAPACITY];
+        this.historyTimestamps = new long[INITIAL_HISTORY_CAPACITY];
+        this.historyNext = new int[INITIAL_HISTORY_CAPACITY];
+        this.historyOffsets = new int[Math.min(size, INITIAL_HISTORY_CAPACITY)];
+
+        reset(defaultValue, defaultVersion);
+    }
+
+    /**
+     * Return the offset of the key in the column(s).
+     *
+     * @param key Item key
+     * @return Key offset
+     */
+    private int offset(int key) {
+        if (!contains(key))
+            throw new IllegalArgumentException(String.format("ItemStore of DataStore %d does not contain Item %d", dataStoreId, key));
+        return partitioner.localIndexOf(key);
+    }
+
+    /**
+     * Return the number of {@link Item Item(s)} stored.
+     *
+     * @return Number of Item(s)
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Check if the {@link Item} key is stored.
+     *
+     * @param key Item key
+     * @return True if stored, false otherwise
+     */
+    public boolean contains(int key) {
+        return partitioner.isValid(key) && partitioner.dataStoreOf(key) == dataStoreId;
+    }
+
+    /**
+     * Return value of the {@link Item}.
+     *
+     * @param key Item key
+     * @return Item value
+     */
+    public int getValue(int key) {
+        return values[offset(key)];
+    }
+
+    /**
+     * Return version of the {@link Item}.
+     *
+     * @param key Item key
+     * @return Item version
+     */
+    public int getVersion(int key) {
+        return versions[offset(key)];
+    }
+
+    /**
+     * Return commit timestamp of the latest version of the {@link Item}.
+     *
+     * @param key Item key
+     * @return Item commit timestamp
+     */
+    public long getTimestamp(int key) {
+        return timestamps[offset(key)];
+    }
+
+    /**
+     * Return value of the {@link Item} visible at the timestamp,
+     * that is the value of the latest version committed at or before it.
+     *
+     * @param key       Item key
+     * @param timestamp Read timestamp
+     * @return Item value
+     */
+    public int readValue(int key, long timestamp) {
+        final int offset = offset(key);
+        final int version = find(offset, timestamp);
+        return version == NO_VERSION ? values[offset] : historyValues[version];
+    }
+
+    /**
+     * Return version of the {@link Item} visible at the timestamp,
+     * that is the version of the latest version committed at or before it.
+     *
+     * @param key       Item key
+     * @param timestamp Read timestamp
+     * @return Item version
+     */
+    public int readVersion(int key, long timestamp) {
+        final int offset = offset(key);
+        final int version = find(offset, timestamp);
+        return version == NO_VERSION ? versions[offset] : historyVersions[version];
+    }
+
+    /**
+     * Find the older version visible at the timestamp.
+     * If every retained version is newer the oldest one is returned,
+     * this happens only for a timestamp below the garbage collection watermark or before a restart.
+     *
+     * @param offset    Key offset
+     * @param timestamp Read timestamp
+     * @return Older version, {@link #NO_VERSION} if the latest version is visible
+     */
+    private int find(int offset, long timestamp) {
+        if (timestamps[offset] <= timestamp) return NO_VERSION;
+
+        int oldest = NO_VERSION;
+        for (int version = historyHeads[offset]; version != NO_VERSION; version = historyNext[version]) {
+            if (historyTimestamps[version] <= timestamp) return version;
+            oldest = version;
+        }
+        return oldest;
+    }
+
+    /**
+     * Check if the {@link Item} is locked by a locker.
+     *
+     * @param key Item key
+     * @return True if locked, false otherwise
+     */
+    public boolean isLocked(int key) {
+        final int offset = offset(key);
+        return lockers[offset] != NO_LOCKER;
+    }
+
+    /**
+     * Return the locker that is locking the {@link Item}.
+     *
+     * @param key Item key
+     * @return Locker, {@link TransactionId#NONE} if not locked
+     */
+    public long lockerOf(int key) {
+        return lockers[offset(key)];
+    }
+
+    /**
+     * Check if locker is the current locker that is locking the {@link Item}.
+     * Note that if Item is not locked by any locker the returned value is false.
+     *
+     * @param key    Item key
+     * @param locker Locker to check
+     * @return True if same locker, false otherwise
+     */
+    public boolean isLocker(int key, long locker) {
+        return locker != NO_LOCKER && lockers[offset(key)] == locker;
+    }
+
+    /**
+     * Lock the {@link Item} by locker and return true if the operation has been successful.
+     *
+     * @param key    Item key
+     * @param locker Locker trying to lock the Item
+     * @return True if locked, false otherwise
+     */
+    public boolean lock(int key, long locker) {
+        final int offset = offset(key);
+
+        // Check if Item is locked and the locker is different
+        if (lockers[offset] != NO_LOCKER && lockers[offset] != locker) return false;
+
+        // Lock item
+        lockers[offset] = locker;
+        return true;
+    }
+
+    /**
+     * Remove the locker that is locking the {@link Item}
+     * only if the locker is the same.
+     *
+     * @param key    Item key
+     * @param locker Locker locking the Item
+     */
+    public void unlock(int key, long locker) {
+        final int offset = offset(key);
+        if (lockers[offset] == locker) lockers[offset] = NO_LOCKER;
+    }
+
+    /**
+     * Commit a new version of the {@link Item} with the value at the timestamp.
+     * The previous version is retained for reader(s) at an older timestamp.
+     *
+     * @param key       Item key
+     * @param value     New Item value
+     * @param timestamp Commit timestamp
+     */
+    public void commit(int key, int value, long timestamp) {
+        final int offset = offset(key);
+
+        // Retain previous version
+        final int version = allocate();
+        historyValues[version] = values[offset];
+        historyVersions[version] = versions[offset];
+        historyTimestamps[version] = timestamps[offset];
+        historyNext[version] = historyHeads[offset];
+        if (historyHeads[offset] == NO_VERSION) {
+            if (historyOffsetsSize == historyOffsets.length)
+                historyOffsets = Arrays.copyOf(historyOffsets, Math.min(values.length, historyOffsets.length * 2));
+            historyOffsets[historyOffsetsSize++] = offset;
+        }
+        historyHeads[offset] = version;
+
+        // New latest version
+        values[offset] = value;
+        versions[offset] += 1;
+        timestamps[offset] = timestamp;
+    }
+
+    /**
+     * Allocate an older version slot, growing the pool if needed.
+     *
+     * @return Older version slot
+     */
+    private int allocate() {
+        historyCount += 1;
+
+        if (historyFree != NO_VERSION) {
+            final int version = historyFree;
+            historyFree = historyNext[version];
+            return version;
+        }
+
+        if (historyUsed == historyNext.length) {
+            final int capacity = historyNext.length * 2;
+            historyValues = Arrays.copyOf(historyValues, capacity);
+            historyVersions = Arrays.copyOf(historyVersions, capacity);
+            historyTimestamps = Arrays.copyOf(historyTimestamps, capacity);
+            historyNext = Arrays.copyOf(historyNext, capacity);
+        }
+        return historyUsed++;
+    }
+
+    /**
+     * Release the chain of older version(s) to the free list.
+     *
+     * @param version First older version of the chain
+     * @return Number of released older version(s)
+     */
+    private int release(int version) {
+        int released = 0;
+        while (version != NO_VERSION) {
+            final int next = historyNext[version];
+            historyNext[version] = historyFree;
+            historyFree = version;
+            version = next;
+            released += 1;
+        }
+        historyCount -= released;
+        return released;
+    }
+
+    /**
+     * Reclaim the older version(s) not visible to any reader at or after the watermark.
+     * For every {@link Item} only the newest version committed at or before the watermark, and the newer ones, are kept.
+     *
+     * @param watermark Oldest timestamp a reader may still use
+     * @return Number of reclaimed older version(s)
+     */
+    public int gc(long watermark) {
+        int reclaimed = 0;
+        int kept = 0;
+
+        for (int i = 0; i < historyOffsetsSize; ++i) {
+            final int offset = historyOffsets[i];
+
+            // Latest version is visible at the watermark, no older version is needed
+            if (timestamps[offset] <= watermark) {
+                reclaimed += release(historyHeads[offset]);
+                historyHeads[offset] = NO_VERSION;
+                continue;
+            }
+
+            // Keep up to the first version visible at the watermark
+            int version = historyHeads[offset];
+            while (version != NO_VERSION && historyTimestamps[version] > watermark) version = historyNext[version];
+            if (version != NO_VERSION) {
+                reclaimed += release(historyNext[version]);
+                historyNext[version] = NO_VERSION;
+            }
+            historyOffsets[kept++] = offset;
+        }
+        historyOffsetsSize = kept;
+
+        return reclaimed;
+    }
+
+    /**
+     * Return the number of older version(s) retained.
+     *
+     * @return Number of older version(s)
+     */
+    public int historySize() {
+        return historyCount;
+    }
+
+    /**
+     * Return the sum of the value(s) of the latest version(s).
+     *
+     * @return Sum of the value(s)
+     */
+    public long sum() {
+        long sum = 0;
+        for (final int value : values) sum += value;
+        return sum;
+    }
+
+    /**
+     * Return the greatest commit timestamp of the latest version(s).
+     *
+     * @return Greatest commit timestamp
+     */
+    public long maxTimestamp() {
+        long max = 0;
+        for (final long timestamp : timestamps) max = Math.max(max, timestamp);
+        return max;
+    }
+
+    /**
+     * Return value of the {@link Item} at the offset in the column(s).
+     *
+     * @param offset Key offset
+     * @return Item value
+     */
+    public int valueAt(int offset) {
+        return values[offset];
+    }
+
+    /**
+     * Return version of the {@link Item} at the offset in the column(s).
+     *
+     * @param offset Key offset
+     * @return Item version
+     */
+    public int versionAt(int offset) {
+        return versions[offset];
+    }
+
+    /**
+     * Return commit timestamp of the {@link Item} at the offset in the column(s).
+     *
+     * @param offset Key offset
+     * @return Item commit timestamp
+     */
+    public long timestampAt(int offset) {
+        return timestamps[offset];
+    }
+
+    /**
+     * Restore value, version and commit timestamp of the {@link Item} at the offset in the column(s).
+     *
+     * @param offset    Key offset
+     * @param value     Item value
+     * @param version   Item version
+     * @param timestamp Item commit timestamp
+     */
+    public void restoreAt(int offset, int value, int version, long timestamp) {
+        values[offset] = value;
+        versions[offset] = version;
+        timestamps[offset] = timestamp;
+    }
+
+    /**
+     * Reset every {@link Item} to the default value and version, removing all lock(s) and older version(s).
+     *
+     * @param defaultValue   Default value of every {@link Item}
+     * @param defaultVersion Default version of every {@link Item}
+     */
+    public void reset(int defaultValue, int defaultVersion) {
+        Arrays.fill(values, defaultValue);
+        Arrays.fill(versions, defaultVersion);
+        Arrays.fill(timestamps, 0L);
+        Arrays.fill(lockers, NO_LOCKER);
+        Arrays.fill(historyHeads, NO_VERSION);
+        historyUsed = 0;
+        historyFree = NO_VERSION;
+        historyCount = 0;
+        historyOffsetsSize = 0;
+    }
+
+    /**
+     * Return a copy of the stored {@link Item Item(s)} in the offset range [from, to) visible at the timestamp ordered by key.
+     * Note that a new Item is allocated for every key, use only for snapshot(s).
+     *
+     * @param timestamp Read timestamp
+     * @param from      First key offset, inclusive
+     * @param to        Last key offset, exclusive
+     * @return Stored Item(s)
+     */
+    public Map<Integer, Item> toItems(long timestamp, int from, int to) {
+        final Map<Integer, Item> items = new TreeMap<>();
+        for (int offset = from; offset < to; ++offset) {
+            final int version = find(offset, timestamp);
+            items.put(partitioner.keyOf(dataStoreId, offset), version == NO_VERSION
+                    ? new Item(values[offset], versions[offset])
+                    : new Item(historyValues[version], historyVersions[version]));
+        }
+        return items;
+    }
+}
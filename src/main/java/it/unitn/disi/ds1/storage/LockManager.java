@@ -0,0 +1,521 @@
+package it.unitn.disi.ds1.storage;
+
+import it.unitn.disi.ds1.Config;
+import it.unitn.disi.ds1.etc.TransactionId;
+import it.unitn.disi.ds1.util.LongMap;
+
+import java.util.*;
+
+/**
+ * Lock manager of the {@link it.unitn.disi.ds1.etc.Item Item(s)} of an {@link ItemStore} with FIFO wait queue(s).
+ * A transaction locks its Item(s) in key order, on conflict the {@link Config.LockPolicy lock policy} decides
+ * if it waits in the queue of the Item, if it dies or if it wounds the younger transaction(s) in its way.
+ * The age of a transaction is its read timestamp, the lower the older, ties are broken by id.
+ * Only a transaction still waiting can be wounded, a granted one holds its locks until released.
+ * Outcome(s) of the request(s) are collected and drained with {@link #drainGranted()} and {@link #drainAborted()}.
+ */
+public final class LockManager {
+    /**
+     * No key.
+     */
+    private static final int NO_KEY = -1;
+
+    /**
+     * Lock request of a transaction.
+     */
+    private static final class Request {
+        /**
+         * Transaction id.
+         */
+        private final long transactionId;
+
+        /**
+         * Transaction age.
+         */
+        private final long age;
+
+        /**
+         * Key(s) to lock in order.
+         */
+        private final int[] keys;
+
+        /**
+         * Index of the next key to lock, key(s) before it are held.
+         */
+        private int next;
+
+        /**
+         * Key whose queue the request is waiting in, NO_KEY if not waiting.
+         */
+        private int waitingOn;
+
+        /**
+         * Construct a new Request class.
+         *
+         * @param transactionId Transaction id
+         * @param age           Transaction age
+         * @param keys          Key(s) to lock in order
+         */
+        private Request(long transactionId, long age, int[] keys) {
+            this.transactionId = transactionId;
+            this.age = age;
+            this.keys = keys;
+            this.next = 0;
+            this.waitingOn = NO_KEY;
+        }
+    }
+
+    /**
+     * {@link ItemStore} holding the lock(s).
+     */
+    private final ItemStore storage;
+
+    /**
+     * Lock policy on conflict.
+     */
+    private final Config.LockPolicy policy;
+
+    /**
+     * FIFO wait queue of each contended key.
+     */
+    private final Map<Integer, ArrayDeque<Long>> queues;
+
+    /**
+     * Pending {@link Request Request(s)} by transaction id, some lock(s) are still missing.
+     */
+    private final LongMap<Request> requests;
+
+    /**
+     * Age of each granted transaction.
+     * A transaction without age (e.g. restored) is the oldest.
+     */
+    private final LongMap<Long> grantedAges;
+
+    /**
+     * Transaction(s) granted since the last drain.
+     */
+    private final List<Long> granted;
+
+    /**
+     * Transaction(s) aborted (died or wounded) since the last drain.
+     */
+    private final List<Long> aborted;
+
+    /**
+     * Number of wait(s) in a queue.
+     */
+    private long waits;
+
+    /**
+     * Number of transaction(s) aborted on conflict.
+     */
+    private long dies;
+
+    /**
+     * Number of wounded transaction(s).
+     */
+    private long wounds;
+
+    /**
+     * Construct a new LockManager class.
+     *
+     * @param storage {@link ItemStore} holding the lock(s)
+     * @param policy  Lock policy on conflict
+     */
+    public LockManager(ItemStore storage, Config.LockPolicy policy) {
+        this.storage = storage;
+        this.policy = policy;
+        this.queues = new HashMap<>();
+        this.requests = new LongMap<>();
+        this.grantedAges = new LongMap<>();
+        this.granted = new ArrayList<>();
+        this.aborted = new ArrayList<>();
+        this.waits = 0;
+        this.dies = 0;
+        this.wounds = 0;
+    }
+
+    /**
+     * Request the lock of all the key(s) for the transaction.
+     * The outcome, immediate or not, is collected as granted or aborted.
+     *
+     * @param transactionId Transaction id
+     * @param age           Transaction age, the lower the older
+     * @param keys          Key(s) to lock
+     */
+    public void acquire(long transactionId, long age, Collection<Integer> keys) {
+        final int[] sorted = keys.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+        acquire(transactionId, age, sorted, sorted.length);
+    }
+
+    /**
+     * Request the lock of the first key(s) of the array for the transaction, they must be in order and distinct.
+     * Free key(s) with no one waiting are locked in place, a {@link Request} is created only on the first conflict.
+     * The outcome, immediate or not, is collected as granted or aborted.
+     *
+     * @param transactionId Transaction id
+     * @param age           Transaction age, the lower the older
+     * @param keys          Key(s) to lock in order
+     * @param size          Number of key(s)
+     */
+    public void acquire(long transactionId, long age, int[] keys, int size) {
+        if (requests.containsKey(transactionId) || grantedAges.containsKey(transactionId))
+            throw new IllegalStateException(String.format("LockManager transaction %s has already requested its lock(s)", transactionId));
+
+        // Lock without conflict
+        int next = 0;
+        while (next < size && storage.lockerOf(keys[next]) == TransactionId.NONE && (queues.isEmpty() || !queues.containsKey(keys[next]))) {
+            storage.lock(keys[next], transactionId);
+            next += 1;
+        }
+
+        // All lock(s) held
+        if (next == size) {
+            grantedAges.put(transactionId, age);
+            granted.add(transactionId);
+            return;
+        }
+
+        // Conflict, the request keeps its own copy of the key(s)
+        final Request request = new Request(transactionId, age, Arrays.copyOf(keys, size));
+        request.next = next;
+        requests.put(transactionId, request);
+        advance(request);
+    }
+
+    /**
+     * Lock the key(s) for the transaction without any conflict check.
+     * Used to restore the lock(s) of a prepared transaction.
+     *
+     * @param transactionId Transaction id
+     * @param keys          Key(s) to lock
+     */
+    public void lock(long transactionId, Collection<Integer> keys) {
+        keys.forEach(key -> storage.lock(key, transactionId));
+    }
+
+    /**
+     * Lock the first key(s) of the array for the transaction without any conflict check.
+     * Used to restore the lock(s) of a prepared transaction.
+     *
+     * @param transactionId Transaction id
+     * @param keys          Key(s) to lock
+     * @param size          Number of key(s)
+     */
+    public void lock(long transactionId, int[] keys, int size) {
+        for (int i = 0; i < size; i++) storage.lock(keys[i], transactionId);
+    }
+
+    /**
+     * Release all lock(s) and the pending request, if any, of the transaction,
+     * the freed key(s) are granted to the first transaction in their queue.
+     *
+     * @param transactionId Transaction id
+     * @param keys          Key(s) that may be locked by the transaction
+     */
+    public void release(long transactionId, Collection<Integer> keys) {
+        final int[] array = keys.stream().mapToInt(Integer::intValue).toArray();
+        release(transactionId, array, array.length);
+    }
+
+    /**
+     * Release all lock(s) and the pending request, if any, of the transaction,
+     * the freed key(s) are granted to the first transaction in their queue.
+     *
+     * @param transactionId Transaction id
+     * @param keys          Key(s) that may be locked by the transaction
+     * @param size          Number of key(s)
+     */
+    public void release(long transactionId, int[] keys, int size) {
+        grantedAges.remove(transactionId);
+
+        final Request request = requests.remove(transactionId);
+        if (request != null) {
+            free(request);
+            return;
+        }
+
+        for (int i = 0; i < size; i++) storage.unlock(keys[i], transactionId);
+
+        // Nobody is waiting for a freed key
+        if (queues.isEmpty()) return;
+        for (int i = 0; i < size; i++) grantNext(keys[i]);
+    }
+
+    /**
+     * Check if the transaction is waiting for some lock(s).
+     *
+     * @param transactionId Transaction id
+     * @return True if waiting, false otherwise
+     */
+    public boolean isWaiting(long transactionId) {
+        return requests.containsKey(transactionId);
+    }
+
+    /**
+     * Return and clear the transaction(s) granted all their lock(s).
+     *
+     * @return Granted transaction(s)
+     */
+    public List<Long> drainGranted() {
+        final List<Long> drained = List.copyOf(granted);
+        granted.clear();
+        return drained;
+    }
+
+    /**
+     * Return and clear the transaction(s) aborted on conflict, they hold no lock anymore.
+     *
+     * @return Aborted transaction(s)
+     */
+    public List<Long> drainAborted() {
+        final List<Long> drained = List.copyOf(aborted);
+        aborted.clear();
+        return drained;
+    }
+
+    /**
+     * Return the number of pending request(s).
+     *
+     * @return Number of request(s)
+     */
+    public int waiting() {
+        return requests.size();
+    }
+
+    /**
+     * Return the number of wait(s) in a queue.
+     *
+     * @return Number of wait(s)
+     */
+    public long waits() {
+        return waits;
+    }
+
+    /**
+     * Return the number of transaction(s) aborted on conflict.
+     *
+     * @return Number of transaction(s)
+     */
+    public long dies() {
+        return dies;
+    }
+
+    /**
+     * Return the number of wounded transaction(s).
+     *
+     * @return Number of transaction(s)
+     */
+    public long wounds() {
+        return wounds;
+    }
+
+    /**
+     * Drop all request(s), queue(s) and outcome(s).
+     * Lock(s) are held by the {@link ItemStore}, they are not released.
+     */
+    public void clear() {
+        queues.clear();
+        requests.clear();
+        grantedAges.clear();
+        granted.clear();
+        aborted.clear();
+    }
+
+    /**
+     * Lock the next key(s) of the {@link Request} until all are held, or it must wait, or it aborts.
+     *
+     * @param request Request to advance
+     */
+    private void advance(Request request) {
+        while (request.next < request.keys.length) {
+            // Wounded meanwhile
+            if (requests.get(request.transactionId) != request) return;
+
+            final int key = request.keys[request.next];
+            final long holder = storage.lockerOf(key);
+            final ArrayDeque<Long> queue = queues.get(key);
+            final Long first = queue != null ? queue.peek() : null;
+
+            // Free and no one waiting before
+            if (holder == TransactionId.NONE && (first == null || first == request.transactionId)) {
+                if (first != null) dequeue(request);
+                storage.lock(key, request.transactionId);
+                request.next += 1;
+                continue;
+            }
+
+            // Already waiting in the queue
+            if (request.waitingOn == key) return;
+
+            // Conflict
+            switch (policy) {
+                case NO_WAIT:
+                    dies += 1;
+                    abort(request);
+                    return;
+                case WAIT_DIE:
+                    // Only an older transaction waits for younger one(s)
+                    if (!isOlderThanAll(request, holder, queue)) {
+                        dies += 1;
+                        abort(request);
+                        return;
+                    }
+                    break;
+                case WOUND_WAIT:
+                    // An older transaction wounds the younger one(s), then tries again
+                    if (wound(request, holder, queue)) continue;
+                    break;
+                default:
+                    throw new IllegalStateException(String.format("LockManager unknown lock policy %s", policy));
+            }
+
+            // Wait
+            queues.computeIfAbsent(key, k -> new ArrayDeque<>()).add(request.transactionId);
+            request.waitingOn = key;
+            waits += 1;
+            return;
+        }
+
+        // All lock(s) held
+        requests.remove(request.transactionId);
+        grantedAges.put(request.transactionId, request.age);
+        granted.add(request.transactionId);
+    }
+
+    /**
+     * Abort the {@link Request} releasing its lock(s).
+     *
+     * @param request Request to abort
+     */
+    private void abort(Request request) {
+        if (requests.remove(request.transactionId) == null) return;
+
+        aborted.add(request.transactionId);
+        free(request);
+    }
+
+    /**
+     * Leave the queue and release the held lock(s) of the {@link Request},
+     * the freed key(s) are granted to the first transaction in their queue.
+     *
+     * @param request Request
+     */
+    private void free(Request request) {
+        final List<Integer> freed = new ArrayList<>(request.next + 1);
+        if (request.waitingOn != NO_KEY) freed.add(request.waitingOn);
+        dequeue(request);
+        for (int i = 0; i < request.next; ++i) {
+            storage.unlock(request.keys[i], request.transactionId);
+            freed.add(request.keys[i]);
+        }
+        freed.forEach(this::grantNext);
+    }
+
+    /**
+     * Remove the {@link Request} from the queue it is waiting in, if any.
+     *
+     * @param request Request
+     */
+    private void dequeue(Request request) {
+        if (request.waitingOn == NO_KEY) return;
+
+        final ArrayDeque<Long> queue = queues.get(request.waitingOn);
+        if (queue != null) {
+            queue.remove(request.transactionId);
+            if (queue.isEmpty()) queues.remove(request.waitingOn);
+        }
+        request.waitingOn = NO_KEY;
+    }
+
+    /**
+     * Grant the key, if free, to the first transaction in its queue.
+     *
+     * @param key Item key
+     */
+    private void grantNext(int key) {
+        final ArrayDeque<Long> queue = queues.get(key);
+        if (queue == null || storage.isLocked(key)) return;
+
+        final Request request = requests.get(queue.peek());
+        if (request != null) advance(request);
+    }
+
+    /**
+     * Wound the younger waiting transaction(s) holding or waiting for the key before the {@link Request}.
+     *
+     * @param request Request of the wounder
+     * @param holder  Current holder, {@link TransactionId#NONE} if none
+     * @param queue   Queue of the key, null if none
+     * @return True if some transaction has been wounded, false otherwise
+     */
+    private boolean wound(Request request, long holder, ArrayDeque<Long> queue) {
+        final List<Request> victims = new ArrayList<>();
+        if (holder != TransactionId.NONE && isWoundable(request, holder)) victims.add(requests.get(holder));
+        if (queue != null) {
+            for (final long waiter : queue) {
+                if (isWoundable(request, waiter)) victims.add(requests.get(waiter));
+            }
+        }
+
+        wounds += victims.size();
+        victims.forEach(this::abort);
+        return !victims.isEmpty();
+    }
+
+    /**
+     * Check if the transaction can be wounded by the {@link Request}:
+     * it is another younger transaction still waiting.
+     *
+     * @param request       Request of the wounder
+     * @param transactionId Transaction id
+     * @return True if woundable, false otherwise
+     */
+    private boolean isWoundable(Request request, long transactionId) {
+        final Request other = requests.get(transactionId);
+        return other != null && other != request && isOlder(request.transactionId, request.age, other.transactionId, other.age);
+    }
+
+    /**
+     * Check if the {@link Request} is older than the holder and every transaction in the queue.
+     *
+     * @param request Request
+     * @param holder  Current holder, {@link TransactionId#NONE} if none
+     * @param queue   Queue of the key, null if none
+     * @return True if older than all, false otherwise
+     */
+    private boolean isOlderThanAll(Request request, long holder, ArrayDeque<Long> queue) {
+        if (holder != TransactionId.NONE && !isOlder(request.transactionId, request.age, holder, ageOf(holder))) return false;
+        if (queue == null) return true;
+
+        return queue.stream()
+                .filter(waiter -> waiter != request.transactionId)
+                .allMatch(waiter -> isOlder(request.transactionId, request.age, waiter, ageOf(waiter)));
+    }
+
+    /**
+     * Return the age of the transaction, the oldest if unknown.
+     *
+     * @param transactionId Transaction id
+     * @return Transaction age
+     */
+    private long ageOf(long transactionId) {
+        final Request request = requests.get(transactionId);
+        if (request != null) return request.age;
+        return grantedAges.getOrDefault(transactionId, Long.MIN_VALUE);
+    }
+
+    /**
+     * Check if the first transaction is older than the second one.
+     *
+     * @param first     First transaction id
+     * @param firstAge  First transaction age
+     * @param second    Second transaction id
+     * @param secondAge Second transaction age
+     * @return True if older, false otherwise
+     */
+    private static boolean isOlder(long first, long firstAge, long second, long secondAge) {
+        if (firstAge != secondAge) return firstAge < secondAge;
+        return first < second;
+    }
+}
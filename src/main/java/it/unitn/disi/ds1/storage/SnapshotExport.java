@@ -0,0 +1,71 @@
+package it.unitn.disi.ds1.storage;
+
+import com.google.gson.stream.JsonWriter;
+import it.unitn.disi.ds1.etc.Item;
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * JSON export of a snapshot, written chunk by chunk as received and never held in memory.
+ * <p>
+ * File layout: a JSON object of the {@link Item Item(s)} by key, in order of arrival
+ * (ordered by key within the chunk of a {@link it.unitn.disi.ds1.actor.DataStore}).
+ */
+public final class SnapshotExport implements Closeable {
+    /**
+     * Export file path.
+     */
+    private final Path path;
+
+    /**
+     * Streaming {@link JsonWriter}.
+     */
+    private final JsonWriter writer;
+
+    /**
+     * Construct a new SnapshotExport class.
+     *
+     * @param path Export file path
+     * @throws IOException If the file cannot be created
+     */
+    public SnapshotExport(Path path) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+
+        this.path = path;
+        this.writer = new JsonWriter(Files.newBufferedWriter(path));
+        this.writer.beginObject();
+    }
+
+    /**
+     * Return the export file path.
+     *
+     * @return Export file path
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * Append a chunk of {@link Item Item(s)} by key.
+     *
+     * @param items Item(s) by key
+     * @throws IOException If the file cannot be written
+     */
+    public void write(Map<Integer, Item> items) throws IOException {
+        for (final Map.Entry<Integer, Item> entry : items.entrySet()) {
+            writer.name(String.valueOf(entry.getKey()));
+            JsonUtil.GSON.toJson(entry.getValue(), Item.class, writer);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.endObject();
+        writer.close();
+    }
+}
@@ -0,0 +1,330 @@
+package it.unitn.disi.ds1.storage;
+
+import it.unitn.disi.ds1.etc.Item;
+import it.unitn.disi.ds1.util.JsonUtil;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Private workspace of a transaction in a {@link it.unitn.disi.ds1.actor.DataStore}:
+ * the written {@link Item Item(s)} and, at vote time, the read Item(s) to validate and lock.
+ * Write and read set are kept apart in primitive key, value and version array(s) sorted by key,
+ * a key is in one of them at most.
+ * A workspace is reused after {@link #clear()}, its array(s) are kept so that a transaction allocates nothing.
+ */
+public final class Workspace {
+    /**
+     * Initial capacity of a set.
+     */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * Set of {@link Item Item(s)} sorted by key.
+     */
+    private static final class ItemSet {
+        /**
+         * Key of every Item.
+         */
+        private int[] keys;
+
+        /**
+         * Value of every Item.
+         */
+        private int[] values;
+
+        /**
+         * Version of every Item.
+         */
+        private int[] versions;
+
+        /**
+         * Number of Item(s).
+         */
+        private int size;
+
+        /**
+         * Construct a new ItemSet class.
+         */
+        private ItemSet() {
+            this.keys = new int[INITIAL_CAPACITY];
+            this.values = new int[INITIAL_CAPACITY];
+            this.versions = new int[INITIAL_CAPACITY];
+            this.size = 0;
+        }
+
+        /**
+         * Return the index of the key, or (-(insertion point) - 1) if absent.
+         *
+         * @param key Item key
+         * @return Index of the key
+         */
+        private int indexOf(int key) {
+            return Arrays.binarySearch(keys, 0, size, key);
+        }
+
+        /**
+         * Insert the Item at the index, shifting the following one(s).
+         *
+         * @param index   Insertion index
+         * @param key     Item key
+         * @param value   Item value
+         * @param version Item version
+         */
+        private void insert(int index, int key, int value, int version) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+                versions = Arrays.copyOf(versions, size * 2);
+            }
+
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+            System.arraycopy(versions, index, versions, index + 1, size - index);
+            keys[index] = key;
+            values[index] = value;
+            versions[index] = version;
+            size += 1;
+        }
+
+        /**
+         * Remove the Item at the index, shifting the following one(s).
+         *
+         * @param index Item index
+         */
+        private void remove(int index) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            System.arraycopy(versions, index + 1, versions, index, size - index - 1);
+            size -= 1;
+        }
+    }
+
+    /**
+     * Written {@link Item Item(s)}, with the new value and version.
+     */
+    private final ItemSet writes;
+
+    /**
+     * Read {@link Item Item(s)} not written, with the value and version read.
+     */
+    private final ItemSet reads;
+
+    /**
+     * Key(s) of write and read set merged in order, see {@link #keys()}.
+     */
+    private int[] keys;
+
+    /**
+     * Construct a new Workspace class.
+     */
+    public Workspace() {
+        this.writes = new ItemSet();
+        this.reads = new ItemSet();
+        this.keys = new int[INITIAL_CAPACITY * 2];
+    }
+
+    /**
+     * Write the value of the {@link Item}.
+     * The first write of the Item sets its version to the one after the read version, as {@link Item#setValue(int)},
+     * a later one only changes the value.
+     *
+     * @param key         Item key
+     * @param value       New value
+     * @param readVersion Version of the Item read by the transaction
+     */
+    public void write(int key, int value, int readVersion) {
+        final int index = writes.indexOf(key);
+        if (index >= 0) {
+            writes.values[index] = value;
+            return;
+        }
+
+        final int readIndex = reads.indexOf(key);
+        if (readIndex >= 0) reads.remove(readIndex);
+        writes.insert(-index - 1, key, value, readVersion + 1);
+    }
+
+    /**
+     * Add the {@link Item} to the read set, unless already written or read.
+     *
+     * @param key     Item key
+     * @param value   Value read
+     * @param version Version read
+     */
+    public void read(int key, int value, int version) {
+        if (writes.indexOf(key) >= 0) return;
+
+        final int index = reads.indexOf(key);
+        if (index < 0) reads.insert(-index - 1, key, value, version);
+    }
+
+    /**
+     * Add the {@link Item} to the write set with its final value and version, as replayed from the log.
+     *
+     * @param key     Item key
+     * @param value   Written value
+     * @param version Written version
+     */
+    public void restoreWrite(int key, int value, int version) {
+        final int index = writes.indexOf(key);
+        if (index >= 0) {
+            writes.values[index] = value;
+            writes.versions[index] = version;
+        } else {
+            writes.insert(-index - 1, key, value, version);
+        }
+    }
+
+    /**
+     * Return the index of the written {@link Item} in the write set, negative if not written.
+     *
+     * @param key Item key
+     * @return Index in the write set
+     */
+    public int indexOfWrite(int key) {
+        return writes.indexOf(key);
+    }
+
+    /**
+     * Return the number of written {@link Item Item(s)}.
+     *
+     * @return Number of Item(s)
+     */
+    public int writes() {
+        return writes.size;
+    }
+
+    /**
+     * Return the key of the written {@link Item} at the index.
+     *
+     * @param index Index in the write set
+     * @return Item key
+     */
+    public int writeKey(int index) {
+        return writes.keys[index];
+    }
+
+    /**
+     * Return the value of the written {@link Item} at the index.
+     *
+     * @param index Index in the write set
+     * @return Item value
+     */
+    public int writeValue(int index) {
+        return writes.values[index];
+    }
+
+    /**
+     * Return the version of the written {@link Item} at the index.
+     *
+     * @param index Index in the write set
+     * @return Item version
+     */
+    public int writeVersion(int index) {
+        return writes.versions[index];
+    }
+
+    /**
+     * Return the number of read, and not written, {@link Item Item(s)}.
+     *
+     * @return Number of Item(s)
+     */
+    public int reads() {
+        return reads.size;
+    }
+
+    /**
+     * Return the key of the read {@link Item} at the index.
+     *
+     * @param index Index in the read set
+     * @return Item key
+     */
+    public int readKey(int index) {
+        return reads.keys[index];
+    }
+
+    /**
+     * Return the value of the read {@link Item} at the index.
+     *
+     * @param index Index in the read set
+     * @return Item value
+     */
+    public int readValue(int index) {
+        return reads.values[index];
+    }
+
+    /**
+     * Return the version of the read {@link Item} at the index.
+     *
+     * @param index Index in the read set
+     * @return Item version
+     */
+    public int readVersion(int index) {
+        return reads.versions[index];
+    }
+
+    /**
+     * Return the number of {@link Item Item(s)}, written or read.
+     *
+     * @return Number of Item(s)
+     */
+    public int size() {
+        return writes.size + reads.size;
+    }
+
+    /**
+     * Check if the transaction has not written any {@link Item}.
+     *
+     * @return True if read-only, false otherwise
+     */
+    public boolean isReadOnly() {
+        return writes.size == 0;
+    }
+
+    /**
+     * Return the key(s) of all the {@link Item Item(s)} in order, the first {@link #size()} of the returned array.
+     * The array is reused, it is valid until the workspace changes.
+     *
+     * @return Key(s) in order
+     */
+    public int[] keys() {
+        final int size = size();
+        if (keys.length < size) keys = new int[Math.max(size, keys.length * 2)];
+
+        // Merge the sorted set(s), a key is in one of them at most
+        int w = 0, r = 0, k = 0;
+        while (w < writes.size && r < reads.size) {
+            keys[k++] = writes.keys[w] < reads.keys[r] ? writes.keys[w++] : reads.keys[r++];
+        }
+        while (w < writes.size) keys[k++] = writes.keys[w++];
+        while (r < reads.size) keys[k++] = reads.keys[r++];
+        return keys;
+    }
+
+    /**
+     * Remove all {@link Item Item(s)}, keeping the array(s).
+     */
+    public void clear() {
+        writes.size = 0;
+        reads.size = 0;
+    }
+
+    /**
+     * Return a copy of the {@link Item Item(s)} by key, written one(s) first.
+     *
+     * @return Item(s) by key
+     */
+    public Map<Integer, Item> toItems() {
+        final Map<Integer, Item> items = new LinkedHashMap<>(size() * 2);
+        for (int i = 0; i < writes.size; i++) items.put(writes.keys[i], new Item(writes.values[i], writes.versions[i], true));
+        for (int i = 0; i < reads.size; i++) items.put(reads.keys[i], new Item(reads.values[i], reads.versions[i]));
+        return items;
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(toItems());
+    }
+}
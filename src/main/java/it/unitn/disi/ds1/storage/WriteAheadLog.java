@@ -0,0 +1,383 @@
+package it.unitn.disi.ds1.storage;
+
+import it.unitn.disi.ds1.etc.Decision;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only Write-Ahead Log (WAL) of a {@link it.unitn.disi.ds1.actor.DataStore}.
+ * Record(s) are appended to an in-memory buffer and written through a {@link FileChannel}
+ * with a single fsync for the whole group, see {@link #sync()}.
+ * <p>
+ * Record layout: [length int][crc int][type byte][transaction id long][body].
+ * Vote body: [coordinator id int][decision byte][prepare timestamp long][n int] followed by n [key int][value int][version int][changed byte].
+ * Decision body: [decision byte][commit timestamp long].
+ */
+public final class WriteAheadLog implements Closeable {
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(WriteAheadLog.class);
+
+    /**
+     * Vote record type.
+     */
+    private static final byte VOTE = 1;
+
+    /**
+     * Decision record type.
+     */
+    private static final byte DECISION = 2;
+
+    /**
+     * Record header size (length and crc).
+     */
+    private static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+
+    /**
+     * Vote entry size.
+     */
+    private static final int ENTRY_SIZE = Integer.BYTES * 3 + Byte.BYTES;
+
+    /**
+     * Listener of replayed record(s).
+     */
+    public interface Replay {
+        /**
+         * Callback for a replayed vote record.
+         *
+         * @param position      Record position in the log
+         * @param transactionId Transaction id
+         * @param coordinatorId {@link it.unitn.disi.ds1.actor.Coordinator} id
+         * @param vote             Vote
+         * @param prepareTimestamp Prepare timestamp
+         * @param workspace        Workspace of the transaction at vote time
+         */
+        void onVote(long position, long transactionId, int coordinatorId, Decision vote, long prepareTimestamp, Workspace workspace);
+
+        /**
+         * Callback for a replayed decision record.
+         *
+         * @param transactionId Transaction id
+         * @param decision        Final decision
+         * @param commitTimestamp Commit timestamp
+         */
+        void onDecision(long transactionId, Decision decision, long commitTimestamp);
+    }
+
+    /**
+     * Log file {@link Path}.
+     */
+    private final Path path;
+
+    /**
+     * Log {@link FileChannel}.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Checksum used for every record.
+     */
+    private final CRC32 crc;
+
+    /**
+     * Buffer of record(s) not yet written.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Number of byte(s) written to the channel.
+     */
+    private long written;
+
+    /**
+     * Number of record(s) not yet synced.
+     */
+    private int pending;
+
+    /**
+     * Number of record(s) appended.
+     */
+    private long records;
+
+    /**
+     * Number of sync(s).
+     */
+    private long syncs;
+
+    /**
+     * Construct a new WriteAheadLog class.
+     *
+     * @param path       Log file {@link Path}
+     * @param bufferSize Initial size of the buffer
+     * @throws IOException If the log file cannot be opened
+     */
+    public WriteAheadLog(Path path, int bufferSize) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.channel.position(channel.size());
+        this.written = channel.size();
+        this.crc = new CRC32();
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.pending = 0;
+        this.records = 0;
+        this.syncs = 0;
+    }
+
+    /**
+     * Return the number of record(s) not yet synced.
+     *
+     * @return Number of pending record(s)
+     */
+    public int pending() {
+        return pending;
+    }
+
+    /**
+     * Return the position in the log of the next record.
+     *
+     * @return Log position
+     */
+    public long position() {
+        return written + buffer.position();
+    }
+
+    /**
+     * Return the number of record(s) appended.
+     *
+     * @return Number of record(s)
+     */
+    public long records() {
+        return records;
+    }
+
+    /**
+     * Return the number of sync(s).
+     *
+     * @return Number of sync(s)
+     */
+    public long syncs() {
+        return syncs;
+    }
+
+    /**
+     * Ensure the buffer has the capacity for the record.
+     *
+     * @param size Record size
+     * @throws IOException If the buffer cannot be written
+     */
+    private void ensureCapacity(int size) throws IOException {
+        if (buffer.remaining() >= size) return;
+
+        // Write what is buffered
+        write();
+        if (buffer.capacity() >= size) return;
+
+        // Grow
+        buffer = ByteBuffer.allocateDirect(Math.max(size, buffer.capacity() * 2));
+    }
+
+    /**
+     * Begin a record.
+     *
+     * @param type          Record type
+     * @param transactionId Transaction id
+     * @param bodySize      Body size
+     * @return Record start position in the buffer
+     * @throws IOException If the buffer cannot be written
+     */
+    private int begin(byte type, long transactionId, int bodySize) throws IOException {
+        final int length = Byte.BYTES + Long.BYTES + bodySize;
+        ensureCapacity(HEADER_SIZE + length);
+
+        final int start = buffer.position();
+        buffer.putInt(length);
+        buffer.putInt(0);
+        buffer.put(type);
+        buffer.putLong(transactionId);
+        return start;
+    }
+
+    /**
+     * End a record computing its checksum.
+     *
+     * @param start Record start position in the buffer
+     */
+    private void end(int start) {
+        final int end = buffer.position();
+        final ByteBuffer payload = buffer.duplicate();
+        payload.position(start + HEADER_SIZE).limit(end);
+
+        crc.reset();
+        crc.update(payload);
+        buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+
+        pending += 1;
+        records += 1;
+    }
+
+    /**
+     * Append a vote record.
+     *
+     * @param transactionId Transaction id
+     * @param coordinatorId {@link it.unitn.disi.ds1.actor.Coordinator} id
+     * @param vote             Vote
+     * @param prepareTimestamp Prepare timestamp
+     * @param workspace        Workspace of the transaction
+     * @return Record position in the log
+     * @throws IOException If the buffer cannot be written
+     */
+    public long appendVote(long transactionId, int coordinatorId, Decision vote, long prepareTimestamp, Workspace workspace) throws IOException {
+        final int start = begin(VOTE, transactionId, Integer.BYTES + Byte.BYTES + Long.BYTES + Integer.BYTES + workspace.size() * ENTRY_SIZE);
+        buffer.putInt(coordinatorId);
+        buffer.put(vote == Decision.COMMIT ? (byte) 1 : (byte) 0);
+        buffer.putLong(prepareTimestamp);
+        buffer.putInt(workspace.size());
+        for (int i = 0; i < workspace.writes(); i++) {
+            buffer.putInt(workspace.writeKey(i));
+            buffer.putInt(workspace.writeValue(i));
+            buffer.putInt(workspace.writeVersion(i));
+            buffer.put((byte) 1);
+        }
+        for (int i = 0; i < workspace.reads(); i++) {
+            buffer.putInt(workspace.readKey(i));
+            buffer.putInt(workspace.readValue(i));
+            buffer.putInt(workspace.readVersion(i));
+            buffer.put((byte) 0);
+        }
+        end(start);
+
+        return written + start;
+    }
+
+    /**
+     * Append a decision record.
+     *
+     * @param transactionId Transaction id
+     * @param decision        Final decision
+     * @param commitTimestamp Commit timestamp
+     * @throws IOException If the buffer cannot be written
+     */
+    public void appendDecision(long transactionId, Decision decision, long commitTimestamp) throws IOException {
+        final int start = begin(DECISION, transactionId, Byte.BYTES + Long.BYTES);
+        buffer.put(decision == Decision.COMMIT ? (byte) 1 : (byte) 0);
+        buffer.putLong(commitTimestamp);
+        end(start);
+    }
+
+    /**
+     * Write the buffered record(s) to the channel without forcing them to disk.
+     *
+     * @throws IOException If the channel cannot be written
+     */
+    private void write() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) written += channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Write the buffered record(s) and force them to disk with a single fsync (group commit).
+     *
+     * @throws IOException If the channel cannot be written or forced
+     */
+    public void sync() throws IOException {
+        if (pending == 0) return;
+
+        write();
+        channel.force(false);
+        syncs += 1;
+        LOGGER.trace("WAL {} synced {} record(s)", path, pending);
+        pending = 0;
+    }
+
+    /**
+     * Replay all valid record(s) in the log from the given position.
+     * A torn or corrupted tail is truncated and the log is positioned at its end, ready to append.
+     *
+     * @param position Position to replay from
+     * @param replay   {@link Replay} listener
+     * @return Number of replayed record(s)
+     * @throws IOException If the log cannot be read
+     */
+    public long replay(long position, Replay replay) throws IOException {
+        final long size = channel.size();
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        long replayed = 0;
+
+        while (position + HEADER_SIZE <= size) {
+            header.clear();
+            channel.read(header, position);
+            header.flip();
+            final int length = header.getInt();
+            final int checksum = header.getInt();
+            if (length <= 0 || position + HEADER_SIZE + length > size) break;
+
+            final ByteBuffer record = ByteBuffer.allocate(length);
+            while (record.hasRemaining() && channel.read(record, position + HEADER_SIZE + record.position()) >= 0) ;
+            record.flip();
+            crc.reset();
+            crc.update(record.duplicate());
+            if ((int) crc.getValue() != checksum) break;
+
+            final byte type = record.get();
+            final long transactionId = record.getLong();
+            switch (type) {
+                case VOTE: {
+                    final int coordinatorId = record.getInt();
+                    final Decision vote = Decision.valueOf(record.get() == 1);
+                    final long prepareTimestamp = record.getLong();
+                    final int n = record.getInt();
+                    final Workspace workspace = new Workspace();
+                    for (int i = 0; i < n; ++i) {
+                        final int key = record.getInt();
+                        final int value = record.getInt();
+                        final int version = record.getInt();
+                        final boolean changed = record.get() == 1;
+                        if (changed) workspace.restoreWrite(key, value, version);
+                        else workspace.read(key, value, version);
+                    }
+                    replay.onVote(position, transactionId, coordinatorId, vote, prepareTimestamp, workspace);
+                    break;
+                }
+                case DECISION: {
+                    final Decision decision = Decision.valueOf(record.get() == 1);
+                    replay.onDecision(transactionId, decision, record.getLong());
+                    break;
+                }
+                default:
+                    throw new IOException(String.format("WAL %s unknown record type %d at position %d", path, type, position));
+            }
+
+            position += HEADER_SIZE + length;
+            replayed += 1;
+        }
+
+        // Drop torn tail
+        if (position < size) {
+            LOGGER.warn("WAL {} truncated torn tail of {} byte(s) at position {}", path, size - position, position);
+            channel.truncate(position);
+        }
+        channel.position(position);
+        written = position;
+
+        return replayed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        sync();
+        channel.close();
+    }
+}
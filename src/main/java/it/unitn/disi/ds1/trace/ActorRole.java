@@ -0,0 +1,33 @@
+package it.unitn.disi.ds1.trace;
+
+/**
+ * Role of the {@link it.unitn.disi.ds1.actor.Actor} recording an event.
+ */
+public enum ActorRole {
+    /**
+     * {@link it.unitn.disi.ds1.actor.Client}.
+     */
+    CLIENT("Client"),
+    /**
+     * {@link it.unitn.disi.ds1.actor.Coordinator}.
+     */
+    COORDINATOR("Coordinator"),
+    /**
+     * {@link it.unitn.disi.ds1.actor.DataStore}.
+     */
+    DATA_STORE("DataStore");
+
+    /**
+     * Human-readable name.
+     */
+    public final String label;
+
+    /**
+     * Construct a new ActorRole class.
+     *
+     * @param label Human-readable name
+     */
+    ActorRole(String label) {
+        this.label = label;
+    }
+}
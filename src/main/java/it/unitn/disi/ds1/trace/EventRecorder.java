@@ -0,0 +1,165 @@
+package it.unitn.disi.ds1.trace;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ring buffer of the fixed-size transaction event(s) of an {@link it.unitn.disi.ds1.actor.Actor}.
+ * The Actor is the only producer and the {@link EventTrace} flusher the only consumer:
+ * recording writes the event in place and publishes it with an ordered store, without lock(s) nor allocation.
+ * When the buffer is full the event is dropped and counted, the Actor never waits for the flusher.
+ */
+public final class EventRecorder {
+    /**
+     * Number of long(s) of an event in the buffer: time, transaction id, type and key, value.
+     */
+    private static final int EVENT_LONGS = 4;
+
+    /**
+     * Size (byte) of an encoded event: time, transaction id, value, key, role, type and actor id.
+     */
+    public static final int EVENT_BYTES = 3 * Long.BYTES + Integer.BYTES + 2 * Byte.BYTES + Short.BYTES;
+
+    /**
+     * Role of the Actor.
+     */
+    public final ActorRole role;
+
+    /**
+     * Id of the Actor.
+     */
+    public final int actorId;
+
+    /**
+     * Event(s), {@link #EVENT_LONGS} long(s) each.
+     */
+    private final long[] events;
+
+    /**
+     * Capacity mask, the capacity being a power of 2.
+     */
+    private final int mask;
+
+    /**
+     * Recording is enabled.
+     */
+    private final boolean enabled;
+
+    /**
+     * Sequence of the next event to record, published to the consumer.
+     */
+    private final AtomicLong tail;
+
+    /**
+     * Sequence of the next event to drain, published to the producer.
+     */
+    private final AtomicLong head;
+
+    /**
+     * Latest head seen by the producer.
+     */
+    private long cachedHead;
+
+    /**
+     * Number of dropped event(s).
+     */
+    private final AtomicLong dropped;
+
+    /**
+     * Construct a new EventRecorder class.
+     *
+     * @param role     Role of the Actor
+     * @param actorId  Id of the Actor
+     * @param capacity Number of event(s) buffered, rounded up to a power of 2
+     * @param enabled  Recording is enabled
+     */
+    public EventRecorder(ActorRole role, int actorId, int capacity, boolean enabled) {
+        if (capacity < 1)
+            throw new IllegalArgumentException(String.format("EventRecorder capacity must be positive, found %d", capacity));
+
+        final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.role = role;
+        this.actorId = actorId;
+        this.events = new long[enabled ? size * EVENT_LONGS : 0];
+        this.mask = size - 1;
+        this.enabled = enabled;
+        this.tail = new AtomicLong();
+        this.head = new AtomicLong();
+        this.cachedHead = 0;
+        this.dropped = new AtomicLong();
+    }
+
+    /**
+     * Record an event.
+     *
+     * @param type          Event type
+     * @param transactionId Transaction id, {@link it.unitn.disi.ds1.etc.TransactionId#NONE} if none
+     * @param key           Event key, see {@link EventType#keyLabel}
+     * @param value         Event value, see {@link EventType#valueLabel}
+     */
+    public void record(EventType type, long transactionId, int key, long value) {
+        if (!enabled) return;
+
+        // Full, unless the consumer has drained meanwhile
+        final long sequence = tail.get();
+        if (sequence - cachedHead > mask) {
+            cachedHead = head.get();
+            if (sequence - cachedHead > mask) {
+                dropped.incrementAndGet();
+                return;
+            }
+        }
+
+        final int offset = (int) (sequence & mask) * EVENT_LONGS;
+        events[offset] = EventTrace.now();
+        events[offset + 1] = transactionId;
+        events[offset + 2] = ((long) type.ordinal() << Integer.SIZE) | (key & 0xFFFFFFFFL);
+        events[offset + 3] = value;
+        tail.lazySet(sequence + 1);
+    }
+
+    /**
+     * Record an event without key nor value.
+     *
+     * @param type          Event type
+     * @param transactionId Transaction id, {@link it.unitn.disi.ds1.etc.TransactionId#NONE} if none
+     */
+    public void record(EventType type, long transactionId) {
+        record(type, transactionId, 0, 0L);
+    }
+
+    /**
+     * Encode the recorded event(s) into the buffer, as many as fit, and release them.
+     *
+     * @param buffer Destination buffer
+     * @return Number of encoded event(s)
+     */
+    public int drain(ByteBuffer buffer) {
+        final long from = head.get();
+        final long available = tail.get() - from;
+        final int count = (int) Math.min(available, buffer.remaining() / EVENT_BYTES);
+
+        for (int i = 0; i < count; i++) {
+            final int offset = (int) ((from + i) & mask) * EVENT_LONGS;
+            buffer.putLong(events[offset])
+                    .putLong(events[offset + 1])
+                    .putLong(events[offset + 3])
+                    .putInt((int) events[offset + 2])
+                    .put((byte) role.ordinal())
+                    .put((byte) (events[offset + 2] >>> Integer.SIZE))
+                    .putShort((short) actorId);
+        }
+        head.lazySet(from + count);
+
+        return count;
+    }
+
+    /**
+     * Return the number of event(s) dropped since the buffer was full.
+     *
+     * @return Number of dropped event(s)
+     */
+    public long dropped() {
+        return dropped.get();
+    }
+}
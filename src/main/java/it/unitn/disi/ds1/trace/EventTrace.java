@@ -0,0 +1,192 @@
+package it.unitn.disi.ds1.trace;
+
+import it.unitn.disi.ds1.Config;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Binary trace of the transaction event(s) of all the {@link EventRecorder EventRecorder(s)} of the JVM.
+ * A daemon flusher thread drains the recorder(s) every {@link Config#TRACE_FLUSH_INTERVAL_MS} ms to the trace file,
+ * off the thread(s) of the actor(s).
+ * The file starts with {@link #MAGIC} and {@link #VERSION} followed by the encoded event(s), in flush order:
+ * see {@link TraceDecoder} for the human-readable trace.
+ */
+public final class EventTrace {
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(EventTrace.class);
+
+    /**
+     * Magic number of a trace file, "BKTR".
+     */
+    public static final int MAGIC = 0x424B5452;
+
+    /**
+     * Version of the trace file format.
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * Number of event(s) written at once.
+     */
+    private static final int FLUSH_BATCH_EVENTS = 4096;
+
+    /**
+     * Offset (ns) from {@link System#nanoTime()} to the time since epoch.
+     */
+    private static final long EPOCH_OFFSET_NANOS = System.currentTimeMillis() * 1_000_000L - System.nanoTime();
+
+    /**
+     * Registered {@link EventRecorder EventRecorder(s)}.
+     */
+    private static final List<EventRecorder> RECORDERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Buffer of the encoded event(s), used by the flusher only.
+     */
+    private static final ByteBuffer BUFFER = ByteBuffer.allocateDirect(FLUSH_BATCH_EVENTS * EventRecorder.EVENT_BYTES);
+
+    /**
+     * Trace file, null if closed.
+     */
+    private static FileChannel channel;
+
+    /**
+     * Flusher thread, null if closed.
+     */
+    private static Thread flusher;
+
+    /**
+     * The flusher is running.
+     * The flusher is stopped with this flag and not interrupted, an interrupted write would close the trace file.
+     */
+    private static volatile boolean running;
+
+    /**
+     * Construct a new EventTrace class.
+     */
+    private EventTrace() {
+    }
+
+    /**
+     * Return the current time.
+     *
+     * @return Time (ns) since epoch
+     */
+    public static long now() {
+        return EPOCH_OFFSET_NANOS + System.nanoTime();
+    }
+
+    /**
+     * Open the trace file, replacing it, and start the flusher.
+     * No-op if tracing is disabled or the trace is already open.
+     *
+     * @param path Trace file
+     */
+    public static synchronized void open(Path path) {
+        if (!Config.TRACE_ENABLED || channel != null) return;
+
+        try {
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            final ByteBuffer header = ByteBuffer.allocate(2 * Integer.BYTES).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            while (header.hasRemaining()) channel.write(header);
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("Unable to open trace file %s: %s", path, e.getMessage()), e);
+        }
+
+        running = true;
+        flusher = new Thread(EventTrace::flushLoop, "event-trace-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        LOGGER.info("Tracing transaction event(s) to {}", path);
+    }
+
+    /**
+     * Return a new {@link EventRecorder} for an {@link it.unitn.disi.ds1.actor.Actor}, registered to the flusher.
+     * The recorder is disabled if the trace is not open.
+     *
+     * @param role    Role of the Actor
+     * @param actorId Id of the Actor
+     * @return EventRecorder instance
+     */
+    public static synchronized EventRecorder recorder(ActorRole role, int actorId) {
+        final boolean enabled = channel != null;
+        final EventRecorder recorder = new EventRecorder(role, actorId, Config.TRACE_BUFFER_EVENTS, enabled);
+        if (enabled) RECORDERS.add(recorder);
+        return recorder;
+    }
+
+    /**
+     * Stop the flusher, flush the remaining event(s) and close the trace file.
+     * No-op if the trace is not open.
+     */
+    public static synchronized void close() {
+        if (channel == null) return;
+
+        running = false;
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            flush();
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.error("Unable to close trace file: {}", e.getMessage());
+        }
+
+        final long dropped = RECORDERS.stream().mapToLong(EventRecorder::dropped).sum();
+        if (dropped > 0) LOGGER.warn("Trace dropped {} event(s) with full buffer(s), increase TRACE_BUFFER_EVENTS", dropped);
+
+        RECORDERS.clear();
+        channel = null;
+        flusher = null;
+    }
+
+    /**
+     * Flush periodically until stopped.
+     */
+    private static void flushLoop() {
+        while (running) {
+            try {
+                flush();
+                Thread.sleep(Config.TRACE_FLUSH_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                LOGGER.error("Unable to write trace file, tracing stopped: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drain every {@link EventRecorder} to the trace file.
+     *
+     * @throws IOException If unable to write
+     */
+    private static void flush() throws IOException {
+        for (final EventRecorder recorder : RECORDERS) {
+            BUFFER.clear();
+            while (recorder.drain(BUFFER) > 0) {
+                BUFFER.flip();
+                while (BUFFER.hasRemaining()) channel.write(BUFFER);
+                BUFFER.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package it.unitn.disi.ds1.trace;
+
+import it.unitn.disi.ds1.etc.Decision;
+
+/**
+ * Type of a transaction event, with the meaning of its key and value.
+ * A null label means the key or value is unused.
+ */
+public enum EventType {
+    // --- Coordinator ---
+    /**
+     * Transaction begun by a Client.
+     */
+    BEGIN(null, "client", false),
+    /**
+     * Read of an {@link it.unitn.disi.ds1.etc.Item} requested to a DataStore.
+     */
+    READ_REQUEST("key", "dataStore", false),
+    /**
+     * Write of an {@link it.unitn.disi.ds1.etc.Item} requested to a DataStore.
+     */
+    WRITE_REQUEST("key", "value", false),
+    /**
+     * End of the transaction requested by the Client.
+     */
+    END_REQUEST(null, "decision", true),
+    /**
+     * Vote requested to the DataStore(s).
+     */
+    VOTE_REQUEST(null, "dataStores", false),
+    /**
+     * Vote received from a DataStore.
+     */
+    VOTE_RESULT("dataStore", "vote", true),
+    /**
+     * Final decision taken, or applied by a DataStore.
+     */
+    DECISION(null, "decision", true),
+    /**
+     * Final decision acknowledged by a DataStore.
+     */
+    DECISION_ACK("dataStore", null, false),
+
+    // --- DataStore ---
+    /**
+     * {@link it.unitn.disi.ds1.etc.Item} read at the transaction read timestamp.
+     */
+    READ("key", "value", false),
+    /**
+     * {@link it.unitn.disi.ds1.etc.Item} written in the workspace.
+     */
+    WRITE("key", "value", false),
+    /**
+     * {@link it.unitn.disi.ds1.etc.Item} committed after the transaction read timestamp.
+     */
+    VALIDATION_FAILED("key", "timestamp", false),
+    /**
+     * Vote deferred waiting for lock(s).
+     */
+    LOCK_WAIT(null, null, false),
+    /**
+     * Lock(s) refused by the lock policy.
+     */
+    LOCK_FAILED(null, null, false),
+    /**
+     * Vote sent.
+     */
+    VOTE(null, "vote", true),
+    /**
+     * {@link it.unitn.disi.ds1.etc.Item} committed.
+     */
+    COMMIT("key", "value", false);
+
+    /**
+     * Meaning of the key.
+     */
+    public final String keyLabel;
+
+    /**
+     * Meaning of the value.
+     */
+    public final String valueLabel;
+
+    /**
+     * The value is a {@link Decision} ordinal.
+     */
+    public final boolean decisionValue;
+
+    /**
+     * Construct a new EventType class.
+     *
+     * @param keyLabel      Meaning of the key
+     * @param valueLabel    Meaning of the value
+     * @param decisionValue The value is a {@link Decision} ordinal
+     */
+    EventType(String keyLabel, String valueLabel, boolean decisionValue) {
+        this.keyLabel = keyLabel;
+        this.valueLabel = valueLabel;
+        this.decisionValue = decisionValue;
+    }
+
+    /**
+     * Return the human-readable key and value of an event of this type.
+     *
+     * @param key   Event key
+     * @param value Event value
+     * @return Key and value
+     */
+    public String describe(int key, long value) {
+        final StringBuilder builder = new StringBuilder();
+        if (keyLabel != null) builder.append(keyLabel).append('=').append(key);
+        if (valueLabel != null) {
+            if (builder.length() > 0) builder.append(' ');
+            builder.append(valueLabel).append('=').append(decisionValue ? Decision.values()[(int) value] : Long.toString(value));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,174 @@
+package it.unitn.disi.ds1.trace;
+
+import it.unitn.disi.ds1.etc.TransactionId;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Offline decoder of an {@link EventTrace} file into a human-readable trace, one event per line in time order:
+ * time, actor, transaction id, event type, key and value.
+ * <p>
+ * Argument(s): TRACE_FILE [--txn TRANSACTION_ID] [--out FILE]
+ * with --txn only the event(s) of the transaction are decoded, with --out the trace is written to the file instead of stdout.
+ */
+public final class TraceDecoder {
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(TraceDecoder.class);
+
+    /**
+     * Decoded event.
+     */
+    private static final class Event {
+        /**
+         * Time (ns) since epoch.
+         */
+        private final long time;
+
+        /**
+         * Transaction id, {@link TransactionId#NONE} if none.
+         */
+        private final long transactionId;
+
+        /**
+         * Event value.
+         */
+        private final long value;
+
+        /**
+         * Event key.
+         */
+        private final int key;
+
+        /**
+         * Role of the Actor.
+         */
+        private final ActorRole role;
+
+        /**
+         * Event type.
+         */
+        private final EventType type;
+
+        /**
+         * Id of the Actor.
+         */
+        private final int actorId;
+
+        /**
+         * Construct a new Event class decoding it from the buffer.
+         *
+         * @param buffer Source buffer
+         */
+        private Event(ByteBuffer buffer) {
+            this.time = buffer.getLong();
+            this.transactionId = buffer.getLong();
+            this.value = buffer.getLong();
+            this.key = buffer.getInt();
+            this.role = ActorRole.values()[buffer.get()];
+            this.type = EventType.values()[buffer.get()];
+            this.actorId = buffer.getShort();
+        }
+
+        /**
+         * Return the human-readable event.
+         *
+         * @return Trace line
+         */
+        private String render() {
+            final Instant instant = Instant.ofEpochSecond(time / 1_000_000_000L, time % 1_000_000_000L);
+            return String.format("%s %s %d %s %s %s", instant, role.label, actorId,
+                    transactionId != TransactionId.NONE ? Long.toString(transactionId) : "-", type, type.describe(key, value)).trim();
+        }
+    }
+
+    /**
+     * Construct a new TraceDecoder class.
+     */
+    private TraceDecoder() {
+    }
+
+    /**
+     * Decode all the event(s) of a trace file, in time order.
+     *
+     * @param path Trace file
+     * @return Event(s)
+     * @throws IOException If unable to read or not a trace file
+     */
+    private static List<Event> decode(Path path) throws IOException {
+        final List<Event> events = new ArrayList<>();
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(4096 * EventRecorder.EVENT_BYTES);
+            buffer.limit(2 * Integer.BYTES);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) break;
+            }
+            buffer.flip();
+            if (buffer.remaining() < 2 * Integer.BYTES || buffer.getInt() != EventTrace.MAGIC)
+                throw new IOException(String.format("%s is not a trace file", path));
+            final int version = buffer.getInt();
+            if (version != EventTrace.VERSION)
+                throw new IOException(String.format("%s trace version %d is not supported, expected %d", path, version, EventTrace.VERSION));
+
+            buffer.clear();
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.remaining() >= EventRecorder.EVENT_BYTES) events.add(new Event(buffer));
+                buffer.compact();
+            }
+            if (buffer.position() > 0)
+                LOGGER.warn("Trace {} ends with a truncated event of {} byte(s)", path, buffer.position());
+        }
+
+        events.sort(Comparator.comparingLong(event -> event.time));
+        return events;
+    }
+
+    public static void main(String[] args) {
+        Path path = null;
+        long transactionId = TransactionId.NONE;
+        Path out = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                final String arg = args[i];
+                if (arg.equals("--txn") && i + 1 < args.length) {
+                    transactionId = Long.parseLong(args[++i]);
+                } else if (arg.equals("--out") && i + 1 < args.length) {
+                    out = Path.of(args[++i]);
+                } else if (path == null && !arg.startsWith("--")) {
+                    path = Path.of(arg);
+                } else {
+                    throw new IllegalArgumentException(String.format("Unknown argument %s", arg));
+                }
+            }
+            if (path == null) throw new IllegalArgumentException("Missing trace file argument");
+
+            final List<Event> events = decode(path);
+            try (final Writer writer = out != null
+                    ? Files.newBufferedWriter(out)
+                    : new BufferedWriter(new OutputStreamWriter(System.out))) {
+                for (final Event event : events) {
+                    if (transactionId != TransactionId.NONE && transactionId != event.transactionId) continue;
+                    writer.write(event.render());
+                    writer.write(System.lineSeparator());
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.error("Trace decoding has FAILED: {}", e.getMessage());
+        }
+    }
+}
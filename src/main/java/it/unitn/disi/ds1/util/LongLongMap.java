@@ -0,0 +1,231 @@
+package it.unitn.disi.ds1.util;
+
+import java.util.Arrays;
+
+/**
+ * Map from primitive long key(s) to primitive long value(s) with open addressing and linear probing,
+ * as {@link LongMap} but a value is never boxed.
+ * An absent key is reported by the absent value chosen by the caller.
+ * Key 0 is reserved as the empty slot marker, as {@link it.unitn.disi.ds1.etc.TransactionId#NONE}.
+ */
+public final class LongLongMap {
+    /**
+     * Empty slot key.
+     */
+    private static final long EMPTY = 0L;
+
+    /**
+     * Default initial capacity.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Maximum load factor before growing.
+     */
+    private static final float LOAD_FACTOR = 0.5f;
+
+    /**
+     * Multiplier of the Fibonacci hashing.
+     */
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Key of each slot, {@link #EMPTY} if free.
+     */
+    private long[] keys;
+
+    /**
+     * Value of each slot.
+     */
+    private long[] values;
+
+    /**
+     * Number of entries.
+     */
+    private int size;
+
+    /**
+     * Shift of the hash to a slot index.
+     */
+    private int shift;
+
+    /**
+     * Number of entries before growing.
+     */
+    private int threshold;
+
+    /**
+     * Construct a new LongLongMap class.
+     */
+    public LongLongMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Return the value of the key, or the absent value.
+     *
+     * @param key    Key
+     * @param absent Value of an absent key
+     * @return Value
+     */
+    public long get(long key, long absent) {
+        final int slot = slotOf(key);
+        return slot >= 0 ? values[slot] : absent;
+    }
+
+    /**
+     * Check if the key is present.
+     *
+     * @param key Key
+     * @return True if present, false otherwise
+     */
+    public boolean containsKey(long key) {
+        return slotOf(key) >= 0;
+    }
+
+    /**
+     * Associate the value to the key.
+     *
+     * @param key   Key, not 0
+     * @param value Value
+     */
+    public void put(long key, long value) {
+        if (key == EMPTY)
+            throw new IllegalArgumentException(String.format("LongLongMap key %d is reserved", EMPTY));
+
+        final int mask = keys.length - 1;
+        for (int slot = indexOf(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            if (keys[slot] == EMPTY) {
+                if (size >= threshold) {
+                    grow();
+                    put(key, value);
+                    return;
+                }
+                keys[slot] = key;
+                values[slot] = value;
+                size += 1;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Remove the key.
+     *
+     * @param key    Key
+     * @param absent Value of an absent key
+     * @return Removed value, or the absent value
+     */
+    public long remove(long key, long absent) {
+        final int slot = slotOf(key);
+        if (slot < 0) return absent;
+
+        final long previous = values[slot];
+        delete(slot);
+        return previous;
+    }
+
+    /**
+     * Return the number of entries.
+     *
+     * @return Number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if there is no entry.
+     *
+     * @return True if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all entries, keeping the capacity.
+     */
+    public void clear() {
+        if (size == 0) return;
+
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * Return the home slot of the key.
+     *
+     * @param key Key
+     * @return Slot index
+     */
+    private int indexOf(long key) {
+        return (int) ((key * PHI) >>> shift);
+    }
+
+    /**
+     * Return the slot holding the key.
+     *
+     * @param key Key
+     * @return Slot index, -1 if absent
+     */
+    private int slotOf(long key) {
+        if (key == EMPTY) return -1;
+
+        final int mask = keys.length - 1;
+        for (int slot = indexOf(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) return slot;
+            if (keys[slot] == EMPTY) return -1;
+        }
+    }
+
+    /**
+     * Delete the entry in the slot shifting back the following entries of its probe sequence.
+     *
+     * @param slot Slot index
+     */
+    private void delete(int slot) {
+        final int mask = keys.length - 1;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            // Move back if the gap is between the home slot and the current one
+            final int home = indexOf(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = EMPTY;
+        size -= 1;
+    }
+
+    /**
+     * Double the capacity and rehash all entries.
+     */
+    private void grow() {
+        final long[] oldKeys = keys;
+        final long[] oldValues = values;
+        allocate(keys.length << 1);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) put(oldKeys[slot], oldValues[slot]);
+        }
+    }
+
+    /**
+     * Allocate empty slot(s).
+     *
+     * @param capacity Number of slot(s), a power of 2
+     */
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        size = 0;
+        shift = Long.numberOfLeadingZeros(capacity - 1);
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+}
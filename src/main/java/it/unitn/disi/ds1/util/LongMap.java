@@ -0,0 +1,457 @@
+package it.unitn.disi.ds1.util;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.LongFunction;
+
+/**
+ * Map from primitive long key(s) to value(s) with open addressing and linear probing,
+ * so a lookup neither boxes the key nor follows an entry object.
+ * Removal shifts the following entries back, no tombstone is left.
+ * Key 0 is reserved as the empty slot marker, as {@link it.unitn.disi.ds1.etc.TransactionId#NONE}.
+ *
+ * @param <V> Value type
+ */
+public final class LongMap<V> {
+    /**
+     * Empty slot key.
+     */
+    private static final long EMPTY = 0L;
+
+    /**
+     * Default initial capacity.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Maximum load factor before growing.
+     */
+    private static final float LOAD_FACTOR = 0.5f;
+
+    /**
+     * Multiplier of the Fibonacci hashing.
+     */
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Operation on an entry.
+     *
+     * @param <V> Value type
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        /**
+         * Accept the entry.
+         *
+         * @param key   Key
+         * @param value Value
+         */
+        void accept(long key, V value);
+    }
+
+    /**
+     * Predicate on an entry.
+     *
+     * @param <V> Value type
+     */
+    @FunctionalInterface
+    public interface EntryPredicate<V> {
+        /**
+         * Test the entry.
+         *
+         * @param key   Key
+         * @param value Value
+         * @return True if matched, false otherwise
+         */
+        boolean test(long key, V value);
+    }
+
+    /**
+     * Key of each slot, {@link #EMPTY} if free.
+     */
+    private long[] keys;
+
+    /**
+     * Value of each slot.
+     */
+    private Object[] values;
+
+    /**
+     * Number of entries.
+     */
+    private int size;
+
+    /**
+     * Shift of the hash to a slot index.
+     */
+    private int shift;
+
+    /**
+     * Number of entries before growing.
+     */
+    private int threshold;
+
+    /**
+     * Construct a new LongMap class.
+     */
+    public LongMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct a new LongMap class.
+     *
+     * @param expected Expected number of entries
+     */
+    public LongMap(int expected) {
+        allocate(Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(Math.max(1, (int) (expected / LOAD_FACTOR)) - 1) << 1));
+    }
+
+    /**
+     * Return the value of the key.
+     *
+     * @param key Key
+     * @return Value, null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        final int slot = slotOf(key);
+        return slot >= 0 ? (V) values[slot] : null;
+    }
+
+    /**
+     * Return the value of the key, or the default if absent.
+     *
+     * @param key          Key
+     * @param defaultValue Default value
+     * @return Value
+     */
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(long key, V defaultValue) {
+        final int slot = slotOf(key);
+        return slot >= 0 ? (V) values[slot] : defaultValue;
+    }
+
+    /**
+     * Check if the key is present.
+     *
+     * @param key Key
+     * @return True if present, false otherwise
+     */
+    public boolean containsKey(long key) {
+        return slotOf(key) >= 0;
+    }
+
+    /**
+     * Associate the value to the key.
+     *
+     * @param key   Key, not 0
+     * @param value Value
+     * @return Previous value, null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        checkKey(key);
+
+        final int mask = keys.length - 1;
+        for (int slot = indexOf(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                final V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            if (keys[slot] == EMPTY) {
+                insert(slot, key, value);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Associate the value to the key if absent.
+     *
+     * @param key   Key, not 0
+     * @param value Value
+     * @return Current value, null if absent
+     */
+    public V putIfAbsent(long key, V value) {
+        final V current = get(key);
+        if (current == null) put(key, value);
+        return current;
+    }
+
+    /**
+     * Return the value of the key, computing and storing it if absent.
+     *
+     * @param key      Key, not 0
+     * @param function Value of an absent key
+     * @return Value
+     */
+    public V computeIfAbsent(long key, LongFunction<? extends V> function) {
+        V value = get(key);
+        if (value == null) {
+            value = function.apply(key);
+            if (value != null) put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Remove the key.
+     *
+     * @param key Key
+     * @return Removed value, null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        final int slot = slotOf(key);
+        if (slot < 0) return null;
+
+        final V previous = (V) values[slot];
+        delete(slot);
+        return previous;
+    }
+
+    /**
+     * Remove every entry matching the predicate.
+     *
+     * @param predicate Entry predicate
+     * @return Number of removed entries
+     */
+    public int removeIf(EntryPredicate<? super V> predicate) {
+        final long[] matched = new long[size];
+        final int[] count = {0};
+        forEach((key, value) -> {
+            if (predicate.test(key, value)) matched[count[0]++] = key;
+        });
+        for (int i = 0; i < count[0]; i++) remove(matched[i]);
+        return count[0];
+    }
+
+    /**
+     * Perform the operation on every entry, in no particular order.
+     * The map must not be modified meanwhile.
+     *
+     * @param consumer Entry operation
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) consumer.accept(keys[slot], (V) values[slot]);
+        }
+    }
+
+    /**
+     * Check if any entry matches the predicate.
+     *
+     * @param predicate Entry predicate
+     * @return True if matched, false otherwise
+     */
+    @SuppressWarnings("unchecked")
+    public boolean anyMatch(EntryPredicate<? super V> predicate) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY && predicate.test(keys[slot], (V) values[slot])) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Return a copy of the key(s), safe to iterate while modifying the map.
+     *
+     * @return Key(s)
+     */
+    public long[] keys() {
+        final long[] copy = new long[size];
+        int i = 0;
+        for (final long key : keys) {
+            if (key != EMPTY) copy[i++] = key;
+        }
+        return copy;
+    }
+
+    /**
+     * Return a view of the value(s).
+     * The map must not be modified while iterating.
+     *
+     * @return Value(s)
+     */
+    public Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new Iterator<>() {
+                    private int slot = next(0);
+
+                    private int next(int from) {
+                        while (from < keys.length && keys[from] == EMPTY) from++;
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return slot < keys.length;
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public V next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        final V value = (V) values[slot];
+                        slot = next(slot + 1);
+                        return value;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Return the number of entries.
+     *
+     * @return Number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if there is no entry.
+     *
+     * @return True if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all entries, keeping the capacity.
+     */
+    public void clear() {
+        if (size == 0) return;
+
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Reject the reserved key.
+     *
+     * @param key Key
+     */
+    private static void checkKey(long key) {
+        if (key == EMPTY)
+            throw new IllegalArgumentException(String.format("LongMap key %d is reserved", EMPTY));
+    }
+
+    /**
+     * Return the home slot of the key.
+     *
+     * @param key Key
+     * @return Slot index
+     */
+    private int indexOf(long key) {
+        return (int) ((key * PHI) >>> shift);
+    }
+
+    /**
+     * Return the slot holding the key.
+     *
+     * @param key Key
+     * @return Slot index, -1 if absent
+     */
+    private int slotOf(long key) {
+        if (key == EMPTY) return -1;
+
+        final int mask = keys.length - 1;
+        for (int slot = indexOf(key); ; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) return slot;
+            if (keys[slot] == EMPTY) return -1;
+        }
+    }
+
+    /**
+     * Insert a new entry in the free slot, growing if needed.
+     *
+     * @param slot  Free slot index
+     * @param key   Key
+     * @param value Value
+     */
+    private void insert(int slot, long key, Object value) {
+        if (size >= threshold) {
+            grow();
+            put(key, cast(value));
+            return;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        size += 1;
+    }
+
+    /**
+     * Delete the entry in the slot shifting back the following entries of its probe sequence.
+     *
+     * @param slot Slot index
+     */
+    private void delete(int slot) {
+        final int mask = keys.length - 1;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            // Move back if the gap is between the home slot and the current one
+            final int home = indexOf(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = EMPTY;
+        values[gap] = null;
+        size -= 1;
+    }
+
+    /**
+     * Double the capacity and rehash all entries.
+     */
+    private void grow() {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(keys.length << 1);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) put(oldKeys[slot], cast(oldValues[slot]));
+        }
+    }
+
+    /**
+     * Allocate empty slot(s).
+     *
+     * @param capacity Number of slot(s), a power of 2
+     */
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        size = 0;
+        shift = Long.numberOfLeadingZeros(capacity - 1);
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Cast a stored value.
+     *
+     * @param value Stored value
+     * @return Value
+     */
+    @SuppressWarnings("unchecked")
+    private V cast(Object value) {
+        return (V) value;
+    }
+}
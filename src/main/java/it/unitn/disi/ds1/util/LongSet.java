@@ -0,0 +1,100 @@
+package it.unitn.disi.ds1.util;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Set of primitive long(s) backed by a {@link LongMap}.
+ * Element 0 is reserved, as for the LongMap key(s).
+ */
+public final class LongSet {
+    /**
+     * Value of a present element.
+     */
+    private static final Object PRESENT = Boolean.TRUE;
+
+    /**
+     * Element(s) as key(s).
+     */
+    private final LongMap<Object> map;
+
+    /**
+     * Construct a new LongSet class.
+     */
+    public LongSet() {
+        this.map = new LongMap<>();
+    }
+
+    /**
+     * Add the element.
+     *
+     * @param element Element, not 0
+     * @return True if added, false if already present
+     */
+    public boolean add(long element) {
+        return map.put(element, PRESENT) == null;
+    }
+
+    /**
+     * Remove the element.
+     *
+     * @param element Element
+     * @return True if removed, false if absent
+     */
+    public boolean remove(long element) {
+        return map.remove(element) != null;
+    }
+
+    /**
+     * Check if the element is present.
+     *
+     * @param element Element
+     * @return True if present, false otherwise
+     */
+    public boolean contains(long element) {
+        return map.containsKey(element);
+    }
+
+    /**
+     * Perform the operation on every element, in no particular order.
+     * The set must not be modified meanwhile.
+     *
+     * @param consumer Element operation
+     */
+    public void forEach(LongConsumer consumer) {
+        map.forEach((element, ignored) -> consumer.accept(element));
+    }
+
+    /**
+     * Return a copy of the element(s).
+     *
+     * @return Element(s)
+     */
+    public long[] toArray() {
+        return map.keys();
+    }
+
+    /**
+     * Return the number of element(s).
+     *
+     * @return Number of element(s)
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Check if there is no element.
+     *
+     * @return True if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * Remove all element(s).
+     */
+    public void clear() {
+        map.clear();
+    }
+}
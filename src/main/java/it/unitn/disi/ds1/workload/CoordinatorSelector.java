@@ -0,0 +1,172 @@
+package it.unitn.disi.ds1.workload;
+
+import it.unitn.disi.ds1.Config;
+import it.unitn.disi.ds1.etc.ActorMetadata;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selector of the {@link it.unitn.disi.ds1.actor.Coordinator} of a transaction of a {@link it.unitn.disi.ds1.actor.Client}.
+ * The load of every Coordinator is its last {@link it.unitn.disi.ds1.message.load.CoordinatorLoadMessage load report}
+ * plus the transaction(s) begun on it since, so that the Client does not pile on the least loaded one between two report(s).
+ * A Coordinator is skipped while suspected crashed: its load report(s) have stopped or it has not accepted a transaction,
+ * unless all of them are.
+ */
+public final class CoordinatorSelector {
+    /**
+     * Selection policy.
+     */
+    private final Config.CoordinatorSelection selection;
+
+    /**
+     * {@link it.unitn.disi.ds1.actor.Coordinator Coordinator(s)} metadata.
+     */
+    private final List<ActorMetadata> coordinators;
+
+    /**
+     * Index in the Coordinator(s) by Coordinator id.
+     */
+    private final Map<Integer, Integer> indexById;
+
+    /**
+     * Load of every Coordinator.
+     */
+    private final int[] loads;
+
+    /**
+     * Time (ns) of the last load report of every Coordinator, the construction time if none.
+     */
+    private final long[] reportedAt;
+
+    /**
+     * Time (ns) until every Coordinator is suspected crashed, 0 if not suspected.
+     */
+    private final long[] suspectedUntil;
+
+    /**
+     * Index(es) of the Coordinator(s) candidate to a selection.
+     */
+    private final int[] candidates;
+
+    /**
+     * Construct a new CoordinatorSelector class.
+     *
+     * @param selection    Selection policy
+     * @param coordinators Coordinator(s) metadata
+     * @param now          Current time (ns)
+     */
+    public CoordinatorSelector(Config.CoordinatorSelection selection, List<ActorMetadata> coordinators, long now) {
+        if (coordinators.isEmpty())
+            throw new IllegalArgumentException("CoordinatorSelector requires at least a Coordinator");
+
+        this.selection = selection;
+        this.coordinators = List.copyOf(coordinators);
+        this.indexById = new HashMap<>();
+        for (int i = 0; i < this.coordinators.size(); i++) indexById.put(this.coordinators.get(i).id, i);
+        this.loads = new int[this.coordinators.size()];
+        this.reportedAt = new long[this.coordinators.size()];
+        this.suspectedUntil = new long[this.coordinators.size()];
+        this.candidates = new int[this.coordinators.size()];
+        Arrays.fill(this.reportedAt, now);
+    }
+
+    /**
+     * Return true if the Coordinator may be selected, false if suspected crashed.
+     *
+     * @param index Coordinator index
+     * @param now   Current time (ns)
+     * @return True if available, false otherwise
+     */
+    private boolean isAvailable(int index, long now) {
+        if (suspectedUntil[index] != 0 && now < suspectedUntil[index]) return false;
+        return now - reportedAt[index] <= TimeUnit.MILLISECONDS.toNanos(Config.COORDINATOR_LOAD_TIMEOUT_MS);
+    }
+
+    /**
+     * Select the Coordinator of a new transaction, accounting the transaction in its load.
+     *
+     * @param random {@link Random} instance
+     * @param now    Current time (ns)
+     * @return Coordinator metadata
+     */
+    public ActorMetadata select(Random random, long now) {
+        // Candidate(s) not suspected, all of them if none
+        int size = 0;
+        for (int i = 0; i < coordinators.size(); i++) {
+            if (isAvailable(i, now)) candidates[size++] = i;
+        }
+        if (size == 0) {
+            for (int i = 0; i < coordinators.size(); i++) candidates[i] = i;
+            size = coordinators.size();
+        }
+
+        final int chosen;
+        switch (selection) {
+            case RANDOM:
+                chosen = candidates[random.nextInt(size)];
+                break;
+            case LEAST_OUTSTANDING: {
+                // Scan from a random candidate, tie(s) are not always broken by the same Coordinator
+                final int offset = random.nextInt(size);
+                int best = candidates[offset];
+                for (int i = 1; i < size; i++) {
+                    final int candidate = candidates[(offset + i) % size];
+                    if (loads[candidate] < loads[best]) best = candidate;
+                }
+                chosen = best;
+                break;
+            }
+            case POWER_OF_TWO_CHOICES: {
+                if (size == 1) {
+                    chosen = candidates[0];
+                    break;
+                }
+                final int first = random.nextInt(size);
+                int second = random.nextInt(size - 1);
+                if (second >= first) second++;
+                chosen = loads[candidates[second]] < loads[candidates[first]] ? candidates[second] : candidates[first];
+                break;
+            }
+            default:
+                throw new IllegalStateException(String.format("Unknown Coordinator selection %s", selection));
+        }
+
+        loads[chosen]++;
+        return coordinators.get(chosen);
+    }
+
+    /**
+     * Update the load of a Coordinator from its load report, clearing its suspicion.
+     *
+     * @param coordinatorId Coordinator id
+     * @param load          Reported load
+     * @param now           Current time (ns)
+     */
+    public void report(int coordinatorId, int load, long now) {
+        final Integer index = indexById.get(coordinatorId);
+        if (index == null) return;
+
+        loads[index] = load;
+        reportedAt[index] = now;
+        suspectedUntil[index] = 0;
+    }
+
+    /**
+     * Suspect a Coordinator crashed, after it has not accepted a transaction.
+     * It is skipped until its next load report or the 2PC recovery timeout has elapsed.
+     *
+     * @param coordinatorId Coordinator id
+     * @param now           Current time (ns)
+     */
+    public void suspect(int coordinatorId, long now) {
+        final Integer index = indexById.get(coordinatorId);
+        if (index == null) return;
+
+        suspectedUntil[index] = now + TimeUnit.MILLISECONDS.toNanos(Config.TWOPC_RECOVERY_TIMEOUT_MS);
+    }
+}
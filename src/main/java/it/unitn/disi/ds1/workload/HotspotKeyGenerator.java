@@ -0,0 +1,51 @@
+package it.unitn.disi.ds1.workload;
+
+import java.util.Random;
+
+/**
+ * {@link KeyGenerator} with a set of hot key(s), [0, hot), receiving a fraction of the access(es),
+ * the remaining access(es) are uniform on the cold key(s).
+ */
+public final class HotspotKeyGenerator implements KeyGenerator {
+    /**
+     * Number of key(s).
+     */
+    private final int size;
+
+    /**
+     * Number of hot key(s).
+     */
+    private final int hotSize;
+
+    /**
+     * Fraction of access(es) to the hot key(s).
+     */
+    private final double accessFraction;
+
+    /**
+     * Construct a new HotspotKeyGenerator class.
+     *
+     * @param size           Number of key(s)
+     * @param keyFraction    Fraction of hot key(s), in (0, 1)
+     * @param accessFraction Fraction of access(es) to the hot key(s), in [0, 1]
+     */
+    public HotspotKeyGenerator(int size, double keyFraction, double accessFraction) {
+        if (keyFraction <= 0 || keyFraction >= 1 || accessFraction < 0 || accessFraction > 1)
+            throw new IllegalArgumentException(String.format("HotspotKeyGenerator key fraction %.3f and access fraction %.3f are not valid", keyFraction, accessFraction));
+
+        this.size = size;
+        this.hotSize = Math.max(1, Math.min(size - 1, (int) Math.round(size * keyFraction)));
+        this.accessFraction = accessFraction;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int next(Random random) {
+        if (random.nextDouble() < accessFraction) return random.nextInt(hotSize);
+        return hotSize + random.nextInt(size - hotSize);
+    }
+}
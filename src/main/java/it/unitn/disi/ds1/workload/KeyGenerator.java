@@ -0,0 +1,64 @@
+package it.unitn.disi.ds1.workload;
+
+import it.unitn.disi.ds1.Config;
+
+import java.util.Random;
+
+/**
+ * Generator of the {@link it.unitn.disi.ds1.etc.Item} key(s) accessed by a transaction.
+ * Keys are in range [0, size).
+ */
+public interface KeyGenerator {
+    /**
+     * Return a new KeyGenerator of the given distribution.
+     *
+     * @param distribution Key distribution
+     * @param size         Number of key(s)
+     * @return KeyGenerator instance
+     */
+    static KeyGenerator of(Config.KeyDistribution distribution, int size) {
+        if (size < 2)
+            throw new IllegalArgumentException(String.format("KeyGenerator requires at least 2 key(s), found %d", size));
+
+        switch (distribution) {
+            case UNIFORM:
+                return new UniformKeyGenerator(size);
+            case ZIPFIAN:
+                return new ZipfianKeyGenerator(size, Config.ZIPFIAN_THETA);
+            case HOTSPOT:
+                return new HotspotKeyGenerator(size, Config.HOTSPOT_KEY_FRACTION, Config.HOTSPOT_ACCESS_FRACTION);
+            default:
+                throw new IllegalArgumentException(String.format("Unknown key distribution %s", distribution));
+        }
+    }
+
+    /**
+     * Return the number of key(s).
+     *
+     * @return Number of key(s)
+     */
+    int size();
+
+    /**
+     * Generate a key.
+     *
+     * @param random {@link Random} instance
+     * @return Key
+     */
+    int next(Random random);
+
+    /**
+     * Generate a key different from the given one.
+     *
+     * @param random {@link Random} instance
+     * @param other  Key to differ from
+     * @return Key
+     */
+    default int nextOther(Random random, int other) {
+        final int key = next(random);
+        if (key != other) return key;
+
+        // Skewed distribution(s) may draw the same hot key again, fall back to a uniform offset
+        return (other + 1 + random.nextInt(size() - 1)) % size();
+    }
+}
@@ -0,0 +1,32 @@
+package it.unitn.disi.ds1.workload;
+
+import java.util.Random;
+
+/**
+ * {@link KeyGenerator} with every key equally likely.
+ */
+public final class UniformKeyGenerator implements KeyGenerator {
+    /**
+     * Number of key(s).
+     */
+    private final int size;
+
+    /**
+     * Construct a new UniformKeyGenerator class.
+     *
+     * @param size Number of key(s)
+     */
+    public UniformKeyGenerator(int size) {
+        this.size = size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int next(Random random) {
+        return random.nextInt(size);
+    }
+}
@@ -0,0 +1,315 @@
+package it.unitn.disi.ds1.workload;
+
+import com.google.gson.annotations.Expose;
+import it.unitn.disi.ds1.etc.Decision;
+import it.unitn.disi.ds1.util.JsonUtil;
+import org.HdrHistogram.Histogram;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report of the workload of one or more {@link it.unitn.disi.ds1.actor.Client Client(s)} in a run:
+ * throughput, abort rate and latency distribution of the transaction(s).
+ * The latency of a transaction spans from its arrival to its final decision, queueing included,
+ * and is recorded in an HDR histogram (us) with 3 significant digit(s).
+ */
+public final class WorkloadReport implements Serializable {
+    private static final long serialVersionUID = -2146338751962547217L;
+
+    /**
+     * Number of significant digit(s) of the latency histogram.
+     */
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    /**
+     * Number of {@link it.unitn.disi.ds1.actor.Client Client(s)} merged.
+     */
+    @Expose
+    private int clients;
+
+    /**
+     * Number of arrived transaction(s).
+     */
+    @Expose
+    private long arrived;
+
+    /**
+     * Number of committed transaction(s).
+     */
+    @Expose
+    private long committed;
+
+    /**
+     * Number of aborted transaction(s).
+     */
+    @Expose
+    private long aborted;
+
+    /**
+     * Number of dropped arrival(s), the backlog being full.
+     */
+    @Expose
+    private long dropped;
+
+    /**
+     * Time (ms since epoch) of the first arrival, Long.MAX_VALUE if none.
+     */
+    @Expose
+    private long startedAt;
+
+    /**
+     * Time (ms since epoch) of the last final decision, Long.MIN_VALUE if none.
+     */
+    @Expose
+    private long endedAt;
+
+    /**
+     * Latency (us) of the committed transaction(s).
+     */
+    private final Histogram latency;
+
+    /**
+     * Construct a new WorkloadReport class.
+     *
+     * @param clients Number of {@link it.unitn.disi.ds1.actor.Client Client(s)}
+     */
+    public WorkloadReport(int clients) {
+        this.clients = clients;
+        this.latency = new Histogram(SIGNIFICANT_DIGITS);
+        reset();
+    }
+
+    /**
+     * Construct a new WorkloadReport class with the given value(s), e.g. decoded from its binary encoding.
+     *
+     * @param clients   Number of {@link it.unitn.disi.ds1.actor.Client Client(s)}
+     * @param arrived   Number of arrived transaction(s)
+     * @param committed Number of committed transaction(s)
+     * @param aborted   Number of aborted transaction(s)
+     * @param dropped   Number of dropped arrival(s)
+     * @param startedAt Time (ms since epoch) of the first arrival
+     * @param endedAt   Time (ms since epoch) of the last final decision
+     * @param latency   Latency (us) of the committed transaction(s)
+     */
+    public WorkloadReport(int clients, long arrived, long committed, long aborted, long dropped, long startedAt, long endedAt, Histogram latency) {
+        this.clients = clients;
+        this.arrived = arrived;
+        this.committed = committed;
+        this.aborted = aborted;
+        this.dropped = dropped;
+        this.startedAt = startedAt;
+        this.endedAt = endedAt;
+        this.latency = latency;
+    }
+
+    /**
+     * Reset the report for a new run.
+     */
+    public void reset() {
+        arrived = 0;
+        committed = 0;
+        aborted = 0;
+        dropped = 0;
+        startedAt = Long.MAX_VALUE;
+        endedAt = Long.MIN_VALUE;
+        latency.reset();
+    }
+
+    /**
+     * Record the arrival of a transaction.
+     *
+     * @param at Arrival time (ms since epoch)
+     */
+    public void arrive(long at) {
+        arrived++;
+        startedAt = Math.min(startedAt, at);
+    }
+
+    /**
+     * Record a dropped arrival.
+     */
+    public void drop() {
+        dropped++;
+    }
+
+    /**
+     * Record the final decision of a transaction.
+     *
+     * @param decision     Final decision
+     * @param latencyNanos Latency (ns) from the arrival
+     * @param at           Decision time (ms since epoch)
+     */
+    public void end(Decision decision, long latencyNanos, long at) {
+        endedAt = Math.max(endedAt, at);
+        if (decision == Decision.COMMIT) {
+            committed++;
+            latency.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        } else {
+            aborted++;
+        }
+    }
+
+    /**
+     * Merge another report into this one.
+     *
+     * @param other Report to merge
+     */
+    public void merge(WorkloadReport other) {
+        clients += other.clients;
+        arrived += other.arrived;
+        committed += other.committed;
+        aborted += other.aborted;
+        dropped += other.dropped;
+        startedAt = Math.min(startedAt, other.startedAt);
+        endedAt = Math.max(endedAt, other.endedAt);
+        latency.add(other.latency);
+    }
+
+    /**
+     * Return a copy of the report.
+     *
+     * @return Copy
+     */
+    public WorkloadReport copy() {
+        final WorkloadReport copy = new WorkloadReport(0);
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Check if all the arrived transaction(s) have a final decision or have been dropped.
+     *
+     * @return True if all ended, false otherwise
+     */
+    public boolean isDrained() {
+        return committed + aborted + dropped >= arrived;
+    }
+
+    /**
+     * Return the number of {@link it.unitn.disi.ds1.actor.Client Client(s)} merged.
+     *
+     * @return Number of Client(s)
+     */
+    public int clients() {
+        return clients;
+    }
+
+    /**
+     * Return the time of the first arrival.
+     *
+     * @return Time (ms since epoch), Long.MAX_VALUE if none
+     */
+    public long startedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Return the time of the last final decision.
+     *
+     * @return Time (ms since epoch), Long.MIN_VALUE if none
+     */
+    public long endedAt() {
+        return endedAt;
+    }
+
+    /**
+     * Return the latency histogram (us) of the committed transaction(s), owned by the report.
+     *
+     * @return Latency histogram
+     */
+    public Histogram latency() {
+        return latency;
+    }
+
+    /**
+     * Return the number of arrived transaction(s).
+     *
+     * @return Arrived transaction(s)
+     */
+    public long arrived() {
+        return arrived;
+    }
+
+    /**
+     * Return the number of committed transaction(s).
+     *
+     * @return Committed transaction(s)
+     */
+    public long committed() {
+        return committed;
+    }
+
+    /**
+     * Return the number of aborted transaction(s).
+     *
+     * @return Aborted transaction(s)
+     */
+    public long aborted() {
+        return aborted;
+    }
+
+    /**
+     * Return the number of dropped arrival(s).
+     *
+     * @return Dropped arrival(s)
+     */
+    public long dropped() {
+        return dropped;
+    }
+
+    /**
+     * Return the duration (s) from the first arrival to the last final decision.
+     *
+     * @return Duration (s)
+     */
+    public double seconds() {
+        return endedAt > startedAt ? (endedAt - startedAt) / 1e3 : 0;
+    }
+
+    /**
+     * Return the throughput of committed transaction(s) per second.
+     *
+     * @return Throughput (txn/s)
+     */
+    public double throughput() {
+        final double seconds = seconds();
+        return seconds > 0 ? committed / seconds : 0;
+    }
+
+    /**
+     * Return the fraction of ended transaction(s) that aborted.
+     *
+     * @return Abort rate in [0, 1]
+     */
+    public double abortRate() {
+        final long ended = committed + aborted;
+        return ended > 0 ? (double) aborted / ended : 0;
+    }
+
+    /**
+     * Return the latency (ms) at the percentile of the committed transaction(s).
+     *
+     * @param percentile Percentile in [0, 100]
+     * @return Latency (ms)
+     */
+    public double latencyMs(double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1e3;
+    }
+
+    /**
+     * Return a single line human readable summary.
+     *
+     * @return Summary
+     */
+    public String summary() {
+        return String.format("%d client(s), %d arrived, %d committed, %d aborted, %d dropped in %.2fs: throughput %.2f txn/s, abort rate %.2f%%, latency p50 %.2fms p99 %.2fms p999 %.2fms max %.2fms",
+                clients, arrived, committed, aborted, dropped, seconds(), throughput(), abortRate() * 100,
+                latencyMs(50), latencyMs(99), latencyMs(99.9), latency.getMaxValue() / 1e3);
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtil.GSON.toJson(this);
+    }
+}
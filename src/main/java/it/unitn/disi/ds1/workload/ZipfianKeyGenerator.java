@@ -0,0 +1,81 @@
+package it.unitn.disi.ds1.workload;
+
+import java.util.Random;
+
+/**
+ * {@link KeyGenerator} Zipfian distributed: key i (rank i + 1) has probability proportional to 1 / (i + 1)^theta,
+ * key 0 being the hottest.
+ * Uses the rejection-free method of Gray et al. ("Quickly generating billion-record synthetic databases"),
+ * constant time per key after a linear time setup.
+ */
+public final class ZipfianKeyGenerator implements KeyGenerator {
+    /**
+     * Number of key(s).
+     */
+    private final int size;
+
+    /**
+     * Skew.
+     */
+    private final double theta;
+
+    /**
+     * Generalized harmonic number of order theta of the size.
+     */
+    private final double zetaN;
+
+    /**
+     * 1 / (1 - theta).
+     */
+    private final double alpha;
+
+    /**
+     * Eta constant of the method.
+     */
+    private final double eta;
+
+    /**
+     * Construct a new ZipfianKeyGenerator class.
+     *
+     * @param size  Number of key(s)
+     * @param theta Skew, in (0, 1)
+     */
+    public ZipfianKeyGenerator(int size, double theta) {
+        if (theta <= 0 || theta >= 1)
+            throw new IllegalArgumentException(String.format("ZipfianKeyGenerator theta %.3f must be in (0, 1)", theta));
+
+        this.size = size;
+        this.theta = theta;
+        this.zetaN = zeta(size, theta);
+        this.alpha = 1 / (1 - theta);
+        this.eta = (1 - Math.pow(2.0 / size, 1 - theta)) / (1 - zeta(2, theta) / zetaN);
+    }
+
+    /**
+     * Return the generalized harmonic number of order theta of n.
+     *
+     * @param n     Number of term(s)
+     * @param theta Order
+     * @return Sum of 1 / i^theta for i in [1, n]
+     */
+    private static double zeta(int n, double theta) {
+        double sum = 0;
+        for (int i = 1; i <= n; i++) sum += 1 / Math.pow(i, theta);
+        return sum;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int next(Random random) {
+        final double u = random.nextDouble();
+        final double uz = u * zetaN;
+
+        if (uz < 1) return 0;
+        if (uz < 1 + Math.pow(0.5, theta)) return 1;
+        return Math.min(size - 1, (int) (size * Math.pow(eta * u - eta + 1, alpha)));
+    }
+}